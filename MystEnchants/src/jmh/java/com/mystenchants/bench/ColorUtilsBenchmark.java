@@ -0,0 +1,42 @@
+package com.mystenchants.bench;
+
+import com.mystenchants.utils.ColorUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Color translation runs for every lore line and message the plugin builds
+ */
+@State(Scope.Benchmark)
+public class ColorUtilsBenchmark {
+
+    private final String plain = "Requirement progress";
+    private final String legacy = "&7Progress: &a1,250&7/&62,500 &8(&e50%&8)";
+    private final String hex = "&#FF5555&lTempo &#AAAAAALevel 2 &7- &#55FF55Unlocked";
+
+    @Benchmark
+    public String colorPlain() {
+        return ColorUtils.color(plain);
+    }
+
+    @Benchmark
+    public String colorLegacy() {
+        return ColorUtils.color(legacy);
+    }
+
+    @Benchmark
+    public String colorHex() {
+        return ColorUtils.color(hex);
+    }
+
+    @Benchmark
+    public String progressBar() {
+        return ColorUtils.progressBar(63.5, 20, "|", "|");
+    }
+
+    @Benchmark
+    public String formatNumber() {
+        return ColorUtils.formatNumber(1_234_567L);
+    }
+}
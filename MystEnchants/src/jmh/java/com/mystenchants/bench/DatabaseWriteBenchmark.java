@@ -0,0 +1,80 @@
+package com.mystenchants.bench;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import com.mystenchants.database.DatabaseManager;
+import com.mystenchants.loadsim.MockPlugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Statistic writes through the plugin's own DatabaseManager against its SQLite file:
+ * executeAsync per statement, executeBatchAsync and executeTransactionAsync. Each
+ * invocation waits for its writes, so the executor hop, pool checkout, circuit breaker
+ * and query statistics are all part of the measurement.
+ */
+@State(Scope.Benchmark)
+public class DatabaseWriteBenchmark {
+
+    private static final String INCREMENT = "UPDATE player_statistics SET blocks_walked = blocks_walked + ? WHERE uuid = ?";
+
+    @Param({"1", "20", "100"})
+    public int writes;
+
+    private DatabaseManager database;
+    private Object[][] parameters;
+    private List<String> statements;
+    private List<Object[]> parameterList;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = MockPlugin.load(MockBukkit.mock(), Collections.emptyMap()).getDatabaseManager();
+
+        Object[][] rows = new Object[writes][];
+        parameters = new Object[writes][];
+        statements = new ArrayList<>(writes);
+        parameterList = new ArrayList<>(writes);
+        for (int i = 0; i < writes; i++) {
+            String uuid = UUID.randomUUID().toString();
+            rows[i] = new Object[]{uuid};
+            parameters[i] = new Object[]{5L, uuid};
+            statements.add(INCREMENT);
+            parameterList.add(parameters[i]);
+        }
+        database.executeBatchAsync("INSERT INTO player_statistics (uuid) VALUES (?)", rows).join();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    public void singleWrites() {
+        CompletableFuture<?>[] pending = new CompletableFuture<?>[writes];
+        for (int i = 0; i < writes; i++) {
+            pending[i] = database.executeAsync(INCREMENT, parameters[i]);
+        }
+        CompletableFuture.allOf(pending).join();
+    }
+
+    @Benchmark
+    public void batchWrite() {
+        database.executeBatchAsync(INCREMENT, parameters).join();
+    }
+
+    @Benchmark
+    public void transactionWrite() {
+        database.executeTransactionAsync(statements, parameterList).join();
+    }
+}
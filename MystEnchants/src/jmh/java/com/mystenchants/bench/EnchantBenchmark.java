@@ -0,0 +1,103 @@
+package com.mystenchants.bench;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import com.mystenchants.MystEnchants;
+import com.mystenchants.enchants.CustomEnchant;
+import com.mystenchants.enchants.EnchantManager;
+import com.mystenchants.loadsim.MockPlugin;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enchant reads and writes on the real EnchantManager, run on a mock server with the
+ * bundled enchants.yml. Items carry two enchants plus lore the plugin doesn't own, like
+ * a renamed and enchanted item in play.
+ */
+@State(Scope.Benchmark)
+public class EnchantBenchmark {
+
+    private static final Material[] MATERIALS = {
+            Material.DIAMOND_SWORD, Material.DIAMOND_CHESTPLATE, Material.DIAMOND_PICKAXE,
+            Material.DIAMOND_LEGGINGS, Material.DIAMOND_BOOTS, Material.DIAMOND_HELMET
+    };
+
+    private EnchantManager enchants;
+    private CustomEnchant primary;
+    private ItemStack plain;
+    private ItemStack enchanted;
+    private Map<String, Integer> relevelled;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        MystEnchants plugin = MockPlugin.load(MockBukkit.mock(), Collections.emptyMap());
+        enchants = plugin.getEnchantManager();
+
+        CustomEnchant secondary = null;
+        Material material = null;
+        for (Material candidate : MATERIALS) {
+            List<CustomEnchant> applicable = enchants.getCompatibility().getCandidates(candidate);
+            for (CustomEnchant a : applicable) {
+                for (CustomEnchant b : applicable) {
+                    if (a != b && !enchants.getCompatibility().conflicts(a, b)) {
+                        primary = a;
+                        secondary = b;
+                        material = candidate;
+                        break;
+                    }
+                }
+                if (primary != null) break;
+            }
+            if (primary != null) break;
+        }
+        if (primary == null) {
+            throw new IllegalStateException("enchants.yml has no two compatible enchants for one item");
+        }
+
+        plain = new ItemStack(material);
+        ItemMeta meta = plain.getItemMeta();
+        meta.setLore(Arrays.asList("Forged by Steve", "Season 3 reward"));
+        plain.setItemMeta(meta);
+
+        enchanted = enchants.applyEnchant(enchants.applyEnchant(plain, primary, 1), secondary, 1);
+
+        relevelled = new LinkedHashMap<>();
+        relevelled.put(primary.getName(), primary.getMaxLevel());
+        relevelled.put(secondary.getName(), secondary.getMaxLevel());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    public Map<String, Integer> getAllCustomEnchants() {
+        return enchants.getAllCustomEnchants(enchanted);
+    }
+
+    @Benchmark
+    public ItemStack applyEnchant() {
+        return enchants.applyEnchant(plain, primary, 1);
+    }
+
+    /**
+     * Levels change on both enchants, so every owned lore line is rewritten
+     */
+    @Benchmark
+    public ItemStack rewriteLore() {
+        return enchants.setEnchants(enchanted, relevelled);
+    }
+}
@@ -0,0 +1,96 @@
+package com.mystenchants.bench;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.mystenchants.MystEnchants;
+import com.mystenchants.loadsim.MockPlugin;
+import com.mystenchants.managers.StatisticManager;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statistic tracking on the real StatisticManager, run on a mock server.
+ *
+ * The movement timeout and on-ground check are turned off so every call takes the full
+ * path (distance check, cached increment, milestone lookup) instead of the early return.
+ * checkSpecificMilestone is private and is called through a method handle so production
+ * visibility stays as it is.
+ */
+@State(Scope.Benchmark)
+public class StatisticBenchmark {
+
+    private ServerMock server;
+    private StatisticManager statistics;
+    private PlayerMock player;
+    private Location here;
+    private Location there;
+    private boolean moved;
+    private MethodHandle checkSpecificMilestone;
+    private List<Integer> milestonePercentages;
+
+    @Setup(Level.Trial)
+    public void setup() throws Throwable {
+        server = MockBukkit.mock();
+        server.addSimpleWorld("world");
+        MystEnchants plugin = MockPlugin.load(server, Map.of(
+                "tracking.movement.movement-timeout", 0,
+                "tracking.movement.require-on-ground", false));
+        statistics = plugin.getStatisticManager();
+
+        player = server.addPlayer();
+        player.setGameMode(GameMode.SURVIVAL);
+        here = player.getLocation().clone();
+        // Past performance.update-frequency.blocks-walked, so each move is counted
+        there = here.clone().add(6, 0, 0);
+
+        // Let the join load finish so increments hit a warm cache
+        server.getScheduler().performTicks(20);
+
+        checkSpecificMilestone = MethodHandles.privateLookupIn(StatisticManager.class, MethodHandles.lookup())
+                .findVirtual(StatisticManager.class, "checkSpecificMilestone",
+                        MethodType.methodType(void.class, Player.class, String.class, long.class, List.class));
+        milestonePercentages = plugin.getConfigManager().getStatisticsConfig().getIntegerList("progress-display.milestone-percentages");
+    }
+
+    @TearDown(Level.Iteration)
+    public void drain() {
+        server.getScheduler().performOneTick();
+        while (player.nextMessage() != null) {
+            // PlayerMock keeps every message; drop them so memory stays flat
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    public void trackPlayerMovement() {
+        moved = !moved;
+        player.setLocation(moved ? there : here);
+        statistics.trackPlayerMovement(player);
+    }
+
+    /**
+     * A value below every milestone, the common case: all enchants are scanned, nothing is sent
+     */
+    @Benchmark
+    public void checkSpecificMilestone() throws Throwable {
+        checkSpecificMilestone.invoke(statistics, (Player) player, "blocks_mined", 1L, milestonePercentages);
+    }
+}
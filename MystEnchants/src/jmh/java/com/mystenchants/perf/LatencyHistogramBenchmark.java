@@ -0,0 +1,42 @@
+package com.mystenchants.perf;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Cost of the instrumentation itself, which wraps every listener call when enabled
+ */
+@State(Scope.Benchmark)
+public class LatencyHistogramBenchmark {
+
+    private LatencyHistogram histogram;
+    private long sample;
+
+    @Setup
+    public void setup() {
+        histogram = new LatencyHistogram(300_000L);
+        for (int i = 0; i < 100_000; i++) {
+            histogram.record((i % 5_000) * 1_000L);
+        }
+    }
+
+    @Benchmark
+    public void record() {
+        sample = (sample + 7_919) % 50_000_000L;
+        histogram.record(sample);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        histogram.record(123_456L);
+    }
+
+    @Benchmark
+    public long snapshotP99() {
+        return histogram.snapshot().getPercentileMicros(99);
+    }
+}
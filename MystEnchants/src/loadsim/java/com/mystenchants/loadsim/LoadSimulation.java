@@ -0,0 +1,340 @@
+package com.mystenchants.loadsim;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.mystenchants.MystEnchants;
+import com.mystenchants.perf.LatencyHistogram;
+import com.mystenchants.utils.ColorUtils;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.ItemStack;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.logging.Level;
+
+/**
+ * Headless load simulation: runs the real plugin on a MockBukkit server, joins N synthetic
+ * players and drives a per-tick event mix through the registered listeners at 20 TPS.
+ *
+ * Usage: ./gradlew loadSimulation -Pplayers=300 -Pseconds=60
+ *
+ * Reports events/sec, per-event latency, tick time against the 50ms budget, main thread
+ * allocation rate and database operations issued against the SQLite file in the plugin's
+ * (temporary) data folder. Plugin INFO logging is raised to WARNING unless
+ * -Dloadsim.verbose=true is set, so the console stays readable at high player counts.
+ */
+public final class LoadSimulation {
+
+    private static final int TICKS_PER_SECOND = 20;
+    private static final long TICK_NANOS = 50_000_000L;
+    private static final long DRAIN_TIMEOUT_MILLIS = 30_000L;
+    private static final int AREA_RADIUS = 48;
+
+    private static final String[] GUI_COMMANDS = {"enchants", "soulshop", "perks", "oracle", "redemption"};
+    private static final String[] PERKS = {"spellbreaker", "lovestruck", "worthy-sacrifice", "snowman-egg", "tradeoff-egg"};
+    private static final Material[] BLOCKS = {Material.STONE, Material.STONE, Material.DIRT, Material.WHEAT, Material.IRON_ORE};
+
+    /**
+     * Chance per player per tick for each kind of event
+     */
+    enum EventKind {
+        MOVE(0.20),
+        BLOCK_BREAK(0.05),
+        DAMAGE(0.03),
+        KILL(0.005),
+        GUI_OPEN(0.002),
+        PERK_USE(0.002);
+
+        private final double chancePerTick;
+
+        EventKind(double chancePerTick) {
+            this.chancePerTick = chancePerTick;
+        }
+    }
+
+    private final int playerCount;
+    private final int seconds;
+    private final SplittableRandom random = new SplittableRandom(42L);
+    private final Map<EventKind, LatencyHistogram> latencies = new EnumMap<>(EventKind.class);
+    private final Map<EventKind, Long> errors = new EnumMap<>(EventKind.class);
+    private final LatencyHistogram tickTimes;
+    private final List<PlayerMock> players = new ArrayList<>();
+
+    private ServerMock server;
+    private WorldMock world;
+    private MystEnchants plugin;
+    private long overloadedTicks;
+
+    private LoadSimulation(int playerCount, int seconds) {
+        this.playerCount = playerCount;
+        this.seconds = seconds;
+
+        long windowMillis = Math.max(seconds, 60) * 1000L * 2;
+        this.tickTimes = new LatencyHistogram(windowMillis);
+        for (EventKind kind : EventKind.values()) {
+            latencies.put(kind, new LatencyHistogram(windowMillis));
+            errors.put(kind, 0L);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int playerCount = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+
+        new LoadSimulation(playerCount, seconds).run();
+    }
+
+    private void run() throws Exception {
+        server = MockBukkit.mock();
+        try {
+            setUp();
+            simulate();
+        } finally {
+            MockBukkit.unmock();
+        }
+    }
+
+    // ========================================
+    // SETUP
+    // ========================================
+
+    private void setUp() throws Exception {
+        world = server.addSimpleWorld("world");
+        // Monitoring ships disabled; the report is built from its metrics. The metrics window
+        // is widened past the run plus the final drain, so the database counts cover the whole
+        // run rather than only its last five minutes.
+        long metricsWindowSeconds = 2L * (seconds + DRAIN_TIMEOUT_MILLIS / 1000L);
+        plugin = MockPlugin.load(server, Map.of(
+                "debug.monitor-performance", true,
+                "debug.metrics-window", metricsWindowSeconds));
+
+        if (!Boolean.getBoolean("loadsim.verbose")) {
+            plugin.getLogger().setLevel(Level.WARNING);
+        }
+
+        for (int i = 0; i < playerCount; i++) {
+            PlayerMock player = server.addPlayer();
+            player.setGameMode(GameMode.SURVIVAL);
+            player.teleport(new Location(world, random.nextInt(-AREA_RADIUS, AREA_RADIUS), 64, random.nextInt(-AREA_RADIUS, AREA_RADIUS)));
+            players.add(player);
+        }
+
+        // Let join loads finish so the measured window starts from a warm cache
+        server.getScheduler().performTicks(TICKS_PER_SECOND);
+        drainDatabase();
+        players.forEach(this::clearMessages);
+        plugin.getPerfMetrics().reset();
+
+        System.out.println("Joined " + playerCount + " synthetic players, simulating " + seconds + "s");
+    }
+
+    // ========================================
+    // SIMULATION
+    // ========================================
+
+    private void simulate() throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long busyNanos = 0;
+        long events = 0;
+        int totalTicks = seconds * TICKS_PER_SECOND;
+
+        for (int tick = 0; tick < totalTicks; tick++) {
+            long tickStart = System.nanoTime();
+
+            for (PlayerMock player : players) {
+                for (EventKind kind : EventKind.values()) {
+                    if (random.nextDouble() < kind.chancePerTick) {
+                        dispatch(kind, player);
+                        events++;
+                    }
+                }
+            }
+            server.getScheduler().performOneTick();
+
+            long tickNanos = System.nanoTime() - tickStart;
+            busyNanos += tickNanos;
+            tickTimes.record(tickNanos);
+            if (tickNanos > TICK_NANOS) {
+                overloadedTicks++;
+            }
+
+            if (tick % TICKS_PER_SECOND == 0) {
+                players.forEach(this::clearMessages);
+            }
+
+            long sleepNanos = TICK_NANOS - (System.nanoTime() - tickStart);
+            if (sleepNanos > 0) {
+                Thread.sleep(sleepNanos / 1_000_000L, (int) (sleepNanos % 1_000_000L));
+            }
+        }
+
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        long drainMillis = drainDatabase();
+
+        report(events, busyNanos, allocated, drainMillis);
+    }
+
+    /**
+     * Fires one event and records how long the plugin took to handle it
+     */
+    private void dispatch(EventKind kind, PlayerMock player) {
+        long start = System.nanoTime();
+        try {
+            switch (kind) {
+                case MOVE:
+                    move(player);
+                    break;
+                case BLOCK_BREAK:
+                    breakBlock(player);
+                    break;
+                case DAMAGE:
+                    damage(player);
+                    break;
+                case KILL:
+                    kill(player);
+                    break;
+                case GUI_OPEN:
+                    openGui(player);
+                    break;
+                case PERK_USE:
+                    usePerk(player);
+                    break;
+            }
+        } catch (RuntimeException e) {
+            errors.merge(kind, 1L, Long::sum);
+        } finally {
+            latencies.get(kind).record(System.nanoTime() - start);
+        }
+    }
+
+    private void move(PlayerMock player) {
+        Location to = player.getLocation().clone();
+        to.add(random.nextInt(-1, 2), 0, random.nextInt(-1, 2));
+        if (Math.abs(to.getBlockX()) > AREA_RADIUS || Math.abs(to.getBlockZ()) > AREA_RADIUS) {
+            to.setX(-Math.signum(to.getX()) + to.getX() * 0.9);
+            to.setZ(-Math.signum(to.getZ()) + to.getZ() * 0.9);
+        }
+        player.simulatePlayerMove(to);
+    }
+
+    private void breakBlock(PlayerMock player) {
+        Block block = player.getLocation().getBlock().getRelative(BlockFace.DOWN);
+        block.setType(BLOCKS[random.nextInt(BLOCKS.length)]);
+        player.simulateBlockBreak(block);
+    }
+
+    private void damage(PlayerMock player) {
+        PlayerMock victim = players.get(random.nextInt(players.size()));
+        if (victim == player) return;
+
+        server.getPluginManager().callEvent(new EntityDamageByEntityEvent(player, victim,
+                EntityDamageEvent.DamageCause.ENTITY_ATTACK, 2.0));
+    }
+
+    private void kill(PlayerMock player) {
+        EntityType type = random.nextBoolean() ? EntityType.ZOMBIE : EntityType.CREEPER;
+        LivingEntity mob = (LivingEntity) world.spawnEntity(player.getLocation(), type);
+        try {
+            mob.setKiller(player);
+            server.getPluginManager().callEvent(new EntityDeathEvent(mob, new ArrayList<>(), 5));
+        } finally {
+            mob.remove();
+        }
+    }
+
+    private void openGui(PlayerMock player) {
+        player.performCommand(GUI_COMMANDS[random.nextInt(GUI_COMMANDS.length)]);
+        player.closeInventory();
+    }
+
+    private void usePerk(PlayerMock player) {
+        ItemStack item = plugin.getPerkManager().createPerkItem(PERKS[random.nextInt(PERKS.length)]);
+        if (item == null) return;
+
+        player.getInventory().setItemInMainHand(item);
+        server.getPluginManager().callEvent(new PlayerInteractEvent(player, Action.RIGHT_CLICK_AIR, item, null, BlockFace.SELF));
+    }
+
+    /**
+     * Waits for queued database work to finish, returning how long it took
+     */
+    private long drainDatabase() throws InterruptedException {
+        long start = System.currentTimeMillis();
+        while (plugin.getDatabaseManager().getPendingOperations() > 0
+                && System.currentTimeMillis() - start < DRAIN_TIMEOUT_MILLIS) {
+            server.getScheduler().performOneTick();
+            Thread.sleep(10);
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    private void clearMessages(PlayerMock player) {
+        while (player.nextMessage() != null) {
+            // PlayerMock keeps every message; drop them so memory stays flat
+        }
+    }
+
+    // ========================================
+    // REPORTING
+    // ========================================
+
+    private void report(long events, long busyNanos, long allocatedBytes, long drainMillis) {
+        double busySeconds = busyNanos / 1_000_000_000.0;
+
+        System.out.println();
+        System.out.println("=== Load simulation: " + playerCount + " players, " + seconds + "s ===");
+        System.out.printf("Events: %d (%.0f/s simulated, %.0f/s of main thread time)%n",
+                events, events / (double) seconds, events / Math.max(busySeconds, 1e-9));
+        System.out.printf("Main thread allocation: %.1f MB/s%n", allocatedBytes / 1_048_576.0 / seconds);
+
+        LatencyHistogram.Snapshot ticks = tickTimes.snapshot();
+        System.out.printf("Tick time ms (p50 / p95 / p99 / max): %s / %s / %s / %s, over budget: %d of %d%n",
+                millis(ticks.getPercentileMicros(50)), millis(ticks.getPercentileMicros(95)),
+                millis(ticks.getPercentileMicros(99)), millis(ticks.getMaxMicros()),
+                overloadedTicks, ticks.getCount());
+
+        System.out.println("Per-event latency us (count, p50 / p95 / p99 / max, errors):");
+        for (EventKind kind : EventKind.values()) {
+            LatencyHistogram.Snapshot snapshot = latencies.get(kind).snapshot();
+            System.out.printf("  %-12s %8d  %d / %d / %d / %d  %d%n", kind, snapshot.getCount(),
+                    snapshot.getPercentileMicros(50), snapshot.getPercentileMicros(95),
+                    snapshot.getPercentileMicros(99), snapshot.getMaxMicros(), errors.get(kind));
+        }
+
+        long writes = plugin.getPerfMetrics().getCount("db.execute")
+                + plugin.getPerfMetrics().getCount("db.batch")
+                + plugin.getPerfMetrics().getCount("db.transaction");
+        System.out.printf("Database: %d writes (%.1f/s), %d queries, drained in %dms, %d still pending%n",
+                writes, writes / (double) seconds, plugin.getPerfMetrics().getCount("db.query"),
+                drainMillis, plugin.getDatabaseManager().getPendingOperations());
+
+        System.out.println();
+        for (String line : plugin.getPerfMetrics().report()) {
+            System.out.println(ColorUtils.stripColor(ColorUtils.color(line)));
+        }
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.2f", micros / 1000.0);
+    }
+}
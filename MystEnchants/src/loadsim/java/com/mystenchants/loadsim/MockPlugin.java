@@ -0,0 +1,81 @@
+package com.mystenchants.loadsim;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import com.mystenchants.MystEnchants;
+import net.milkbowl.vault.economy.Economy;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.ServicePriority;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the real plugin on a MockBukkit server with Vault stubbed, for the load
+ * simulation and the jmh benchmarks
+ */
+public final class MockPlugin {
+
+    private MockPlugin() {
+    }
+
+    /**
+     * Enables the plugin on a mocked server. Each override is written to statistics.yml
+     * before the plugin reads its configs.
+     */
+    public static MystEnchants load(ServerMock server, Map<String, Object> statisticsOverrides) throws Exception {
+        Plugin vault = MockBukkit.createMockPlugin("Vault");
+        server.getServicesManager().register(Economy.class, SimulatedEconomy.create(), vault, ServicePriority.Normal);
+
+        PluginDescriptionFile description = description();
+        seedStatistics(server, description, statisticsOverrides);
+
+        MystEnchants plugin = MockBukkit.loadWith(MystEnchants.class, description);
+        if (!plugin.isEnabled()) {
+            throw new IllegalStateException("MystEnchants failed to enable, see the log above");
+        }
+        return plugin;
+    }
+
+    /**
+     * Reads the built plugin.yml without the hard depends, which are only stubbed here
+     */
+    private static PluginDescriptionFile description() throws Exception {
+        try (InputStream input = MockPlugin.class.getClassLoader().getResourceAsStream("plugin.yml")) {
+            if (input == null) {
+                throw new IllegalStateException("plugin.yml not found on the classpath");
+            }
+
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            String yaml = reader.lines()
+                    .filter(line -> !line.startsWith("depend:"))
+                    .collect(Collectors.joining("\n"));
+            return new PluginDescriptionFile(new StringReader(yaml));
+        }
+    }
+
+    /**
+     * Writes the bundled statistics.yml, with overrides applied, into the plugin's data folder
+     */
+    private static void seedStatistics(ServerMock server, PluginDescriptionFile description,
+                                       Map<String, Object> overrides) throws Exception {
+        File dataFolder = server.getPluginManager().createTemporaryDirectory(description.getName() + "-" + description.getVersion());
+        try (InputStream input = MockPlugin.class.getClassLoader().getResourceAsStream("statistics.yml")) {
+            if (input == null) {
+                throw new IllegalStateException("statistics.yml not found on the classpath");
+            }
+
+            YamlConfiguration statistics = YamlConfiguration.loadConfiguration(new InputStreamReader(input, StandardCharsets.UTF_8));
+            overrides.forEach(statistics::set);
+            statistics.save(new File(dataFolder, "statistics.yml"));
+        }
+    }
+}
@@ -3,12 +3,16 @@ package com.mystenchants;
 import com.mystenchants.commands.*;
 import com.mystenchants.config.ConfigManager;
 import com.mystenchants.database.DatabaseManager;
+import com.mystenchants.database.ProfileSyncService;
+import com.mystenchants.database.StateStore;
 import com.mystenchants.enchants.EnchantManager;
 import com.mystenchants.gui.GuiManager;
 import com.mystenchants.listeners.*;
 import com.mystenchants.managers.*;
 import com.mystenchants.integrations.*;
+import com.mystenchants.perf.PerfMetrics;
 import com.mystenchants.utils.ColorUtils;
+import com.mystenchants.utils.DebugLog;
 import com.mystenchants.managers.ZetsuboSacrificeManager;
 import com.mystenchants.listeners.ZetsuboRegionMoveListener;
 import com.mystenchants.commands.ZetsuboCommand;
@@ -26,12 +30,16 @@ public final class MystEnchants extends JavaPlugin {
     private static MystEnchants instance;
     private ConfigManager configManager;
     private DatabaseManager databaseManager;
+    private StateStore stateStore;
+    private ProfileSyncService profileSyncService;
     private EnchantManager enchantManager;
     private GuiManager guiManager;
     private SoulManager soulManager;
     private PlayerDataManager playerDataManager;
     private RedemptionManager redemptionManager;
     private PerkManager perkManager;
+    private PerkLedger perkLedger;
+    private PerkProjectileRegistry perkProjectileRegistry;
     private StatisticManager statisticManager;
     private WorthySacrificeManager worthySacrificeManager;
     private SnowmanManager snowmanManager;
@@ -40,6 +48,10 @@ public final class MystEnchants extends JavaPlugin {
     private MythicBossFightManager mythicBossFightManager;
     private BackupEnchantListener backupEnchantListener;
     private ZetsuboSacrificeManager zetsuboSacrificeManager;
+    private RedemptionSlotIndex redemptionSlotIndex;
+    private AreaBreakManager areaBreakManager;
+    private PerfMetrics perfMetrics;
+    private DebugLog debugLog;
 
 
     // ADDED: Store listener instances for cleanup access
@@ -52,6 +64,9 @@ public final class MystEnchants extends JavaPlugin {
         // Initialize configuration
         configManager = new ConfigManager(this);
         configManager.loadConfigs();
+        perfMetrics = new PerfMetrics(this);
+        debugLog = new DebugLog(this);
+        debugLog.start();
 
         // Setup economy
         if (!setupEconomy()) {
@@ -60,8 +75,6 @@ public final class MystEnchants extends JavaPlugin {
             return;
         }
 
-        this.zetsuboSacrificeManager = new ZetsuboSacrificeManager(this);
-
         mythicMobsIntegration = new MythicMobsIntegration(this);
         if (mythicMobsIntegration.isMythicMobsEnabled()) {
             mythicBossFightManager = new MythicBossFightManager(this, mythicMobsIntegration);
@@ -72,6 +85,8 @@ public final class MystEnchants extends JavaPlugin {
         try {
             databaseManager = new DatabaseManager(this);
             databaseManager.initialize();
+            stateStore = new StateStore(this, databaseManager);
+            profileSyncService = new ProfileSyncService(this, databaseManager);
         } catch (Exception e) {
             getLogger().log(Level.SEVERE, "Failed to initialize database!", e);
             getServer().getPluginManager().disablePlugin(this);
@@ -85,9 +100,14 @@ public final class MystEnchants extends JavaPlugin {
         playerDataManager = new PlayerDataManager(this);
         redemptionManager = new RedemptionManager(this);
         perkManager = new PerkManager(this);
+        perkLedger = new PerkLedger(this);
+        perkProjectileRegistry = new PerkProjectileRegistry();
         statisticManager = new StatisticManager(this);
         worthySacrificeManager = new WorthySacrificeManager(this);
         snowmanManager = new SnowmanManager(this);
+        profileSyncService.start();
+        redemptionSlotIndex = new RedemptionSlotIndex(this);
+        areaBreakManager = new AreaBreakManager(this);
         this.zetsuboSacrificeManager = new ZetsuboSacrificeManager(this);
 
         // Register WorldGuard integration using PlayerMoveEvent instead of SessionManager
@@ -111,6 +131,9 @@ public final class MystEnchants extends JavaPlugin {
             getLogger().info("WorldGuard integration enabled for Zetsubo Sacrifice");
         }
 
+        // Time our own event handlers (after every listener is registered)
+        perfMetrics.instrumentListeners();
+
         // Initialize metrics
         new Metrics(this, 19584);
 
@@ -128,6 +151,26 @@ public final class MystEnchants extends JavaPlugin {
             backupEnchantListener.cleanupAll();
         }
 
+        // Finish queued area breaks while the world and stats are still available
+        if (areaBreakManager != null) {
+            areaBreakManager.shutdown();
+        }
+
+        // Players are still online here; save them (bounded) while the database accepts work
+        if (playerDataManager != null) {
+            playerDataManager.saveAll(getConfigManager().getLong("config.yml", "database.shutdown-timeout", 10000));
+        }
+
+        if (profileSyncService != null) {
+            profileSyncService.shutdown();
+        }
+
+        // Write queued flag changes before the pool closes
+        if (stateStore != null) {
+            stateStore.shutdown();
+        }
+
+        // Drains whatever is still queued, then closes the pool
         if (databaseManager != null) {
             databaseManager.close();
         }
@@ -136,6 +179,10 @@ public final class MystEnchants extends JavaPlugin {
             zetsuboSacrificeManager.shutdown();
         }
 
+        if (debugLog != null) {
+            debugLog.shutdown();
+        }
+
         getLogger().info(ColorUtils.color("&cMystEnchants has been disabled!"));
     }
 
@@ -156,9 +203,11 @@ public final class MystEnchants extends JavaPlugin {
     }
 
     private void registerListeners() {
+        getServer().getPluginManager().registerEvents(stateStore, this);
         getServer().getPluginManager().registerEvents(new PlayerJoinListener(this), this);
         getServer().getPluginManager().registerEvents(new PlayerQuitListener(this), this);
         getServer().getPluginManager().registerEvents(new PlayerDeathListener(this), this);
+        getServer().getPluginManager().registerEvents(new RedemptionArenaListener(this), this);
         getServer().getPluginManager().registerEvents(new BlockBreakListener(this), this);
         getServer().getPluginManager().registerEvents(new PlayerMoveListener(this), this);
         getServer().getPluginManager().registerEvents(new EntityDamageListener(this), this);
@@ -177,6 +226,7 @@ public final class MystEnchants extends JavaPlugin {
         getServer().getPluginManager().registerEvents(perkCombatListener, this);
         getServer().getPluginManager().registerEvents(new PerkProjectileListener(this), this);
         getServer().getPluginManager().registerEvents(worthySacrificeManager, this);
+        getServer().getPluginManager().registerEvents(redemptionSlotIndex, this);
 
         getServer().getPluginManager().registerEvents(new ChickenSpawnPrevention(this), this);
 
@@ -210,10 +260,26 @@ public final class MystEnchants extends JavaPlugin {
         return configManager;
     }
 
+    public PerfMetrics getPerfMetrics() {
+        return perfMetrics;
+    }
+
+    public DebugLog getDebugLog() {
+        return debugLog;
+    }
+
     public DatabaseManager getDatabaseManager() {
         return databaseManager;
     }
 
+    public StateStore getStateStore() {
+        return stateStore;
+    }
+
+    public ProfileSyncService getProfileSyncService() {
+        return profileSyncService;
+    }
+
     public EnchantManager getEnchantManager() {
         return enchantManager;
     }
@@ -238,6 +304,14 @@ public final class MystEnchants extends JavaPlugin {
         return perkManager;
     }
 
+    public PerkLedger getPerkLedger() {
+        return perkLedger;
+    }
+
+    public PerkProjectileRegistry getPerkProjectileRegistry() {
+        return perkProjectileRegistry;
+    }
+
     public StatisticManager getStatisticManager() {
         return statisticManager;
     }
@@ -250,6 +324,14 @@ public final class MystEnchants extends JavaPlugin {
         return snowmanManager;
     }
 
+    public RedemptionSlotIndex getRedemptionSlotIndex() {
+        return redemptionSlotIndex;
+    }
+
+    public AreaBreakManager getAreaBreakManager() {
+        return areaBreakManager;
+    }
+
     public Economy getEconomy() {
         return economy;
     }
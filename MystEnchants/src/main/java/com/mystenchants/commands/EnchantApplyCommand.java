@@ -2,6 +2,7 @@ package com.mystenchants.commands;
 
 import com.mystenchants.MystEnchants;
 import com.mystenchants.enchants.CustomEnchant;
+import com.mystenchants.enchants.EnchantCompatibility;
 import com.mystenchants.utils.ColorUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
@@ -13,7 +14,10 @@ import org.bukkit.inventory.ItemStack;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Handles the /enchant command for applying enchants to held items
@@ -44,8 +48,8 @@ public class EnchantApplyCommand implements CommandExecutor, TabCompleter {
 
 
 
-        if (!args[1].equalsIgnoreCase("give") && !args[1].equalsIgnoreCase("debug")) {
-            sender.sendMessage(ColorUtils.color("&cUsage: /enchant <player> give <enchant> <level>"));
+        if (!args[1].equalsIgnoreCase("give") && !args[1].equalsIgnoreCase("applyall") && !args[1].equalsIgnoreCase("debug")) {
+            sender.sendMessage(ColorUtils.color("&cUsage: /enchant <player> <give|applyall> <enchant> <level>"));
             return true;
         }
 
@@ -88,6 +92,17 @@ public class EnchantApplyCommand implements CommandExecutor, TabCompleter {
             return true;
         }
 
+        // Bulk apply to every compatible item in the target's inventory (admin only)
+        if (args[1].equalsIgnoreCase("applyall")) {
+            if (!sender.hasPermission("mystenchants.admin") && !sender.hasPermission("mystenchants.enchant.bypass")) {
+                sender.sendMessage(ColorUtils.color(plugin.getConfigManager().getString("config.yml", "messages.no-permission", "&cYou don't have permission!")));
+                return true;
+            }
+
+            applyEnchantToInventory(sender, target, enchant, level);
+            return true;
+        }
+
         // Check if target has item in hand
         ItemStack heldItem = target.getInventory().getItemInMainHand();
         if (heldItem == null || heldItem.getType().isAir()) {
@@ -145,68 +160,87 @@ public class EnchantApplyCommand implements CommandExecutor, TabCompleter {
      * Applies the enchant to the player's held item
      */
     private void applyEnchantToHeldItem(CommandSender sender, Player target, CustomEnchant enchant, int level, ItemStack heldItem) {
-        // Check if item already has a custom enchant
-        if (plugin.getEnchantManager().hasCustomEnchant(heldItem)) {
-            CustomEnchant existingEnchant = plugin.getEnchantManager().getCustomEnchant(heldItem);
-            int existingLevel = plugin.getEnchantManager().getCustomEnchantLevel(heldItem);
-
-            if (existingEnchant != null && existingEnchant.getName().equals(enchant.getName())) {
-                // Same enchant - check if we're upgrading or downgrading
-                if (existingLevel == level) {
-                    sender.sendMessage(ColorUtils.color("&c" + target.getName() + "'s " + formatMaterialName(heldItem.getType()) + " already has " + enchant.getDisplayName() + " Level " + level + "!"));
-                    return;
-                }
-
-                String action = level > existingLevel ? "upgraded" : "changed";
-
-                // Remove existing enchant first
-                ItemStack updatedItem = plugin.getEnchantManager().removeEnchant(heldItem);
-                // Apply new level
-                ItemStack enchantedItem = plugin.getEnchantManager().applyEnchant(updatedItem, enchant, level);
-                target.getInventory().setItemInMainHand(enchantedItem);
-
-                // Success messages
-                String adminMessage = plugin.getConfigManager().getString("config.yml", "messages.enchant-apply-admin-success",
-                        "&a{action} {player}'s {item} to {enchant} Level {level}!");
-                adminMessage = adminMessage.replace("{action}", action.substring(0, 1).toUpperCase() + action.substring(1))
-                        .replace("{player}", target.getName())
-                        .replace("{item}", formatMaterialName(heldItem.getType()))
-                        .replace("{enchant}", enchant.getDisplayName())
-                        .replace("{level}", String.valueOf(level));
-                sender.sendMessage(ColorUtils.color(adminMessage));
-
-                String playerMessage = plugin.getConfigManager().getString("config.yml", "messages.enchant-apply-player-received",
-                        "&aYour {item} has been {action} to {enchant} Level {level}!");
-                playerMessage = playerMessage.replace("{action}", action)
-                        .replace("{item}", formatMaterialName(heldItem.getType()))
-                        .replace("{enchant}", enchant.getDisplayName())
-                        .replace("{level}", String.valueOf(level));
-                target.sendMessage(ColorUtils.color(playerMessage));
-
+        // Decode once; the rest of the validation is bit checks against the compatibility model
+        Map<String, Integer> current = plugin.getEnchantManager().getAllCustomEnchants(heldItem);
+        EnchantCompatibility compatibility = plugin.getEnchantManager().getCompatibility();
+        Integer existingLevel = current.get(enchant.getName());
+
+        if (existingLevel != null) {
+            // Same enchant - check if we're upgrading or downgrading
+            if (existingLevel == level) {
+                sender.sendMessage(ColorUtils.color("&c" + target.getName() + "'s " + formatMaterialName(heldItem.getType()) + " already has " + enchant.getDisplayName() + " Level " + level + "!"));
                 return;
-            } else {
-                // Different enchant - ask for confirmation or force replace
-                boolean forceReplace = plugin.getConfigManager().getBoolean("config.yml", "enchant-command.force-replace-different-enchant", false);
+            }
 
-                if (!forceReplace) {
-                    sender.sendMessage(ColorUtils.color("&c" + target.getName() + "'s " + formatMaterialName(heldItem.getType()) + " already has " + existingEnchant.getDisplayName() + " Level " + existingLevel + "!"));
-                    sender.sendMessage(ColorUtils.color("&7Set 'enchant-command.force-replace-different-enchant: true' in config to allow replacing different enchants."));
-                    return;
-                }
+            String action = level > existingLevel ? "upgraded" : "changed";
+
+            // Change just this enchant's level, keeping any others
+            ItemStack enchantedItem = plugin.getEnchantManager().applyEnchant(heldItem, enchant, level);
+            target.getInventory().setItemInMainHand(enchantedItem);
+            plugin.getRedemptionSlotIndex().markDirty(target);
+
+            // Success messages
+            String adminMessage = plugin.getConfigManager().getString("config.yml", "messages.enchant-apply-admin-success",
+                    "&a{action} {player}'s {item} to {enchant} Level {level}!");
+            adminMessage = adminMessage.replace("{action}", action.substring(0, 1).toUpperCase() + action.substring(1))
+                    .replace("{player}", target.getName())
+                    .replace("{item}", formatMaterialName(heldItem.getType()))
+                    .replace("{enchant}", enchant.getDisplayName())
+                    .replace("{level}", String.valueOf(level));
+            sender.sendMessage(ColorUtils.color(adminMessage));
+
+            String playerMessage = plugin.getConfigManager().getString("config.yml", "messages.enchant-apply-player-received",
+                    "&aYour {item} has been {action} to {enchant} Level {level}!");
+            playerMessage = playerMessage.replace("{action}", action)
+                    .replace("{item}", formatMaterialName(heldItem.getType()))
+                    .replace("{enchant}", enchant.getDisplayName())
+                    .replace("{level}", String.valueOf(level));
+            target.sendMessage(ColorUtils.color(playerMessage));
+            return;
+        }
 
-                // Remove existing enchant
-                heldItem = plugin.getEnchantManager().removeEnchant(heldItem);
+        EnchantCompatibility.Result result = compatibility.check(enchant, level, heldItem.getType(), current);
+        if (result == EnchantCompatibility.Result.CONFLICT || result == EnchantCompatibility.Result.LIMIT_REACHED) {
+            // Blocked by a conflicting enchant or the per-item limit - ask for confirmation or force replace
+            boolean forceReplace = plugin.getConfigManager().getBoolean("config.yml", "enchant-command.force-replace-different-enchant", false);
+
+            if (!forceReplace) {
+                CustomEnchant blocking = result == EnchantCompatibility.Result.CONFLICT
+                        ? compatibility.findConflict(enchant, current) : null;
+                if (blocking != null) {
+                    sender.sendMessage(ColorUtils.color("&c" + target.getName() + "'s " + formatMaterialName(heldItem.getType()) + " already has " + blocking.getDisplayName() + " Level " + current.get(blocking.getName()) + ", which conflicts with " + enchant.getDisplayName() + "!"));
+                } else {
+                    sender.sendMessage(ColorUtils.color("&c" + target.getName() + "'s " + formatMaterialName(heldItem.getType()) + " cannot hold any more enchants!"));
+                }
+                sender.sendMessage(ColorUtils.color("&7Set 'enchant-command.force-replace-different-enchant: true' in config to allow replacing different enchants."));
+                return;
             }
+
+            // Replace the existing enchants in a single write
+            ItemStack enchantedItem = plugin.getEnchantManager().setEnchants(heldItem,
+                    Collections.singletonMap(enchant.getName(), level));
+            target.getInventory().setItemInMainHand(enchantedItem);
+            plugin.getRedemptionSlotIndex().markDirty(target);
+            playEnchantApplyEffects(target);
+            sendAppliedMessages(sender, target, enchant, level, heldItem);
+            return;
         }
 
         // Apply the enchant
         ItemStack enchantedItem = plugin.getEnchantManager().applyEnchant(heldItem, enchant, level);
         target.getInventory().setItemInMainHand(enchantedItem);
+        plugin.getRedemptionSlotIndex().markDirty(target);
 
         // Play effects
         playEnchantApplyEffects(target);
 
-        // Success messages
+        sendAppliedMessages(sender, target, enchant, level, heldItem);
+    }
+
+    /**
+     * Sends the admin and player confirmation messages for an application
+     */
+    private void sendAppliedMessages(CommandSender sender, Player target, CustomEnchant enchant, int level, ItemStack heldItem) {
         String adminMessage = plugin.getConfigManager().getString("config.yml", "messages.enchant-apply-admin-success",
                 "&aApplied {enchant} Level {level} to {player}'s {item}!");
         adminMessage = adminMessage.replace("{player}", target.getName())
@@ -223,6 +257,21 @@ public class EnchantApplyCommand implements CommandExecutor, TabCompleter {
         target.sendMessage(ColorUtils.color(playerMessage));
     }
 
+    /**
+     * Applies the enchant to every compatible item in the target's inventory
+     */
+    private void applyEnchantToInventory(CommandSender sender, Player target, CustomEnchant enchant, int level) {
+        int changed = plugin.getEnchantManager().applyEnchantToInventory(target.getInventory(), enchant, level);
+        if (changed == 0) {
+            sender.sendMessage(ColorUtils.color("&c" + target.getName() + " has no items that can receive " + enchant.getDisplayName() + " Level " + level + "!"));
+            return;
+        }
+
+        plugin.getRedemptionSlotIndex().markDirty(target);
+        playEnchantApplyEffects(target);
+        sender.sendMessage(ColorUtils.color("&aApplied " + enchant.getDisplayName() + " Level " + level + " to " + changed + " of " + target.getName() + "'s items!"));
+    }
+
     /**
      * Plays enchant application effects
      */
@@ -282,8 +331,10 @@ public class EnchantApplyCommand implements CommandExecutor, TabCompleter {
             }
         } else if (args.length == 2) {
             List<String> actions = Arrays.asList("unlock", "give", "remove", "setstat");
-            if ("give".toLowerCase().startsWith(args[1].toLowerCase())) {
-                completions.add("give");
+            for (String action : Arrays.asList("give", "applyall")) {
+                if (action.startsWith(args[1].toLowerCase())) {
+                    completions.add(action);
+                }
             }
         } else if (args.length == 3) {
             if (args[1].equalsIgnoreCase("setstat")) {
@@ -296,8 +347,18 @@ public class EnchantApplyCommand implements CommandExecutor, TabCompleter {
                     }
                 }
             } else {
-                // Enchant names for other commands
-                for (CustomEnchant enchant : plugin.getEnchantManager().getAllEnchants()) {
+                // Enchant names for other commands - narrowed to the target's held item when possible
+                Collection<CustomEnchant> options = plugin.getEnchantManager().getAllEnchants();
+                Player target = Bukkit.getPlayerExact(args[0]);
+                if (args[1].equalsIgnoreCase("give") && target != null) {
+                    List<CustomEnchant> candidates = plugin.getEnchantManager().getCompatibility()
+                            .getCandidates(target.getInventory().getItemInMainHand().getType());
+                    if (!candidates.isEmpty()) {
+                        options = candidates;
+                    }
+                }
+
+                for (CustomEnchant enchant : options) {
                     if (enchant.getName().toLowerCase().startsWith(args[2].toLowerCase())) {
                         completions.add(enchant.getName());
                     }
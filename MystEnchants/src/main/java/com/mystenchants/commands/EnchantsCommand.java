@@ -11,6 +11,8 @@ import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -52,6 +54,46 @@ public class EnchantsCommand implements CommandExecutor, TabCompleter {
             return true;
         }
 
+        if (args[0].equalsIgnoreCase("perf")) {
+            String action = args.length > 1 ? args[1] : "report";
+
+            if (action.equalsIgnoreCase("report")) {
+                for (String line : plugin.getPerfMetrics().report()) {
+                    sender.sendMessage(ColorUtils.color(line));
+                }
+                return true;
+            }
+
+            if (action.equalsIgnoreCase("reset")) {
+                plugin.getPerfMetrics().reset();
+                plugin.getDatabaseManager().getQueryStatistics().reset();
+                sender.sendMessage(ColorUtils.color("&aPerformance metrics reset; a new window has started."));
+                return true;
+            }
+
+            if (action.equalsIgnoreCase("queries")) {
+                for (String line : plugin.getDatabaseManager().getQueryStatistics().top(10)) {
+                    sender.sendMessage(ColorUtils.color(line));
+                }
+                return true;
+            }
+
+            if (action.equalsIgnoreCase("dump")) {
+                Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                    try {
+                        File file = plugin.getDatabaseManager().getQueryStatistics().dump();
+                        sender.sendMessage(ColorUtils.color("&aQuery statistics written to " + file.getName()));
+                    } catch (IOException e) {
+                        sender.sendMessage(ColorUtils.color("&cCould not write query statistics: " + e.getMessage()));
+                    }
+                });
+                return true;
+            }
+
+            sender.sendMessage(ColorUtils.color("&cUsage: /" + label + " perf <report|reset|queries|dump>"));
+            return true;
+        }
+
         if (args.length >= 4 && args[1].equalsIgnoreCase("setstat")) {
             Player target = Bukkit.getPlayer(args[0]); // args[0] is the player name
             if (target == null) {
@@ -271,11 +313,20 @@ public class EnchantsCommand implements CommandExecutor, TabCompleter {
             if ("debug".startsWith(args[0].toLowerCase())) {
                 completions.add("debug");
             }
+            if ("perf".startsWith(args[0].toLowerCase())) {
+                completions.add("perf");
+            }
         } else if (args.length == 2) {
             if (args[0].equalsIgnoreCase("debug")) {
                 if ("soulshop".startsWith(args[1].toLowerCase())) {
                     completions.add("soulshop");
                 }
+            } else if (args[0].equalsIgnoreCase("perf")) {
+                for (String action : Arrays.asList("report", "reset", "queries", "dump")) {
+                    if (action.startsWith(args[1].toLowerCase())) {
+                        completions.add(action);
+                    }
+                }
             } else {
                 // Actions
                 List<String> actions = Arrays.asList("unlock", "give", "remove", "setstat");
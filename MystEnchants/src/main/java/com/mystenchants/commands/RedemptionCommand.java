@@ -1,6 +1,8 @@
 package com.mystenchants.commands;
 
 import com.mystenchants.MystEnchants;
+import com.mystenchants.managers.RedemptionArena;
+import com.mystenchants.managers.RedemptionManager;
 import com.mystenchants.utils.ColorUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
@@ -45,6 +47,18 @@ public class RedemptionCommand implements CommandExecutor, TabCompleter {
                 return true;
             }
 
+            // Already fighting or waiting for an arena
+            if (plugin.getRedemptionManager().isFighting(player)) {
+                player.sendMessage(ColorUtils.color(plugin.getConfigManager().getString("config.yml", "messages.redemption-active", "&cA redemption is already active!")));
+                return true;
+            }
+
+            if (plugin.getRedemptionManager().isQueued(player)) {
+                String message = plugin.getConfigManager().getString("config.yml", "messages.redemption-queue-position", "&7You are now &6#{position} &7in the redemption queue.");
+                player.sendMessage(ColorUtils.color(message.replace("{position}", String.valueOf(plugin.getRedemptionManager().getQueuePosition(player)))));
+                return true;
+            }
+
             // Check if player is on cooldown
             plugin.getPlayerDataManager().isOnRedemptionCooldown(player.getUniqueId())
                     .thenAccept(onCooldown -> {
@@ -58,13 +72,7 @@ public class RedemptionCommand implements CommandExecutor, TabCompleter {
                             return;
                         }
 
-                        // Check if a redemption is already active
-                        if (plugin.getRedemptionManager().isRedemptionActive()) {
-                            player.sendMessage(ColorUtils.color(plugin.getConfigManager().getString("config.yml", "messages.redemption-active", "&cA redemption is already active!")));
-                            return;
-                        }
-
-                        // Open confirmation GUI
+                        // Open confirmation GUI; busy arenas put the player in the queue on confirm
                         org.bukkit.Bukkit.getScheduler().runTask(plugin, () -> {
                             player.openInventory(plugin.getGuiManager().createRedemptionGui(player));
                         });
@@ -89,7 +97,41 @@ public class RedemptionCommand implements CommandExecutor, TabCompleter {
                 return true;
             }
 
-            plugin.getRedemptionManager().addSpectator(player);
+            plugin.getRedemptionManager().addSpectator(player, args.length > 1 ? args[1] : null);
+            return true;
+        }
+
+        if (subCommand.equalsIgnoreCase("accept")) {
+            // Accept the ready check for a held arena
+            if (!(sender instanceof Player)) {
+                sender.sendMessage(ColorUtils.color("&cThis command can only be used by players!"));
+                return true;
+            }
+
+            Player player = (Player) sender;
+
+            if (!plugin.getRedemptionManager().acceptReadyCheck(player)) {
+                player.sendMessage(ColorUtils.color("&cNo redemption arena is waiting for you!"));
+            }
+            return true;
+        }
+
+        if (subCommand.equalsIgnoreCase("leave")) {
+            // Leave the redemption queue
+            if (!(sender instanceof Player)) {
+                sender.sendMessage(ColorUtils.color("&cThis command can only be used by players!"));
+                return true;
+            }
+
+            Player player = (Player) sender;
+
+            // Also declines an arena held for the player
+            if (!plugin.getRedemptionManager().leaveQueue(player)) {
+                player.sendMessage(ColorUtils.color("&cYou are not in the redemption queue!"));
+                return true;
+            }
+
+            player.sendMessage(ColorUtils.color(plugin.getConfigManager().getString("config.yml", "messages.redemption-queue-left", "&7You left the redemption queue.")));
             return true;
         }
 
@@ -101,12 +143,22 @@ public class RedemptionCommand implements CommandExecutor, TabCompleter {
             }
 
             if (args.length < 2) {
-                sender.sendMessage(ColorUtils.color("&cUsage: /redemption admin <bossSetSpawn|playerSetSpawn>"));
+                sender.sendMessage(ColorUtils.color("&cUsage: /redemption admin <bossSetSpawn|playerSetSpawn|arenas> [arena]"));
                 return true;
             }
 
             String adminCommand = args[1];
 
+            if (adminCommand.equalsIgnoreCase("arenas")) {
+                sender.sendMessage(ColorUtils.color("&6Redemption arenas:"));
+                for (RedemptionArena arena : plugin.getRedemptionManager().getArenas()) {
+                    String status = !arena.isReady() ? "&cspawn points not set" : arena.getState().name();
+                    String fighter = arena.getFight() != null ? " &7(" + arena.getFight().getFighter().getName() + ")" : "";
+                    sender.sendMessage(ColorUtils.color("&7- &e" + arena.getName() + "&7: &f" + status + fighter));
+                }
+                return true;
+            }
+
             if (!(sender instanceof Player)) {
                 sender.sendMessage(ColorUtils.color("&cThis command can only be used by players!"));
                 return true;
@@ -114,8 +166,15 @@ public class RedemptionCommand implements CommandExecutor, TabCompleter {
 
             Player player = (Player) sender;
 
+            String arenaName = args.length > 2 ? args[2] : RedemptionManager.DEFAULT_ARENA;
+            RedemptionArena arena = plugin.getRedemptionManager().getArena(arenaName);
+            if (arena == null) {
+                sender.sendMessage(ColorUtils.color("&cUnknown redemption arena: " + arenaName + " &7(add it to boss-fight.arenas)"));
+                return true;
+            }
+
             if (adminCommand.equalsIgnoreCase("bossSetSpawn")) {
-                plugin.getRedemptionManager().setBossSpawnPoint(player.getLocation())
+                plugin.getRedemptionManager().setBossSpawnPoint(arena, player.getLocation())
                         .thenRun(() -> {
                             player.sendMessage(ColorUtils.color(plugin.getConfigManager().getString("config.yml", "messages.redemption-boss-spawn-set", "&aRedemption boss spawn point set!")));
                         });
@@ -123,14 +182,14 @@ public class RedemptionCommand implements CommandExecutor, TabCompleter {
             }
 
             if (adminCommand.equalsIgnoreCase("playerSetSpawn")) {
-                plugin.getRedemptionManager().setPlayerSpawnPoint(player.getLocation())
+                plugin.getRedemptionManager().setPlayerSpawnPoint(arena, player.getLocation())
                         .thenRun(() -> {
                             player.sendMessage(ColorUtils.color(plugin.getConfigManager().getString("config.yml", "messages.redemption-player-spawn-set", "&aRedemption player spawn point set!")));
                         });
                 return true;
             }
 
-            sender.sendMessage(ColorUtils.color("&cInvalid admin command! Use: bossSetSpawn, playerSetSpawn"));
+            sender.sendMessage(ColorUtils.color("&cInvalid admin command! Use: bossSetSpawn, playerSetSpawn, arenas"));
             return true;
         }
 
@@ -151,7 +210,7 @@ public class RedemptionCommand implements CommandExecutor, TabCompleter {
             return true;
         }
 
-        sender.sendMessage(ColorUtils.color("&cUsage: /redemption [spec|admin|end]"));
+        sender.sendMessage(ColorUtils.color("&cUsage: /redemption [spec|accept|leave|admin|end]"));
         return true;
     }
 
@@ -160,9 +219,9 @@ public class RedemptionCommand implements CommandExecutor, TabCompleter {
         List<String> completions = new ArrayList<>();
 
         if (args.length == 1) {
-            List<String> subCommands = Arrays.asList("spec");
+            List<String> subCommands = Arrays.asList("spec", "accept", "leave");
             if (sender.hasPermission("mystenchants.admin")) {
-                subCommands = Arrays.asList("spec", "admin", "end");
+                subCommands = Arrays.asList("spec", "accept", "leave", "admin", "end");
             }
 
             for (String subCommand : subCommands) {
@@ -171,12 +230,20 @@ public class RedemptionCommand implements CommandExecutor, TabCompleter {
                 }
             }
         } else if (args.length == 2 && args[0].equalsIgnoreCase("admin") && sender.hasPermission("mystenchants.admin")) {
-            List<String> adminCommands = Arrays.asList("bossSetSpawn", "playerSetSpawn");
+            List<String> adminCommands = Arrays.asList("bossSetSpawn", "playerSetSpawn", "arenas");
             for (String adminCommand : adminCommands) {
                 if (adminCommand.toLowerCase().startsWith(args[1].toLowerCase())) {
                     completions.add(adminCommand);
                 }
             }
+        } else if ((args.length == 2 && args[0].equalsIgnoreCase("spec"))
+                || (args.length == 3 && args[0].equalsIgnoreCase("admin") && sender.hasPermission("mystenchants.admin"))) {
+            String prefix = args[args.length - 1].toLowerCase();
+            for (RedemptionArena arena : plugin.getRedemptionManager().getArenas()) {
+                if (arena.getName().startsWith(prefix)) {
+                    completions.add(arena.getName());
+                }
+            }
         }
 
         return completions;
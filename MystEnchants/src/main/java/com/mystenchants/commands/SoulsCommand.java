@@ -98,6 +98,10 @@ public class SoulsCommand implements CommandExecutor, TabCompleter {
                                 String playerMessage = plugin.getConfigManager().getString("config.yml", "messages.souls-received", "&aYou received &6{amount} &asouls!");
                                 playerMessage = playerMessage.replace("{amount}", String.valueOf(amount));
                                 target.sendMessage(ColorUtils.color(playerMessage));
+                            })
+                            .exceptionally(throwable -> {
+                                sender.sendMessage(ColorUtils.color("&cCould not save the souls for " + target.getName() + "; nothing was given."));
+                                return null;
                             });
 
                 } else if (action.equalsIgnoreCase("take")) {
@@ -0,0 +1,84 @@
+package com.mystenchants.database;
+
+/**
+ * Tracks whether the database is reachable so an outage costs one failed connection
+ * attempt per retry interval instead of one per operation.
+ *
+ * The breaker opens after {@code failureThreshold} consecutive connection failures.
+ * While open, callers skip the pool entirely; once the retry interval has passed a
+ * single probe decides whether it closes again or stays open for another interval.
+ */
+public class CircuitBreaker {
+
+    private final int failureThreshold;
+    private final long retryIntervalMillis;
+
+    // Volatile so the per-operation checks can skip the lock while everything is healthy
+    private volatile int consecutiveFailures;
+    private volatile boolean open;
+    private long retryAt;
+    private long openedAt;
+
+    public CircuitBreaker(int failureThreshold, long retryIntervalMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.retryIntervalMillis = retryIntervalMillis;
+    }
+
+    /**
+     * Checks if operations should go to the pool
+     */
+    public boolean allowRequest() {
+        return !open;
+    }
+
+    /**
+     * Checks if the breaker is open and due for a probe
+     */
+    public synchronized boolean isRetryDue() {
+        return open && System.currentTimeMillis() >= retryAt;
+    }
+
+    /**
+     * Records a successful operation or probe; returns true if this closed the breaker
+     */
+    public boolean recordSuccess() {
+        if (!open && consecutiveFailures == 0) {
+            return false;
+        }
+        return closeBreaker();
+    }
+
+    private synchronized boolean closeBreaker() {
+        consecutiveFailures = 0;
+        if (!open) {
+            return false;
+        }
+        open = false;
+        return true;
+    }
+
+    /**
+     * Records a connection failure; returns true if this opened the breaker
+     */
+    public synchronized boolean recordFailure() {
+        consecutiveFailures++;
+        retryAt = System.currentTimeMillis() + retryIntervalMillis;
+        if (open || consecutiveFailures < failureThreshold) {
+            return false;
+        }
+        open = true;
+        openedAt = System.currentTimeMillis();
+        return true;
+    }
+
+    /**
+     * Gets how long the breaker has been open, or 0 if it is closed
+     */
+    public synchronized long getOpenMillis() {
+        return open ? System.currentTimeMillis() - openedAt : 0;
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+}
@@ -1,11 +1,27 @@
 package com.mystenchants.database;
 
 import com.mystenchants.MystEnchants;
+import com.mystenchants.perf.DatabaseOperationEvent;
+import com.mystenchants.perf.PerfMetrics;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.IOException;
 
 import java.sql.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 /**
@@ -16,9 +32,25 @@ public class DatabaseManager {
     private final MystEnchants plugin;
     private HikariDataSource dataSource;
     private boolean isMySQL;
+    private final AtomicInteger pendingOperations = new AtomicInteger();
+    private final AtomicLong operationIds = new AtomicLong();
+    private final Map<Long, Object> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Integer> rejected = new ConcurrentHashMap<>();
+    private volatile boolean accepting = true;
+    private volatile boolean closed;
+    private final QueryStatistics queryStatistics;
+    private final WriteSpool writeSpool;
+    private final CircuitBreaker breaker;
+    private final AtomicBoolean recovering = new AtomicBoolean();
+    private BukkitTask recoveryTask;
 
     public DatabaseManager(MystEnchants plugin) {
         this.plugin = plugin;
+        this.queryStatistics = new QueryStatistics(plugin);
+        this.writeSpool = new WriteSpool(plugin);
+        this.breaker = new CircuitBreaker(
+                plugin.getConfigManager().getInt("config.yml", "database.spool.failure-threshold", 3),
+                plugin.getConfigManager().getLong("config.yml", "database.spool.retry-interval", 5) * 1000L);
     }
 
     /**
@@ -38,6 +70,9 @@ public class DatabaseManager {
 
         dataSource = new HikariDataSource(config);
         createTables();
+        registerGauges();
+        queryStatistics.start();
+        openSpool();
 
         plugin.getLogger().info("Database initialized successfully using " + databaseType);
     }
@@ -124,6 +159,7 @@ public class DatabaseManager {
             // Redemption data table
             String redemptionTable = "CREATE TABLE IF NOT EXISTS redemption_data (" +
                     "id " + (isMySQL ? "INT AUTO_INCREMENT PRIMARY KEY" : "INTEGER PRIMARY KEY AUTOINCREMENT") + ", " +
+                    "arena VARCHAR(50), " +
                     "boss_spawn_x DOUBLE, " +
                     "boss_spawn_y DOUBLE, " +
                     "boss_spawn_z DOUBLE, " +
@@ -136,6 +172,30 @@ public class DatabaseManager {
                     "fight_start_time BIGINT DEFAULT 0" +
                     ")";
 
+            // Generic per-player flags (e.g. completed sacrifices)
+            String playerFlagsTable = "CREATE TABLE IF NOT EXISTS player_flags (" +
+                    "uuid VARCHAR(36) NOT NULL, " +
+                    "flag VARCHAR(50) NOT NULL, " +
+                    "set_at BIGINT NOT NULL, " +
+                    "PRIMARY KEY(uuid, flag)" +
+                    ")";
+
+            // Cross-server profile sync: per-player version and a compact changelog
+            String playerVersionsTable = "CREATE TABLE IF NOT EXISTS player_versions (" +
+                    "uuid VARCHAR(36) PRIMARY KEY, " +
+                    "version BIGINT NOT NULL DEFAULT 0, " +
+                    "server_id VARCHAR(64), " +
+                    "saving INT NOT NULL DEFAULT 0, " +
+                    "updated_at BIGINT NOT NULL" +
+                    ")";
+
+            String playerChangesTable = "CREATE TABLE IF NOT EXISTS player_changes (" +
+                    "id " + (isMySQL ? "BIGINT AUTO_INCREMENT PRIMARY KEY" : "INTEGER PRIMARY KEY AUTOINCREMENT") + ", " +
+                    "uuid VARCHAR(36) NOT NULL, " +
+                    "server_id VARCHAR(64) NOT NULL, " +
+                    "changed_at BIGINT NOT NULL" +
+                    ")";
+
             // Execute table creation
             try (Statement statement = connection.createStatement()) {
                 statement.execute(playerDataTable);
@@ -143,8 +203,14 @@ public class DatabaseManager {
                 statement.execute(playerStatsTable);
                 statement.execute(playerPerksTable);
                 statement.execute(redemptionTable);
+                statement.execute(playerFlagsTable);
+                statement.execute(playerVersionsTable);
+                statement.execute(playerChangesTable);
             }
 
+            // Bring tables created by older versions up to date
+            migrateTables(connection);
+
             // Create indexes for better performance
             createIndexes(connection);
 
@@ -153,6 +219,37 @@ public class DatabaseManager {
         }
     }
 
+    /**
+     * Adds columns introduced after a table was first created
+     */
+    private void migrateTables(Connection connection) throws SQLException {
+        if (addColumnIfMissing(connection, "redemption_data", "arena", "VARCHAR(50)")) {
+            // The single pre-pool arena row becomes the default arena
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("UPDATE redemption_data SET arena = 'default' WHERE id = 1 AND arena IS NULL");
+            }
+            plugin.getLogger().info("Migrated redemption_data to named arenas");
+        }
+    }
+
+    /**
+     * Adds a column to a table if it doesn't exist yet; returns true if it was added
+     */
+    private boolean addColumnIfMissing(Connection connection, String table, String column, String definition) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        // Scoped to this database; on MySQL a null catalog also matches same-named tables in other schemas
+        try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, table, column)) {
+            if (columns.next()) {
+                return false;
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+        }
+        return true;
+    }
+
     /**
      * Creates database indexes for better performance
      */
@@ -160,7 +257,10 @@ public class DatabaseManager {
         String[] indexes = {
                 "CREATE INDEX IF NOT EXISTS idx_player_enchants_uuid ON player_enchants(uuid)",
                 "CREATE INDEX IF NOT EXISTS idx_player_perks_uuid ON player_perks(uuid)",
-                "CREATE INDEX IF NOT EXISTS idx_player_data_username ON player_data(username)"
+                "CREATE INDEX IF NOT EXISTS idx_player_data_username ON player_data(username)",
+                "CREATE INDEX IF NOT EXISTS idx_player_flags_flag ON player_flags(flag)",
+                "CREATE INDEX IF NOT EXISTS idx_player_changes_changed_at ON player_changes(changed_at)",
+                "CREATE UNIQUE INDEX IF NOT EXISTS idx_redemption_data_arena ON redemption_data(arena)"
         };
 
         try (Statement statement = connection.createStatement()) {
@@ -187,57 +287,209 @@ public class DatabaseManager {
         return dataSource.getConnection();
     }
 
+    public QueryStatistics getQueryStatistics() {
+        return queryStatistics;
+    }
+
+    /**
+     * Gets the number of submitted operations that have not finished yet
+     */
+    public int getPendingOperations() {
+        return pendingOperations.get();
+    }
+
+    /**
+     * Exposes queue depth and pool usage in the performance report
+     */
+    private void registerGauges() {
+        PerfMetrics metrics = plugin.getPerfMetrics();
+        metrics.gauge("db.pending-operations", pendingOperations::get);
+        metrics.gauge("db.pool.active-connections", () -> {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool != null ? pool.getActiveConnections() : 0;
+        });
+        metrics.gauge("db.pool.threads-waiting", () -> {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool != null ? pool.getThreadsAwaitingConnection() : 0;
+        });
+        metrics.gauge("db.spool.backlog-bytes", writeSpool::getBacklogBytes);
+        metrics.gauge("async.common-pool.queued", () -> ForkJoinPool.commonPool().getQueuedSubmissionCount());
+    }
+
+    /**
+     * Wraps a database task so its queue wait and run time are recorded and it is
+     * tracked until it finishes. The description is only turned into text if the task
+     * is still pending when the pool closes.
+     */
+    private Runnable timed(String name, Object description, Runnable task) {
+        Supplier<Void> timed = timedQuery(name, description, () -> {
+            task.run();
+            return null;
+        });
+        return timed::get;
+    }
+
+    private <T> Supplier<T> timedQuery(String name, Object description, Supplier<T> task) {
+        long submitted = System.nanoTime();
+        long id = operationIds.incrementAndGet();
+        inFlight.put(id, description);
+        pendingOperations.incrementAndGet();
+        return () -> {
+            PerfMetrics metrics = plugin.getPerfMetrics();
+            long start = System.nanoTime();
+            metrics.record("db.queue-wait", start - submitted);
+            try {
+                // Already reported as dropped when the pool closed
+                return closed ? null : task.get();
+            } finally {
+                inFlight.remove(id);
+                pendingOperations.decrementAndGet();
+                metrics.recordSince(name, start);
+            }
+        };
+    }
+
+    /**
+     * Refuses work submitted after shutdown has started, remembering what it was
+     */
+    private <T> CompletableFuture<T> reject(Object description) {
+        rejected.merge(describe(description), 1, Integer::sum);
+        return CompletableFuture.failedFuture(new IllegalStateException("Database is shutting down"));
+    }
+
+    private String describe(Object description) {
+        if (description instanceof List) {
+            List<?> statements = (List<?>) description;
+            return statements.isEmpty() ? "empty transaction"
+                    : "transaction of " + statements.size() + ": " + queryStatistics.fingerprint(String.valueOf(statements.get(0)));
+        }
+        return queryStatistics.fingerprint(String.valueOf(description));
+    }
+
     /**
      * Executes a query asynchronously
      */
     public CompletableFuture<Void> executeAsync(String sql, Object... parameters) {
-        return CompletableFuture.runAsync(() -> {
-            try (Connection connection = getConnection();
-                 PreparedStatement statement = connection.prepareStatement(sql)) {
+        return tryExecuteAsync(sql, parameters).thenApply(written -> null);
+    }
+
+    /**
+     * Executes an update asynchronously and completes with true if it was committed
+     * or spooled, false if it failed and was dropped
+     */
+    public CompletableFuture<Boolean> tryExecuteAsync(String sql, Object... parameters) {
+        if (!accepting) return reject(sql);
+        if (spooled(() -> WriteSpool.Record.execute(sql, parameters))) return CompletableFuture.completedFuture(true);
+
+        return CompletableFuture.supplyAsync(timedQuery("db.execute", sql, () -> {
+            try {
+                applyExecute(sql, parameters);
+                breaker.recordSuccess();
+                return true;
+            } catch (SQLException e) {
+                return writeFailed(e, WriteSpool.Record.execute(sql, parameters), "executing: " + sql);
+            }
+        })).thenApply(written -> written != null && written);
+    }
+
+    private void applyExecute(String sql, Object[] parameters) throws SQLException {
+        DatabaseOperationEvent event = DatabaseOperationEvent.start();
+        long requested = System.nanoTime();
+        try (Connection connection = getConnection()) {
+            long acquired = System.nanoTime();
 
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
                 for (int i = 0; i < parameters.length; i++) {
                     statement.setObject(i + 1, parameters[i]);
                 }
 
-                statement.executeUpdate();
-
-            } catch (SQLException e) {
-                plugin.getLogger().log(Level.SEVERE, "Database error executing: " + sql, e);
+                int rows = statement.executeUpdate();
+                queryStatistics.record(sql, System.nanoTime() - acquired, acquired - requested, rows);
+                event.complete("execute", sql, rows);
             }
-        });
+
+        } catch (SQLException e) {
+            queryStatistics.recordError(sql);
+            throw e;
+        }
     }
 
     /**
      * Executes a query and returns a result asynchronously
      */
     public <T> CompletableFuture<T> queryAsync(String sql, ResultSetHandler<T> handler, Object... parameters) {
-        return CompletableFuture.supplyAsync(() -> {
-            try (Connection connection = getConnection();
-                 PreparedStatement statement = connection.prepareStatement(sql)) {
+        if (!accepting) return reject(sql);
+        if (!breaker.allowRequest()) {
+            // Unreachable; fail like a query error without waiting on the pool
+            plugin.getPerfMetrics().increment("db.query-skipped");
+            return CompletableFuture.completedFuture(null);
+        }
 
-                for (int i = 0; i < parameters.length; i++) {
-                    statement.setObject(i + 1, parameters[i]);
-                }
+        return CompletableFuture.supplyAsync(timedQuery("db.query", sql, () -> {
+            DatabaseOperationEvent event = DatabaseOperationEvent.start();
+            long requested = System.nanoTime();
+            try (Connection connection = getConnection()) {
+                long acquired = System.nanoTime();
 
-                try (ResultSet resultSet = statement.executeQuery()) {
-                    return handler.handle(resultSet);
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < parameters.length; i++) {
+                        statement.setObject(i + 1, parameters[i]);
+                    }
+
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        T result = handler.handle(resultSet);
+                        queryStatistics.record(sql, System.nanoTime() - acquired, acquired - requested, -1);
+                        event.complete("query", sql, -1);
+                        breaker.recordSuccess();
+                        return result;
+                    }
                 }
 
             } catch (SQLException e) {
-                plugin.getLogger().log(Level.SEVERE, "Database error querying: " + sql, e);
+                queryStatistics.recordError(sql);
+                if (isConnectionFailure(e)) {
+                    connectionFailed(e, "querying: " + sql);
+                } else {
+                    plugin.getLogger().log(Level.SEVERE, "Database error querying: " + sql, e);
+                }
                 return null;
             }
-        });
+        }));
     }
 
     /**
      * Executes a batch update asynchronously
      */
     public CompletableFuture<Void> executeBatchAsync(String sql, Object[]... parameterSets) {
-        return CompletableFuture.runAsync(() -> {
-            try (Connection connection = getConnection();
-                 PreparedStatement statement = connection.prepareStatement(sql)) {
+        return tryExecuteBatchAsync(sql, parameterSets).thenApply(written -> null);
+    }
+
+    /**
+     * Executes a batch update asynchronously and completes with true if it was committed
+     * or spooled, false if it failed and was dropped
+     */
+    public CompletableFuture<Boolean> tryExecuteBatchAsync(String sql, Object[]... parameterSets) {
+        if (!accepting) return reject(sql);
+        if (spooled(() -> WriteSpool.Record.batch(sql, parameterSets))) return CompletableFuture.completedFuture(true);
+
+        return CompletableFuture.supplyAsync(timedQuery("db.batch", sql, () -> {
+            try {
+                applyBatch(sql, parameterSets);
+                breaker.recordSuccess();
+                return true;
+            } catch (SQLException e) {
+                return writeFailed(e, WriteSpool.Record.batch(sql, parameterSets), "executing batch: " + sql);
+            }
+        })).thenApply(written -> written != null && written);
+    }
+
+    private void applyBatch(String sql, Object[][] parameterSets) throws SQLException {
+        DatabaseOperationEvent event = DatabaseOperationEvent.start();
+        long requested = System.nanoTime();
+        try (Connection connection = getConnection()) {
+            long acquired = System.nanoTime();
 
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
                 for (Object[] parameters : parameterSets) {
                     for (int i = 0; i < parameters.length; i++) {
                         statement.setObject(i + 1, parameters[i]);
@@ -245,24 +497,332 @@ public class DatabaseManager {
                     statement.addBatch();
                 }
 
-                statement.executeBatch();
+                int rows = rowsAffected(statement.executeBatch());
+                queryStatistics.record(sql, System.nanoTime() - acquired, acquired - requested, rows);
+                event.complete("batch", sql, rows);
+            }
+
+        } catch (SQLException e) {
+            queryStatistics.recordError(sql);
+            throw e;
+        }
+    }
+
+    /**
+     * Executes several statements on one connection as a single transaction.
+     * statements.get(i) is run with parameters.get(i); everything is rolled back on failure.
+     */
+    public CompletableFuture<Void> executeTransactionAsync(List<String> statements, List<Object[]> parameters) {
+        return tryTransactionAsync(statements, parameters).thenApply(written -> null);
+    }
 
+    /**
+     * Executes several statements as a single transaction and completes with true if it
+     * was committed or spooled, false if it failed and was rolled back and dropped
+     */
+    public CompletableFuture<Boolean> tryTransactionAsync(List<String> statements, List<Object[]> parameters) {
+        if (statements.size() == 1) {
+            // Nothing to group; skip the autocommit round trips
+            return tryExecuteAsync(statements.get(0), parameters.get(0));
+        }
+        if (!accepting) return reject(statements);
+        if (spooled(() -> WriteSpool.Record.transaction(statements, parameters))) return CompletableFuture.completedFuture(true);
+
+        return CompletableFuture.supplyAsync(timedQuery("db.transaction", statements, () -> {
+            try {
+                applyTransaction(statements, parameters);
+                breaker.recordSuccess();
+                return true;
             } catch (SQLException e) {
-                plugin.getLogger().log(Level.SEVERE, "Database error executing batch: " + sql, e);
+                return writeFailed(e, WriteSpool.Record.transaction(statements, parameters), "executing transaction: " + statements);
+            }
+        })).thenApply(written -> written != null && written);
+    }
+
+    private void applyTransaction(List<String> statements, List<Object[]> parameters) throws SQLException {
+        applyWork(unit -> {
+            unit.executeAll(statements, parameters);
+            return null;
+        });
+    }
+
+    /**
+     * Runs a unit of work on one connection in one transaction and completes with its
+     * result straight from the database thread. The transaction is committed if the work
+     * returns and rolled back if it throws; failures complete the future exceptionally.
+     *
+     * Unlike the write methods, a unit can read, so it can't be spooled: while the
+     * database is unreachable, or spooled writes are still being replayed, it fails
+     * immediately rather than act on stale rows.
+     */
+    public <T> CompletableFuture<T> inTransactionAsync(Work<T> work) {
+        if (!accepting) return reject("unit of work");
+        if (!breaker.allowRequest() || writeSpool.hasBacklog()) {
+            return CompletableFuture.failedFuture(new SQLTransientConnectionException("Database unreachable or still replaying spooled writes"));
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture.runAsync(timed("db.transaction", "unit of work", () -> {
+            try {
+                result.complete(applyWork(work));
+                breaker.recordSuccess();
+            } catch (SQLException e) {
+                if (isConnectionFailure(e)) {
+                    connectionFailed(e, "running a unit of work");
+                } else {
+                    plugin.getLogger().log(Level.SEVERE, "Database error in unit of work", e);
+                }
+                result.completeExceptionally(e);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        })).whenComplete((v, throwable) -> {
+            // Skipped because the pool closed before it ran
+            if (!result.isDone()) {
+                result.completeExceptionally(new IllegalStateException("Database closed before the unit of work ran"));
             }
         });
+        return result;
+    }
+
+    private <T> T applyWork(Work<T> work) throws SQLException {
+        DatabaseOperationEvent event = DatabaseOperationEvent.start();
+        long requested = System.nanoTime();
+        try (Connection connection = getConnection()) {
+            return UnitOfWork.run(connection, queryStatistics, System.nanoTime() - requested, event, work);
+        }
+    }
+
+    // ========================================
+    // OUTAGES
+    // ========================================
+
+    private void openSpool() {
+        try {
+            writeSpool.open();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not open the write spool; writes made while the database is unreachable will be lost", e);
+        }
+        writeSpool.start();
+        recoveryTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::recover, 20L, 20L);
+    }
+
+    /**
+     * Sends a write to the spool if the database is down or earlier writes are still spooled
+     */
+    private boolean spooled(Supplier<WriteSpool.Record> record) {
+        boolean unreachable = !breaker.allowRequest();
+        if (!unreachable && !writeSpool.hasBacklog()) {
+            return false;
+        }
+        return writeSpool.offer(record.get(), unreachable);
     }
 
     /**
-     * Closes the database connection
+     * Spools a write that failed because the database could not be reached; other errors are logged and dropped.
+     * Returns true if the write was spooled.
+     */
+    private boolean writeFailed(SQLException e, WriteSpool.Record record, String description) {
+        if (!isConnectionFailure(e)) {
+            plugin.getLogger().log(Level.SEVERE, "Database error " + description, e);
+            return false;
+        }
+        connectionFailed(e, description);
+        writeSpool.append(record);
+        return true;
+    }
+
+    /**
+     * Counts a connection failure toward the breaker, logging only until it opens so an outage logs once
+     */
+    private void connectionFailed(SQLException e, String description) {
+        boolean wasOpen = breaker.isOpen();
+        if (breaker.recordFailure()) {
+            plugin.getLogger().severe("Database unreachable (" + e.getMessage() + "); spooling writes and skipping reads until it recovers");
+        } else if (!wasOpen) {
+            plugin.getLogger().warning("Database connection failed " + description + " (" + e.getMessage() + ")");
+        }
+    }
+
+    private static boolean isConnectionFailure(SQLException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException || cause instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+            if (cause instanceof SQLException) {
+                String state = ((SQLException) cause).getSQLState();
+                if (state != null && state.startsWith("08")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Probes the database while the breaker is open and replays the spool once it is reachable
+     */
+    private void recover() {
+        if (closed || !recovering.compareAndSet(false, true)) return;
+
+        try {
+            if (breaker.isOpen()) {
+                if (!breaker.isRetryDue()) return;
+
+                long outage = breaker.getOpenMillis();
+                if (!probe()) {
+                    breaker.recordFailure();
+                    return;
+                }
+                breaker.recordSuccess();
+                plugin.getLogger().info("Database reachable again after " + (outage / 1000L) + "s");
+            }
+
+            if (!writeSpool.hasBacklog()) return;
+
+            long start = System.currentTimeMillis();
+            int replayed = writeSpool.replay(this::replay);
+            if (replayed > 0) {
+                plugin.getLogger().info("Replayed " + replayed + " spooled writes in " + (System.currentTimeMillis() - start) + "ms"
+                        + (writeSpool.hasBacklog() ? ", more remain" : ""));
+            }
+            if (!writeSpool.hasBacklog()) {
+                // Reads that started during the replay may finish after it; keep them out of the caches
+                plugin.getPlayerDataManager().invalidateAll();
+            }
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not replay the write spool", e);
+        } finally {
+            recovering.set(false);
+        }
+    }
+
+    private boolean probe() {
+        try (Connection connection = getConnection()) {
+            return connection.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Applies one spooled write; returns false to stop and retry it later
+     */
+    private boolean replay(WriteSpool.Record record) {
+        if (closed) return false;
+
+        List<String> statements = record.getStatements();
+        List<Object[]> parameters = record.getParameters();
+        try {
+            if (record.isExecute()) {
+                applyExecute(statements.get(0), parameters.get(0));
+            } else if (record.isBatch()) {
+                applyBatch(statements.get(0), parameters.toArray(new Object[0][]));
+            } else {
+                applyTransaction(statements, parameters);
+            }
+            breaker.recordSuccess();
+            plugin.getPerfMetrics().increment("db.replayed");
+            return true;
+        } catch (SQLException e) {
+            if (closed || isConnectionFailure(e)) {
+                connectionFailed(e, "replaying spooled writes");
+                return false;
+            }
+            plugin.getLogger().log(Level.SEVERE, "Skipping spooled write that failed on replay: " + record
+                    + " " + Arrays.deepToString(parameters.toArray()), e);
+            return true;
+        }
+    }
+
+    /**
+     * Checks if the database is currently considered unreachable
+     */
+    public boolean isUnreachable() {
+        return breaker.isOpen();
+    }
+
+    /**
+     * Checks if spooled writes are still waiting to be replayed; rows read meanwhile may be
+     * missing them, so they must not fill a cache
+     */
+    public boolean isReplaying() {
+        return writeSpool.hasBacklog();
+    }
+
+    private static int rowsAffected(int[] counts) {
+        int rows = 0;
+        for (int count : counts) {
+            if (count > 0) rows += count;
+        }
+        return rows;
+    }
+
+    /**
+     * Stops accepting work, waits (bounded by database.shutdown-timeout) for queued
+     * operations to finish, reports anything dropped or rejected, then closes the pool.
+     * Buffered state should be flushed before this is called.
      */
     public void close() {
+        accepting = false;
+
+        long timeout = plugin.getConfigManager().getLong("config.yml", "database.shutdown-timeout", 10000);
+        long start = System.currentTimeMillis();
+        int queued = pendingOperations.get();
+
+        while (pendingOperations.get() > 0 && System.currentTimeMillis() - start < timeout) {
+            try {
+                Thread.sleep(10L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        // Anything still queued now will be skipped instead of failing against a closed pool
+        closed = true;
+        if (recoveryTask != null) {
+            recoveryTask.cancel();
+            recoveryTask = null;
+        }
+        writeSpool.close();
+        long waited = System.currentTimeMillis() - start;
+        Map<String, Integer> dropped = new TreeMap<>();
+        for (Object description : inFlight.values()) {
+            dropped.merge(describe(description), 1, Integer::sum);
+        }
+
+        if (dropped.isEmpty()) {
+            if (queued > 0) {
+                plugin.getLogger().info("Drained " + queued + " pending database operations in " + waited + "ms");
+            }
+        } else {
+            plugin.getLogger().severe("Database shutdown timed out after " + waited + "ms; dropped "
+                    + dropped.values().stream().mapToInt(Integer::intValue).sum() + " operations:");
+            dropped.forEach((statement, count) -> plugin.getLogger().severe("  x" + count + " " + statement));
+        }
+
+        if (!rejected.isEmpty()) {
+            plugin.getLogger().warning("Rejected " + rejected.values().stream().mapToInt(Integer::intValue).sum()
+                    + " database operations submitted after shutdown began:");
+            new TreeMap<>(rejected).forEach((statement, count) -> plugin.getLogger().warning("  x" + count + " " + statement));
+        }
+
+        queryStatistics.shutdown();
+
         if (dataSource != null && !dataSource.isClosed()) {
             dataSource.close();
             plugin.getLogger().info("Database connection closed.");
         }
     }
 
+    /**
+     * Checks if new operations are still accepted
+     */
+    public boolean isAccepting() {
+        return accepting;
+    }
+
     /**
      * Functional interface for handling result sets
      */
@@ -271,6 +831,14 @@ public class DatabaseManager {
         T handle(ResultSet resultSet) throws SQLException;
     }
 
+    /**
+     * Functional interface for work run in one transaction
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T run(UnitOfWork unit) throws SQLException;
+    }
+
     /**
      * Checks if the database is MySQL
      */
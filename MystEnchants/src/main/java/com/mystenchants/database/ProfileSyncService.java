@@ -0,0 +1,236 @@
+package com.mystenchants.database;
+
+import com.mystenchants.MystEnchants;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Keeps cached player profiles consistent across servers that share one MySQL database.
+ *
+ * Every cached profile write bumps the player's row in player_versions and appends a row
+ * to player_changes. Each server polls player_changes for rows written by other servers
+ * and invalidates the affected cached profiles. A uuid of "*" invalidates every profile
+ * (used by bulk admin operations). Sync is disabled on SQLite, which is single-server.
+ *
+ * Change ids are assigned when a row is inserted, not when it commits, so a slow
+ * transaction can commit a lower id after a higher one was already read. Each poll
+ * therefore also re-reads the rows stamped within the last rescan-window seconds and
+ * skips the ones it has already handled.
+ */
+public class ProfileSyncService {
+
+    public static final String ALL_PLAYERS = "*";
+
+    private final MystEnchants plugin;
+    private final DatabaseManager database;
+    private final boolean enabled;
+    private final String serverId;
+    private final long rescanWindowMillis;
+    private final long savingTimeoutMillis;
+
+    private volatile long lastChangeId = -1;
+    // Change ids already handled within the rescan window -> when they were seen (poll thread only)
+    private final Map<Long, Long> recentChanges = new HashMap<>();
+    private BukkitTask pollTask;
+    private long lastPrune;
+
+    public ProfileSyncService(MystEnchants plugin, DatabaseManager database) {
+        this.plugin = plugin;
+        this.database = database;
+        this.enabled = database.isMySQL() && plugin.getConfigManager().getBoolean("config.yml", "database.sync.enabled", false);
+
+        String configuredId = plugin.getConfigManager().getString("config.yml", "database.sync.server-id", "");
+        this.serverId = configuredId == null || configuredId.isEmpty() ? UUID.randomUUID().toString() : configuredId;
+        this.rescanWindowMillis = plugin.getConfigManager().getLong("config.yml", "database.sync.rescan-window", 30) * 1000L;
+        this.savingTimeoutMillis = plugin.getConfigManager().getLong("config.yml", "database.sync.saving-timeout", 30) * 1000L;
+    }
+
+    /**
+     * Checks whether profile state may be cached. Without sync, another server sharing
+     * the MySQL database could change a profile with nothing here to notice.
+     */
+    public boolean isCachingEnabled() {
+        return enabled || !database.isMySQL();
+    }
+
+    /**
+     * Starts polling for remote changes, beginning after the newest existing change
+     */
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        // Saves this server id left marked when it last stopped without finishing them
+        database.executeAsync("UPDATE player_versions SET saving = 0 WHERE server_id = ? AND saving <> 0", serverId);
+
+        database.queryAsync("SELECT MAX(id) AS max_id FROM player_changes",
+                resultSet -> resultSet.next() ? resultSet.getLong("max_id") : 0L
+        ).thenAccept(maxId -> {
+            lastChangeId = maxId != null ? maxId : 0L;
+
+            long interval = plugin.getConfigManager().getLong("config.yml", "database.sync.poll-interval", 20);
+            pollTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::poll, interval, interval);
+            plugin.getLogger().info("Cross-server profile sync enabled (server id " + serverId + ")");
+        });
+    }
+
+    /**
+     * Records that a player's profile changed on this server
+     */
+    public CompletableFuture<Void> markChanged(UUID playerUUID) {
+        return markChanged(playerUUID.toString());
+    }
+
+    /**
+     * Records that every profile changed (bulk operations)
+     */
+    public CompletableFuture<Void> markAllChanged() {
+        return markChanged(ALL_PLAYERS);
+    }
+
+    private CompletableFuture<Void> markChanged(String uuid) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<String> statements = new ArrayList<>(2);
+        List<Object[]> parameters = new ArrayList<>(2);
+        addChange(uuid, statements, parameters);
+        return database.executeTransactionAsync(statements, parameters);
+    }
+
+    /**
+     * Adds the version bump and change record for a player to a transaction being built,
+     * so a profile write and its sync marker commit together. Does nothing when disabled.
+     */
+    public void addChange(UUID playerUUID, List<String> statements, List<Object[]> parameters) {
+        if (enabled) {
+            addChange(playerUUID.toString(), statements, parameters);
+        }
+    }
+
+    private void addChange(String uuid, List<String> statements, List<Object[]> parameters) {
+        long now = System.currentTimeMillis();
+        statements.add("INSERT INTO player_versions (uuid, version, server_id, updated_at) VALUES (?, 1, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE version = version + 1, server_id = VALUES(server_id), updated_at = VALUES(updated_at)");
+        parameters.add(new Object[]{uuid, serverId, now});
+        statements.add("INSERT INTO player_changes (uuid, server_id, changed_at) VALUES (?, ?, ?)");
+        parameters.add(new Object[]{uuid, serverId, now});
+    }
+
+    /**
+     * Gets the stored version of a player's profile (0 if never written with sync enabled)
+     */
+    public CompletableFuture<Long> getVersion(UUID playerUUID) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(0L);
+        }
+
+        return database.queryAsync("SELECT version FROM player_versions WHERE uuid = ?",
+                resultSet -> resultSet.next() ? resultSet.getLong("version") : 0L,
+                playerUUID.toString()
+        ).thenApply(version -> version != null ? version : 0L);
+    }
+
+    /**
+     * Marks a player's profile as being saved (or finished saving) by this server.
+     * Another server preloading the player waits while the flag is set.
+     */
+    public CompletableFuture<Void> setSaving(UUID playerUUID, boolean saving) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return database.executeAsync(
+                "INSERT INTO player_versions (uuid, version, server_id, saving, updated_at) VALUES (?, 0, ?, ?, ?) " +
+                        "ON DUPLICATE KEY UPDATE saving = VALUES(saving), server_id = VALUES(server_id), updated_at = VALUES(updated_at)",
+                playerUUID.toString(), serverId, saving ? 1 : 0, System.currentTimeMillis()
+        );
+    }
+
+    /**
+     * Checks whether some server is still saving a player's profile. A flag older than
+     * saving-timeout was left by a server that stopped mid-save and is ignored.
+     */
+    public CompletableFuture<Boolean> isSaving(UUID playerUUID) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return database.queryAsync("SELECT saving FROM player_versions WHERE uuid = ? AND updated_at >= ?",
+                resultSet -> resultSet.next() && resultSet.getInt("saving") != 0,
+                playerUUID.toString(), System.currentTimeMillis() - savingTimeoutMillis
+        ).thenApply(saving -> saving != null && saving);
+    }
+
+    private void poll() {
+        long now = System.currentTimeMillis();
+        List<String> changed = database.queryAsync(
+                "(SELECT id, uuid FROM player_changes WHERE id <= ? AND changed_at >= ? AND server_id <> ?) " +
+                        "UNION ALL (SELECT id, uuid FROM player_changes WHERE id > ? AND server_id <> ? ORDER BY id LIMIT 500)",
+                resultSet -> {
+                    List<String> rows = new ArrayList<>();
+                    long maxId = lastChangeId;
+                    while (resultSet.next()) {
+                        long id = resultSet.getLong("id");
+                        maxId = Math.max(maxId, id);
+                        if (recentChanges.putIfAbsent(id, now) == null) {
+                            rows.add(resultSet.getString("uuid"));
+                        }
+                    }
+                    lastChangeId = maxId;
+                    return rows;
+                },
+                lastChangeId, now - rescanWindowMillis, serverId, lastChangeId, serverId
+        ).join();
+
+        // Twice the window, so clock drift between servers can't bring a forgotten row back
+        recentChanges.values().removeIf(seen -> now - seen > rescanWindowMillis * 2);
+
+        if (changed != null) {
+            for (String uuid : changed) {
+                if (ALL_PLAYERS.equals(uuid)) {
+                    plugin.getPlayerDataManager().invalidateAll();
+                    continue;
+                }
+                try {
+                    plugin.getPlayerDataManager().invalidate(UUID.fromString(uuid));
+                } catch (IllegalArgumentException ignored) {
+                }
+            }
+        }
+
+        // Trim the changelog once a minute; every server does this, the delete is idempotent
+        if (now - lastPrune > 60000L) {
+            lastPrune = now;
+            long retention = plugin.getConfigManager().getLong("config.yml", "database.sync.retention", 3600) * 1000L;
+            database.executeAsync("DELETE FROM player_changes WHERE changed_at < ?", now - retention);
+        }
+    }
+
+    /**
+     * Stops polling
+     */
+    public void shutdown() {
+        if (pollTask != null) {
+            pollTask.cancel();
+            pollTask = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getServerId() {
+        return serverId;
+    }
+}
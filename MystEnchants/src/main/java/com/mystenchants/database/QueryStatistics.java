@@ -0,0 +1,247 @@
+package com.mystenchants.database;
+
+import com.mystenchants.MystEnchants;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
+
+/**
+ * Per-statement statistics for DatabaseManager, keyed by SQL fingerprint.
+ *
+ * A fingerprint is the statement with whitespace collapsed and literals and placeholder
+ * lists replaced by {@code ?}, so dynamically built SQL for the same shape lands in one
+ * entry. Statements over {@code debug.slow-operation-threshold} are logged, and the
+ * cumulative table is written to query-stats.csv every
+ * {@code debug.query-stats-dump-interval} minutes and on shutdown.
+ */
+public class QueryStatistics {
+
+    private static final String DUMP_FILE = "query-stats.csv";
+    private static final String OVERFLOW = "(other statements)";
+    private static final int MAX_FINGERPRINTS = 500;
+    private static final int MAX_CACHED_SQL = 2000;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final MystEnchants plugin;
+    private final boolean enabled;
+    private final boolean logSlowQueries;
+    private final long slowThresholdNanos;
+
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    private final Map<String, Stats> statistics = new ConcurrentHashMap<>();
+    private volatile long since = System.currentTimeMillis();
+    private BukkitTask dumpTask;
+
+    public QueryStatistics(MystEnchants plugin) {
+        this.plugin = plugin;
+        this.enabled = plugin.getConfigManager().getBoolean("statistics.yml", "debug.monitor-performance", false);
+        this.logSlowQueries = plugin.getConfigManager().getBoolean("statistics.yml", "debug.log-slow-operations", true);
+        this.slowThresholdNanos = plugin.getConfigManager().getLong("statistics.yml", "debug.slow-operation-threshold", 1000) * 1_000_000L;
+    }
+
+    /**
+     * Starts the periodic dump, if an interval is configured
+     */
+    public void start() {
+        long minutes = plugin.getConfigManager().getLong("statistics.yml", "debug.query-stats-dump-interval", 60);
+        if (!enabled || minutes <= 0) return;
+
+        long ticks = minutes * 60L * 20L;
+        dumpTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::dumpQuietly, ticks, ticks);
+    }
+
+    /**
+     * Stops the periodic dump and writes a final one
+     */
+    public void shutdown() {
+        if (dumpTask != null) {
+            dumpTask.cancel();
+            dumpTask = null;
+        }
+        if (enabled && !statistics.isEmpty()) {
+            dumpQuietly();
+        }
+    }
+
+    // ========================================
+    // RECORDING
+    // ========================================
+
+    /**
+     * Records one statement execution
+     */
+    public void record(String sql, long executeNanos, long connectionWaitNanos, int rows) {
+        if (!enabled) return;
+
+        String fingerprint = fingerprint(sql);
+        Stats stats = stats(fingerprint);
+        stats.calls.increment();
+        stats.totalNanos.add(executeNanos);
+        stats.maxNanos.accumulateAndGet(executeNanos, Math::max);
+        stats.waitNanos.add(connectionWaitNanos);
+        stats.maxWaitNanos.accumulateAndGet(connectionWaitNanos, Math::max);
+        if (rows > 0) {
+            stats.rows.add(rows);
+        }
+
+        if (logSlowQueries && executeNanos >= slowThresholdNanos) {
+            plugin.getLogger().warning("Slow query: " + (executeNanos / 1_000_000L) + "ms (+"
+                    + (connectionWaitNanos / 1_000_000L) + "ms waiting for a connection, " + rows + " rows): " + fingerprint);
+        }
+    }
+
+    /**
+     * Records a statement that failed
+     */
+    public void recordError(String sql) {
+        if (!enabled) return;
+        stats(fingerprint(sql)).errors.increment();
+    }
+
+    /**
+     * Reduces a statement to its fingerprint (cached per distinct SQL string)
+     */
+    public String fingerprint(String sql) {
+        String cached = fingerprints.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+
+        String fingerprint = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        fingerprint = STRING_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = NUMBER_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = PLACEHOLDER_LIST.matcher(fingerprint).replaceAll("(?+)");
+
+        if (fingerprints.size() < MAX_CACHED_SQL) {
+            fingerprints.put(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    private Stats stats(String fingerprint) {
+        Stats stats = statistics.get(fingerprint);
+        if (stats != null) {
+            return stats;
+        }
+        if (statistics.size() >= MAX_FINGERPRINTS) {
+            return statistics.computeIfAbsent(OVERFLOW, key -> new Stats());
+        }
+        return statistics.computeIfAbsent(fingerprint, key -> new Stats());
+    }
+
+    // ========================================
+    // REPORTING
+    // ========================================
+
+    /**
+     * Gets report lines for the statements with the most total time
+     */
+    public List<String> top(int limit) {
+        List<String> lines = new ArrayList<>();
+        lines.add("&6Top statements by total time (calls, total / mean / max ms, conn wait ms, rows)");
+
+        if (!enabled) {
+            lines.add("&cdebug.monitor-performance is off in statistics.yml");
+            return lines;
+        }
+
+        sorted().stream().limit(limit).forEach(entry -> {
+            Stats stats = entry.getValue();
+            long calls = stats.calls.sum();
+            lines.add("&e" + entry.getKey());
+            lines.add("  &7x" + calls + ": &f" + millis(stats.totalNanos.sum()) + " / "
+                    + millis(calls > 0 ? stats.totalNanos.sum() / calls : 0) + " / "
+                    + millis(stats.maxNanos.get()) + "&7, wait &f" + millis(stats.waitNanos.sum())
+                    + "&7, rows &f" + stats.rows.sum()
+                    + (stats.errors.sum() > 0 ? " &c" + stats.errors.sum() + " errors" : ""));
+        });
+        return lines;
+    }
+
+    /**
+     * Writes the full table to query-stats.csv in the plugin folder
+     */
+    public File dump() throws IOException {
+        File file = new File(plugin.getDataFolder(), DUMP_FILE);
+        String generated = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
+        String from = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(since));
+
+        try (PrintWriter writer = new PrintWriter(file, StandardCharsets.UTF_8)) {
+            writer.println("# MystEnchants query statistics from " + from + " to " + generated);
+            writer.println("fingerprint,calls,total_ms,mean_ms,max_ms,rows,connection_wait_ms,max_connection_wait_ms,errors");
+
+            for (Map.Entry<String, Stats> entry : sorted()) {
+                Stats stats = entry.getValue();
+                long calls = stats.calls.sum();
+                writer.println(csv(entry.getKey()) + "," + calls + ","
+                        + millis(stats.totalNanos.sum()) + ","
+                        + millis(calls > 0 ? stats.totalNanos.sum() / calls : 0) + ","
+                        + millis(stats.maxNanos.get()) + ","
+                        + stats.rows.sum() + ","
+                        + millis(stats.waitNanos.sum()) + ","
+                        + millis(stats.maxWaitNanos.get()) + ","
+                        + stats.errors.sum());
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Clears every statement's counters
+     */
+    public void reset() {
+        statistics.clear();
+        since = System.currentTimeMillis();
+    }
+
+    private void dumpQuietly() {
+        try {
+            dump();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not write " + DUMP_FILE, e);
+        }
+    }
+
+    private List<Map.Entry<String, Stats>> sorted() {
+        List<Map.Entry<String, Stats>> entries = new ArrayList<>(statistics.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, Stats> entry) -> entry.getValue().totalNanos.sum()).reversed());
+        return entries;
+    }
+
+    private static String csv(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+    private static class Stats {
+        final LongAdder calls = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+        final LongAdder waitNanos = new LongAdder();
+        final AtomicLong maxWaitNanos = new AtomicLong();
+        final LongAdder rows = new LongAdder();
+        final LongAdder errors = new LongAdder();
+    }
+}
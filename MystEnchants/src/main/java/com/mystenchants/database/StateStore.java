@@ -0,0 +1,216 @@
+package com.mystenchants.database;
+
+import com.mystenchants.MystEnchants;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Small persistence layer on top of DatabaseManager for plugin state that is not
+ * part of a player profile: boolean player flags (written behind in batches) and
+ * arena locations that can only be rebuilt once their world has loaded.
+ */
+public class StateStore implements Listener {
+
+    private final MystEnchants plugin;
+    private final DatabaseManager database;
+
+    // "uuid|flag" -> desired state, drained by the write-behind task once written
+    private final Map<String, Boolean> pendingFlags = new ConcurrentHashMap<>();
+
+    // The last flush; the next one waits for it so a batch never overtakes an older one
+    private CompletableFuture<Boolean> lastFlush = CompletableFuture.completedFuture(true);
+
+    // world name -> callbacks waiting for that world (main thread only)
+    private final Map<String, List<Consumer<World>>> pendingWorlds = new HashMap<>();
+
+    private BukkitTask flushTask;
+
+    public StateStore(MystEnchants plugin, DatabaseManager database) {
+        this.plugin = plugin;
+        this.database = database;
+
+        long interval = plugin.getConfigManager().getLong("config.yml", "database.write-behind-interval", 5) * 20L;
+        this.flushTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::flushIfIdle, interval, interval);
+    }
+
+    // ========================================
+    // PLAYER FLAGS
+    // ========================================
+
+    /**
+     * Loads every player that has the given flag set
+     */
+    public CompletableFuture<Set<UUID>> loadFlag(String flag) {
+        return database.queryAsync("SELECT uuid FROM player_flags WHERE flag = ?", resultSet -> {
+            Set<UUID> players = new HashSet<>();
+            while (resultSet.next()) {
+                try {
+                    players.add(UUID.fromString(resultSet.getString("uuid")));
+                } catch (IllegalArgumentException e) {
+                    plugin.getLogger().warning("Invalid UUID in player_flags: " + resultSet.getString("uuid"));
+                }
+            }
+            return players;
+        }, flag).thenApply(players -> players != null ? players : new HashSet<>());
+    }
+
+    /**
+     * Queues a flag change; it is written on the next flush
+     */
+    public void setFlag(UUID playerUUID, String flag, boolean value) {
+        pendingFlags.put(playerUUID + "|" + flag, value);
+    }
+
+    /**
+     * Writes all queued flag changes in two batches once any earlier flush has finished.
+     * Completes with true if every change it picked up was written or spooled; changes
+     * that failed stay queued for the next flush.
+     */
+    public synchronized CompletableFuture<Boolean> flush() {
+        lastFlush = lastFlush.handle((written, throwable) -> null).thenCompose(ignored -> writePending());
+        return lastFlush;
+    }
+
+    private synchronized void flushIfIdle() {
+        if (lastFlush.isDone()) {
+            flush();
+        }
+    }
+
+    private CompletableFuture<Boolean> writePending() {
+        if (pendingFlags.isEmpty()) {
+            return CompletableFuture.completedFuture(true);
+        }
+
+        // Entries stay queued until their batch succeeds; a newer value set meanwhile is kept
+        Map<String, Boolean> insertKeys = new HashMap<>();
+        Map<String, Boolean> deleteKeys = new HashMap<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        for (Map.Entry<String, Boolean> entry : pendingFlags.entrySet()) {
+            String key = entry.getKey();
+            int split = key.indexOf('|');
+            String uuid = key.substring(0, split);
+            String flag = key.substring(split + 1);
+
+            if (entry.getValue()) {
+                insertKeys.put(key, true);
+                inserts.add(new Object[]{uuid, flag, now});
+            } else {
+                deleteKeys.put(key, false);
+                deletes.add(new Object[]{uuid, flag});
+            }
+        }
+
+        String insertSql = database.isMySQL()
+                ? "INSERT INTO player_flags (uuid, flag, set_at) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE set_at = VALUES(set_at)"
+                : "INSERT OR REPLACE INTO player_flags (uuid, flag, set_at) VALUES (?, ?, ?)";
+
+        CompletableFuture<Boolean> insertFuture = inserts.isEmpty() ? CompletableFuture.completedFuture(true)
+                : settle(database.tryExecuteBatchAsync(insertSql, inserts.toArray(new Object[0][])), insertKeys);
+        CompletableFuture<Boolean> deleteFuture = deletes.isEmpty() ? CompletableFuture.completedFuture(true)
+                : settle(database.tryExecuteBatchAsync("DELETE FROM player_flags WHERE uuid = ? AND flag = ?", deletes.toArray(new Object[0][])), deleteKeys);
+
+        return insertFuture.thenCombine(deleteFuture, (inserted, deleted) -> inserted && deleted);
+    }
+
+    /**
+     * Dequeues the written entries once their batch succeeds, unless they changed in the meantime
+     */
+    private CompletableFuture<Boolean> settle(CompletableFuture<Boolean> batch, Map<String, Boolean> written) {
+        return batch.handle((ok, throwable) -> {
+            if (throwable != null || !ok) {
+                return false;
+            }
+            for (Map.Entry<String, Boolean> entry : written.entrySet()) {
+                pendingFlags.remove(entry.getKey(), entry.getValue());
+            }
+            return true;
+        });
+    }
+
+    // ========================================
+    // ARENA LOCATIONS
+    // ========================================
+
+    /**
+     * Rebuilds a stored location on the main thread as soon as its world is available.
+     * If the world is not loaded yet the callback waits for its WorldLoadEvent.
+     */
+    public void restoreLocation(String worldName, double x, double y, double z, Consumer<Location> callback) {
+        if (worldName == null) {
+            return;
+        }
+
+        Consumer<World> onWorld = world -> callback.accept(new Location(world, x, y, z));
+
+        if (Bukkit.isPrimaryThread()) {
+            restoreOnMainThread(worldName, onWorld);
+        } else {
+            Bukkit.getScheduler().runTask(plugin, () -> restoreOnMainThread(worldName, onWorld));
+        }
+    }
+
+    private void restoreOnMainThread(String worldName, Consumer<World> onWorld) {
+        World world = Bukkit.getWorld(worldName);
+        if (world != null) {
+            onWorld.accept(world);
+        } else {
+            pendingWorlds.computeIfAbsent(worldName, name -> new ArrayList<>()).add(onWorld);
+        }
+    }
+
+    @EventHandler
+    public void onWorldLoad(WorldLoadEvent event) {
+        List<Consumer<World>> callbacks = pendingWorlds.remove(event.getWorld().getName());
+        if (callbacks == null) {
+            return;
+        }
+
+        for (Consumer<World> callback : callbacks) {
+            try {
+                callback.accept(event.getWorld());
+            } catch (Exception e) {
+                plugin.getLogger().warning("Error restoring location in " + event.getWorld().getName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops the write-behind task and writes anything still queued
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+
+        try {
+            if (!flush().join()) {
+                plugin.getLogger().warning("Some player flag changes could not be written on shutdown");
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to flush pending state on shutdown: " + e.getMessage());
+        }
+
+        pendingWorlds.clear();
+    }
+}
@@ -0,0 +1,124 @@
+package com.mystenchants.database;
+
+import com.mystenchants.perf.DatabaseOperationEvent;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Statements run on one connection inside one transaction.
+ *
+ * Handed to {@link DatabaseManager.Work} by {@link DatabaseManager#inTransactionAsync};
+ * every call runs immediately on the database thread and returns its result directly,
+ * so a multi-step operation needs one connection checkout and no thread hops between
+ * steps. The manager commits when the work returns and rolls back if it throws.
+ */
+public class UnitOfWork {
+
+    private final Connection connection;
+    private final QueryStatistics statistics;
+    private long connectionWaitNanos;
+    private int rows;
+    private int statements;
+    private String first;
+    private String current;
+
+    UnitOfWork(Connection connection, QueryStatistics statistics, long connectionWaitNanos) {
+        this.connection = connection;
+        this.statistics = statistics;
+        this.connectionWaitNanos = connectionWaitNanos;
+    }
+
+    /**
+     * Runs an update and returns the number of rows it changed
+     */
+    public int execute(String sql, Object... parameters) throws SQLException {
+        current = sql;
+        long started = System.nanoTime();
+        try (PreparedStatement statement = prepare(sql, parameters)) {
+            int updated = statement.executeUpdate();
+            record(sql, started, updated);
+            rows += updated;
+            return updated;
+        }
+    }
+
+    /**
+     * Runs statements.get(i) with parameters.get(i) for each statement, in order
+     */
+    public void executeAll(List<String> statements, List<Object[]> parameters) throws SQLException {
+        for (int i = 0; i < statements.size(); i++) {
+            execute(statements.get(i), parameters.get(i));
+        }
+    }
+
+    /**
+     * Runs a query and hands its result set to the handler
+     */
+    public <T> T query(String sql, DatabaseManager.ResultSetHandler<T> handler, Object... parameters) throws SQLException {
+        current = sql;
+        long started = System.nanoTime();
+        try (PreparedStatement statement = prepare(sql, parameters);
+             ResultSet resultSet = statement.executeQuery()) {
+            T result = handler.handle(resultSet);
+            record(sql, started, -1);
+            return result;
+        }
+    }
+
+    private PreparedStatement prepare(String sql, Object[] parameters) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        try {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+        return statement;
+    }
+
+    private void record(String sql, long started, int updated) {
+        if (statements++ == 0) {
+            first = sql;
+        }
+        // The connection wait is counted once, against the first statement
+        statistics.record(sql, System.nanoTime() - started, connectionWaitNanos, updated);
+        connectionWaitNanos = 0;
+        current = null;
+    }
+
+    private String describe() {
+        if (first == null) return "";
+        return statements > 1 ? first + " (+" + (statements - 1) + " more)" : first;
+    }
+
+    /**
+     * Runs work in a transaction on the given connection
+     */
+    static <T> T run(Connection connection, QueryStatistics statistics, long connectionWaitNanos,
+                     DatabaseOperationEvent event, DatabaseManager.Work<T> work) throws SQLException {
+        UnitOfWork unit = new UnitOfWork(connection, statistics, connectionWaitNanos);
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+
+        try {
+            T result = work.run(unit);
+            connection.commit();
+            event.complete("transaction", unit.describe(), unit.rows);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            if (unit.current != null) {
+                statistics.recordError(unit.current);
+            }
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
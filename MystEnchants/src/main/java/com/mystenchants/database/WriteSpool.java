@@ -0,0 +1,461 @@
+package com.mystenchants.database;
+
+import com.mystenchants.MystEnchants;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only local log of writes that could not reach the database.
+ *
+ * Records go to write-spool.log in the plugin folder and are fsynced in batches every
+ * {@code database.spool.fsync-interval} ticks, so a crash loses at most that window.
+ * Each record is framed as length, CRC32, payload; a torn record at the tail (from a
+ * crash mid-append) is cut off when the spool is opened.
+ *
+ * While the spool holds anything, new writes are appended behind it rather than sent
+ * to the database, so replay applies everything in the order it was issued. Replay
+ * progress is kept in write-spool.pos, so a crash mid-replay repeats at most the record
+ * that was being applied.
+ */
+public class WriteSpool {
+
+    private static final String FILE = "write-spool.log";
+    private static final String POSITION_FILE = "write-spool.pos";
+
+    private static final byte EXECUTE = 1;
+    private static final byte BATCH = 2;
+    private static final byte TRANSACTION = 3;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte FLOAT = 6;
+
+    private final MystEnchants plugin;
+    private final File file;
+    private final File positionFile;
+
+    private FileOutputStream fileOut;
+    private DataOutputStream writer;
+    private RandomAccessFile position;
+    private BukkitTask syncTask;
+
+    private long replayOffset;
+    private boolean backlog;
+    private boolean dirty;
+    private boolean closed = true;
+
+    public WriteSpool(MystEnchants plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), FILE);
+        this.positionFile = new File(plugin.getDataFolder(), POSITION_FILE);
+    }
+
+    /**
+     * Opens the spool, cutting off any torn tail left by a crash
+     */
+    public synchronized void open() throws IOException {
+        position = new RandomAccessFile(positionFile, "rw");
+        replayOffset = position.length() >= Long.BYTES ? position.readLong() : 0L;
+
+        int records = 0;
+        long valid = replayOffset;
+        try (RandomAccessFile in = new RandomAccessFile(file, "rw")) {
+            if (replayOffset > in.length()) {
+                plugin.getLogger().warning(POSITION_FILE + " points past the end of " + FILE + ", discarding the spool");
+                replayOffset = 0L;
+                valid = 0L;
+                in.setLength(0L);
+            }
+
+            in.seek(replayOffset);
+            while (readRecord(in) != null) {
+                records++;
+                valid = in.getFilePointer();
+            }
+
+            if (valid < in.length()) {
+                plugin.getLogger().warning("Discarding " + (in.length() - valid) + " bytes of incomplete data at the end of " + FILE);
+                in.setLength(valid);
+                in.getFD().sync();
+            }
+
+            if (records == 0 && in.length() > 0) {
+                // Everything was replayed before the last stop; start the file over
+                in.setLength(0L);
+                in.getFD().sync();
+                replayOffset = 0L;
+            }
+        }
+        savePosition();
+
+        fileOut = new FileOutputStream(file, true);
+        writer = new DataOutputStream(new BufferedOutputStream(fileOut, 64 * 1024));
+        backlog = records > 0;
+        closed = false;
+
+        if (backlog) {
+            plugin.getLogger().warning(records + " database writes were spooled during a previous outage; replaying them");
+        }
+    }
+
+    /**
+     * Starts the periodic fsync of appended records
+     */
+    public void start() {
+        long interval = Math.max(1L, plugin.getConfigManager().getLong("config.yml", "database.spool.fsync-interval", 4));
+        syncTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::sync, interval, interval);
+    }
+
+    /**
+     * Stops the fsync task and closes the files; anything not yet replayed stays for the next start
+     */
+    public synchronized void close() {
+        if (syncTask != null) {
+            syncTask.cancel();
+            syncTask = null;
+        }
+        if (closed) return;
+
+        sync();
+        closed = true;
+        try {
+            writer.close();
+            position.close();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Error closing " + FILE + ": " + e.getMessage());
+        }
+
+        if (backlog) {
+            plugin.getLogger().warning((file.length() - replayOffset) + " bytes of spooled writes in " + FILE
+                    + " will be replayed on the next start");
+        }
+    }
+
+    // ========================================
+    // APPENDING
+    // ========================================
+
+    /**
+     * Appends a write, which will be replayed once the database is reachable
+     */
+    public synchronized void append(Record record) {
+        if (closed) {
+            plugin.getLogger().severe("Write spool is closed, dropping: " + record);
+            return;
+        }
+
+        try {
+            byte[] payload = record.encode();
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+
+            writer.writeInt(payload.length);
+            writer.writeInt((int) crc.getValue());
+            writer.write(payload);
+            dirty = true;
+            backlog = true;
+            plugin.getPerfMetrics().increment("db.spooled");
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not append to " + FILE + ", dropping: " + record + " (" + e.getMessage() + ")");
+        }
+    }
+
+    /**
+     * Appends a write if the spool already holds earlier writes (or force is set),
+     * keeping it behind them; returns false if the caller should run it directly
+     */
+    public synchronized boolean offer(Record record, boolean force) {
+        if (!force && !backlog) {
+            return false;
+        }
+        append(record);
+        return true;
+    }
+
+    /**
+     * Writes buffered records through to disk
+     */
+    public synchronized void sync() {
+        if (!dirty || closed) return;
+
+        try {
+            writer.flush();
+            fileOut.getFD().sync();
+            dirty = false;
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not sync " + FILE + ": " + e.getMessage());
+        }
+    }
+
+    public synchronized boolean hasBacklog() {
+        return backlog;
+    }
+
+    /**
+     * Gets the size of the part of the spool that has not been replayed yet
+     */
+    public synchronized long getBacklogBytes() {
+        return backlog ? Math.max(0L, file.length() - replayOffset) : 0L;
+    }
+
+    // ========================================
+    // REPLAY
+    // ========================================
+
+    /**
+     * Applies spooled records in order until the spool is empty or the applier returns
+     * false. Returns the number of records applied.
+     */
+    public int replay(Applier applier) throws IOException {
+        long end = flushedLength();
+        if (end < 0) return 0;
+
+        int applied = 0;
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            while (true) {
+                in.seek(replayOffset);
+                while (in.getFilePointer() < end) {
+                    Record record = readRecord(in);
+                    if (record == null) {
+                        throw new IOException("Corrupt record at offset " + replayOffset + " in " + FILE);
+                    }
+                    if (!applier.apply(record)) {
+                        syncPosition();
+                        return applied;
+                    }
+
+                    applied++;
+                    synchronized (this) {
+                        if (closed) return applied;
+                        replayOffset = in.getFilePointer();
+                        savePosition();
+                    }
+                }
+
+                // Caught up; compact unless more arrived while replaying
+                synchronized (this) {
+                    if (closed) return applied;
+                    writer.flush();
+                    end = file.length();
+                    if (replayOffset >= end) {
+                        fileOut.getChannel().truncate(0L);
+                        fileOut.getFD().sync();
+                        replayOffset = 0L;
+                        savePosition();
+                        syncPosition();
+                        backlog = false;
+                        dirty = false;
+                        return applied;
+                    }
+                }
+            }
+        }
+    }
+
+    private synchronized long flushedLength() throws IOException {
+        if (closed || !backlog) return -1L;
+        writer.flush();
+        return file.length();
+    }
+
+    private void savePosition() throws IOException {
+        position.seek(0L);
+        position.writeLong(replayOffset);
+    }
+
+    private void syncPosition() throws IOException {
+        synchronized (this) {
+            if (!closed) position.getFD().sync();
+        }
+    }
+
+    private static Record readRecord(RandomAccessFile in) throws IOException {
+        long remaining = in.length() - in.getFilePointer();
+        if (remaining < 8) return null;
+
+        int length = in.readInt();
+        int checksum = in.readInt();
+        if (length < 0 || length > remaining - 8) return null;
+
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != checksum) return null;
+
+        return Record.decode(payload);
+    }
+
+    /**
+     * Applies one spooled record; returns false to stop replay and keep the record
+     */
+    public interface Applier {
+        boolean apply(Record record);
+    }
+
+    // ========================================
+    // RECORDS
+    // ========================================
+
+    /**
+     * One spooled write: a single statement, a batch (one statement, many parameter
+     * sets) or a transaction (statement i with parameter set i)
+     */
+    public static final class Record {
+        private final byte type;
+        private final List<String> statements;
+        private final List<Object[]> parameters;
+
+        private Record(byte type, List<String> statements, List<Object[]> parameters) {
+            this.type = type;
+            this.statements = statements;
+            this.parameters = parameters;
+        }
+
+        public static Record execute(String sql, Object[] parameters) {
+            return new Record(EXECUTE, Collections.singletonList(sql), Collections.singletonList(parameters));
+        }
+
+        public static Record batch(String sql, Object[][] parameterSets) {
+            List<Object[]> sets = new ArrayList<>(parameterSets.length);
+            Collections.addAll(sets, parameterSets);
+            return new Record(BATCH, Collections.singletonList(sql), sets);
+        }
+
+        public static Record transaction(List<String> statements, List<Object[]> parameters) {
+            return new Record(TRANSACTION, new ArrayList<>(statements), new ArrayList<>(parameters));
+        }
+
+        public boolean isExecute() {
+            return type == EXECUTE;
+        }
+
+        public boolean isBatch() {
+            return type == BATCH;
+        }
+
+        public List<String> getStatements() {
+            return statements;
+        }
+
+        public List<Object[]> getParameters() {
+            return parameters;
+        }
+
+        private byte[] encode() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(type);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(statements.size());
+            for (String statement : statements) {
+                writeString(out, statement);
+            }
+            out.writeInt(parameters.size());
+            for (Object[] set : parameters) {
+                out.writeInt(set.length);
+                for (Object value : set) {
+                    writeValue(out, value);
+                }
+            }
+            return bytes.toByteArray();
+        }
+
+        private static Record decode(byte[] payload) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            byte type = in.readByte();
+            in.readLong(); // spooled at, kept for inspecting the file by hand
+
+            int statementCount = in.readInt();
+            List<String> statements = new ArrayList<>(statementCount);
+            for (int i = 0; i < statementCount; i++) {
+                statements.add(readString(in));
+            }
+
+            int setCount = in.readInt();
+            List<Object[]> parameters = new ArrayList<>(setCount);
+            for (int i = 0; i < setCount; i++) {
+                Object[] set = new Object[in.readInt()];
+                for (int j = 0; j < set.length; j++) {
+                    set[j] = readValue(in);
+                }
+                parameters.add(set);
+            }
+            return new Record(type, statements, parameters);
+        }
+
+        private static void writeValue(DataOutputStream out, Object value) throws IOException {
+            if (value == null) {
+                out.writeByte(NULL);
+            } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                out.writeByte(INT);
+                out.writeInt(((Number) value).intValue());
+            } else if (value instanceof Long) {
+                out.writeByte(LONG);
+                out.writeLong((Long) value);
+            } else if (value instanceof Double) {
+                out.writeByte(DOUBLE);
+                out.writeDouble((Double) value);
+            } else if (value instanceof Float) {
+                out.writeByte(FLOAT);
+                out.writeFloat((Float) value);
+            } else if (value instanceof Boolean) {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean((Boolean) value);
+            } else {
+                out.writeByte(STRING);
+                writeString(out, value.toString());
+            }
+        }
+
+        private static Object readValue(DataInputStream in) throws IOException {
+            byte tag = in.readByte();
+            switch (tag) {
+                case NULL: return null;
+                case STRING: return readString(in);
+                case INT: return in.readInt();
+                case LONG: return in.readLong();
+                case DOUBLE: return in.readDouble();
+                case FLOAT: return in.readFloat();
+                case BOOLEAN: return in.readBoolean();
+                default: throw new IOException("Unknown value tag " + tag);
+            }
+        }
+
+        private static void writeString(DataOutputStream out, String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private static String readString(DataInputStream in) throws IOException {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String toString() {
+            String kind = type == EXECUTE ? "execute" : type == BATCH ? "batch of " + parameters.size() : "transaction";
+            return kind + " " + statements;
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.mystenchants.enchants;
 
 import org.bukkit.Material;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Represents a custom enchantment
@@ -16,25 +18,33 @@ public class CustomEnchant {
     private final String displayName;
     private final List<String> description;
     private final List<Material> applicableItems;
+    private final Set<Material> applicableSet;
     private final Map<Integer, UnlockRequirement> unlockRequirements;
     private final boolean requiresFullSet;
     private final int cooldown;
     private final String deathMessage;
+    private final EffectTable effects;
+
+    // Dense id assigned by EnchantCompatibility (-1 until enchants are indexed)
+    private int id = -1;
 
     public CustomEnchant(String name, EnchantTier tier, int maxLevel, String displayName,
                          List<String> description, List<Material> applicableItems,
                          Map<Integer, UnlockRequirement> unlockRequirements,
-                         boolean requiresFullSet, int cooldown, String deathMessage) {
+                         boolean requiresFullSet, int cooldown, String deathMessage,
+                         EffectTable effects) {
         this.name = name;
         this.tier = tier;
         this.maxLevel = maxLevel;
         this.displayName = displayName;
         this.description = description;
         this.applicableItems = applicableItems;
+        this.applicableSet = applicableItems.isEmpty() ? EnumSet.noneOf(Material.class) : EnumSet.copyOf(applicableItems);
         this.unlockRequirements = unlockRequirements;
         this.requiresFullSet = requiresFullSet;
         this.cooldown = cooldown;
         this.deathMessage = deathMessage;
+        this.effects = effects;
     }
 
     public String getName() {
@@ -81,8 +91,20 @@ public class CustomEnchant {
         return deathMessage;
     }
 
+    public int getId() {
+        return id;
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+
+    public EffectTable getEffects() {
+        return effects;
+    }
+
     public boolean isApplicableTo(Material material) {
-        return applicableItems.contains(material);
+        return applicableSet.contains(material);
     }
 
     public boolean hasUnlockRequirement(int level) {
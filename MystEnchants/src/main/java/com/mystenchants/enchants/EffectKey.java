@@ -0,0 +1,49 @@
+package com.mystenchants.enchants;
+
+/**
+ * Numeric enchant effects that are compiled into per-level arrays at load.
+ * Each key belongs to the enchant whose built-in behaviour reads it.
+ */
+public enum EffectKey {
+
+    TEMPO_HASTE_LEVELS("tempo", "haste-levels", true),
+    PACE_SPEED_LEVELS("pace", "speed-levels", true),
+    ZETSUBO_STRENGTH_LEVELS("zetsubo", "strength-levels", true),
+    SCHOLAR_EXP_MULTIPLIERS("scholar", "exp-multipliers", false),
+    SERRATE_BLEED_DURATIONS("serrate", "bleed-durations", true),
+    REJUVENATE_HEAL_AMOUNTS("rejuvenate", "heal-amounts", false),
+    REJUVENATE_HEAL_CHANCES("rejuvenate", "heal-chances", false),
+    REJUVENATE_TRIGGER_HEALTH("rejuvenate", "trigger-health", false),
+    GUILLOTINE_HEAD_DROP_CHANCES("guillotine", "head-drop-chances", false),
+    PANTSED_STEAL_CHANCES("pantsed", "steal-chances", false),
+    DETONATE_AREA_SIZES("detonate", "area-sizes", true),
+    BACKUP_GOLEM_COUNTS("backup", "golem-counts", true),
+    BACKUP_GOLEM_HEALTH("backup", "golem-health", false),
+    BACKUP_GOLEM_DAMAGE("backup", "golem-damage", false),
+    ALMIGHTY_PUSH_RADIUS("almighty_push", "push-radius", false),
+    ALMIGHTY_PUSH_STRENGTH("almighty_push", "push-strength", false);
+
+    static final EffectKey[] VALUES = values();
+
+    private final String enchantName;
+    private final String configKey;
+    private final boolean integer;
+
+    EffectKey(String enchantName, String configKey, boolean integer) {
+        this.enchantName = enchantName;
+        this.configKey = configKey;
+        this.integer = integer;
+    }
+
+    public String getEnchantName() {
+        return enchantName;
+    }
+
+    public String getConfigKey() {
+        return configKey;
+    }
+
+    public boolean isInteger() {
+        return integer;
+    }
+}
@@ -0,0 +1,125 @@
+package com.mystenchants.enchants;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled effect values of one enchant.
+ *
+ * Known numeric effects ({@link EffectKey}) are stored as primitive arrays indexed by
+ * enchant level (index 0 unused), so combat-path lookups are a plain array read.
+ * A scalar config value is stored once and applies to every level. All raw values
+ * are kept for the string-keyed {@link EnchantManager#getEnchantEffect} lookup.
+ */
+public class EffectTable {
+
+    public static final EffectTable EMPTY = new EffectTable(Collections.emptyMap());
+
+    private final int[][] ints = new int[EffectKey.VALUES.length][];
+    private final double[][] doubles = new double[EffectKey.VALUES.length][];
+    private final boolean[] scalar = new boolean[EffectKey.VALUES.length];
+    private final Map<String, Object> raw;
+
+    private EffectTable(Map<String, Object> raw) {
+        this.raw = raw;
+    }
+
+    /**
+     * Compiles an enchant's effects section
+     */
+    public static EffectTable compile(String enchantName, ConfigurationSection effectsSection) {
+        if (effectsSection == null) {
+            return EMPTY;
+        }
+
+        Map<String, Object> raw = new HashMap<>();
+        for (String key : effectsSection.getKeys(false)) {
+            raw.put(key, effectsSection.get(key));
+        }
+
+        EffectTable table = new EffectTable(raw);
+        for (EffectKey key : EffectKey.VALUES) {
+            if (key.getEnchantName().equals(enchantName)) {
+                table.compileKey(key, raw.get(key.getConfigKey()));
+            }
+        }
+        return table;
+    }
+
+    private void compileKey(EffectKey key, Object value) {
+        int index = key.ordinal();
+
+        if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            if (key.isInteger()) {
+                int[] values = new int[list.size() + 1];
+                for (int i = 0; i < list.size(); i++) {
+                    values[i + 1] = (int) toDouble(list.get(i));
+                }
+                ints[index] = values;
+            } else {
+                double[] values = new double[list.size() + 1];
+                for (int i = 0; i < list.size(); i++) {
+                    values[i + 1] = toDouble(list.get(i));
+                }
+                doubles[index] = values;
+            }
+        } else if (value != null) {
+            scalar[index] = true;
+            if (key.isInteger()) {
+                ints[index] = new int[]{(int) toDouble(value)};
+            } else {
+                doubles[index] = new double[]{toDouble(value)};
+            }
+        }
+    }
+
+    private static double toDouble(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        try {
+            return Double.parseDouble(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Gets an integer effect for a level, or the default if it is not configured for that level
+     */
+    public int getInt(EffectKey key, int level, int defaultValue) {
+        int index = key.ordinal();
+        int[] values = ints[index];
+        if (values == null) return defaultValue;
+        if (scalar[index]) return values[0];
+        return level > 0 && level < values.length ? values[level] : defaultValue;
+    }
+
+    /**
+     * Gets a decimal effect for a level, or the default if it is not configured for that level
+     */
+    public double getDouble(EffectKey key, int level, double defaultValue) {
+        int index = key.ordinal();
+        double[] values = doubles[index];
+        if (values == null) return defaultValue;
+        if (scalar[index]) return values[0];
+        return level > 0 && level < values.length ? values[level] : defaultValue;
+    }
+
+    /**
+     * Gets a raw effect value by config key; list values are resolved per level
+     */
+    public Object getRaw(String effectName, int level) {
+        Object value = raw.get(effectName);
+        if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            return level > 0 && level <= list.size() ? list.get(level - 1) : null;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,208 @@
+package com.mystenchants.enchants;
+
+import com.mystenchants.MystEnchants;
+import org.bukkit.Material;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed compatibility model for custom enchants, rebuilt whenever enchants load.
+ *
+ * Every enchant gets a dense id. Conflicts from {@code enchants.conflicts} in config.yml
+ * become a bitset per id, and each material maps to the enchants that can go on it.
+ * Once an item's enchants are decoded into a mask, validating an application is a
+ * handful of bit operations.
+ */
+public class EnchantCompatibility {
+
+    /**
+     * Outcome of validating an enchant application
+     */
+    public enum Result {
+        OK,
+        NOT_APPLICABLE,
+        NOT_UPGRADE,
+        CONFLICT,
+        LIMIT_REACHED
+    }
+
+    private final MystEnchants plugin;
+
+    private CustomEnchant[] byId = new CustomEnchant[0];
+    private Map<String, CustomEnchant> byName = Collections.emptyMap();
+    private BitSet[] conflicts = new BitSet[0];
+    private Map<Material, List<CustomEnchant>> candidates = new EnumMap<>(Material.class);
+
+    private int maxEnchants;
+    private boolean onlyUpgrades;
+    private boolean removeConflicting;
+
+    public EnchantCompatibility(MystEnchants plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Assigns ids and rebuilds the conflict matrix and per-material candidate lists
+     */
+    void rebuild(Map<String, CustomEnchant> enchants) {
+        List<CustomEnchant> ordered = new ArrayList<>(enchants.values());
+        ordered.sort(Comparator.comparing(CustomEnchant::getTier).thenComparing(CustomEnchant::getName));
+
+        CustomEnchant[] ids = ordered.toArray(new CustomEnchant[0]);
+        BitSet[] matrix = new BitSet[ids.length];
+        Map<Material, List<CustomEnchant>> perMaterial = new EnumMap<>(Material.class);
+
+        for (int id = 0; id < ids.length; id++) {
+            ids[id].setId(id);
+            matrix[id] = new BitSet(ids.length);
+
+            for (Material material : ids[id].getApplicableItems()) {
+                perMaterial.computeIfAbsent(material, key -> new ArrayList<>()).add(ids[id]);
+            }
+        }
+
+        for (Object entry : plugin.getConfigManager().getMainConfig().getList("enchants.conflicts", Collections.emptyList())) {
+            if (!(entry instanceof List) || ((List<?>) entry).size() < 2) {
+                plugin.getLogger().warning("Invalid enchant conflict entry: " + entry);
+                continue;
+            }
+
+            List<CustomEnchant> group = new ArrayList<>();
+            for (Object name : (List<?>) entry) {
+                CustomEnchant enchant = enchants.get(String.valueOf(name).toLowerCase());
+                if (enchant == null) {
+                    plugin.getLogger().warning("Unknown enchant in conflicts: " + name);
+                } else {
+                    group.add(enchant);
+                }
+            }
+
+            // Every enchant in a group conflicts with every other one
+            for (CustomEnchant a : group) {
+                for (CustomEnchant b : group) {
+                    if (a != b) {
+                        matrix[a.getId()].set(b.getId());
+                    }
+                }
+            }
+        }
+
+        for (Map.Entry<Material, List<CustomEnchant>> entry : perMaterial.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+
+        int configuredMax = plugin.getConfigManager().getInt("config.yml", "enchants.max-enchants-per-item", 0);
+        boolean allowMultiple = plugin.getConfigManager().getBoolean("config.yml", "enchants.allow-multiple-enchants", true);
+
+        this.byId = ids;
+        this.byName = new HashMap<>(enchants);
+        this.conflicts = matrix;
+        this.candidates = perMaterial;
+        this.maxEnchants = !allowMultiple ? 1 : configuredMax > 0 ? configuredMax : Integer.MAX_VALUE;
+        this.onlyUpgrades = plugin.getConfigManager().getBoolean("config.yml", "enchants.only-allow-upgrades", true);
+        this.removeConflicting = plugin.getConfigManager().getBoolean("config.yml", "enchants.remove-conflicting", false);
+    }
+
+    /**
+     * Builds the id mask of a decoded enchant map
+     */
+    public BitSet mask(Map<String, Integer> enchants) {
+        BitSet mask = new BitSet(byId.length);
+        for (String name : enchants.keySet()) {
+            CustomEnchant enchant = byName.get(name);
+            if (enchant != null) {
+                mask.set(enchant.getId());
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Validates applying an enchant at a level to an item with the given decoded enchants
+     */
+    public Result check(CustomEnchant enchant, int level, Material material, Map<String, Integer> current) {
+        if (!enchant.isApplicableTo(material)) {
+            return Result.NOT_APPLICABLE;
+        }
+
+        Integer existingLevel = current.get(enchant.getName());
+        if (existingLevel != null) {
+            // Same enchant: only the level changes, so conflicts and the limit don't apply
+            return onlyUpgrades && level <= existingLevel ? Result.NOT_UPGRADE : Result.OK;
+        }
+
+        BitSet itemMask = mask(current);
+        BitSet conflicting = conflicts[enchant.getId()];
+        int remaining = itemMask.cardinality();
+
+        if (conflicting.intersects(itemMask)) {
+            if (!removeConflicting) {
+                return Result.CONFLICT;
+            }
+            BitSet kept = (BitSet) itemMask.clone();
+            kept.andNot(conflicting);
+            remaining = kept.cardinality();
+        }
+
+        return remaining >= maxEnchants ? Result.LIMIT_REACHED : Result.OK;
+    }
+
+    /**
+     * Checks whether two enchants are configured as conflicting
+     */
+    public boolean conflicts(CustomEnchant a, CustomEnchant b) {
+        return a.getId() >= 0 && b.getId() >= 0 && conflicts[a.getId()].get(b.getId());
+    }
+
+    /**
+     * Gets the first enchant in the map that conflicts with the given one, or null
+     */
+    public CustomEnchant findConflict(CustomEnchant enchant, Map<String, Integer> current) {
+        BitSet overlap = mask(current);
+        overlap.and(conflicts[enchant.getId()]);
+        int id = overlap.nextSetBit(0);
+        return id >= 0 ? byId[id] : null;
+    }
+
+    /**
+     * Gets the effective per-item enchant limit (Integer.MAX_VALUE when unlimited)
+     */
+    public int getMaxEnchants() {
+        return maxEnchants;
+    }
+
+    /**
+     * Whether conflicting enchants are removed on apply instead of blocking it
+     */
+    public boolean isRemoveConflicting() {
+        return removeConflicting;
+    }
+
+    /**
+     * Gets every enchant that can be applied to a material
+     */
+    public List<CustomEnchant> getCandidates(Material material) {
+        return candidates.getOrDefault(material, Collections.emptyList());
+    }
+
+    /**
+     * Gets the number of assigned ids
+     */
+    public int size() {
+        return byId.length;
+    }
+
+    /**
+     * Gets an enchant by id
+     */
+    public CustomEnchant getById(int id) {
+        return id >= 0 && id < byId.length ? byId[id] : null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.mystenchants.enchants;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Behaviour of one enchant for one trigger.
+ * The event type must match the trigger it is registered for (null for PASSIVE).
+ */
+@FunctionalInterface
+public interface EnchantEffect<E> {
+
+    /**
+     * Runs the effect for an item that carries the enchant at the given level
+     */
+    void apply(E event, Player player, ItemStack item, int level);
+}
@@ -0,0 +1,116 @@
+package com.mystenchants.enchants;
+
+import com.mystenchants.MystEnchants;
+import com.mystenchants.perf.EnchantEffectEvent;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dispatches enchant effects by trigger.
+ *
+ * Listeners register one {@link EnchantEffect} per enchant and trigger, optionally
+ * restricted to an equipment slot. On an event the listener passes the relevant items;
+ * each item is decoded once and only handlers for enchants actually on it are invoked.
+ * Items without meta (the common case) are skipped after a single check.
+ */
+public class EnchantEffectRegistry {
+
+    private final MystEnchants plugin;
+    private final EnchantManager enchantManager;
+    private final Map<EnchantTrigger, Map<String, List<Registration>>> handlers = new EnumMap<>(EnchantTrigger.class);
+
+    public EnchantEffectRegistry(MystEnchants plugin, EnchantManager enchantManager) {
+        this.plugin = plugin;
+        this.enchantManager = enchantManager;
+    }
+
+    /**
+     * Registers an effect for an enchant on a trigger. A null slot matches any slot.
+     */
+    public <E> void register(EnchantTrigger trigger, String enchantName, EquipmentSlot slot, EnchantEffect<E> effect) {
+        handlers.computeIfAbsent(trigger, key -> new HashMap<>())
+                .computeIfAbsent(enchantName, key -> new ArrayList<>())
+                .add(new Registration(slot, effect));
+    }
+
+    /**
+     * Checks whether anything is registered for a trigger
+     */
+    public boolean hasHandlers(EnchantTrigger trigger) {
+        Map<String, List<Registration>> byEnchant = handlers.get(trigger);
+        return byEnchant != null && !byEnchant.isEmpty();
+    }
+
+    /**
+     * Decodes an item's custom enchants once (empty for items without meta)
+     */
+    public Map<String, Integer> decode(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) {
+            return Collections.emptyMap();
+        }
+        return enchantManager.getAllCustomEnchants(item);
+    }
+
+    /**
+     * Decodes the item in a player's equipment slot and dispatches its effects
+     */
+    public <E> void dispatch(EnchantTrigger trigger, E event, Player player, EquipmentSlot slot) {
+        ItemStack item = player.getInventory().getItem(slot);
+        if (item == null || !item.hasItemMeta()) {
+            return;
+        }
+        dispatch(trigger, event, player, slot, item, decode(item));
+    }
+
+    /**
+     * Invokes the handlers for every enchant in an already decoded item
+     */
+    @SuppressWarnings("unchecked")
+    public <E> void dispatch(EnchantTrigger trigger, E event, Player player, EquipmentSlot slot,
+                             ItemStack item, Map<String, Integer> enchants) {
+        if (enchants.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<Registration>> byEnchant = handlers.get(trigger);
+        if (byEnchant == null) {
+            return;
+        }
+
+        for (Map.Entry<String, Integer> entry : enchants.entrySet()) {
+            List<Registration> registrations = byEnchant.get(entry.getKey());
+            if (registrations == null) continue;
+
+            for (Registration registration : registrations) {
+                if (registration.slot != null && registration.slot != slot) continue;
+
+                EnchantEffectEvent effectEvent = EnchantEffectEvent.start();
+                try {
+                    ((EnchantEffect<E>) registration.effect).apply(event, player, item, entry.getValue());
+                } catch (Exception e) {
+                    plugin.getLogger().warning("Error running " + entry.getKey() + " effect (" + trigger + "): " + e.getMessage());
+                } finally {
+                    effectEvent.complete(trigger.name(), entry.getKey(), entry.getValue(), player.getName());
+                }
+            }
+        }
+    }
+
+    private static class Registration {
+        private final EquipmentSlot slot;
+        private final EnchantEffect<?> effect;
+
+        private Registration(EquipmentSlot slot, EnchantEffect<?> effect) {
+            this.slot = slot;
+            this.effect = effect;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.mystenchants.enchants;
+
+import com.mystenchants.MystEnchants;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed numeric ids for enchant names, used by the compact item encoding.
+ *
+ * Each enchant's id is set in enchants.yml ({@code enchants.<name>.id}); the bundled
+ * enchants fall back to their built-in ids when a config predates that setting. Because
+ * the ids travel with the config, every server sharing it decodes an item the same way,
+ * and nothing in the plugin folder can remap items. Ids of enchants taken out of the
+ * config stay reserved under {@code retired-ids} so items carrying them keep them.
+ *
+ * Items written before ids were fixed carry per-server ids from enchant-ids.yml; that
+ * file is only read, to decode those items until they are next edited.
+ */
+public class EnchantIdRegistry {
+
+    private static final String LEGACY_FILE = "enchant-ids.yml";
+
+    // Matches what a default install assigned in enchant-ids.yml (alphabetical order)
+    private static final Map<String, Integer> BUNDLED_IDS = Map.ofEntries(
+            Map.entry("almighty_push", 0),
+            Map.entry("backup", 1),
+            Map.entry("detonate", 2),
+            Map.entry("guillotine", 3),
+            Map.entry("pace", 4),
+            Map.entry("pantsed", 5),
+            Map.entry("redemption", 6),
+            Map.entry("rejuvenate", 7),
+            Map.entry("scholar", 8),
+            Map.entry("serrate", 9),
+            Map.entry("tempo", 10),
+            Map.entry("zetsubo", 11)
+    );
+
+    private final MystEnchants plugin;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final Map<Integer, String> names = new HashMap<>();
+    private final Map<Integer, String> legacyNames = new HashMap<>();
+
+    public EnchantIdRegistry(MystEnchants plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Reads the ids from enchants.yml and returns the configured enchants that have no
+     * usable id; those can't be stored on items and must not be loaded
+     */
+    public synchronized List<String> load(ConfigurationSection config, Collection<String> configured) {
+        ids.clear();
+        names.clear();
+        List<String> rejected = new ArrayList<>();
+
+        ConfigurationSection retired = config.getConfigurationSection("retired-ids");
+        if (retired != null) {
+            for (String name : retired.getKeys(false)) {
+                int id = retired.getInt(name, -1);
+                if (id < 0 || !claim(name, id)) {
+                    plugin.getLogger().warning("Ignoring retired-ids." + name + " in enchants.yml: id " + id + " is invalid or already used");
+                }
+            }
+        }
+
+        for (String name : configured) {
+            int id = config.getInt("enchants." + name + ".id", BUNDLED_IDS.getOrDefault(name, -1));
+            if (id < 0) {
+                plugin.getLogger().severe("Enchant " + name + " has no id; set enchants." + name + ".id to an unused number");
+                rejected.add(name);
+            } else if (!claim(name, id)) {
+                plugin.getLogger().severe("Enchant " + name + " uses id " + id + ", which already belongs to " + names.get(id));
+                rejected.add(name);
+            }
+        }
+
+        loadLegacy();
+        return rejected;
+    }
+
+    /**
+     * Gets the id for an enchant name, or -1 if it has none
+     */
+    public synchronized int idOf(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Gets the enchant name for an id, or null if no enchant has it
+     */
+    public synchronized String nameOf(int id) {
+        return names.get(id);
+    }
+
+    /**
+     * Gets the enchant name for an id written before ids were fixed
+     */
+    public synchronized String legacyNameOf(int id) {
+        String name = legacyNames.get(id);
+        return name != null ? name : names.get(id);
+    }
+
+    private boolean claim(String name, int id) {
+        String owner = names.get(id);
+        Integer existing = ids.get(name);
+        if ((owner != null && !owner.equals(name)) || (existing != null && existing != id)) {
+            return false;
+        }
+        names.put(id, name);
+        ids.put(name, id);
+        return true;
+    }
+
+    private void loadLegacy() {
+        legacyNames.clear();
+        File file = new File(plugin.getDataFolder(), LEGACY_FILE);
+        if (!file.exists()) {
+            return;
+        }
+
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+        for (String name : config.getKeys(false)) {
+            int id = config.getInt(name, -1);
+            if (id >= 0) {
+                legacyNames.put(id, name);
+            }
+        }
+    }
+}
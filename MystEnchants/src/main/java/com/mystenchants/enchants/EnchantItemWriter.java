@@ -0,0 +1,362 @@
+package com.mystenchants.enchants;
+
+import com.mystenchants.MystEnchants;
+import com.mystenchants.utils.ColorUtils;
+import org.bukkit.NamespacedKey;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Single-pass writer for custom enchant data on items.
+ *
+ * Enchants are stored under one {@code mystenchants:enchants} byte array: a format
+ * version followed by varint (id, level) pairs, with ids from {@link EnchantIdRegistry}
+ * and the primary enchant first. Items still carrying the older one-key-per-enchant
+ * layout ({@code enchant_<name>} plus {@code custom_enchant}/{@code enchant_level}), or
+ * format 1 with per-server ids, are decoded as they are and converted the next time they
+ * are edited; reading never changes an item.
+ *
+ * Each write reads the item meta once, edits the decoded enchant map, rewrites the
+ * persistent data and the plugin-owned lore section together, then sets the meta once.
+ * The exact lore lines owned by the plugin are stored under {@code enchant_lore}, so the
+ * previous section is found by content wherever other plugins have moved it, and lines
+ * added above it by anything else are left alone.
+ */
+public class EnchantItemWriter {
+
+    private static final byte FORMAT_VERSION = 2;
+    private static final byte SERVER_IDS_VERSION = 1;
+    private static final String LEGACY_KEY_PREFIX = "enchant_";
+    private static final String LORE_PREFIX = ColorUtils.color("&d&l");
+
+    private final MystEnchants plugin;
+    private final EnchantManager enchantManager;
+    private final EnchantIdRegistry idRegistry;
+    private final NamespacedKey dataKey;
+    private final NamespacedKey enchantKey;
+    private final NamespacedKey levelKey;
+    private final NamespacedKey loreKey;
+    private final NamespacedKey legacyLoreLinesKey;
+
+    public EnchantItemWriter(MystEnchants plugin, EnchantManager enchantManager, EnchantIdRegistry idRegistry,
+                             NamespacedKey enchantKey, NamespacedKey levelKey) {
+        this.plugin = plugin;
+        this.enchantManager = enchantManager;
+        this.idRegistry = idRegistry;
+        this.dataKey = new NamespacedKey(plugin, "enchants");
+        this.enchantKey = enchantKey;
+        this.levelKey = levelKey;
+        this.loreKey = new NamespacedKey(plugin, "enchant_lore");
+        this.legacyLoreLinesKey = new NamespacedKey(plugin, "enchant_lore_lines");
+    }
+
+    /**
+     * Decodes the configured custom enchants on an item, primary first
+     */
+    public Map<String, Integer> read(ItemStack item) {
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null) {
+            return new LinkedHashMap<>();
+        }
+
+        PersistentDataContainer container = meta.getPersistentDataContainer();
+        byte[] data = container.get(dataKey, PersistentDataType.BYTE_ARRAY);
+        if (data != null) {
+            return configuredOnly(decode(data));
+        }
+        if (container.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+
+        return readLegacy(container);
+    }
+
+    /**
+     * Replaces the item's custom enchants with exactly the given set
+     */
+    public ItemStack write(ItemStack item, Map<String, Integer> targetEnchants) {
+        return edit(item, current -> {
+            current.clear();
+            current.putAll(targetEnchants);
+        }, null);
+    }
+
+    /**
+     * Edits the item's custom enchants in a single meta round-trip.
+     * The editor receives the currently stored enchants and may modify them freely.
+     */
+    public ItemStack edit(ItemStack item, Consumer<Map<String, Integer>> editor, String preferredPrimary) {
+        if (item == null) {
+            return null;
+        }
+
+        ItemStack result = item.clone();
+        ItemMeta meta = result.getItemMeta();
+        if (meta == null) {
+            return item;
+        }
+
+        PersistentDataContainer container = meta.getPersistentDataContainer();
+        boolean legacy = !container.has(dataKey, PersistentDataType.BYTE_ARRAY);
+        Map<String, Integer> stored = readStored(container);
+        Map<String, Integer> previous = configuredOnly(stored);
+        Map<String, Integer> target = new LinkedHashMap<>(previous);
+        editor.accept(target);
+        target.values().removeIf(level -> level == null || level <= 0);
+
+        // Primary first, then the rest; enchants no longer configured are carried over untouched
+        Map<String, Integer> ordered = new LinkedHashMap<>();
+        String primary = selectPrimary(previous, target, preferredPrimary);
+        if (primary != null) {
+            ordered.put(primary, target.get(primary));
+        }
+        ordered.putAll(target);
+        for (Map.Entry<String, Integer> entry : stored.entrySet()) {
+            if (enchantManager.getEnchant(entry.getKey()) == null) {
+                ordered.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (legacy) {
+            removeLegacyKeys(container, stored.keySet());
+        }
+        if (ordered.isEmpty()) {
+            container.remove(dataKey);
+        } else {
+            container.set(dataKey, PersistentDataType.BYTE_ARRAY, encode(ordered));
+        }
+
+        // Lore: replace the plugin-owned section where it was, or add it at the top
+        List<String> lore = meta.hasLore() ? new ArrayList<>(meta.getLore()) : new ArrayList<>();
+        int sectionStart = removeOwnedLore(lore, container);
+
+        List<String> enchantLines = buildLoreLines(target);
+        lore.addAll(sectionStart, enchantLines);
+        meta.setLore(lore.isEmpty() ? null : lore);
+
+        container.remove(legacyLoreLinesKey);
+        if (enchantLines.isEmpty()) {
+            container.remove(loreKey);
+        } else {
+            container.set(loreKey, PersistentDataType.STRING, String.join("\n", enchantLines));
+        }
+
+        // Glow
+        if (target.isEmpty()) {
+            if (meta.hasEnchant(Enchantment.LUCK)) {
+                meta.removeEnchant(Enchantment.LUCK);
+            }
+        } else if (!meta.hasEnchant(Enchantment.LUCK)) {
+            meta.addEnchant(Enchantment.LUCK, 1, true);
+            meta.addItemFlags(ItemFlag.HIDE_ENCHANTS);
+        }
+
+        result.setItemMeta(meta);
+        return result;
+    }
+
+    private String selectPrimary(Map<String, Integer> previous, Map<String, Integer> target, String preferredPrimary) {
+        if (target.isEmpty()) {
+            return null;
+        }
+        if (preferredPrimary != null && target.containsKey(preferredPrimary)) {
+            return preferredPrimary;
+        }
+        for (String existing : previous.keySet()) {
+            if (target.containsKey(existing)) {
+                return existing;
+            }
+        }
+        return target.keySet().iterator().next();
+    }
+
+    // ========================================
+    // ENCODING
+    // ========================================
+
+    /**
+     * Everything stored on the item, including enchants that are no longer configured
+     */
+    private Map<String, Integer> readStored(PersistentDataContainer container) {
+        byte[] data = container.get(dataKey, PersistentDataType.BYTE_ARRAY);
+        if (data != null) {
+            return decode(data);
+        }
+        return container.isEmpty() ? new LinkedHashMap<>() : readLegacy(container);
+    }
+
+    private Map<String, Integer> configuredOnly(Map<String, Integer> stored) {
+        stored.keySet().removeIf(name -> enchantManager.getEnchant(name) == null);
+        return stored;
+    }
+
+    byte[] encode(Map<String, Integer> enchants) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1 + enchants.size() * 2);
+        out.write(FORMAT_VERSION);
+        for (Map.Entry<String, Integer> entry : enchants.entrySet()) {
+            int id = idRegistry.idOf(entry.getKey());
+            if (id < 0) {
+                continue; // never happens for loaded or decoded names
+            }
+            writeVarInt(out, id);
+            writeVarInt(out, entry.getValue());
+        }
+        return out.toByteArray();
+    }
+
+    Map<String, Integer> decode(byte[] data) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        if (data.length == 0 || (data[0] != FORMAT_VERSION && data[0] != SERVER_IDS_VERSION)) {
+            return result;
+        }
+        boolean serverIds = data[0] == SERVER_IDS_VERSION;
+
+        int[] position = {1};
+        while (position[0] < data.length) {
+            int id = readVarInt(data, position);
+            int level = readVarInt(data, position);
+            if (id < 0 || level < 0) {
+                break; // truncated
+            }
+
+            String name = serverIds ? idRegistry.legacyNameOf(id) : idRegistry.nameOf(id);
+            if (name != null && level > 0) {
+                result.put(name, level);
+            }
+        }
+        return result;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(byte[] data, int[] position) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (position[0] >= data.length) {
+                return -1;
+            }
+            byte b = data[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        return -1;
+    }
+
+    // ========================================
+    // LEGACY LAYOUT
+    // ========================================
+
+    /**
+     * Reads the one-key-per-enchant layout, with the legacy primary enchant first
+     */
+    private Map<String, Integer> readLegacy(PersistentDataContainer container) {
+        Map<String, Integer> found = new LinkedHashMap<>();
+        String namespace = dataKey.getNamespace();
+
+        for (NamespacedKey key : container.getKeys()) {
+            if (!key.getNamespace().equals(namespace) || !key.getKey().startsWith(LEGACY_KEY_PREFIX)) {
+                continue;
+            }
+
+            String name = key.getKey().substring(LEGACY_KEY_PREFIX.length());
+            if (enchantManager.getEnchant(name) == null) {
+                continue; // enchant_level, enchant_lore, enchant_lore_lines or an enchant that is no longer configured
+            }
+
+            Integer level = container.get(key, PersistentDataType.INTEGER);
+            if (level != null && level > 0) {
+                found.put(name, level);
+            }
+        }
+
+        String primary = container.get(enchantKey, PersistentDataType.STRING);
+        if (primary == null || !found.containsKey(primary)) {
+            return found;
+        }
+
+        Map<String, Integer> ordered = new LinkedHashMap<>();
+        ordered.put(primary, found.get(primary));
+        ordered.putAll(found);
+        return ordered;
+    }
+
+    private void removeLegacyKeys(PersistentDataContainer container, Collection<String> names) {
+        for (String name : names) {
+            container.remove(new NamespacedKey(plugin, LEGACY_KEY_PREFIX + name));
+        }
+        container.remove(enchantKey);
+        container.remove(levelKey);
+    }
+
+    /**
+     * Removes the plugin-owned lore lines and returns where the section started,
+     * or 0 if none were found
+     */
+    private int removeOwnedLore(List<String> lore, PersistentDataContainer container) {
+        String owned = container.get(loreKey, PersistentDataType.STRING);
+        int sectionStart = -1;
+
+        if (owned != null) {
+            // Remove one occurrence of each stored line, wherever it ended up
+            for (String line : owned.split("\n", -1)) {
+                int index = lore.indexOf(line);
+                if (index >= 0) {
+                    lore.remove(index);
+                    sectionStart = sectionStart < 0 ? index : Math.min(sectionStart, index);
+                }
+            }
+            return Math.max(sectionStart, 0);
+        }
+
+        // Items written before the stored section existed: our lines always carried the &d&l prefix
+        for (int i = lore.size() - 1; i >= 0; i--) {
+            String line = lore.get(i);
+            if (line != null && line.startsWith(LORE_PREFIX)) {
+                lore.remove(i);
+                sectionStart = i;
+            }
+        }
+        return Math.max(sectionStart, 0);
+    }
+
+    private List<String> buildLoreLines(Map<String, Integer> target) {
+        List<CustomEnchant> ordered = new ArrayList<>(target.size());
+        for (String name : target.keySet()) {
+            CustomEnchant enchant = enchantManager.getEnchant(name);
+            if (enchant != null) {
+                ordered.add(enchant);
+            }
+        }
+
+        ordered.sort((a, b) -> {
+            int byTier = a.getTier().compareTo(b.getTier());
+            return byTier != 0 ? byTier : a.getName().compareTo(b.getName());
+        });
+
+        List<String> lines = new ArrayList<>(ordered.size());
+        for (CustomEnchant enchant : ordered) {
+            lines.add(LORE_PREFIX + enchant.getDisplayName() + " " + enchantManager.getRomanNumeral(target.get(enchant.getName())));
+        }
+        return lines;
+    }
+}
@@ -5,7 +5,6 @@ import com.mystenchants.utils.ColorUtils;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.enchantments.Enchantment;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
@@ -14,7 +13,6 @@ import org.bukkit.persistence.PersistentDataType;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
-import java.util.Iterator;
 
 /**
  * COMPLETE FIXED EnchantManager with multiple enchants support
@@ -29,6 +27,14 @@ public class EnchantManager {
     // Namespaced keys for persistent data
     private final NamespacedKey enchantKey;
     private final NamespacedKey levelKey;
+    private final EnchantIdRegistry idRegistry;
+    private final EnchantItemWriter itemWriter;
+    private final EnchantEffectRegistry effectRegistry;
+    private final EnchantCompatibility compatibility;
+    private final RequirementEngine requirementEngine;
+
+    // Effect table of the enchant owning each EffectKey, indexed by ordinal
+    private EffectTable[] effectOwners = new EffectTable[0];
 
     // Current enchant being processed (for requirement loading)
     private String currentEnchantName;
@@ -38,6 +44,11 @@ public class EnchantManager {
         this.plugin = plugin;
         this.enchantKey = new NamespacedKey(plugin, "custom_enchant");
         this.levelKey = new NamespacedKey(plugin, "enchant_level");
+        this.idRegistry = new EnchantIdRegistry(plugin);
+        this.itemWriter = new EnchantItemWriter(plugin, this, idRegistry, enchantKey, levelKey);
+        this.effectRegistry = new EnchantEffectRegistry(plugin, this);
+        this.compatibility = new EnchantCompatibility(plugin);
+        this.requirementEngine = new RequirementEngine(plugin, this);
 
         loadEnchants();
     }
@@ -52,6 +63,9 @@ public class EnchantManager {
         ConfigurationSection enchantsSection = plugin.getConfigManager().getEnchantsConfig().getConfigurationSection("enchants");
         if (enchantsSection == null) {
             plugin.getLogger().warning("No enchants found in enchants.yml!");
+            idRegistry.load(plugin.getConfigManager().getEnchantsConfig(), enchants.keySet());
+            indexEffectOwners();
+            compatibility.rebuild(enchants);
             return;
         }
 
@@ -67,9 +81,29 @@ public class EnchantManager {
             }
         }
 
+        // Enchants without a usable id can't be stored on items
+        for (String rejected : idRegistry.load(plugin.getConfigManager().getEnchantsConfig(), enchants.keySet())) {
+            CustomEnchant enchant = enchants.remove(rejected);
+            enchantsByTier.get(enchant.getTier()).remove(enchant);
+        }
+
+        indexEffectOwners();
+        compatibility.rebuild(enchants);
         plugin.getLogger().info("Loaded " + enchants.size() + " custom enchants.");
     }
 
+    /**
+     * Points every EffectKey at the compiled table of the enchant that owns it
+     */
+    private void indexEffectOwners() {
+        EffectTable[] owners = new EffectTable[EffectKey.VALUES.length];
+        for (EffectKey key : EffectKey.VALUES) {
+            CustomEnchant owner = enchants.get(key.getEnchantName());
+            owners[key.ordinal()] = owner != null ? owner.getEffects() : EffectTable.EMPTY;
+        }
+        effectOwners = owners;
+    }
+
     /**
      * Enhanced enchant loading with full configuration support
      */
@@ -121,11 +155,11 @@ public class EnchantManager {
             int cooldown = section.getInt("cooldown", 0);
             String deathMessage = section.getString("death-message", "");
 
-            // Load enchant effects
-            Map<String, Object> effects = loadEnchantEffects(section);
+            // Compile enchant effects into per-level arrays
+            EffectTable effects = EffectTable.compile(name, section.getConfigurationSection("effects"));
 
             CustomEnchant enchant = new CustomEnchant(name, tier, maxLevel, displayName, description,
-                    applicableItems, requirements, requiresFullSet, cooldown, deathMessage);
+                    applicableItems, requirements, requiresFullSet, cooldown, deathMessage, effects);
 
             return enchant;
 
@@ -150,60 +184,6 @@ public class EnchantManager {
         return new UnlockRequirement(type, amount, message);
     }
 
-    /**
-     * Load enchant effects with arrays for multi-level enchants
-     */
-    private Map<String, Object> loadEnchantEffects(ConfigurationSection section) {
-        ConfigurationSection effectsSection = section.getConfigurationSection("effects");
-        if (effectsSection == null) return new HashMap<>();
-
-        Map<String, Object> effects = new HashMap<>();
-
-        // Load effect arrays for multi-level enchants
-        if (effectsSection.contains("haste-levels")) {
-            effects.put("haste-levels", effectsSection.getIntegerList("haste-levels"));
-        }
-        if (effectsSection.contains("speed-levels")) {
-            effects.put("speed-levels", effectsSection.getIntegerList("speed-levels"));
-        }
-        if (effectsSection.contains("strength-levels")) {
-            effects.put("strength-levels", effectsSection.getIntegerList("strength-levels"));
-        }
-        if (effectsSection.contains("exp-multipliers")) {
-            effects.put("exp-multipliers", effectsSection.getDoubleList("exp-multipliers"));
-        }
-        if (effectsSection.contains("bleed-durations")) {
-            effects.put("bleed-durations", effectsSection.getIntegerList("bleed-durations"));
-        }
-        if (effectsSection.contains("heal-amounts")) {
-            effects.put("heal-amounts", effectsSection.getDoubleList("heal-amounts"));
-        }
-        if (effectsSection.contains("heal-chances")) {
-            effects.put("heal-chances", effectsSection.getDoubleList("heal-chances"));
-        }
-        if (effectsSection.contains("steal-chances")) {
-            effects.put("steal-chances", effectsSection.getDoubleList("steal-chances"));
-        }
-        if (effectsSection.contains("head-drop-chances")) {
-            effects.put("head-drop-chances", effectsSection.getDoubleList("head-drop-chances"));
-        }
-        if (effectsSection.contains("area-sizes")) {
-            effects.put("area-sizes", effectsSection.getIntegerList("area-sizes"));
-        }
-        if (effectsSection.contains("golem-counts")) {
-            effects.put("golem-counts", effectsSection.getIntegerList("golem-counts"));
-        }
-
-        // Load other effect properties
-        for (String key : effectsSection.getKeys(false)) {
-            if (!effects.containsKey(key)) {
-                effects.put(key, effectsSection.get(key));
-            }
-        }
-
-        return effects;
-    }
-
     /**
      * Gets an enchant by name
      */
@@ -233,92 +213,36 @@ public class EnchantManager {
      * NEW: Check if item has a specific enchant by name
      */
     public boolean hasSpecificCustomEnchant(ItemStack item, String enchantName) {
-        if (item == null || !item.hasItemMeta()) return false;
-
-        try {
-            ItemMeta meta = item.getItemMeta();
-            PersistentDataContainer container = meta.getPersistentDataContainer();
-            NamespacedKey specificKey = new NamespacedKey(plugin, "enchant_" + enchantName);
-
-            boolean hasSpecific = container.has(specificKey, PersistentDataType.INTEGER);
-            return hasSpecific;
-        } catch (Exception e) {
-            return false;
-        }
+        return getAllCustomEnchants(item).containsKey(enchantName);
     }
 
     /**
      * NEW: Get level of specific enchant
      */
     public int getSpecificCustomEnchantLevel(ItemStack item, String enchantName) {
-        if (item == null || !item.hasItemMeta()) return 0;
-
-        try {
-            ItemMeta meta = item.getItemMeta();
-            PersistentDataContainer container = meta.getPersistentDataContainer();
-            NamespacedKey specificKey = new NamespacedKey(plugin, "enchant_" + enchantName);
-
-            int level = container.getOrDefault(specificKey, PersistentDataType.INTEGER, 0);
-            return level;
-        } catch (Exception e) {
-            plugin.getLogger().warning("Error getting level for " + enchantName + ": " + e.getMessage());
-            return 0;
-        }
+        return getAllCustomEnchants(item).getOrDefault(enchantName, 0);
     }
 
     /**
-     * NEW: Simple check for max enchants
+     * Checks the max-enchants-per-item limit for adding one more enchant
      */
     public boolean canAddMoreEnchants(ItemStack item) {
-        try {
-            int maxEnchants = 10; // Default
-            try {
-                maxEnchants = plugin.getConfigManager().getInt("config.yml", "enchants.max-enchants-per-item", 10);
-            } catch (Exception e) {
-                plugin.getLogger().info("Using default max enchants: 10");
-            }
-
-            Map<String, Integer> currentEnchants = getAllCustomEnchants(item);
-            boolean canAdd = currentEnchants.size() < maxEnchants;
-
-            plugin.getLogger().info("Current enchants: " + currentEnchants.size() + ", Max: " + maxEnchants + ", Can add: " + canAdd);
-            return canAdd;
-        } catch (Exception e) {
-            plugin.getLogger().warning("Error checking max enchants: " + e.getMessage());
-            return true;
-        }
+        return getAllCustomEnchants(item).size() < compatibility.getMaxEnchants();
     }
 
     /**
      * NEW: Get all enchants on an item
      */
     public Map<String, Integer> getAllCustomEnchants(ItemStack item) {
-        Map<String, Integer> enchants = new HashMap<>();
-
         if (item == null || !item.hasItemMeta()) {
-            return enchants;
+            return new HashMap<>();
         }
 
         try {
-            ItemMeta meta = item.getItemMeta();
-            PersistentDataContainer container = meta.getPersistentDataContainer();
-
-            for (CustomEnchant enchant : getAllEnchants()) {
-                try {
-                    NamespacedKey specificKey = new NamespacedKey(plugin, "enchant_" + enchant.getName());
-                    if (container.has(specificKey, PersistentDataType.INTEGER)) {
-                        int level = container.get(specificKey, PersistentDataType.INTEGER);
-                        enchants.put(enchant.getName(), level);
-                    }
-                } catch (Exception e) {
-                }
-            }
-
-
+            return itemWriter.read(item);
         } catch (Exception e) {
+            return new HashMap<>();
         }
-
-        return enchants;
     }
 
     /**
@@ -352,45 +276,13 @@ public class EnchantManager {
      * CLEAN: Remove a specific enchant by name while keeping others
      */
     public ItemStack removeSpecificEnchantByName(ItemStack item, String enchantName) {
-        if (item == null || !item.hasItemMeta()) return item;
-
-        ItemStack result = item.clone();
-        ItemMeta meta = result.getItemMeta();
-
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        NamespacedKey specificKey = new NamespacedKey(plugin, "enchant_" + enchantName);
-
-        if (container.has(specificKey, PersistentDataType.INTEGER)) {
-            container.remove(specificKey);
-
-            // Update the lore to reflect all remaining enchants
-            result = updateItemLoreWithAllEnchantsFixed(result);
+        if (!hasSpecificCustomEnchant(item, enchantName)) return item;
 
-            // Check if this was the last enchant
-            Map<String, Integer> remainingEnchants = getAllCustomEnchants(result);
-            if (remainingEnchants.isEmpty()) {
-                container.remove(enchantKey);
-                container.remove(levelKey);
-                if (meta.hasEnchant(Enchantment.LUCK)) {
-                    meta.removeEnchant(Enchantment.LUCK);
-                }
-            } else {
-                String firstRemaining = remainingEnchants.keySet().iterator().next();
-                int firstLevel = remainingEnchants.get(firstRemaining);
-                container.set(enchantKey, PersistentDataType.STRING, firstRemaining);
-                container.set(levelKey, PersistentDataType.INTEGER, firstLevel);
-            }
-
-            result.setItemMeta(meta);
-        }
-
-        return result;
+        return itemWriter.edit(item, current -> current.remove(enchantName), null);
     }
 
-
-
     /**
-     * FINAL WORKING VERSION: Clean version without debug logs
+     * Applies (or upgrades) a single enchant, keeping any others already on the item
      */
     public ItemStack applyEnchant(ItemStack item, CustomEnchant enchant, int level) {
         if (item == null || enchant == null || level <= 0 || level > enchant.getMaxLevel()) {
@@ -402,47 +294,15 @@ public class EnchantManager {
         }
 
         try {
-            ItemStack result = item.clone();
-            ItemMeta meta = result.getItemMeta();
-            if (meta == null) {
-                return item;
-            }
-
-            // Add custom enchant data to persistent container
-            PersistentDataContainer container = meta.getPersistentDataContainer();
-            NamespacedKey specificEnchantKey = new NamespacedKey(plugin, "enchant_" + enchant.getName());
-            container.set(specificEnchantKey, PersistentDataType.INTEGER, level);
-            container.set(enchantKey, PersistentDataType.STRING, enchant.getName());
-            container.set(levelKey, PersistentDataType.INTEGER, level);
-
-            // Add custom enchant to lore
-            List<String> lore = meta.hasLore() ? new ArrayList<>(meta.getLore()) : new ArrayList<>();
-
-            // Remove only our previous custom enchant lines
-            final String customEnchantPrefix = ColorUtils.color("&d&l");
-            lore.removeIf(line -> line != null && line.startsWith(customEnchantPrefix));
-
-            // Add our custom enchant line at the top
-            String enchantLine = customEnchantPrefix + enchant.getDisplayName() + " " + getRomanNumeral(level);
-            lore.add(0, enchantLine);
-            meta.setLore(lore);
-
-            // Apply the meta changes
-            result.setItemMeta(meta);
-
-            // Add glow effect for first custom enchant
-            boolean isFirstEnchant = getAllCustomEnchants(item).isEmpty();
-            if (isFirstEnchant) {
-                result.addUnsafeEnchantment(org.bukkit.enchantments.Enchantment.LUCK, 1);
-                ItemMeta glowMeta = result.getItemMeta();
-                if (glowMeta != null) {
-                    glowMeta.addItemFlags(org.bukkit.inventory.ItemFlag.HIDE_ENCHANTS);
-                    result.setItemMeta(glowMeta);
+            return itemWriter.edit(item, current -> {
+                if (compatibility.isRemoveConflicting()) {
+                    current.keySet().removeIf(name -> {
+                        CustomEnchant other = getEnchant(name);
+                        return other != null && compatibility.conflicts(enchant, other);
+                    });
                 }
-            }
-
-            return result;
-
+                current.put(enchant.getName(), level);
+            }, enchant.getName());
         } catch (Exception e) {
             plugin.getLogger().severe("Error applying enchant " + enchant.getName() + ": " + e.getMessage());
             e.printStackTrace();
@@ -450,173 +310,48 @@ public class EnchantManager {
         }
     }
 
-
-
-
     /**
-     * COMPLETELY FIXED: Updates item display for multiple enchants without affecting vanilla enchants
+     * Replaces all custom enchants on an item with the given set in one write
      */
-    private void updateItemDisplaySafe(ItemMeta meta, CustomEnchant enchant, int level) {
-        // Save ALL current enchantments (both vanilla and custom) before updating lore
-        Map<org.bukkit.enchantments.Enchantment, Integer> allCurrentEnchants = new HashMap<>(meta.getEnchants());
-        plugin.getLogger().info("Saving all enchants before lore update: " + allCurrentEnchants);
-
-        // STEP 1: Set the specific enchant data first
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        NamespacedKey specificEnchantKey = new NamespacedKey(plugin, "enchant_" + enchant.getName());
-        container.set(specificEnchantKey, PersistentDataType.INTEGER, level);
-
-        // STEP 2: Update lore to show ALL enchants (not just the new one)
-        List<String> lore = meta.hasLore() ? new ArrayList<>(meta.getLore()) : new ArrayList<>();
-
-        // Remove ALL existing custom enchant lore lines
-        final String enchantLinePrefix = ColorUtils.color("&d&l");
-        Set<String> knownEnchantNames = new HashSet<>();
-        for (CustomEnchant knownEnchant : getAllEnchants()) {
-            knownEnchantNames.add(ColorUtils.stripColor(knownEnchant.getDisplayName()));
-        }
-
-        lore.removeIf(line -> {
-            if (line == null) return false;
-
-            // Remove lines that start with our enchant prefix
-            if (line.startsWith(enchantLinePrefix)) {
-                return true;
-            }
-
-            // Remove lines containing known enchant names
-            String strippedLine = ColorUtils.stripColor(line);
-            for (String enchantName : knownEnchantNames) {
-                if (strippedLine.matches(".*\\b" + java.util.regex.Pattern.quote(enchantName) + "\\b.*")) {
-                    return true;
-                }
-            }
-            return false;
-        });
-
-        // STEP 3: Get ALL custom enchants on the item (including the one we just added)
-        // We need to temporarily apply the meta to get the updated enchant data
-        ItemStack tempItem = new ItemStack(org.bukkit.Material.STONE); // Temporary item for data extraction
-        tempItem.setItemMeta(meta);
-        Map<String, Integer> allCustomEnchants = getAllCustomEnchants(tempItem);
-
-        // STEP 4: Add ALL custom enchants back to lore
-        List<Map.Entry<String, Integer>> sortedEnchants = allCustomEnchants.entrySet().stream()
-                .sorted(Comparator.comparing(e -> {
-                    CustomEnchant enchantObj = getEnchant(e.getKey());
-                    return enchantObj != null ? enchantObj.getTier() : EnchantTier.COMMON;
-                }))
-                .collect(Collectors.toList());
-
-        int insertPosition = 0;
-        for (Map.Entry<String, Integer> entry : sortedEnchants) {
-            CustomEnchant enchantObj = getEnchant(entry.getKey());
-            if (enchantObj != null) {
-                String enchantLine = enchantLinePrefix + enchantObj.getDisplayName() + " " + getRomanNumeral(entry.getValue());
-                lore.add(insertPosition++, enchantLine);
-                plugin.getLogger().info("Added enchant line to lore: " + enchantLine);
-            }
-        }
-
-        // STEP 5: Set the updated lore
-        meta.setLore(lore);
-
-        // STEP 6: CRITICAL - Restore ALL enchantments that might have been lost
-        for (Map.Entry<org.bukkit.enchantments.Enchantment, Integer> entry : allCurrentEnchants.entrySet()) {
-            if (!meta.hasEnchant(entry.getKey()) || meta.getEnchantLevel(entry.getKey()) != entry.getValue()) {
-                meta.addEnchant(entry.getKey(), entry.getValue(), true);
-                plugin.getLogger().info("Re-restored enchant after lore update: " + entry.getKey() + " Level " + entry.getValue());
-            }
-        }
-
-        plugin.getLogger().info("Final enchants after lore update: " + meta.getEnchants());
+    public ItemStack setEnchants(ItemStack item, Map<String, Integer> targetEnchants) {
+        return itemWriter.write(item, targetEnchants);
     }
 
-
     /**
-     * CLEAN: Better lore update method
+     * Applies an enchant to every compatible item in an inventory that does not already
+     * have it at this level or higher, skipping items where it would conflict or exceed
+     * the enchant limit. Returns the number of items changed.
      */
-    private ItemStack updateItemLoreWithAllEnchantsFixed(ItemStack item) {
-        try {
-            ItemMeta meta = item.getItemMeta();
-            if (meta == null) {
-                return item;
-            }
-
-            List<String> lore = meta.hasLore() ? new ArrayList<>(meta.getLore()) : new ArrayList<>();
-
-            // Remove old custom enchant lines
-            Iterator<String> iterator = lore.iterator();
-            while (iterator.hasNext()) {
-                String line = iterator.next();
-                if (line == null) continue;
-
-                String strippedLine = stripColorCodes(line).toLowerCase();
+    public int applyEnchantToInventory(org.bukkit.inventory.Inventory inventory, CustomEnchant enchant, int level) {
+        ItemStack[] contents = inventory.getContents();
+        int changed = 0;
 
-                boolean shouldRemove = false;
-                for (CustomEnchant enchant : getAllEnchants()) {
-                    String enchantName = stripColorCodes(enchant.getDisplayName()).toLowerCase();
-                    if (strippedLine.contains(enchantName)) {
-                        shouldRemove = true;
-                        break;
-                    }
-                }
-
-                if (!shouldRemove && strippedLine.matches(".*\\b(i{1,3}|iv|v|vi{1,3}|ix|x)\\b.*") &&
-                        (line.contains("§") || line.contains("&"))) {
-                    shouldRemove = true;
-                }
-
-                if (shouldRemove) {
-                    iterator.remove();
-                }
+        for (int i = 0; i < contents.length; i++) {
+            ItemStack item = contents[i];
+            if (item == null || !enchant.isApplicableTo(item.getType())) {
+                continue;
             }
 
-            // Get all enchants and add them to lore
-            Map<String, Integer> allEnchants = getAllCustomEnchants(item);
-
-            // Sort enchants by tier
-            List<Map.Entry<String, Integer>> sortedEnchants = allEnchants.entrySet().stream()
-                    .sorted((e1, e2) -> {
-                        CustomEnchant enchant1 = getEnchant(e1.getKey());
-                        CustomEnchant enchant2 = getEnchant(e2.getKey());
-                        if (enchant1 != null && enchant2 != null) {
-                            return enchant1.getTier().compareTo(enchant2.getTier());
-                        }
-                        return e1.getKey().compareTo(e2.getKey());
-                    })
-                    .collect(Collectors.toList());
-
-            // Add each enchant to lore
-            int insertPosition = 0;
-            for (Map.Entry<String, Integer> entry : sortedEnchants) {
-                CustomEnchant enchant = getEnchant(entry.getKey());
-                if (enchant != null) {
-                    String enchantLine = ColorUtils.color("&d&l" + enchant.getDisplayName() + " " +
-                            getRomanNumeral(entry.getValue()));
-                    lore.add(insertPosition, enchantLine);
-                    insertPosition++;
+            Map<String, Integer> current = getAllCustomEnchants(item);
+            Integer existingLevel = current.get(enchant.getName());
+            if (existingLevel != null && existingLevel >= level) {
+                continue;
+            }
+            if (existingLevel == null) {
+                EnchantCompatibility.Result result = compatibility.check(enchant, level, item.getType(), current);
+                if (result == EnchantCompatibility.Result.CONFLICT || result == EnchantCompatibility.Result.LIMIT_REACHED) {
+                    continue;
                 }
             }
 
-            meta.setLore(lore);
-            item.setItemMeta(meta);
-
-            return item;
-
-        } catch (Exception e) {
-            plugin.getLogger().severe("Error updating lore: " + e.getMessage());
-            e.printStackTrace();
-            return item;
+            contents[i] = applyEnchant(item, enchant, level);
+            changed++;
         }
-    }
 
-    /**
-     * HELPER: Strip color codes
-     */
-    private String stripColorCodes(String text) {
-        if (text == null) return "";
-        return text.replaceAll("[§&][0-9a-fk-or]", "");
+        if (changed > 0) {
+            inventory.setContents(contents);
+        }
+        return changed;
     }
 
     // ========================================================================
@@ -637,19 +372,7 @@ public class EnchantManager {
         Map<String, Integer> enchants = getAllCustomEnchants(item);
         if (enchants.isEmpty()) return null;
 
-        // Try to get from old format first
-        if (item.hasItemMeta()) {
-            PersistentDataContainer container = item.getItemMeta().getPersistentDataContainer();
-            if (container.has(enchantKey, PersistentDataType.STRING)) {
-                String enchantName = container.get(enchantKey, PersistentDataType.STRING);
-                CustomEnchant enchant = getEnchant(enchantName);
-                if (enchant != null && enchants.containsKey(enchantName)) {
-                    return enchant;
-                }
-            }
-        }
-
-        // Fallback to first enchant
+        // The primary enchant is always stored first
         String firstName = enchants.keySet().iterator().next();
         return getEnchant(firstName);
     }
@@ -664,62 +387,13 @@ public class EnchantManager {
         return getSpecificCustomEnchantLevel(item, primary.getName());
     }
 
-    /**
-     * OLD: Updates item display with enchant information (kept for compatibility)
-     */
-    private void updateItemDisplay(ItemMeta meta, CustomEnchant enchant, int level) {
-        List<String> lore = meta.hasLore() ? meta.getLore() : new ArrayList<>();
-        lore.removeIf(line -> line.contains("§d") && line.contains("§l"));
-        String enchantLine = ColorUtils.color("&d&l" + enchant.getDisplayName() + " " + getRomanNumeral(level));
-        lore.add(0, enchantLine);
-        meta.setLore(lore);
-    }
-
     /**
      * CLEAN: Remove all custom enchants from an item
      */
     public ItemStack removeEnchant(ItemStack item) {
         if (!hasCustomEnchant(item)) return item;
 
-        ItemStack result = item.clone();
-        ItemMeta meta = result.getItemMeta();
-        if (meta == null) return item;
-
-        // Get all enchants and remove them all
-        Map<String, Integer> allEnchants = getAllCustomEnchants(result);
-
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        for (String enchantName : allEnchants.keySet()) {
-            NamespacedKey specificKey = new NamespacedKey(plugin, "enchant_" + enchantName);
-            container.remove(specificKey);
-        }
-
-        container.remove(enchantKey);
-        container.remove(levelKey);
-
-        if (meta.hasLore()) {
-            List<String> lore = new ArrayList<>(meta.getLore());
-            lore.removeIf(line -> {
-                if (line == null) return false;
-                String strippedLine = stripColorCodes(line).toLowerCase();
-                for (CustomEnchant enchant : getAllEnchants()) {
-                    String enchantName = stripColorCodes(enchant.getDisplayName()).toLowerCase();
-                    if (strippedLine.contains(enchantName)) {
-                        return true;
-                    }
-                }
-                return strippedLine.matches(".*\\b(i{1,3}|iv|v|vi{1,3}|ix|x)\\b.*") &&
-                        (line.contains("§") || line.contains("&"));
-            });
-            meta.setLore(lore);
-        }
-
-        if (meta.hasEnchant(Enchantment.LUCK)) {
-            meta.removeEnchant(Enchantment.LUCK);
-        }
-
-        result.setItemMeta(meta);
-        return result;
+        return itemWriter.write(item, Collections.emptyMap());
     }
 
     // ========================================================================
@@ -736,7 +410,7 @@ public class EnchantManager {
     /**
      * Gets roman numeral representation of a number
      */
-    private String getRomanNumeral(int number) {
+    public String getRomanNumeral(int number) {
         String[] romanNumerals = {"", "I", "II", "III", "IV", "V", "VI", "VII", "VIII", "IX", "X"};
         if (number <= 0 || number >= romanNumerals.length) {
             return String.valueOf(number);
@@ -804,138 +478,119 @@ public class EnchantManager {
         CustomEnchant enchant = getEnchant(enchantName);
         if (enchant == null) return null;
 
-        ConfigurationSection enchantSection = plugin.getConfigManager().getEnchantsConfig()
-                .getConfigurationSection("enchants." + enchantName + ".effects");
-
-        if (enchantSection == null) return null;
-
-        if (enchantSection.contains(effectName)) {
-            Object value = enchantSection.get(effectName);
+        return enchant.getEffects().getRaw(effectName, level);
+    }
 
-            // Handle arrays (for multi-level effects)
-            if (value instanceof List) {
-                List<?> list = (List<?>) value;
-                if (level > 0 && level <= list.size()) {
-                    return list.get(level - 1);
-                }
-            } else {
-                return value;
-            }
-        }
+    /**
+     * Reads a compiled integer effect (array read, no lookup by name)
+     */
+    public int getIntEffect(EffectKey key, int level, int defaultValue) {
+        return effectOwners[key.ordinal()].getInt(key, level, defaultValue);
+    }
 
-        return null;
+    /**
+     * Reads a compiled decimal effect (array read, no lookup by name)
+     */
+    public double getDoubleEffect(EffectKey key, int level, double defaultValue) {
+        return effectOwners[key.ordinal()].getDouble(key, level, defaultValue);
     }
 
     /**
      * Gets haste level for Tempo enchant
      */
     public int getTempoHasteLevel(int enchantLevel) {
-        Object levels = getEnchantEffect("tempo", "haste-levels", enchantLevel);
-        return levels instanceof Number ? ((Number) levels).intValue() : enchantLevel;
+        return getIntEffect(EffectKey.TEMPO_HASTE_LEVELS, enchantLevel, enchantLevel);
     }
 
     /**
      * Gets speed level for Pace enchant
      */
     public int getPaceSpeedLevel(int enchantLevel) {
-        Object levels = getEnchantEffect("pace", "speed-levels", enchantLevel);
-        return levels instanceof Number ? ((Number) levels).intValue() : enchantLevel;
+        return getIntEffect(EffectKey.PACE_SPEED_LEVELS, enchantLevel, enchantLevel);
     }
 
     /**
      * Gets strength level for Zetsubo enchant
      */
     public int getZetsuboStrengthLevel(int enchantLevel) {
-        Object levels = getEnchantEffect("zetsubo", "strength-levels", enchantLevel);
-        return levels instanceof Number ? ((Number) levels).intValue() : enchantLevel;
+        return getIntEffect(EffectKey.ZETSUBO_STRENGTH_LEVELS, enchantLevel, enchantLevel);
     }
 
     /**
      * Gets EXP multiplier for Scholar enchant
      */
     public double getScholarExpMultiplier(int enchantLevel) {
-        Object multipliers = getEnchantEffect("scholar", "exp-multipliers", enchantLevel);
-        return multipliers instanceof Number ? ((Number) multipliers).doubleValue() : 1.05;
+        return getDoubleEffect(EffectKey.SCHOLAR_EXP_MULTIPLIERS, enchantLevel, 1.05);
     }
 
     /**
      * Gets bleed duration for Serrate enchant (in ticks)
      */
     public int getSerrateBleedDuration(int enchantLevel) {
-        Object durations = getEnchantEffect("serrate", "bleed-durations", enchantLevel);
-        return durations instanceof Number ? ((Number) durations).intValue() : 30;
+        return getIntEffect(EffectKey.SERRATE_BLEED_DURATIONS, enchantLevel, 30);
     }
 
     /**
      * Gets heal amount for Rejuvenate enchant
      */
     public double getRejuvenateHealAmount(int enchantLevel) {
-        Object amounts = getEnchantEffect("rejuvenate", "heal-amounts", enchantLevel);
-        return amounts instanceof Number ? ((Number) amounts).doubleValue() : 4.0;
+        return getDoubleEffect(EffectKey.REJUVENATE_HEAL_AMOUNTS, enchantLevel, 4.0);
     }
 
     /**
      * Gets heal chance for Rejuvenate enchant
      */
     public double getRejuvenateHealChance(int enchantLevel) {
-        Object chances = getEnchantEffect("rejuvenate", "heal-chances", enchantLevel);
-        return chances instanceof Number ? ((Number) chances).doubleValue() : 0.10;
+        return getDoubleEffect(EffectKey.REJUVENATE_HEAL_CHANCES, enchantLevel, 0.10);
     }
 
     /**
      * Gets head drop chance for Guillotine enchant
      */
     public double getGuillotineHeadDropChance(int enchantLevel) {
-        Object chances = getEnchantEffect("guillotine", "head-drop-chances", enchantLevel);
-        return chances instanceof Number ? ((Number) chances).doubleValue() : 0.10;
+        return getDoubleEffect(EffectKey.GUILLOTINE_HEAD_DROP_CHANCES, enchantLevel, 0.10);
     }
 
     /**
      * Gets steal chance for Pantsed enchant
      */
     public double getPantsedStealChance(int enchantLevel) {
-        Object chances = getEnchantEffect("pantsed", "steal-chances", enchantLevel);
-        return chances instanceof Number ? ((Number) chances).doubleValue() : 0.03;
+        return getDoubleEffect(EffectKey.PANTSED_STEAL_CHANCES, enchantLevel, 0.03);
     }
 
     /**
      * Gets area size for Detonate enchant
      */
     public int getDetonateAreaSize(int enchantLevel) {
-        Object sizes = getEnchantEffect("detonate", "area-sizes", enchantLevel);
-        return sizes instanceof Number ? ((Number) sizes).intValue() : 1;
+        return getIntEffect(EffectKey.DETONATE_AREA_SIZES, enchantLevel, 1);
     }
 
     /**
      * Gets golem count for Backup enchant
      */
     public int getBackupGolemCount(int enchantLevel) {
-        Object counts = getEnchantEffect("backup", "golem-counts", enchantLevel);
-        return counts instanceof Number ? ((Number) counts).intValue() : 1;
+        return getIntEffect(EffectKey.BACKUP_GOLEM_COUNTS, enchantLevel, 1);
     }
 
     /**
      * Gets Almighty Push radius
      */
     public double getAlmightyPushRadius() {
-        Object radius = getEnchantEffect("almighty_push", "push-radius", 1);
-        return radius instanceof Number ? ((Number) radius).doubleValue() : 10.0;
+        return getDoubleEffect(EffectKey.ALMIGHTY_PUSH_RADIUS, 1, 10.0);
     }
 
     /**
      * Gets Almighty Push strength
      */
     public double getAlmightyPushStrength() {
-        Object strength = getEnchantEffect("almighty_push", "push-strength", 1);
-        return strength instanceof Number ? ((Number) strength).doubleValue() : 3.0;
+        return getDoubleEffect(EffectKey.ALMIGHTY_PUSH_STRENGTH, 1, 3.0);
     }
 
     /**
      * Gets configurable trigger health for Rejuvenate
      */
     public double getRejuvenateTriggerHealth() {
-        Object triggerHealth = getEnchantEffect("rejuvenate", "trigger-health", 1);
-        return triggerHealth instanceof Number ? ((Number) triggerHealth).doubleValue() : 6.0;
+        return getDoubleEffect(EffectKey.REJUVENATE_TRIGGER_HEALTH, 1, 6.0);
     }
 
     /**
@@ -963,56 +618,7 @@ public class EnchantManager {
         CustomEnchant enchant = getEnchant(enchantName);
         if (enchant == null) return CompletableFuture.completedFuture(false);
 
-        // Special case for Zetsubo enchants - must complete sacrifice first
-        if (enchantName.equals("zetsubo")) {
-            boolean hasCompletedSacrifice = plugin.getZetsuboSacrificeManager().hasCompletedSacrifice(player.getUniqueId());
-
-            if (!hasCompletedSacrifice) {
-                return CompletableFuture.completedFuture(false); // Must complete sacrifice first
-            }
-
-            // If sacrifice completed, both level 1 and 2 are available
-            return CompletableFuture.completedFuture(level <= 2);
-        }
-
-        UnlockRequirement requirement = enchant.getUnlockRequirement(level);
-        if (requirement == null || requirement.getType() == RequirementType.NONE) {
-            return CompletableFuture.completedFuture(true);
-        }
-
-        switch (requirement.getType()) {
-            case BLOCKS_MINED:
-            case BLOCKS_WALKED:
-            case WHEAT_BROKEN:
-            case CREEPERS_KILLED:
-            case IRON_INGOTS:
-            case PANTS_CRAFTED:
-            case SOULS:
-                String statisticName = getStatisticName(requirement.getType());
-                return plugin.getPlayerDataManager().getStatistic(player.getUniqueId(), statisticName)
-                        .thenApply(current -> current >= requirement.getAmount());
-
-            case MONEY:
-                if (plugin.getEconomy() != null) {
-                    double balance = plugin.getEconomy().getBalance(player);
-                    return CompletableFuture.completedFuture(balance >= requirement.getAmount());
-                }
-                return CompletableFuture.completedFuture(false);
-
-            case EXP_LEVELS:
-                return CompletableFuture.completedFuture(player.getLevel() >= requirement.getAmount());
-
-            case BOSS_FIGHT:
-                return plugin.getPlayerDataManager().hasEnchantUnlocked(player.getUniqueId(), enchantName);
-
-            // ADD THIS CASE:
-            case SACRIFICE_COMPLETED:
-                boolean hasCompletedSacrifice = plugin.getZetsuboSacrificeManager().hasCompletedSacrifice(player.getUniqueId());
-                return CompletableFuture.completedFuture(hasCompletedSacrifice);
-
-            default:
-                return CompletableFuture.completedFuture(true);
-        }
+        return requirementEngine.evaluate(player).thenApply(snapshot -> snapshot.isMet(enchant, level));
     }
 
     /**
@@ -1028,7 +634,7 @@ public class EnchantManager {
         }
 
         if (requirement.getType().requiresStatistics()) {
-            String statisticName = getStatisticName(requirement.getType());
+            String statisticName = requirement.getType().getStatisticColumn();
             return plugin.getPlayerDataManager().getStatistic(player.getUniqueId(), statisticName)
                     .thenApply(current -> {
                         String formatted = plugin.getStatisticManager().getFormattedProgress(current, requirement.getAmount());
@@ -1039,22 +645,6 @@ public class EnchantManager {
         }
     }
 
-    /**
-     * Convert requirement type to statistic name
-     */
-    private String getStatisticName(RequirementType type) {
-        switch (type) {
-            case BLOCKS_MINED: return "blocks_mined";
-            case BLOCKS_WALKED: return "blocks_walked";
-            case WHEAT_BROKEN: return "wheat_broken";
-            case CREEPERS_KILLED: return "creepers_killed";
-            case IRON_INGOTS: return "iron_ingots_traded";
-            case PANTS_CRAFTED: return "pants_crafted";
-            case SOULS: return "souls_collected";
-            default: return "blocks_mined";
-        }
-    }
-
     /**
      * Gets current enchant name (for requirement loading)
      */
@@ -1069,6 +659,27 @@ public class EnchantManager {
         return currentLevel;
     }
 
+    /**
+     * Gets the single-pass requirement evaluator
+     */
+    public RequirementEngine getRequirementEngine() {
+        return requirementEngine;
+    }
+
+    /**
+     * Gets the precomputed applicability and conflict model
+     */
+    public EnchantCompatibility getCompatibility() {
+        return compatibility;
+    }
+
+    /**
+     * Gets the trigger-indexed effect registry
+     */
+    public EnchantEffectRegistry getEffectRegistry() {
+        return effectRegistry;
+    }
+
     /**
      * Reloads all enchants from configuration
      */
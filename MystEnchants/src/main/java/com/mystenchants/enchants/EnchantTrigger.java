@@ -0,0 +1,22 @@
+package com.mystenchants.enchants;
+
+/**
+ * Game events that can trigger custom enchant effects
+ */
+public enum EnchantTrigger {
+
+    /** Player breaks a block with the enchanted tool */
+    BLOCK_BREAK,
+
+    /** Player damages an entity (EntityDamageByEntityEvent) */
+    ATTACK,
+
+    /** Player takes damage while wearing the enchanted item (EntityDamageEvent) */
+    DEFEND,
+
+    /** Player kills an entity (EntityDeathEvent) */
+    KILL,
+
+    /** Equipment changed - passive effects are re-applied (no event) */
+    PASSIVE
+}
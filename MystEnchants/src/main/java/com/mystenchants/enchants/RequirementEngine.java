@@ -0,0 +1,162 @@
+package com.mystenchants.enchants;
+
+import com.mystenchants.MystEnchants;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Evaluates every (enchant, level) unlock requirement for a player in a single pass.
+ *
+ * Statistics, unlocked enchants and souls are fetched once, player-bound values
+ * (balance, experience level, sacrifice state) are read on the calling thread, and
+ * the combined result is returned as a {@link RequirementSnapshot} that GUIs render from.
+ */
+public class RequirementEngine {
+
+    private static final RequirementType[] TYPES = RequirementType.values();
+    private static final int MAX_LEVELS = 31;
+
+    private final MystEnchants plugin;
+    private final EnchantManager enchantManager;
+
+    public RequirementEngine(MystEnchants plugin, EnchantManager enchantManager) {
+        this.plugin = plugin;
+        this.enchantManager = enchantManager;
+    }
+
+    /**
+     * Takes one snapshot of the player's progress and evaluates all requirements against it
+     */
+    public CompletableFuture<RequirementSnapshot> evaluate(Player player) {
+        UUID playerUUID = player.getUniqueId();
+
+        // Player-bound state must be read here, not on the database thread
+        double balance = plugin.getEconomy() != null ? plugin.getEconomy().getBalance(player) : -1;
+        int expLevel = player.getLevel();
+        boolean sacrificeCompleted = plugin.getZetsuboSacrificeManager().hasCompletedSacrifice(playerUUID);
+
+        CompletableFuture<Map<String, Long>> statsFuture = plugin.getPlayerDataManager().getPlayerStatistics(playerUUID);
+        CompletableFuture<Map<String, Integer>> enchantsFuture = plugin.getPlayerDataManager().getPlayerEnchants(playerUUID);
+        CompletableFuture<Long> soulsFuture = plugin.getSoulManager().getSouls(playerUUID);
+
+        return CompletableFuture.allOf(statsFuture, enchantsFuture, soulsFuture).thenApply(v -> {
+            Map<String, Long> stats = statsFuture.join();
+            Map<String, Integer> enchants = enchantsFuture.join();
+            Long souls = soulsFuture.join();
+
+            long[] current = new long[TYPES.length];
+            for (RequirementType type : TYPES) {
+                String column = type.getStatisticColumn();
+                if (column != null && stats != null) {
+                    current[type.ordinal()] = stats.getOrDefault(column, 0L);
+                }
+            }
+            // Floor keeps "balance >= amount" exact against the integral requirement amounts
+            current[RequirementType.MONEY.ordinal()] = balance < 0 ? -1 : (long) Math.floor(balance);
+            current[RequirementType.EXP_LEVELS.ordinal()] = expLevel;
+
+            return compute(current, enchants != null ? enchants : new HashMap<>(),
+                    souls != null ? souls : 0L, sacrificeCompleted);
+        });
+    }
+
+    private RequirementSnapshot compute(long[] current, Map<String, Integer> playerEnchants, long souls, boolean sacrificeCompleted) {
+        EnchantCompatibility compatibility = enchantManager.getCompatibility();
+        int count = compatibility.size();
+
+        CustomEnchant[] enchants = new CustomEnchant[count];
+        int[] owned = new int[count];
+        int[] levelCounts = new int[count];
+        int[] offsets = new int[count];
+        int total = 0;
+
+        for (int id = 0; id < count; id++) {
+            CustomEnchant enchant = compatibility.getById(id);
+            enchants[id] = enchant;
+            owned[id] = playerEnchants.getOrDefault(enchant.getName(), 0);
+            levelCounts[id] = Math.min(enchant.getMaxLevel(), MAX_LEVELS);
+            offsets[id] = total;
+            total += levelCounts[id];
+        }
+
+        int[] met = new int[count];
+        int[] purchasable = new int[count];
+        float[] progress = new float[total];
+
+        for (int id = 0; id < count; id++) {
+            CustomEnchant enchant = enchants[id];
+            boolean zetsubo = enchant.getName().equals("zetsubo");
+
+            for (int level = 1; level <= levelCounts[id]; level++) {
+                int bit = 1 << (level - 1);
+                UnlockRequirement requirement = enchant.getUnlockRequirement(level);
+
+                boolean levelMet;
+                float fraction;
+                if (zetsubo) {
+                    // Zetsubo is gated by the sacrifice alone, which unlocks levels 1 and 2
+                    levelMet = sacrificeCompleted && level <= 2;
+                    fraction = levelMet ? 1f : 0f;
+                } else if (requirement == null) {
+                    levelMet = true;
+                    fraction = 1f;
+                } else {
+                    levelMet = isMet(requirement, current, owned[id], sacrificeCompleted);
+                    fraction = progressOf(requirement, current, levelMet);
+                }
+
+                if (levelMet) {
+                    met[id] |= bit;
+                }
+                progress[offsets[id] + level - 1] = fraction;
+
+                // Level 1 is always on sale; higher levels need the previous one owned
+                if (level == 1 || (owned[id] >= level - 1 && (owned[id] >= level || levelMet))) {
+                    purchasable[id] |= bit;
+                }
+            }
+        }
+
+        return new RequirementSnapshot(enchants, owned, met, purchasable, offsets, progress, current, souls, playerEnchants);
+    }
+
+    private boolean isMet(UnlockRequirement requirement, long[] current, int ownedLevel, boolean sacrificeCompleted) {
+        RequirementType type = requirement.getType();
+        switch (type) {
+            case BLOCKS_MINED:
+            case BLOCKS_WALKED:
+            case WHEAT_BROKEN:
+            case CREEPERS_KILLED:
+            case IRON_INGOTS:
+            case PANTS_CRAFTED:
+            case SOULS:
+            case EXP_LEVELS:
+                return current[type.ordinal()] >= requirement.getAmount();
+            case MONEY:
+                long balance = current[type.ordinal()];
+                return balance >= 0 && balance >= requirement.getAmount();
+            case BOSS_FIGHT:
+                return ownedLevel > 0;
+            case SACRIFICE_COMPLETED:
+                return sacrificeCompleted;
+            default:
+                return true;
+        }
+    }
+
+    private float progressOf(UnlockRequirement requirement, long[] current, boolean met) {
+        RequirementType type = requirement.getType();
+        if (met) {
+            return 1f;
+        }
+        if (type.getStatisticColumn() != null || type == RequirementType.MONEY || type == RequirementType.EXP_LEVELS) {
+            long value = Math.max(0L, current[type.ordinal()]);
+            return (float) (requirement.getProgress(value) / 100.0);
+        }
+        return 0f;
+    }
+}
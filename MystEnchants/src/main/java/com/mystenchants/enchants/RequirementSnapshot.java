@@ -0,0 +1,140 @@
+package com.mystenchants.enchants;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Result of evaluating every enchant level's unlock requirement for one player.
+ *
+ * Arrays are indexed by the enchant ids assigned in {@link EnchantCompatibility}. Level
+ * states are bitmaps with bit {@code level - 1} set, and progress fractions (0..1) are
+ * stored flat with a per-enchant offset. A snapshot is immutable and reflects the
+ * player's data at the moment it was taken.
+ */
+public class RequirementSnapshot {
+
+    private final CustomEnchant[] enchants;
+    private final int[] ownedLevels;
+    private final int[] metLevels;
+    private final int[] purchasableLevels;
+    private final int[] progressOffsets;
+    private final float[] progress;
+    private final long[] currentValues;
+    private final long souls;
+    private final Map<String, Integer> playerEnchants;
+
+    RequirementSnapshot(CustomEnchant[] enchants, int[] ownedLevels, int[] metLevels, int[] purchasableLevels,
+                        int[] progressOffsets, float[] progress, long[] currentValues, long souls,
+                        Map<String, Integer> playerEnchants) {
+        this.enchants = enchants;
+        this.ownedLevels = ownedLevels;
+        this.metLevels = metLevels;
+        this.purchasableLevels = purchasableLevels;
+        this.progressOffsets = progressOffsets;
+        this.progress = progress;
+        this.currentValues = currentValues;
+        this.souls = souls;
+        this.playerEnchants = Collections.unmodifiableMap(playerEnchants);
+    }
+
+    /**
+     * Gets the enchant's id in this snapshot, or -1 if it was not part of the evaluation
+     */
+    private int idOf(CustomEnchant enchant) {
+        int id = enchant != null ? enchant.getId() : -1;
+        return id >= 0 && id < enchants.length && enchants[id] == enchant ? id : -1;
+    }
+
+    private static boolean hasLevel(int mask, int level) {
+        return level >= 1 && level <= 31 && (mask & (1 << (level - 1))) != 0;
+    }
+
+    /**
+     * Gets the level of the enchant the player has unlocked (0 if none)
+     */
+    public int getOwnedLevel(CustomEnchant enchant) {
+        int id = idOf(enchant);
+        return id >= 0 ? ownedLevels[id] : 0;
+    }
+
+    /**
+     * Checks whether the player has unlocked the enchant at this level or higher
+     */
+    public boolean isUnlocked(CustomEnchant enchant, int level) {
+        return getOwnedLevel(enchant) >= level;
+    }
+
+    /**
+     * Checks whether the level's unlock requirement is met
+     */
+    public boolean isMet(CustomEnchant enchant, int level) {
+        int id = idOf(enchant);
+        return id >= 0 && hasLevel(metLevels[id], level);
+    }
+
+    /**
+     * Checks whether the level is unlocked or its requirement is met
+     */
+    public boolean isEffectivelyMet(CustomEnchant enchant, int level) {
+        return isUnlocked(enchant, level) || isMet(enchant, level);
+    }
+
+    /**
+     * Checks whether the level can be bought in the soul shop
+     */
+    public boolean isPurchasable(CustomEnchant enchant, int level) {
+        int id = idOf(enchant);
+        return id >= 0 && hasLevel(purchasableLevels[id], level);
+    }
+
+    /**
+     * Gets the bitmap of levels whose requirement is met (bit level - 1)
+     */
+    public int getMetMask(CustomEnchant enchant) {
+        int id = idOf(enchant);
+        return id >= 0 ? metLevels[id] : 0;
+    }
+
+    /**
+     * Gets the bitmap of purchasable levels (bit level - 1)
+     */
+    public int getPurchasableMask(CustomEnchant enchant) {
+        int id = idOf(enchant);
+        return id >= 0 ? purchasableLevels[id] : 0;
+    }
+
+    /**
+     * Gets the requirement progress of a level as a fraction between 0 and 1
+     */
+    public float getProgress(CustomEnchant enchant, int level) {
+        int id = idOf(enchant);
+        if (id < 0 || level < 1) {
+            return 0f;
+        }
+
+        int index = progressOffsets[id] + level - 1;
+        int end = id + 1 < progressOffsets.length ? progressOffsets[id + 1] : progress.length;
+        return index < end ? progress[index] : 0f;
+    }
+
+    /**
+     * Gets the player's current value for a progress-based requirement type
+     */
+    public long getCurrent(RequirementType type) {
+        return currentValues[type.ordinal()];
+    }
+
+    /**
+     * Gets the player's soul balance at the time of the snapshot
+     */
+    public long getSouls() {
+        return souls;
+    }
+
+    /**
+     * Gets the player's unlocked enchant levels by name
+     */
+    public Map<String, Integer> getPlayerEnchants() {
+        return playerEnchants;
+    }
+}
@@ -55,4 +55,20 @@ public enum RequirementType {
     public boolean isSpecial() {
         return this == BOSS_FIGHT || this == TBD || this == NONE;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the player_statistics column tracking this requirement, or null if none
+     */
+    public String getStatisticColumn() {
+        switch (this) {
+            case BLOCKS_MINED: return "blocks_mined";
+            case BLOCKS_WALKED: return "blocks_walked";
+            case WHEAT_BROKEN: return "wheat_broken";
+            case CREEPERS_KILLED: return "creepers_killed";
+            case IRON_INGOTS: return "iron_ingots_traded";
+            case PANTS_CRAFTED: return "pants_crafted";
+            case SOULS: return "souls_collected";
+            default: return null;
+        }
+    }
+}
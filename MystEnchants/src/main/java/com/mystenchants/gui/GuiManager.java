@@ -3,10 +3,13 @@ package com.mystenchants.gui;
 import com.mystenchants.MystEnchants;
 import com.mystenchants.enchants.CustomEnchant;
 import com.mystenchants.enchants.EnchantTier;
+import com.mystenchants.enchants.RequirementSnapshot;
 import com.mystenchants.enchants.RequirementType;
 import com.mystenchants.enchants.UnlockRequirement;
 import com.mystenchants.managers.PlayerDataManager;
+import com.mystenchants.perf.GuiBuildEvent;
 import com.mystenchants.utils.ColorUtils;
+import com.mystenchants.utils.DebugLog;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
@@ -96,10 +99,21 @@ public class GuiManager {
         return new GuiItem(slot, material, name, lore, glow);
     }
 
+    /**
+     * Records how long a GUI took to build
+     */
+    private Inventory built(String gui, Player player, long start, GuiBuildEvent event, Inventory inventory) {
+        plugin.getPerfMetrics().recordSince("gui." + gui, start);
+        event.complete(gui, player.getName());
+        return inventory;
+    }
+
     /**
      * Creates the main enchants GUI
      */
     public Inventory createEnchantsGui(Player player) {
+        long start = System.nanoTime();
+        GuiBuildEvent event = GuiBuildEvent.start();
         GuiTemplate template = templates.get("enchants");
         if (template == null) {
             return Bukkit.createInventory(null, 54, ColorUtils.color("&6&lEnchants"));
@@ -118,13 +132,15 @@ public class GuiManager {
         }
 
         fillEmptySlots(inventory);
-        return inventory;
+        return built("enchants", player, start, event, inventory);
     }
 
     /**
      * Creates a tier-specific enchants GUI
      */
     public Inventory createTierGui(Player player, EnchantTier tier) {
+        long start = System.nanoTime();
+        GuiBuildEvent event = GuiBuildEvent.start();
         String title = ColorUtils.color("&6&l" + tier.getDisplayName() + " Enchants");
         Inventory inventory = Bukkit.createInventory(null, 54, title);
 
@@ -150,13 +166,15 @@ public class GuiManager {
         }
 
         fillEmptySlots(inventory);
-        return inventory;
+        return built("tier", player, start, event, inventory);
     }
 
     /**
      * Creates the oracle GUI with all player's unlocked enchants
      */
     public Inventory createOracleGui(Player player) {
+        long start = System.nanoTime();
+        GuiBuildEvent event = GuiBuildEvent.start();
         GuiTemplate template = templates.get("oracle");
         if (template == null) {
             return Bukkit.createInventory(null, 54, ColorUtils.color("&6&lOracle"));
@@ -190,7 +208,7 @@ public class GuiManager {
             // Show all enchants since Level 1 is auto-unlocked
             int slot = getOracleEnchantSlot(enchant.getName());
             if (slot != -1) {
-                ItemStack item = createOracleEnchantItem(enchant, player);
+                ItemStack item = createOracleEnchantItem(enchant, playerEnchants.getOrDefault(enchant.getName(), 0));
                 inventory.setItem(slot, item);
             }
         }
@@ -209,7 +227,7 @@ public class GuiManager {
         }
 
         fillEmptySlots(inventory);
-        return inventory;
+        return built("oracle", player, start, event, inventory);
     }
 
 
@@ -233,33 +251,35 @@ public class GuiManager {
      * FIXED: Creates enchant details GUI with SINGLE progress display
      */
     public Inventory createOracleDetailsGui(Player player, CustomEnchant enchant) {
+        long start = System.nanoTime();
+        GuiBuildEvent event = GuiBuildEvent.start();
         String title = ColorUtils.color("&6&l" + enchant.getDisplayName() + " Details");
         Inventory inventory = Bukkit.createInventory(null, 27, title);
 
-        PlayerDataManager playerData = plugin.getPlayerDataManager();
-        int currentLevel = playerData.getEnchantLevel(player.getUniqueId(), enchant.getName()).join();
+        RequirementSnapshot snapshot = plugin.getEnchantManager().getRequirementEngine().evaluate(player).join();
+        int currentLevel = snapshot.getOwnedLevel(enchant);
 
         if (enchant.getName().equals("redemption")) {
             createRedemptionLayout(inventory, enchant, currentLevel, player);
         } else if (enchant.getMaxLevel() == 1) {
-            createSingleLevelLayout(inventory, enchant, currentLevel, player);
+            createSingleLevelLayout(inventory, enchant, currentLevel, snapshot);
         } else if (enchant.getMaxLevel() == 2) {
-            createTwoLevelLayout(inventory, enchant, currentLevel, player);
+            createTwoLevelLayout(inventory, enchant, currentLevel, snapshot);
         } else if (enchant.getMaxLevel() == 3) {
-            createThreeLevelLayout(inventory, enchant, currentLevel, player);
+            createThreeLevelLayout(inventory, enchant, currentLevel, snapshot);
         }
 
         fillEmptySlots(inventory);
-        return inventory;
+        return built("oracle-details", player, start, event, inventory);
     }
 
-    private void createSingleLevelLayout(Inventory inventory, CustomEnchant enchant, int currentLevel, Player player) {
-        ItemStack levelItem = createLevelItem(enchant, 1, currentLevel, player);
+    private void createSingleLevelLayout(Inventory inventory, CustomEnchant enchant, int currentLevel, RequirementSnapshot snapshot) {
+        ItemStack levelItem = createLevelItem(enchant, 1, currentLevel, snapshot);
         inventory.setItem(13, levelItem);
     }
 
-    private void createTwoLevelLayout(Inventory inventory, CustomEnchant enchant, int currentLevel, Player player) {
-        ItemStack level1Item = createLevelItem(enchant, 1, currentLevel, player);
+    private void createTwoLevelLayout(Inventory inventory, CustomEnchant enchant, int currentLevel, RequirementSnapshot snapshot) {
+        ItemStack level1Item = createLevelItem(enchant, 1, currentLevel, snapshot);
         inventory.setItem(11, level1Item);
 
         Material glassMaterial = getGlassMaterial(currentLevel, 1, 2);
@@ -267,12 +287,12 @@ public class GuiManager {
         inventory.setItem(12, glassPane);
         inventory.setItem(13, glassPane);
 
-        ItemStack level2Item = createLevelItem(enchant, 2, currentLevel, player);
+        ItemStack level2Item = createLevelItem(enchant, 2, currentLevel, snapshot);
         inventory.setItem(14, level2Item);
     }
 
-    private void createThreeLevelLayout(Inventory inventory, CustomEnchant enchant, int currentLevel, Player player) {
-        ItemStack level1Item = createLevelItem(enchant, 1, currentLevel, player);
+    private void createThreeLevelLayout(Inventory inventory, CustomEnchant enchant, int currentLevel, RequirementSnapshot snapshot) {
+        ItemStack level1Item = createLevelItem(enchant, 1, currentLevel, snapshot);
         inventory.setItem(10, level1Item);
 
         Material glass1Material = getGlassMaterial(currentLevel, 1, 2);
@@ -280,7 +300,7 @@ public class GuiManager {
         inventory.setItem(11, glassPane1);
         inventory.setItem(12, glassPane1);
 
-        ItemStack level2Item = createLevelItem(enchant, 2, currentLevel, player);
+        ItemStack level2Item = createLevelItem(enchant, 2, currentLevel, snapshot);
         inventory.setItem(13, level2Item);
 
         Material glass2Material = getGlassMaterial(currentLevel, 2, 3);
@@ -288,7 +308,7 @@ public class GuiManager {
         inventory.setItem(14, glassPane2);
         inventory.setItem(15, glassPane2);
 
-        ItemStack level3Item = createLevelItem(enchant, 3, currentLevel, player);
+        ItemStack level3Item = createLevelItem(enchant, 3, currentLevel, snapshot);
         inventory.setItem(16, level3Item);
     }
 
@@ -341,7 +361,7 @@ public class GuiManager {
     /**
      * FIXED: Creates level item with SINGLE progress display only
      */
-    private ItemStack createLevelItem(CustomEnchant enchant, int level, int currentLevel, Player player) {
+    private ItemStack createLevelItem(CustomEnchant enchant, int level, int currentLevel, RequirementSnapshot snapshot) {
         List<String> lore = new ArrayList<>();
 
         if (currentLevel >= level) {
@@ -362,21 +382,15 @@ public class GuiManager {
                 lore.add(ColorUtils.color("&cRequirements:"));
 
                 if (req.getType().requiresStatistics()) {
-                    String statName = getStatisticName(req.getType());
-                    try {
-                        Long current = plugin.getPlayerDataManager().getStatistic(player.getUniqueId(), statName).join();
-                        if (current == null) current = 0L;
-
-                        lore.add(ColorUtils.color("&7" + req.getFormattedMessage(current)));
-
-                        // FIXED: SINGLE progress display with percentage and current/max
-                        double progress = req.getProgress(current);
-                        String progressLine = String.format("&7Progress: &f%.1f%% &7(%s)",
-                                progress, formatProgress(current, req.getAmount()));
-                        lore.add(ColorUtils.color(progressLine));
-                    } catch (Exception e) {
-                        lore.add(ColorUtils.color("&7" + req.getMessage()));
-                    }
+                    long current = snapshot.getCurrent(req.getType());
+
+                    lore.add(ColorUtils.color("&7" + req.getFormattedMessage(current)));
+
+                    // FIXED: SINGLE progress display with percentage and current/max
+                    double progress = snapshot.getProgress(enchant, level) * 100.0;
+                    String progressLine = String.format("&7Progress: &f%.1f%% &7(%s)",
+                            progress, formatProgress(current, req.getAmount()));
+                    lore.add(ColorUtils.color(progressLine));
                 } else {
                     lore.add(ColorUtils.color("&7" + req.getMessage()));
                 }
@@ -396,6 +410,8 @@ public class GuiManager {
     }
 
     public Inventory createOraclePurchaseGui(Player player) {
+        long start = System.nanoTime();
+        GuiBuildEvent event = GuiBuildEvent.start();
         String title = ColorUtils.color("&a&lPurchase Upgrades");
         Inventory inventory = Bukkit.createInventory(null, 54, title);
 
@@ -486,7 +502,7 @@ public class GuiManager {
         }
 
         fillEmptySlots(inventory);
-        return inventory;
+        return built("oracle-purchase", player, start, event, inventory);
     }
 
     /**
@@ -495,10 +511,12 @@ public class GuiManager {
      * Starting at row 1 (slots 10-16)
      */
     public Inventory createSoulShopGui(Player player) {
+        long start = System.nanoTime();
+        GuiBuildEvent event = GuiBuildEvent.start();
         String title = ColorUtils.color("&6&lSoul Shop (Page 1)");
         Inventory inventory = Bukkit.createInventory(null, 45, title); // FIXED: Changed from 54 to 45
 
-        Map<String, Integer> playerEnchants = plugin.getPlayerDataManager().getPlayerEnchants(player.getUniqueId()).join();
+        RequirementSnapshot snapshot = plugin.getEnchantManager().getRequirementEngine().evaluate(player).join();
 
         // PAGE 1 ENCHANTS: Tempo, Scholar, Serrate, Rejuvenate, Backup, Guillotine
         String[] page1Enchants = {"tempo", "scholar", "serrate", "rejuvenate", "backup", "guillotine"};
@@ -517,7 +535,7 @@ public class GuiManager {
 
                     // Make sure we don't go past the inventory bounds (45 slots now)
                     if (finalSlot < 45) {
-                        ItemStack book = createSoulShopBook(enchant, level, player, playerEnchants);
+                        ItemStack book = createSoulShopBook(enchant, level, player, snapshot);
                         inventory.setItem(finalSlot, book);
                     }
                 }
@@ -527,7 +545,7 @@ public class GuiManager {
         // FIXED: Add navigation with 45-slot layout
         addSoulShopNavigation45(inventory, 1);
         fillEmptySlots(inventory);
-        return inventory;
+        return built("soulshop", player, start, event, inventory);
     }
 
     /**
@@ -536,10 +554,12 @@ public class GuiManager {
      * Starting at row 1 (slots 10-16)
      */
     public Inventory createSoulShopPage2Gui(Player player) {
+        long start = System.nanoTime();
+        GuiBuildEvent event = GuiBuildEvent.start();
         String title = ColorUtils.color("&6&lSoul Shop (Page 2)");
         Inventory inventory = Bukkit.createInventory(null, 45, title); // FIXED: Changed from 54 to 45
 
-        Map<String, Integer> playerEnchants = plugin.getPlayerDataManager().getPlayerEnchants(player.getUniqueId()).join();
+        RequirementSnapshot snapshot = plugin.getEnchantManager().getRequirementEngine().evaluate(player).join();
 
         // PAGE 2 ENCHANTS: Pace, Pantsed, Detonate, Almighty Push, Redemption, Zetsubo
         String[] page2Enchants = {
@@ -564,7 +584,7 @@ public class GuiManager {
 
                     // Make sure we don't go past the inventory bounds (45 slots now)
                     if (finalSlot < 45) {
-                        ItemStack book = createSoulShopBook(enchant, level, player, playerEnchants);
+                        ItemStack book = createSoulShopBook(enchant, level, player, snapshot);
                         inventory.setItem(finalSlot, book);
                     }
                 }
@@ -574,7 +594,7 @@ public class GuiManager {
         // FIXED: Add navigation with 45-slot layout
         addSoulShopNavigation45(inventory, 2);
         fillEmptySlots(inventory);
-        return inventory;
+        return built("soulshop-page2", player, start, event, inventory);
     }
 
     /**
@@ -638,6 +658,8 @@ public class GuiManager {
      * FIXED: Creates the perks GUI - Now reads slots from perks.yml perk-shop-layout
      */
     public Inventory createPerksGui(Player player) {
+        long start = System.nanoTime();
+        GuiBuildEvent event = GuiBuildEvent.start();
         // FIXED: Use 4 rows (36 slots) as per your requirement
         String title = ColorUtils.color("&6&lPerks");
         Inventory inventory = Bukkit.createInventory(null, 36, title);
@@ -672,7 +694,7 @@ public class GuiManager {
             // Read slot from perks.yml perk-shop-layout
             int slot = plugin.getConfigManager().getPerksConfig().getInt("perk-shop-layout." + perkName, -1);
 
-            plugin.getLogger().info("Loading perk " + perkName + " at slot " + slot);
+            plugin.getDebugLog().log(DebugLog.Channel.GUI, () -> "Loading perk " + perkName + " at slot " + slot);
 
             if (slot >= 0 && slot < 36) { // Valid slot for 4-row GUI
                 // Use PerkManager to create the perk item
@@ -680,13 +702,13 @@ public class GuiManager {
 
                 if (item != null) {
                     inventory.setItem(slot, item);
-                    plugin.getLogger().info("Placed " + perkName + " at slot " + slot);
+                    plugin.getDebugLog().log(DebugLog.Channel.GUI, () -> "Placed " + perkName + " at slot " + slot);
                 } else {
                     // Fallback: create basic item if PerkManager fails
                     ItemStack fallbackItem = createBasicPerkItem(perkName);
                     if (fallbackItem != null) {
                         inventory.setItem(slot, fallbackItem);
-                        plugin.getLogger().info("Placed fallback " + perkName + " at slot " + slot);
+                        plugin.getDebugLog().log(DebugLog.Channel.GUI, () -> "Placed fallback " + perkName + " at slot " + slot);
                     }
                 }
             } else {
@@ -695,7 +717,7 @@ public class GuiManager {
         }
 
         fillEmptySlots(inventory);
-        return inventory;
+        return built("perks", player, start, event, inventory);
     }
 
 
@@ -790,6 +812,8 @@ public class GuiManager {
      * Creates redemption confirmation GUI
      */
     public Inventory createRedemptionGui(Player player) {
+        long start = System.nanoTime();
+        GuiBuildEvent event = GuiBuildEvent.start();
         String title = ColorUtils.color("&4&lRedemption Boss Fight");
         Inventory inventory = Bukkit.createInventory(null, 27, title);
 
@@ -815,7 +839,7 @@ public class GuiManager {
         inventory.setItem(15, cancel);
 
         fillEmptySlots(inventory);
-        return inventory;
+        return built("redemption", player, start, event, inventory);
     }
 
     // Helper methods
@@ -879,10 +903,7 @@ public class GuiManager {
                 ColorUtils.color(enchant.getTier().getColor() + "&l" + enchant.getDisplayName()), lore);
     }
 
-    private ItemStack createOracleEnchantItem(CustomEnchant enchant, Player player) {
-        PlayerDataManager playerData = plugin.getPlayerDataManager();
-        int currentLevel = playerData.getEnchantLevel(player.getUniqueId(), enchant.getName()).join();
-
+    private ItemStack createOracleEnchantItem(CustomEnchant enchant, int currentLevel) {
         List<String> lore = new ArrayList<>();
         lore.add(ColorUtils.color("&7Current Level: &f" + currentLevel));
         lore.add(ColorUtils.color("&7Max Level: &f" + enchant.getMaxLevel()));
@@ -953,29 +974,32 @@ public class GuiManager {
     /**
      * FIXED: Creates soul shop book with special redemption handling
      */
-    private ItemStack createSoulShopBook(CustomEnchant enchant, int level, Player player, Map<String, Integer> playerEnchants) {
+    private ItemStack createSoulShopBook(CustomEnchant enchant, int level, Player player, RequirementSnapshot snapshot) {
         String costPath = "shop.items." + enchant.getName() + "-book-level-" + level + ".cost";
         String fallbackPath = "shop.items." + enchant.getName() + "-book.cost";
         int cost = plugin.getConfigManager().getPerksConfig().getInt(costPath,
                 plugin.getConfigManager().getPerksConfig().getInt(fallbackPath, 500));
 
+        Map<String, Integer> playerEnchants = snapshot.getPlayerEnchants();
         Integer currentLevel = playerEnchants.get(enchant.getName());
 
         // SPECIAL HANDLING FOR REDEMPTION ENCHANT
         if (enchant.getName().equals("redemption")) {
 
-            plugin.getLogger().info("=== REDEMPTION DEBUG ===");
-            plugin.getLogger().info("Player: " + player.getName());
-            plugin.getLogger().info("currentLevel from playerEnchants map: " + currentLevel);
-            plugin.getLogger().info("playerEnchants map contains redemption: " + playerEnchants.containsKey("redemption"));
-            plugin.getLogger().info("Full playerEnchants map: " + playerEnchants);
-
-            // Double-check by querying database directly
-            try {
-                int dbLevel = plugin.getPlayerDataManager().getEnchantLevel(player.getUniqueId(), "redemption").join();
-                plugin.getLogger().info("Direct database query level: " + dbLevel);
-            } catch (Exception e) {
-                plugin.getLogger().info("Error querying database: " + e.getMessage());
+            plugin.getDebugLog().log(DebugLog.Channel.GUI, () -> "=== REDEMPTION DEBUG ===");
+            plugin.getDebugLog().log(DebugLog.Channel.GUI, () -> "Player: " + player.getName());
+            plugin.getDebugLog().log(DebugLog.Channel.GUI, () -> "currentLevel from playerEnchants map: " + currentLevel);
+            plugin.getDebugLog().log(DebugLog.Channel.GUI, () -> "playerEnchants map contains redemption: " + playerEnchants.containsKey("redemption"));
+            plugin.getDebugLog().log(DebugLog.Channel.GUI, () -> "Full playerEnchants map: " + playerEnchants);
+
+            // Double-check against the database without blocking the GUI build
+            if (plugin.getDebugLog().isEnabled(DebugLog.Channel.GUI)) {
+                plugin.getPlayerDataManager().getEnchantLevel(player.getUniqueId(), "redemption")
+                        .thenAccept(dbLevel -> plugin.getDebugLog().log(DebugLog.Channel.GUI, () -> "Direct database query level: " + dbLevel))
+                        .exceptionally(throwable -> {
+                            plugin.getDebugLog().log(DebugLog.Channel.GUI, () -> "Error querying database: " + throwable.getMessage());
+                            return null;
+                        });
             }
 
 
@@ -991,8 +1015,8 @@ public class GuiManager {
             if (hasRedemptionUnlocked) {
 
 
-                plugin.getLogger().info("hasRedemptionUnlocked: " + hasRedemptionUnlocked);
-                plugin.getLogger().info("=== END REDEMPTION DEBUG ===");
+                plugin.getDebugLog().log(DebugLog.Channel.GUI, () -> "hasRedemptionUnlocked: " + hasRedemptionUnlocked);
+                plugin.getDebugLog().log(DebugLog.Channel.GUI, () -> "=== END REDEMPTION DEBUG ===");
 
 
                 lore.add(ColorUtils.color("&a&l✓ UNLOCKED"));
@@ -1050,8 +1074,8 @@ public class GuiManager {
         }
 
         // REGULAR ENCHANT LOGIC (NON-REDEMPTION)
-        boolean isPurchasable = canPurchaseEnchantLevel(player, enchant, level, playerEnchants);
-        boolean meetsRequirements = effectivelyMeetsRequirements(player, enchant, level, playerEnchants);
+        boolean isPurchasable = snapshot.isPurchasable(enchant, level);
+        boolean meetsRequirements = snapshot.isEffectivelyMet(enchant, level);
         String statusMessage = "";
 
         // Determine status message based on comprehensive checks
@@ -1233,19 +1257,6 @@ public class GuiManager {
         return createItemStack(material, " ", Arrays.asList());
     }
 
-    private String getStatisticName(RequirementType type) {
-        switch (type) {
-            case BLOCKS_MINED: return "blocks_mined";
-            case BLOCKS_WALKED: return "blocks_walked";
-            case WHEAT_BROKEN: return "wheat_broken";
-            case CREEPERS_KILLED: return "creepers_killed";
-            case IRON_INGOTS: return "iron_ingots_traded";
-            case PANTS_CRAFTED: return "pants_crafted";
-            case SOULS: return "souls_collected";
-            default: return "blocks_mined";
-        }
-    }
-
     private String getRomanNumeral(int number) {
         String[] romanNumerals = {"", "I", "II", "III", "IV", "V", "VI", "VII", "VIII", "IX", "X"};
         if (number <= 0 || number >= romanNumerals.length) {
@@ -1318,7 +1329,8 @@ public class GuiManager {
     public void debugSoulShopAvailability(Player player) {
         plugin.getLogger().info("=== SOUL SHOP DEBUG for " + player.getName() + " ===");
 
-        Map<String, Integer> playerEnchants = plugin.getPlayerDataManager().getPlayerEnchants(player.getUniqueId()).join();
+        RequirementSnapshot snapshot = plugin.getEnchantManager().getRequirementEngine().evaluate(player).join();
+        Map<String, Integer> playerEnchants = snapshot.getPlayerEnchants();
         plugin.getLogger().info("Player enchants: " + playerEnchants);
 
         for (CustomEnchant enchant : plugin.getEnchantManager().getAllEnchants()) {
@@ -1327,7 +1339,7 @@ public class GuiManager {
             plugin.getLogger().info("--- Checking " + enchant.getName() + " ---");
 
             for (int level = 1; level <= enchant.getMaxLevel(); level++) {
-                boolean canPurchase = canPurchaseEnchantLevel(player, enchant, level, playerEnchants);
+                boolean canPurchase = snapshot.isPurchasable(enchant, level);
 
                 plugin.getLogger().info("Level " + level + " purchasable: " + canPurchase);
 
@@ -1362,52 +1374,4 @@ public class GuiManager {
         plugin.getLogger().info("=== END SOUL SHOP DEBUG ===");
     }
 
-    /**
-     * FIXED: Comprehensive purchasability check
-     */
-    private boolean canPurchaseEnchantLevel(Player player, CustomEnchant enchant, int level, Map<String, Integer> playerEnchants) {
-        Integer currentLevel = playerEnchants.get(enchant.getName());
-
-        // For level 1, always allow purchase
-        if (level == 1) {
-            return true;
-        }
-
-        // For higher levels, check if they have the previous level
-        if (currentLevel == null || currentLevel < level - 1) {
-            return false; // Need previous level first
-        }
-
-        // FIXED: If they own this level or higher, they can purchase it
-        if (currentLevel != null && currentLevel >= level) {
-            return true;
-        }
-
-        // FIXED: If they own the previous level, check if they meet requirements for this level
-        try {
-            return plugin.getEnchantManager().meetsRequirements(player, enchant.getName(), level).join();
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    /**
-     * FIXED: Check if player meets requirements OR already owns the enchant
-     */
-    private boolean effectivelyMeetsRequirements(Player player, CustomEnchant enchant, int level, Map<String, Integer> playerEnchants) {
-        Integer currentLevel = playerEnchants.get(enchant.getName());
-
-        // If player already owns this level or higher, they "meet" requirements
-        if (currentLevel != null && currentLevel >= level) {
-            return true;
-        }
-
-        // Otherwise, check actual requirements
-        try {
-            return plugin.getEnchantManager().meetsRequirements(player, enchant.getName(), level).join();
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-}
\ No newline at end of file
+}
@@ -86,7 +86,7 @@ public class MythicBossFightManager {
         }
 
         // Continue with normal redemption completion
-        plugin.getRedemptionManager().endRedemption(true, "Boss defeated");
+        plugin.getRedemptionManager().endRedemption(fighter, true, "Boss defeated");
     }
 
     /**
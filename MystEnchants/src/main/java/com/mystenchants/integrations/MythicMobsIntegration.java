@@ -174,8 +174,7 @@ public class MythicMobsIntegration implements Listener {
                 Player killer = (Player) event.getKiller();
 
                 // Check if this player is currently in a redemption fight
-                if (plugin.getRedemptionManager().getCurrentFighter() != null &&
-                        plugin.getRedemptionManager().getCurrentFighter().equals(killer)) {
+                if (plugin.getRedemptionManager().isFighting(killer)) {
 
                     // Handle redemption completion
                     plugin.getRedemptionManager().handleMythicBossDefeat(killer);
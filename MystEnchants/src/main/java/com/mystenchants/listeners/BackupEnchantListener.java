@@ -1,8 +1,10 @@
 package com.mystenchants.listeners;
 
 import com.mystenchants.MystEnchants;
-import com.mystenchants.enchants.CustomEnchant;
+import com.mystenchants.enchants.EffectKey;
+import com.mystenchants.enchants.EnchantTrigger;
 import com.mystenchants.utils.ColorUtils;
+import com.mystenchants.utils.DebugLog;
 import org.bukkit.Location;
 import org.bukkit.entity.*;
 import org.bukkit.event.EventHandler;
@@ -10,6 +12,7 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityDeathEvent;
 import org.bukkit.event.entity.EntityTargetEvent;
+import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.scheduler.BukkitRunnable;
 
@@ -28,23 +31,13 @@ public class BackupEnchantListener implements Listener {
 
     public BackupEnchantListener(MystEnchants plugin) {
         this.plugin = plugin;
-    }
-
-    @EventHandler
-    public void onEntityDamageByEntity(EntityDamageByEntityEvent event) {
-        if (!(event.getDamager() instanceof Player)) return;
-
-        Player attacker = (Player) event.getDamager();
-        ItemStack weapon = attacker.getInventory().getItemInMainHand();
 
-        // Check if weapon has Backup enchant
-        if (!plugin.getEnchantManager().hasCustomEnchant(weapon)) return;
-
-        CustomEnchant enchant = plugin.getEnchantManager().getCustomEnchant(weapon);
-        if (enchant == null || !enchant.getName().equals("backup")) return;
-
-        int level = plugin.getEnchantManager().getCustomEnchantLevel(weapon);
+        // Dispatched by EntityDamageListener when the attacker's weapon carries Backup
+        plugin.getEnchantManager().getEffectRegistry()
+                .register(EnchantTrigger.ATTACK, "backup", EquipmentSlot.HAND, this::handleBackup);
+    }
 
+    private void handleBackup(EntityDamageByEntityEvent event, Player attacker, ItemStack weapon, int level) {
         // Check cooldown
         UUID playerUUID = attacker.getUniqueId();
         long currentTime = System.currentTimeMillis();
@@ -66,10 +59,8 @@ public class BackupEnchantListener implements Listener {
     private void spawnBackupGolems(Player owner, int level) {
         // Get configurable values from enchants.yml
         int golemCount = plugin.getEnchantManager().getBackupGolemCount(level);
-        double golemHealth = plugin.getConfigManager().getDouble("enchants.yml",
-                "enchants.backup.effects.golem-health", 100.0);
-        double golemDamage = plugin.getConfigManager().getDouble("enchants.yml",
-                "enchants.backup.effects.golem-damage", 7.0);
+        double golemHealth = plugin.getEnchantManager().getDoubleEffect(EffectKey.BACKUP_GOLEM_HEALTH, level, 100.0);
+        double golemDamage = plugin.getEnchantManager().getDoubleEffect(EffectKey.BACKUP_GOLEM_DAMAGE, level, 7.0);
 
         // Remove existing golems for this player
         removePlayerGolems(owner);
@@ -159,7 +150,7 @@ public class BackupEnchantListener implements Listener {
 
         } else {
             // If no enemy found, make the golem patrol around the owner
-            plugin.getLogger().info("No enemy players found, golem will patrol");
+            plugin.getDebugLog().log(DebugLog.Channel.ENCHANTS, () -> "No enemy players found, golem will patrol");
         }
 
         // Schedule a task to find targets every few seconds
@@ -269,7 +260,7 @@ public class BackupEnchantListener implements Listener {
                         golem.damage(0.1);
                     }
                 }.runTaskLater(plugin, 1L);
-                plugin.getLogger().info("Backup golem targeting enemy player: " + target.getName());
+                plugin.getDebugLog().log(DebugLog.Channel.ENCHANTS, () -> "Backup golem targeting enemy player: " + target.getName());
             }
         }
     }
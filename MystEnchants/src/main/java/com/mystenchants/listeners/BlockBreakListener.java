@@ -1,13 +1,15 @@
 package com.mystenchants.listeners;
 
 import com.mystenchants.MystEnchants;
-import com.mystenchants.enchants.CustomEnchant;
+import com.mystenchants.enchants.EnchantTrigger;
 import org.bukkit.Material;
 import org.bukkit.block.data.Ageable;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 
 /**
@@ -19,6 +21,9 @@ public class BlockBreakListener implements Listener {
 
     public BlockBreakListener(MystEnchants plugin) {
         this.plugin = plugin;
+
+        plugin.getEnchantManager().getEffectRegistry()
+                .register(EnchantTrigger.BLOCK_BREAK, "detonate", EquipmentSlot.HAND, this::handleDetonate);
     }
 
     @EventHandler
@@ -39,15 +44,8 @@ public class BlockBreakListener implements Listener {
         }
 
         // Handle enchant effects
-        ItemStack tool = event.getPlayer().getInventory().getItemInMainHand();
-        if (plugin.getEnchantManager().hasCustomEnchant(tool)) {
-            CustomEnchant enchant = plugin.getEnchantManager().getCustomEnchant(tool);
-            int level = plugin.getEnchantManager().getCustomEnchantLevel(tool);
-
-            if (enchant != null) {
-                handleEnchantEffect(event, enchant, level);
-            }
-        }
+        plugin.getEnchantManager().getEffectRegistry()
+                .dispatch(EnchantTrigger.BLOCK_BREAK, event, event.getPlayer(), EquipmentSlot.HAND);
     }
 
     @EventHandler
@@ -56,37 +54,9 @@ public class BlockBreakListener implements Listener {
         plugin.getStatisticManager().trackBlockPlaced(event.getPlayer(), event.getBlock().getType());
     }
 
-    private void handleEnchantEffect(BlockBreakEvent event, CustomEnchant enchant, int level) {
-        switch (enchant.getName()) {
-            case "detonate":
-                handleDetonate(event, level);
-                break;
-            // Add other mining-related enchants here
-        }
-    }
-
-    private void handleDetonate(BlockBreakEvent event, int level) {
-        // Area mining effect
-        int radius = level == 1 ? 1 : level == 2 ? 1 : 2; // 2x2, 3x3, 5x5
-
-        org.bukkit.Location center = event.getBlock().getLocation();
-
-        for (int x = -radius; x <= radius; x++) {
-            for (int y = -radius; y <= radius; y++) {
-                for (int z = -radius; z <= radius; z++) {
-                    if (x == 0 && y == 0 && z == 0) continue; // Skip center block (already broken)
-
-                    org.bukkit.Location blockLoc = center.clone().add(x, y, z);
-                    org.bukkit.block.Block block = blockLoc.getBlock();
-
-                    if (block.getType() != Material.AIR && block.getType() != Material.BEDROCK) {
-                        // Check if player can break this block
-                        if (block.getType().getHardness() >= 0) {
-                            block.breakNaturally(event.getPlayer().getInventory().getItemInMainHand());
-                        }
-                    }
-                }
-            }
-        }
+    private void handleDetonate(BlockBreakEvent event, Player player, ItemStack tool, int level) {
+        // Area mining effect, broken over the next ticks by the area-break engine
+        int radius = plugin.getEnchantManager().getDetonateAreaSize(level);
+        plugin.getAreaBreakManager().breakArea(player, event.getBlock(), radius, tool);
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.mystenchants.listeners;
 
 import com.mystenchants.MystEnchants;
 import com.mystenchants.enchants.CustomEnchant;
+import com.mystenchants.enchants.EnchantCompatibility;
 import com.mystenchants.utils.ColorUtils;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
@@ -15,6 +16,8 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 
+import java.util.Map;
+
 public class DragDropEnchantListener implements Listener {
 
     private final MystEnchants plugin;
@@ -56,8 +59,9 @@ public class DragDropEnchantListener implements Listener {
 
         CustomEnchant enchant = getEnchantFromDye(cursor);
         int level = getEnchantLevel(cursor);
+        EnchantCompatibility.Result result = enchant != null ? checkApplication(enchant, level, targetItem) : null;
 
-        if (enchant != null && canApplyToItemWithLevel(enchant, level, targetItem)) {
+        if (result == EnchantCompatibility.Result.OK) {
             // FIXED: Let applyEnchant handle vanilla enchant preservation
             // No need to duplicate the logic here since EnchantManager.applyEnchant() already handles it
             ItemStack enchantedItem = plugin.getEnchantManager().applyEnchant(targetItem, enchant, level);
@@ -66,6 +70,11 @@ public class DragDropEnchantListener implements Listener {
                 // Set the new, fully enchanted item back into the slot synchronously.
                 event.setCurrentItem(enchantedItem);
 
+                // The cancelled click is invisible to the slot index, so flag it here.
+                if ("redemption".equals(enchant.getName())) {
+                    plugin.getRedemptionSlotIndex().markDirty(player);
+                }
+
                 // Manually consume one dye from the cursor since the event is cancelled.
                 if (cursor.getAmount() > 1) {
                     cursor.setAmount(cursor.getAmount() - 1);
@@ -81,29 +90,18 @@ public class DragDropEnchantListener implements Listener {
             }
         } else if (enchant != null) {
             // If not compatible, show an error and do not consume the dye.
-            showIncompatibleMessage(player, enchant, targetItem);
+            showIncompatibleMessage(player, enchant, targetItem, result);
         }
     }
 
-    private boolean canApplyToItemWithLevel(CustomEnchant enchant, int newLevel, ItemStack item) {
+    private EnchantCompatibility.Result checkApplication(CustomEnchant enchant, int newLevel, ItemStack item) {
         if (item.getType() == org.bukkit.Material.AIR) {
-            return false;
-        }
-
-        if (!enchant.isApplicableTo(item.getType())) {
-            return false;
-        }
-
-        // Check if this specific enchant already exists on the item.
-        if (plugin.getEnchantManager().hasSpecificCustomEnchant(item, enchant.getName())) {
-            int existingLevel = plugin.getEnchantManager().getSpecificCustomEnchantLevel(item, enchant.getName());
-
-            // Allow the enchant only if the new level is higher than what's already there.
-            return newLevel > existingLevel;
+            return EnchantCompatibility.Result.NOT_APPLICABLE;
         }
 
-        // If the enchant isn't on the item, and since there is no limit, it can always be applied.
-        return true;
+        // Decode the item once; applicability, upgrade, conflicts and the limit are bit checks from here
+        Map<String, Integer> current = plugin.getEnchantManager().getAllCustomEnchants(item);
+        return plugin.getEnchantManager().getCompatibility().check(enchant, newLevel, item.getType(), current);
     }
 
     private boolean isCustomEnchantDye(ItemStack item) {
@@ -137,9 +135,22 @@ public class DragDropEnchantListener implements Listener {
         return dye.getItemMeta().getPersistentDataContainer().getOrDefault(levelKey, PersistentDataType.INTEGER, 1);
     }
 
-    private void showIncompatibleMessage(Player player, CustomEnchant enchant, ItemStack item) {
+    private void showIncompatibleMessage(Player player, CustomEnchant enchant, ItemStack item, EnchantCompatibility.Result result) {
         player.playSound(player.getLocation(), Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
-        String message = "&cCannot apply {enchant} to {item}!";
+        String message;
+        switch (result) {
+            case NOT_UPGRADE:
+                message = "&c{item} already has {enchant} at this level or higher!";
+                break;
+            case CONFLICT:
+                message = "&c{enchant} conflicts with an enchant already on this {item}!";
+                break;
+            case LIMIT_REACHED:
+                message = "&cThis {item} cannot hold any more enchants!";
+                break;
+            default:
+                message = "&cCannot apply {enchant} to {item}!";
+        }
         player.sendMessage(ColorUtils.color(message.replace("{enchant}", enchant.getDisplayName()).replace("{item}", item.getType().name().toLowerCase().replace("_", " "))));
     }
 
@@ -1,7 +1,9 @@
 package com.mystenchants.listeners;
 
 import com.mystenchants.MystEnchants;
-import com.mystenchants.enchants.CustomEnchant;
+import com.mystenchants.utils.DebugLog;
+import com.mystenchants.enchants.EnchantEffectRegistry;
+import com.mystenchants.enchants.EnchantTrigger;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -11,20 +13,32 @@ import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.event.player.PlayerItemHeldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 import org.bukkit.scheduler.BukkitRunnable;
 
+import java.util.Map;
+
 /**
  * FIXED: Handles passive enchant effects with immediate application/removal
  */
 public class EnchantListener implements Listener {
 
+    private static final EquipmentSlot[] ARMOR_SLOTS = {
+            EquipmentSlot.HEAD, EquipmentSlot.CHEST, EquipmentSlot.LEGS, EquipmentSlot.FEET
+    };
+
     private final MystEnchants plugin;
+    private final EnchantEffectRegistry effects;
 
     public EnchantListener(MystEnchants plugin) {
         this.plugin = plugin;
+        this.effects = plugin.getEnchantManager().getEffectRegistry();
+
+        effects.register(EnchantTrigger.PASSIVE, "tempo", EquipmentSlot.HAND, this::applyTempo);
+        effects.register(EnchantTrigger.PASSIVE, "pace", EquipmentSlot.FEET, this::applyPace);
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
@@ -117,14 +131,21 @@ public class EnchantListener implements Listener {
         // Clear ALL custom effects first to ensure clean state
         removeCustomEffects(player);
 
-        // FIXED: Apply Tempo (haste) from tools - check specifically for tempo
-        checkAndApplyTempo(player);
+        // Tempo (haste) from the main hand
+        effects.dispatch(EnchantTrigger.PASSIVE, null, player, EquipmentSlot.HAND);
 
-        // FIXED: Apply Pace (speed) from boots - check specifically for pace
-        checkAndApplyPace(player);
+        // Armor is decoded once and shared by the per-piece effects (Pace) and the Zetsubo set bonus
+        int zetsuboLevel = Integer.MAX_VALUE;
+        for (EquipmentSlot slot : ARMOR_SLOTS) {
+            ItemStack armor = player.getInventory().getItem(slot);
+            Map<String, Integer> enchants = effects.decode(armor);
+
+            effects.dispatch(EnchantTrigger.PASSIVE, null, player, slot, armor, enchants);
+            zetsuboLevel = Math.min(zetsuboLevel, enchants.getOrDefault("zetsubo", 0));
+        }
 
-        // FIXED: Apply Zetsubo (strength) - requires full armor set with zetsubo
-        checkAndApplyZetsubo(player);
+        // Zetsubo (strength) - requires full armor set with zetsubo
+        applyZetsubo(player, zetsuboLevel);
     }
 
     /**
@@ -154,78 +175,39 @@ public class EnchantListener implements Listener {
         }
     }
 
-    private void checkAndApplyTempo(Player player) {
-        ItemStack mainHand = player.getInventory().getItemInMainHand();
+    private void applyTempo(Void event, Player player, ItemStack mainHand, int level) {
+        int hasteLevel = plugin.getEnchantManager().getTempoHasteLevel(level);
 
-        // FIXED: Check specifically for Tempo enchant
-        if (mainHand != null && plugin.getEnchantManager().hasSpecificCustomEnchant(mainHand, "tempo")) {
-            int level = plugin.getEnchantManager().getSpecificCustomEnchantLevel(mainHand, "tempo");
-            int hasteLevel = plugin.getEnchantManager().getTempoHasteLevel(level);
+        plugin.getDebugLog().log(DebugLog.Channel.ENCHANTS, () -> "TEMPO ENCHANT DETECTED! Level: " + level + ", Haste Level: " + hasteLevel + " on " + mainHand.getType());
 
-            plugin.getLogger().info("TEMPO ENCHANT DETECTED! Level: " + level + ", Haste Level: " + hasteLevel + " on " + mainHand.getType());
-
-            // Apply infinite duration haste effect
-            player.addPotionEffect(new PotionEffect(PotionEffectType.FAST_DIGGING,
-                    Integer.MAX_VALUE, hasteLevel - 1, false, false, false));
-        }
+        // Apply infinite duration haste effect
+        player.addPotionEffect(new PotionEffect(PotionEffectType.FAST_DIGGING,
+                Integer.MAX_VALUE, hasteLevel - 1, false, false, false));
     }
 
-    private void checkAndApplyPace(Player player) {
-        ItemStack boots = player.getInventory().getBoots();
+    private void applyPace(Void event, Player player, ItemStack boots, int level) {
+        int speedLevel = plugin.getEnchantManager().getPaceSpeedLevel(level);
 
-        // FIXED: Check specifically for Pace enchant
-        if (boots != null && plugin.getEnchantManager().hasSpecificCustomEnchant(boots, "pace")) {
-            int level = plugin.getEnchantManager().getSpecificCustomEnchantLevel(boots, "pace");
-            int speedLevel = plugin.getEnchantManager().getPaceSpeedLevel(level);
+        plugin.getDebugLog().log(DebugLog.Channel.ENCHANTS, () -> "PACE ENCHANT DETECTED! Level: " + level + ", Speed Level: " + speedLevel + " on " + boots.getType());
 
-            plugin.getLogger().info("PACE ENCHANT DETECTED! Level: " + level + ", Speed Level: " + speedLevel + " on " + boots.getType());
-
-            // Apply infinite duration speed effect
-            player.addPotionEffect(new PotionEffect(PotionEffectType.SPEED,
-                    Integer.MAX_VALUE, speedLevel - 1, false, false, false));
-        }
+        // Apply infinite duration speed effect
+        player.addPotionEffect(new PotionEffect(PotionEffectType.SPEED,
+                Integer.MAX_VALUE, speedLevel - 1, false, false, false));
     }
 
-    private void checkAndApplyZetsubo(Player player) {
-        ItemStack helmet = player.getInventory().getHelmet();
-        ItemStack chestplate = player.getInventory().getChestplate();
-        ItemStack leggings = player.getInventory().getLeggings();
-        ItemStack boots = player.getInventory().getBoots();
+    private void applyZetsubo(Player player, int minLevel) {
+        // minLevel is the lowest Zetsubo level across all four pieces (0 if any piece lacks it)
+        if (minLevel > 0) {
+            int strengthLevel = plugin.getEnchantManager().getZetsuboStrengthLevel(minLevel);
 
-        // FIXED: Check if all armor pieces have Zetsubo enchant specifically
-        if (hasZetsuboEnchant(helmet) && hasZetsuboEnchant(chestplate) &&
-                hasZetsuboEnchant(leggings) && hasZetsuboEnchant(boots)) {
+            plugin.getDebugLog().log(DebugLog.Channel.ENCHANTS, () -> "ZETSUBO FULL SET DETECTED! Min Level: " + minLevel + ", Strength Level: " + strengthLevel);
 
-            // Get the minimum level across all pieces
-            int minLevel = Math.min(
-                    Math.min(getZetsuboLevel(helmet), getZetsuboLevel(chestplate)),
-                    Math.min(getZetsuboLevel(leggings), getZetsuboLevel(boots))
-            );
-
-            if (minLevel > 0) {
-                int strengthLevel = plugin.getEnchantManager().getZetsuboStrengthLevel(minLevel);
-
-                plugin.getLogger().info("ZETSUBO FULL SET DETECTED! Min Level: " + minLevel + ", Strength Level: " + strengthLevel);
-
-                // Apply infinite duration strength effect
-                player.addPotionEffect(new PotionEffect(PotionEffectType.INCREASE_DAMAGE,
-                        Integer.MAX_VALUE, strengthLevel - 1, false, false, false));
-            }
+            // Apply infinite duration strength effect
+            player.addPotionEffect(new PotionEffect(PotionEffectType.INCREASE_DAMAGE,
+                    Integer.MAX_VALUE, strengthLevel - 1, false, false, false));
         }
     }
 
-    private boolean hasZetsuboEnchant(ItemStack item) {
-        if (item == null) return false;
-
-        // FIXED: Check specifically for Zetsubo enchant
-        return plugin.getEnchantManager().hasSpecificCustomEnchant(item, "zetsubo");
-    }
-
-    private int getZetsuboLevel(ItemStack item) {
-        if (!hasZetsuboEnchant(item)) return 0;
-        return plugin.getEnchantManager().getSpecificCustomEnchantLevel(item, "zetsubo");
-    }
-
     /**
      * Public method to manually refresh effects (can be called from other listeners)
      */
@@ -1,13 +1,16 @@
 package com.mystenchants.listeners;
 
 import com.mystenchants.MystEnchants;
-import com.mystenchants.enchants.CustomEnchant;
+import com.mystenchants.utils.DebugLog;
+import com.mystenchants.enchants.EnchantEffectRegistry;
+import com.mystenchants.enchants.EnchantTrigger;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
@@ -19,11 +22,21 @@ import java.util.Random;
  */
 public class EntityDamageListener implements Listener {
 
+    private static final EquipmentSlot[] ARMOR_SLOTS = {
+            EquipmentSlot.HEAD, EquipmentSlot.CHEST, EquipmentSlot.LEGS, EquipmentSlot.FEET
+    };
+
     private final MystEnchants plugin;
+    private final EnchantEffectRegistry effects;
     private final Random random = new Random();
 
     public EntityDamageListener(MystEnchants plugin) {
         this.plugin = plugin;
+        this.effects = plugin.getEnchantManager().getEffectRegistry();
+
+        effects.register(EnchantTrigger.DEFEND, "rejuvenate", null, this::handleRejuvenate);
+        effects.register(EnchantTrigger.ATTACK, "serrate", EquipmentSlot.HAND, this::handleSerrate);
+        effects.register(EnchantTrigger.ATTACK, "pantsed", EquipmentSlot.LEGS, this::handlePantsed);
     }
 
     @EventHandler
@@ -32,18 +45,9 @@ public class EntityDamageListener implements Listener {
 
         Player player = (Player) event.getEntity();
 
-        // FIXED: Handle armor enchants - check each piece for specific enchants
-        for (ItemStack armor : player.getInventory().getArmorContents()) {
-            if (armor == null) continue;
-
-            // Check for Rejuvenate enchant
-            if (plugin.getEnchantManager().hasSpecificCustomEnchant(armor, "rejuvenate")) {
-                int level = plugin.getEnchantManager().getSpecificCustomEnchantLevel(armor, "rejuvenate");
-                plugin.getLogger().info("REJUVENATE ENCHANT DETECTED! Level: " + level + " on " + armor.getType());
-                handleRejuvenate(player, level, event);
-            }
-
-            // Add other armor enchants here if needed
+        // Armor enchants - each piece is decoded once
+        for (EquipmentSlot slot : ARMOR_SLOTS) {
+            effects.dispatch(EnchantTrigger.DEFEND, event, player, slot);
         }
     }
 
@@ -59,23 +63,13 @@ public class EntityDamageListener implements Listener {
         }
 
         Player attacker = (Player) event.getDamager();
-        ItemStack weapon = attacker.getInventory().getItemInMainHand();
-
-        // Check for Serrate enchant
-        if (plugin.getEnchantManager().hasSpecificCustomEnchant(weapon, "serrate")) {
-            int level = plugin.getEnchantManager().getSpecificCustomEnchantLevel(weapon, "serrate");
-            handleSerrate(event, level);
-        }
 
-        // Check for Pantsed enchant on leggings
-        ItemStack leggings = attacker.getInventory().getLeggings();
-        if (leggings != null && plugin.getEnchantManager().hasSpecificCustomEnchant(leggings, "pantsed")) {
-            int level = plugin.getEnchantManager().getSpecificCustomEnchantLevel(leggings, "pantsed");
-            handlePantsed(event, level, attacker);
-        }
+        // Weapon enchants (Serrate, Backup) and leggings enchants (Pantsed)
+        effects.dispatch(EnchantTrigger.ATTACK, event, attacker, EquipmentSlot.HAND);
+        effects.dispatch(EnchantTrigger.ATTACK, event, attacker, EquipmentSlot.LEGS);
     }
 
-    private void handleRejuvenate(Player player, int level, EntityDamageEvent event) {
+    private void handleRejuvenate(EntityDamageEvent event, Player player, ItemStack armor, int level) {
         // Only trigger when player is at low health
         double triggerHealth = plugin.getEnchantManager().getRejuvenateTriggerHealth();
         double healthAfterDamage = player.getHealth() - event.getFinalDamage();
@@ -85,19 +79,19 @@ public class EntityDamageListener implements Listener {
         double chance = plugin.getEnchantManager().getRejuvenateHealChance(level);
         double healing = plugin.getEnchantManager().getRejuvenateHealAmount(level);
 
-        plugin.getLogger().info("Rejuvenate check: " + healthAfterDamage + " HP, " + (chance * 100) + "% chance, " + healing + " healing");
+        plugin.getDebugLog().log(DebugLog.Channel.COMBAT, () -> "Rejuvenate check: " + healthAfterDamage + " HP, " + (chance * 100) + "% chance, " + healing + " healing");
 
         if (random.nextDouble() < chance) {
             double newHealth = Math.min(player.getMaxHealth(), player.getHealth() + healing);
             player.setHealth(newHealth);
             player.sendMessage(org.bukkit.ChatColor.GREEN + "Rejuvenate activated! +" + (healing/2) + " hearts");
-            plugin.getLogger().info("Rejuvenate activated! Healed " + healing + " HP");
+            plugin.getDebugLog().log(DebugLog.Channel.COMBAT, () -> "Rejuvenate activated! Healed " + healing + " HP");
         } else {
-            plugin.getLogger().info("Rejuvenate failed - no healing");
+            plugin.getDebugLog().log(DebugLog.Channel.COMBAT, () -> "Rejuvenate failed - no healing");
         }
     }
 
-    private void handleSerrate(EntityDamageByEntityEvent event, int level) {
+    private void handleSerrate(EntityDamageByEntityEvent event, Player attacker, ItemStack weapon, int level) {
         if (!(event.getEntity() instanceof Player)) return;
 
         Player victim = (Player) event.getEntity();
@@ -106,16 +100,16 @@ public class EntityDamageListener implements Listener {
         // Apply bleed effect (poison)
         victim.addPotionEffect(new PotionEffect(PotionEffectType.POISON, duration, 0, false, true));
 
-        plugin.getLogger().info("Serrate applied poison for " + duration + " ticks to " + victim.getName());
+        plugin.getDebugLog().log(DebugLog.Channel.COMBAT, () -> "Serrate applied poison for " + duration + " ticks to " + victim.getName());
     }
 
-    private void handlePantsed(EntityDamageByEntityEvent event, int level, Player attacker) {
+    private void handlePantsed(EntityDamageByEntityEvent event, Player attacker, ItemStack leggings, int level) {
         if (!(event.getEntity() instanceof Player)) return;
 
         Player victim = (Player) event.getEntity();
         double chance = plugin.getEnchantManager().getPantsedStealChance(level);
 
-        plugin.getLogger().info("Pantsed check: " + (chance * 100) + "% chance for Level " + level);
+        plugin.getDebugLog().log(DebugLog.Channel.COMBAT, () -> "Pantsed check: " + (chance * 100) + "% chance for Level " + level);
 
         if (random.nextDouble() < chance) {
             ItemStack victimLeggings = victim.getInventory().getLeggings();
@@ -127,10 +121,10 @@ public class EntityDamageListener implements Listener {
                 attacker.sendMessage(org.bukkit.ChatColor.GOLD + "Pantsed! You stole " + victim.getName() + "'s pants!");
                 victim.sendMessage(org.bukkit.ChatColor.RED + "Your pants were stolen by " + attacker.getName() + "!");
 
-                plugin.getLogger().info("Pantsed succeeded! " + attacker.getName() + " stole " + victim.getName() + "'s pants");
+                plugin.getDebugLog().log(DebugLog.Channel.COMBAT, () -> "Pantsed succeeded! " + attacker.getName() + " stole " + victim.getName() + "'s pants");
             }
         } else {
-            plugin.getLogger().info("Pantsed failed - no pants stolen");
+            plugin.getDebugLog().log(DebugLog.Channel.COMBAT, () -> "Pantsed failed - no pants stolen");
         }
     }
 }
\ No newline at end of file
@@ -1,13 +1,15 @@
 package com.mystenchants.listeners;
 
 import com.mystenchants.MystEnchants;
-import com.mystenchants.enchants.CustomEnchant;
+import com.mystenchants.enchants.EnchantTrigger;
 import com.mystenchants.utils.ColorUtils;
+import com.mystenchants.utils.DebugLog;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.SkullMeta;
 
@@ -23,6 +25,11 @@ public class EntityDeathListener implements Listener {
 
     public EntityDeathListener(MystEnchants plugin) {
         this.plugin = plugin;
+
+        plugin.getEnchantManager().getEffectRegistry()
+                .register(EnchantTrigger.KILL, "scholar", EquipmentSlot.HAND, this::handleScholar);
+        plugin.getEnchantManager().getEffectRegistry()
+                .register(EnchantTrigger.KILL, "guillotine", EquipmentSlot.HAND, this::handleGuillotine);
     }
 
     @EventHandler
@@ -55,28 +62,12 @@ public class EntityDeathListener implements Listener {
     }
 
     private void handleEnchantEffects(EntityDeathEvent event, Player killer) {
-        ItemStack weapon = killer.getInventory().getItemInMainHand();
-
-        // FIXED: Check for specific enchants instead of generic check
-
-        // Check for Scholar enchant
-        if (plugin.getEnchantManager().hasSpecificCustomEnchant(weapon, "scholar")) {
-            int level = plugin.getEnchantManager().getSpecificCustomEnchantLevel(weapon, "scholar");
-            plugin.getLogger().info("SCHOLAR ENCHANT DETECTED! Level: " + level + " on " + weapon.getType());
-            handleScholar(event, level);
-        }
-
-        // Check for Guillotine enchant
-        if (plugin.getEnchantManager().hasSpecificCustomEnchant(weapon, "guillotine")) {
-            int level = plugin.getEnchantManager().getSpecificCustomEnchantLevel(weapon, "guillotine");
-            plugin.getLogger().info("GUILLOTINE ENCHANT DETECTED! Level: " + level + " on " + weapon.getType());
-            handleGuillotine(event, level, killer);
-        }
-
-        // Add more enchant checks here as needed
+        // Weapon enchants (Scholar, Guillotine) - decoded once, only present enchants run
+        plugin.getEnchantManager().getEffectRegistry()
+                .dispatch(EnchantTrigger.KILL, event, killer, EquipmentSlot.HAND);
     }
 
-    private void handleScholar(EntityDeathEvent event, int level) {
+    private void handleScholar(EntityDeathEvent event, Player killer, ItemStack weapon, int level) {
         // Increase EXP from mob kills
         double multiplier = plugin.getEnchantManager().getScholarExpMultiplier(level);
         int originalExp = event.getDroppedExp();
@@ -84,10 +75,10 @@ public class EntityDeathListener implements Listener {
 
         event.setDroppedExp(originalExp + bonusExp);
 
-        plugin.getLogger().info("Scholar bonus: " + originalExp + " -> " + (originalExp + bonusExp) + " (x" + multiplier + ")");
+        plugin.getDebugLog().log(DebugLog.Channel.COMBAT, () -> "Scholar bonus: " + originalExp + " -> " + (originalExp + bonusExp) + " (x" + multiplier + ")");
     }
 
-    private void handleGuillotine(EntityDeathEvent event, int level, Player killer) {
+    private void handleGuillotine(EntityDeathEvent event, Player killer, ItemStack weapon, int level) {
         // Only works on player kills
         if (!(event.getEntity() instanceof Player)) return;
 
@@ -96,7 +87,7 @@ public class EntityDeathListener implements Listener {
         // Calculate chance based on level
         double chance = plugin.getEnchantManager().getGuillotineHeadDropChance(level);
 
-        plugin.getLogger().info("Guillotine chance: " + (chance * 100) + "% for Level " + level);
+        plugin.getDebugLog().log(DebugLog.Channel.COMBAT, () -> "Guillotine chance: " + (chance * 100) + "% for Level " + level);
 
         if (random.nextDouble() < chance) {
             // Create player head
@@ -121,9 +112,9 @@ public class EntityDeathListener implements Listener {
             event.getDrops().add(head);
 
             killer.sendMessage(ColorUtils.color("&6&lGuillotine! &7You obtained " + victim.getName() + "'s head!"));
-            plugin.getLogger().info("Guillotine succeeded! Dropped " + victim.getName() + "'s head");
+            plugin.getDebugLog().log(DebugLog.Channel.COMBAT, () -> "Guillotine succeeded! Dropped " + victim.getName() + "'s head");
         } else {
-            plugin.getLogger().info("Guillotine failed - no head dropped");
+            plugin.getDebugLog().log(DebugLog.Channel.COMBAT, () -> "Guillotine failed - no head dropped");
         }
     }
 }
\ No newline at end of file
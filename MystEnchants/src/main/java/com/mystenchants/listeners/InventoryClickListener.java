@@ -4,6 +4,7 @@ import com.mystenchants.MystEnchants;
 import com.mystenchants.enchants.CustomEnchant;
 import com.mystenchants.enchants.EnchantTier;
 import com.mystenchants.utils.ColorUtils;
+import com.mystenchants.utils.DebugLog;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
@@ -149,7 +150,7 @@ public class InventoryClickListener implements Listener {
             final String finalPerkName = perkName; // Make it final for lambda
 
             if (finalPerkName != null) {
-                plugin.getLogger().info("ATTEMPTING TO PURCHASE PERK: " + finalPerkName);
+                plugin.getDebugLog().log(DebugLog.Channel.PERKS, () -> "ATTEMPTING TO PURCHASE PERK: " + finalPerkName);
 
                 // ADDED: Check if perk exists and show cost
                 if (plugin.getPerkManager().getPerk(finalPerkName) == null) {
@@ -159,7 +160,7 @@ public class InventoryClickListener implements Listener {
                 }
 
                 int cost = plugin.getPerkManager().getPerk(finalPerkName).getCost();
-                plugin.getLogger().info("PERK COST: " + cost);
+                plugin.getDebugLog().log(DebugLog.Channel.PERKS, () -> "PERK COST: " + cost);
 
                 // Send immediate feedback to player
                 player.sendMessage(ColorUtils.color("&7Attempting to purchase " + finalPerkName + "..."));
@@ -168,7 +169,7 @@ public class InventoryClickListener implements Listener {
                 try {
                     plugin.getPerkManager().purchasePerk(player, finalPerkName)
                             .thenAccept(success -> {
-                                plugin.getLogger().info("PURCHASE RESULT: " + success);
+                                plugin.getDebugLog().log(DebugLog.Channel.PERKS, () -> "PURCHASE RESULT: " + success);
                                 if (success) {
                                     player.sendMessage(ColorUtils.color("&a&lPERK PURCHASED! &7" + finalPerkName));
                                     // Refresh GUI
@@ -195,7 +196,7 @@ public class InventoryClickListener implements Listener {
                 player.sendMessage(ColorUtils.color("&cCould not identify perk: " + perksItemName));
             }
 
-            plugin.getLogger().info("=== END PERKS PROCESSING ===");
+            plugin.getDebugLog().log(DebugLog.Channel.PERKS, () -> "=== END PERKS PROCESSING ===");
             return; // CRITICAL: Stop processing here for Perks GUI
         }
 
@@ -238,7 +239,7 @@ public class InventoryClickListener implements Listener {
                         oracleItemName.contains(enchant.getDisplayName()) ||
                         ChatColor.stripColor(enchant.getDisplayName()).equalsIgnoreCase(oracleItemName)) {
 
-                    plugin.getLogger().info("Opening details for enchant: " + enchant.getName());
+                    plugin.getDebugLog().log(DebugLog.Channel.GUI, () -> "Opening details for enchant: " + enchant.getName());
                     player.openInventory(plugin.getGuiManager().createOracleDetailsGui(player, enchant));
                     player.playSound(player.getLocation(), Sound.UI_BUTTON_CLICK, 1.0f, 1.0f);
                     enchantFound = true;
@@ -257,7 +258,7 @@ public class InventoryClickListener implements Listener {
 
             // If clicked on empty slot or air, do nothing
             if (clickedItem == null || clickedItem.getType() == Material.AIR) {
-                plugin.getLogger().info("Clicked on empty slot - ignoring");
+                plugin.getDebugLog().log(DebugLog.Channel.GUI, () -> "Clicked on empty slot - ignoring");
                 return;
             }
 
@@ -733,7 +734,7 @@ public class InventoryClickListener implements Listener {
         int cost = container.getOrDefault(costKey, PersistentDataType.INTEGER, 500);
         boolean isPurchasable = container.getOrDefault(purchasableKey, PersistentDataType.BYTE, (byte) 0) == 1;
 
-        plugin.getLogger().info("Soul shop click: " + enchantName + " Level " + level + ", Cost: " + cost + ", Purchasable: " + isPurchasable);
+        plugin.getDebugLog().log(DebugLog.Channel.GUI, () -> "Soul shop click: " + enchantName + " Level " + level + ", Cost: " + cost + ", Purchasable: " + isPurchasable);
 
         if (!isPurchasable) {
             player.sendMessage(ColorUtils.color("&cYou cannot purchase this enchant yet!"));
@@ -802,7 +803,7 @@ public class InventoryClickListener implements Listener {
             player.openInventory(plugin.getGuiManager().createSoulShopGui(player));
         }
 
-        plugin.getLogger().info("Player " + player.getName() + " purchased " + enchantName + " Level " + level + " for " + cost + " souls");
+        plugin.getDebugLog().log(DebugLog.Channel.ENCHANTS, () -> "Player " + player.getName() + " purchased " + enchantName + " Level " + level + " for " + cost + " souls");
     }
 
     private void handleSoulShopGui(Player player, String itemName, ItemStack clickedItem) {
@@ -830,13 +831,13 @@ public class InventoryClickListener implements Listener {
 
             // Check if this is a glass pane or filler item
             if (displayName.trim().isEmpty() || displayName.equals(" ")) {
-                plugin.getLogger().info("Ignoring glass pane/filler item");
+                plugin.getDebugLog().log(DebugLog.Channel.GUI, () -> "Ignoring glass pane/filler item");
                 return;
             }
 
             // Check if this is an enchant item
             if (!displayName.toLowerCase().contains("enchant")) {
-                plugin.getLogger().info("Not an enchant item: " + displayName);
+                plugin.getDebugLog().log(DebugLog.Channel.GUI, () -> "Not an enchant item: " + displayName);
                 return;
             }
 
@@ -854,7 +855,7 @@ public class InventoryClickListener implements Listener {
                 }
 
                 if (!isEnchantItem) {
-                    plugin.getLogger().info("Not a real enchant item based on lore");
+                    plugin.getDebugLog().log(DebugLog.Channel.GUI, () -> "Not a real enchant item based on lore");
                     return;
                 }
 
@@ -879,16 +880,16 @@ public class InventoryClickListener implements Listener {
      * FIXED: Enhanced enchant name extraction with better pattern matching
      */
     private String extractEnchantNameFixed(String displayName) {
-        String cleanName = displayName.toLowerCase()
+        String stripped = displayName.toLowerCase()
                 .replace("enchant", "")
                 .replace("level", "")
                 .replace("i", "").replace("ii", "").replace("iii", "")
                 .trim();
 
         // Remove tier colors and formatting
-        cleanName = cleanName.replaceAll("^(tempo|scholar|serrate|rejuvenate|backup|guillotine|pace|pantsed|detonate|almighty push|redemption|zetsubo).*", "$1");
+        String cleanName = stripped.replaceAll("^(tempo|scholar|serrate|rejuvenate|backup|guillotine|pace|pantsed|detonate|almighty push|redemption|zetsubo).*", "$1");
 
-        plugin.getLogger().info("Cleaning display name: '" + displayName + "' -> '" + cleanName + "'");
+        plugin.getDebugLog().log(DebugLog.Channel.GUI, () -> "Cleaning display name: '" + displayName + "' -> '" + cleanName + "'");
 
         // Enhanced mapping with better pattern matching
         if (cleanName.contains("tempo")) return "tempo";
@@ -967,7 +968,7 @@ public class InventoryClickListener implements Listener {
         String perkName = getPerkNameFromDisplayName(itemName);
 
         if (perkName != null) {
-            plugin.getLogger().info("Purchasing perk: " + perkName);
+            plugin.getDebugLog().log(DebugLog.Channel.PERKS, () -> "Purchasing perk: " + perkName);
 
             plugin.getPerkManager().purchasePerk(player, perkName)
                     .thenAccept(success -> {
@@ -1143,10 +1144,10 @@ public class InventoryClickListener implements Listener {
                         return;
                     }
 
-                    // Check if player has enough souls
-                    plugin.getSoulManager().hasSouls(player.getUniqueId(), cost)
-                            .thenAccept(hasSouls -> {
-                                if (!hasSouls) {
+                    // Debit and write the balance in one step; -1 means the player can't afford it
+                    plugin.getSoulManager().spend(player.getUniqueId(), cost)
+                            .thenAccept(balance -> {
+                                if (balance < 0) {
                                     plugin.getSoulManager().getSouls(player.getUniqueId()).thenAccept(currentSouls -> {
                                         String message = plugin.getConfigManager().getString("config.yml",
                                                 "messages.insufficient-souls", "&cYou don't have enough souls!");
@@ -1163,57 +1164,47 @@ public class InventoryClickListener implements Listener {
                                     return;
                                 }
 
-                                // FIXED: Proceed with purchase
-                                plugin.getSoulManager().removeSouls(player.getUniqueId(), cost)
-                                        .thenAccept(success -> {
-                                            if (success) {
-                                                plugin.getServer().getScheduler().runTask(plugin, () -> {
-                                                    // Create the enchant dye
-                                                    ItemStack dye = plugin.getEnchantManager().createEnchantDye(enchant, level);
-
-                                                    // Give the dye to player
-                                                    HashMap<Integer, ItemStack> remaining = player.getInventory().addItem(dye);
-                                                    for (ItemStack item : remaining.values()) {
-                                                        player.getWorld().dropItemNaturally(player.getLocation(), item);
-                                                    }
-
-                                                    // Success messages
-                                                    String successMessage = plugin.getConfigManager().getString("config.yml",
-                                                            "messages.enchant-purchase-success", "&aYou purchased {enchant} Level {level} Dye for {cost} souls!");
-                                                    successMessage = successMessage.replace("{enchant}", enchant.getDisplayName())
-                                                            .replace("{level}", String.valueOf(level))
-                                                            .replace("{cost}", String.valueOf(cost));
-                                                    player.sendMessage(ColorUtils.color(successMessage));
-
-                                                    String instructionMessage = plugin.getConfigManager().getString("config.yml",
-                                                            "messages.enchant-dye-instruction", "&eDrag and drop the dye onto a compatible item to apply the enchant!");
-                                                    player.sendMessage(ColorUtils.color(instructionMessage));
-
-                                                    // Play success sound
-                                                    String successSound = plugin.getConfigManager().getString("config.yml",
-                                                            "sounds.purchase-success", "ENTITY_PLAYER_LEVELUP");
-                                                    try {
-                                                        Sound sound = Sound.valueOf(successSound);
-                                                        player.playSound(player.getLocation(), sound, 1.0f, 1.0f);
-                                                    } catch (IllegalArgumentException e) {
-                                                        player.playSound(player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 1.0f, 1.0f);
-                                                    }
-
-                                                    // FIXED: Refresh the GUI to maintain correct status
-                                                    String currentTitle = ChatColor.stripColor(player.getOpenInventory().getTitle());
-                                                    if (currentTitle.equals("Soul Shop (Page 2)")) {
-                                                        player.openInventory(plugin.getGuiManager().createSoulShopPage2Gui(player));
-                                                    } else {
-                                                        player.openInventory(plugin.getGuiManager().createSoulShopGui(player));
-                                                    }
-                                                });
-                                            } else {
-                                                String errorMessage = plugin.getConfigManager().getString("config.yml",
-                                                        "messages.soul-transaction-failed", "&cFailed to remove souls from your account!");
-                                                player.sendMessage(ColorUtils.color(errorMessage));
-                                                player.playSound(player.getLocation(), Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
-                                            }
-                                        });
+                                // Souls are already taken; hand over the dye
+                                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                                    // Create the enchant dye
+                                    ItemStack dye = plugin.getEnchantManager().createEnchantDye(enchant, level);
+
+                                    // Give the dye to player
+                                    HashMap<Integer, ItemStack> remaining = player.getInventory().addItem(dye);
+                                    for (ItemStack item : remaining.values()) {
+                                        player.getWorld().dropItemNaturally(player.getLocation(), item);
+                                    }
+
+                                    // Success messages
+                                    String successMessage = plugin.getConfigManager().getString("config.yml",
+                                            "messages.enchant-purchase-success", "&aYou purchased {enchant} Level {level} Dye for {cost} souls!");
+                                    successMessage = successMessage.replace("{enchant}", enchant.getDisplayName())
+                                            .replace("{level}", String.valueOf(level))
+                                            .replace("{cost}", String.valueOf(cost));
+                                    player.sendMessage(ColorUtils.color(successMessage));
+
+                                    String instructionMessage = plugin.getConfigManager().getString("config.yml",
+                                            "messages.enchant-dye-instruction", "&eDrag and drop the dye onto a compatible item to apply the enchant!");
+                                    player.sendMessage(ColorUtils.color(instructionMessage));
+
+                                    // Play success sound
+                                    String successSound = plugin.getConfigManager().getString("config.yml",
+                                            "sounds.purchase-success", "ENTITY_PLAYER_LEVELUP");
+                                    try {
+                                        Sound sound = Sound.valueOf(successSound);
+                                        player.playSound(player.getLocation(), sound, 1.0f, 1.0f);
+                                    } catch (IllegalArgumentException e) {
+                                        player.playSound(player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 1.0f, 1.0f);
+                                    }
+
+                                    // FIXED: Refresh the GUI to maintain correct status
+                                    String currentTitle = ChatColor.stripColor(player.getOpenInventory().getTitle());
+                                    if (currentTitle.equals("Soul Shop (Page 2)")) {
+                                        player.openInventory(plugin.getGuiManager().createSoulShopPage2Gui(player));
+                                    } else {
+                                        player.openInventory(plugin.getGuiManager().createSoulShopGui(player));
+                                    }
+                                });
                             });
                 })
                 .exceptionally(throwable -> {
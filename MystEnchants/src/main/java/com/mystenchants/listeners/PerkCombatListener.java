@@ -27,10 +27,9 @@ public class PerkCombatListener implements Listener {
 
     private final MystEnchants plugin;
     private final NamespacedKey perkEffectKey;
-    private final Map<UUID, Integer> spellbreakerHits = new HashMap<>();
-    private final Map<UUID, Integer> lovestruckHits = new HashMap<>();
-    private final Map<UUID, Long> lastHitTime = new HashMap<>();
-    private final Map<UUID, UUID> lastHitTarget = new HashMap<>();
+
+    // One record per player; created on first hit and dropped on quit
+    private final Map<UUID, CombatState> states = new HashMap<>();
 
     public PerkCombatListener(MystEnchants plugin) {
         this.plugin = plugin;
@@ -46,48 +45,50 @@ public class PerkCombatListener implements Listener {
         Player victim = (Player) event.getEntity();
         ItemStack weapon = attacker.getInventory().getItemInMainHand();
 
-        if (isPerkEffectItem(weapon)) {
-            String perkType = getPerkEffectType(weapon);
-
+        String perkType = getPerkEffectType(weapon);
+        if (perkType != null) {
             switch (perkType) {
                 case "spellbreaker":
-                    handleSpellbreakerHit(attacker, victim);
+                    handleSpellbreakerHit(attacker, victim, state(attacker));
                     break;
                 case "lovestruck":
-                    handleLovestruckHit(attacker, victim);
+                    handleLovestruckHit(attacker, victim, state(attacker));
                     break;
             }
         }
 
         // Track when players are hit for combo breaking
-        lastHitTime.put(victim.getUniqueId(), System.currentTimeMillis());
+        state(victim).lastHitTime = System.currentTimeMillis();
+    }
+
+    private CombatState state(Player player) {
+        return states.computeIfAbsent(player.getUniqueId(), uuid -> new CombatState());
     }
 
-    private void handleSpellbreakerHit(Player attacker, Player victim) {
+    private void handleSpellbreakerHit(Player attacker, Player victim, CombatState state) {
         int requiredHits = plugin.getConfigManager().getInt("perks.yml", "perks.spellbreaker.required-hits", 5);
         boolean resetOnDamage = plugin.getConfigManager().getBoolean("perks.yml", "perks.spellbreaker.reset-on-damage", true);
 
         // Check if attacker was hit recently (reset counter)
-        if (resetOnDamage && wasRecentlyHit(attacker)) {
-            spellbreakerHits.put(attacker.getUniqueId(), 0);
-            lastHitTarget.remove(attacker.getUniqueId());
+        if (resetOnDamage && state.wasRecentlyHit()) {
+            state.spellbreakerHits = 0;
+            state.clearTarget();
             attacker.sendMessage(ColorUtils.color("&6Spellbreaker combo broken! You were hit."));
             return;
         }
 
         // Check if hitting the same target
-        UUID lastTarget = lastHitTarget.get(attacker.getUniqueId());
-        if (lastTarget != null && !lastTarget.equals(victim.getUniqueId())) {
-            spellbreakerHits.put(attacker.getUniqueId(), 0);
+        UUID victimUUID = victim.getUniqueId();
+        if (state.hasTarget && !state.isTarget(victimUUID)) {
+            state.spellbreakerHits = 0;
             attacker.sendMessage(ColorUtils.color("&6Spellbreaker combo reset - different target!"));
         }
 
         // Update target tracking
-        lastHitTarget.put(attacker.getUniqueId(), victim.getUniqueId());
+        state.setTarget(victimUUID);
 
         // Increment hit counter
-        int hits = spellbreakerHits.getOrDefault(attacker.getUniqueId(), 0) + 1;
-        spellbreakerHits.put(attacker.getUniqueId(), hits);
+        int hits = ++state.spellbreakerHits;
 
         // Show hit counter
         attacker.sendMessage(ColorUtils.color("&6Spellbreaker: &f" + hits + "&7/&f" + requiredHits + " &7hits"));
@@ -116,37 +117,36 @@ public class PerkCombatListener implements Listener {
             victim.getWorld().playSound(victim.getLocation(), org.bukkit.Sound.ENTITY_WITCH_DRINK, 1.0f, 0.5f);
 
             // Reset counter and consume item
-            spellbreakerHits.remove(attacker.getUniqueId());
-            lastHitTarget.remove(attacker.getUniqueId());
+            state.spellbreakerHits = 0;
+            state.clearTarget();
             consumePerkItemSafely(attacker);
         }
     }
 
-    private void handleLovestruckHit(Player attacker, Player victim) {
+    private void handleLovestruckHit(Player attacker, Player victim, CombatState state) {
         int requiredHits = plugin.getConfigManager().getInt("perks.yml", "perks.lovestruck.required-hits", 5);
         boolean resetOnDamage = plugin.getConfigManager().getBoolean("perks.yml", "perks.lovestruck.reset-on-damage", true);
 
         // Check if attacker was hit recently (reset counter)
-        if (resetOnDamage && wasRecentlyHit(attacker)) {
-            lovestruckHits.put(attacker.getUniqueId(), 0);
-            lastHitTarget.remove(attacker.getUniqueId());
+        if (resetOnDamage && state.wasRecentlyHit()) {
+            state.lovestruckHits = 0;
+            state.clearTarget();
             attacker.sendMessage(ColorUtils.color("&dLovestruck combo broken! You were hit."));
             return;
         }
 
         // Check if hitting the same target
-        UUID lastTarget = lastHitTarget.get(attacker.getUniqueId());
-        if (lastTarget != null && !lastTarget.equals(victim.getUniqueId())) {
-            lovestruckHits.put(attacker.getUniqueId(), 0);
+        UUID victimUUID = victim.getUniqueId();
+        if (state.hasTarget && !state.isTarget(victimUUID)) {
+            state.lovestruckHits = 0;
             attacker.sendMessage(ColorUtils.color("&dLovestruck combo reset - different target!"));
         }
 
         // Update target tracking
-        lastHitTarget.put(attacker.getUniqueId(), victim.getUniqueId());
+        state.setTarget(victimUUID);
 
         // Increment hit counter
-        int hits = lovestruckHits.getOrDefault(attacker.getUniqueId(), 0) + 1;
-        lovestruckHits.put(attacker.getUniqueId(), hits);
+        int hits = ++state.lovestruckHits;
 
         attacker.sendMessage(ColorUtils.color("&dLovestruck: &f" + hits + "&7/&f" + requiredHits + " &7hits"));
 
@@ -173,17 +173,12 @@ public class PerkCombatListener implements Listener {
             victim.getWorld().playSound(victim.getLocation(), org.bukkit.Sound.ENTITY_VILLAGER_YES, 1.0f, 1.5f);
 
             // Reset counter and consume item
-            lovestruckHits.remove(attacker.getUniqueId());
-            lastHitTarget.remove(attacker.getUniqueId());
+            state.lovestruckHits = 0;
+            state.clearTarget();
             consumePerkItemSafely(attacker);
         }
     }
 
-    private boolean wasRecentlyHit(Player player) {
-        Long lastHit = lastHitTime.get(player.getUniqueId());
-        return lastHit != null && (System.currentTimeMillis() - lastHit) < 3000;
-    }
-
     private void replaceInventoryWithRoses(Player player, int duration) {
         ItemStack[] originalInventory = player.getInventory().getContents().clone();
 
@@ -219,7 +214,7 @@ public class PerkCombatListener implements Listener {
     private void consumePerkItemSafely(Player player) {
         ItemStack item = player.getInventory().getItemInMainHand();
 
-        if (item != null && item.getAmount() > 0 && isPerkEffectItem(item)) {
+        if (item != null && item.getAmount() > 0 && getPerkEffectType(item) != null) {
             int currentAmount = item.getAmount();
 
             if (currentAmount > 1) {
@@ -232,25 +227,53 @@ public class PerkCombatListener implements Listener {
         }
     }
 
-    private boolean isPerkEffectItem(ItemStack item) {
-        if (item == null || !item.hasItemMeta()) return false;
-        ItemMeta meta = item.getItemMeta();
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        return container.has(perkEffectKey, PersistentDataType.STRING);
-    }
-
     private String getPerkEffectType(ItemStack item) {
-        if (!isPerkEffectItem(item)) return null;
+        if (item == null || !item.hasItemMeta()) return null;
         ItemMeta meta = item.getItemMeta();
         PersistentDataContainer container = meta.getPersistentDataContainer();
         return container.get(perkEffectKey, PersistentDataType.STRING);
     }
 
+    /**
+     * Checks if a player was hit by another player in the last given milliseconds
+     */
+    public boolean wasHitWithin(Player player, long millis) {
+        CombatState state = states.get(player.getUniqueId());
+        return state != null && state.lastHitTime != 0 && System.currentTimeMillis() - state.lastHitTime < millis;
+    }
+
     public void cleanupPlayer(Player player) {
-        UUID playerUUID = player.getUniqueId();
-        spellbreakerHits.remove(playerUUID);
-        lovestruckHits.remove(playerUUID);
-        lastHitTime.remove(playerUUID);
-        lastHitTarget.remove(playerUUID);
+        states.remove(player.getUniqueId());
+    }
+
+    /**
+     * Per-player combo state; the last target is kept as two longs so hits don't allocate
+     */
+    private static final class CombatState {
+        int spellbreakerHits;
+        int lovestruckHits;
+        long lastHitTime;
+
+        boolean hasTarget;
+        long targetMost;
+        long targetLeast;
+
+        boolean wasRecentlyHit() {
+            return lastHitTime != 0 && (System.currentTimeMillis() - lastHitTime) < 3000;
+        }
+
+        boolean isTarget(UUID uuid) {
+            return hasTarget && targetMost == uuid.getMostSignificantBits() && targetLeast == uuid.getLeastSignificantBits();
+        }
+
+        void setTarget(UUID uuid) {
+            hasTarget = true;
+            targetMost = uuid.getMostSignificantBits();
+            targetLeast = uuid.getLeastSignificantBits();
+        }
+
+        void clearTarget() {
+            hasTarget = false;
+        }
     }
 }
\ No newline at end of file
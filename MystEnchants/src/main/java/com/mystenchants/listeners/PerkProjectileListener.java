@@ -1,7 +1,9 @@
 package com.mystenchants.listeners;
 
 import com.mystenchants.MystEnchants;
+import com.mystenchants.managers.PerkProjectileRegistry;
 import com.mystenchants.utils.ColorUtils;
+import org.bukkit.GameMode;
 import org.bukkit.NamespacedKey;
 import org.bukkit.Particle;
 import org.bukkit.entity.*;
@@ -26,10 +28,12 @@ public class PerkProjectileListener implements Listener {
 
     private final MystEnchants plugin;
     private final NamespacedKey perkEffectKey;
+    private final PerkProjectileRegistry projectiles;
 
     public PerkProjectileListener(MystEnchants plugin) {
         this.plugin = plugin;
         this.perkEffectKey = new NamespacedKey(plugin, "perk_effect");
+        this.projectiles = plugin.getPerkProjectileRegistry();
     }
 
     @EventHandler
@@ -38,7 +42,7 @@ public class PerkProjectileListener implements Listener {
         ItemStack rod = player.getInventory().getItemInMainHand();
 
         // Check if using grappling hook perk
-        if (isPerkEffectItem(rod) && "grappling-hook".equals(getPerkEffectType(rod))) {
+        if ("grappling-hook".equals(getPerkEffectType(rod))) {
 
             if (event.getState() == PlayerFishEvent.State.CAUGHT_ENTITY &&
                     event.getCaught() instanceof Player) {
@@ -65,21 +69,18 @@ public class PerkProjectileListener implements Listener {
         ItemStack item = shooter.getInventory().getItemInMainHand();
 
         // Check if the item being thrown is a perk effect item
-        if (isPerkEffectItem(item)) {
-            String perkType = getPerkEffectType(item);
-
-            if (event.getEntity() instanceof Snowball && "teleport-snowball".equals(perkType)) {
-                tagProjectile(event.getEntity(), "teleport-snowball");
-                plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-                    consumeItem(shooter, item);
-                }, 1L);
-
-            } else if (event.getEntity() instanceof Egg && "tradeoff-egg".equals(perkType)) {
-                tagProjectile(event.getEntity(), "tradeoff-egg");
-                event.getEntity().setMetadata("custom_perk", new org.bukkit.metadata.FixedMetadataValue(plugin, true));
-                plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-                    consumeItem(shooter, item);
-                }, 1L);
+        String perkType = getPerkEffectType(item);
+        if (perkType == null) return;
+
+        boolean tracked = (event.getEntity() instanceof Snowball && "teleport-snowball".equals(perkType))
+                || (event.getEntity() instanceof Egg && "tradeoff-egg".equals(perkType));
+
+        if (tracked) {
+            projectiles.track(event.getEntity(), perkType);
+
+            // Vanilla already takes the thrown item outside creative
+            if (shooter.getGameMode() == GameMode.CREATIVE) {
+                consumeItem(shooter, item);
             }
         }
     }
@@ -89,7 +90,11 @@ public class PerkProjectileListener implements Listener {
         if (!(event.getEntity().getShooter() instanceof Player)) return;
 
         Player shooter = (Player) event.getEntity().getShooter();
-        String perkType = getProjectilePerkType(event.getEntity());
+
+        // Eggs stay registered until ChickenSpawnPrevention sees their hatch
+        String perkType = event.getEntity() instanceof Egg
+                ? projectiles.getPerkType(event.getEntity())
+                : projectiles.remove(event.getEntity());
 
         if (perkType == null) return;
 
@@ -276,29 +281,13 @@ public class PerkProjectileListener implements Listener {
         target.getWorld().playSound(target.getLocation(), org.bukkit.Sound.ENTITY_LEASH_KNOT_PLACE, 1.0f, 1.0f);
     }
 
-    private boolean isPerkEffectItem(ItemStack item) {
-        if (item == null || !item.hasItemMeta()) return false;
-        ItemMeta meta = item.getItemMeta();
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        return container.has(perkEffectKey, PersistentDataType.STRING);
-    }
-
     private String getPerkEffectType(ItemStack item) {
-        if (!isPerkEffectItem(item)) return null;
+        if (item == null || !item.hasItemMeta()) return null;
         ItemMeta meta = item.getItemMeta();
         PersistentDataContainer container = meta.getPersistentDataContainer();
         return container.get(perkEffectKey, PersistentDataType.STRING);
     }
 
-    private void tagProjectile(Projectile projectile, String perkType) {
-        projectile.getPersistentDataContainer().set(perkEffectKey, PersistentDataType.STRING, perkType);
-    }
-
-    private String getProjectilePerkType(Projectile projectile) {
-        PersistentDataContainer container = projectile.getPersistentDataContainer();
-        return container.get(perkEffectKey, PersistentDataType.STRING);
-    }
-
     private void consumeItem(Player player, ItemStack item) {
         if (item == null || item.getAmount() <= 0) return;
 
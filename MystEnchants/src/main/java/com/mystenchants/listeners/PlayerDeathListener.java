@@ -23,7 +23,7 @@ public class PlayerDeathListener implements Listener {
         Player player = event.getEntity();
 
         // First, check if the player died during the redemption boss fight. If so, let that manager handle it.
-        if (plugin.getRedemptionManager().isRedemptionActive() && player.equals(plugin.getRedemptionManager().getCurrentFighter())) {
+        if (plugin.getRedemptionManager().isFighting(player)) {
             plugin.getRedemptionManager().handlePlayerDeath(player);
             return; // Do not trigger the keep inventory effect during the boss fight.
         }
@@ -31,36 +31,26 @@ public class PlayerDeathListener implements Listener {
         // Now, check for the Redemption "Keep Inventory" effect.
         PlayerInventory inventory = player.getInventory();
 
-        // Check every item in the main inventory and armor slots.
-        for (int i = 0; i < inventory.getSize(); i++) {
-            ItemStack item = inventory.getItem(i);
-
-            if (item == null) {
-                continue;
-            }
-
-            // Use the reliable method to check for the Redemption enchant.
-            int redemptionLevel = plugin.getEnchantManager().getSpecificCustomEnchantLevel(item, "redemption");
-
-            if (redemptionLevel > 0) {
-                // Redemption Enchant Found!
+        // Checks the indexed slots first, then falls back to a full scan.
+        int slot = plugin.getRedemptionSlotIndex().findRedemptionSlot(player);
+        if (slot < 0) {
+            return;
+        }
 
-                // 1. Tell the game to keep the player's inventory and EXP.
-                event.setKeepInventory(true);
-                event.setDroppedExp(0);
+        ItemStack item = inventory.getItem(slot);
 
-                // 2. Clear the drops list to prevent any items from dropping accidentally.
-                event.getDrops().clear();
+        // 1. Tell the game to keep the player's inventory and EXP.
+        event.setKeepInventory(true);
+        event.setDroppedExp(0);
 
-                player.sendMessage(ColorUtils.color("&a&lYour Redemption enchant has saved your inventory!"));
+        // 2. Clear the drops list to prevent any items from dropping accidentally.
+        event.getDrops().clear();
 
-                // 3. Consume the enchant (one-time use) by removing it from the item that triggered the effect.
-                ItemStack consumedItem = plugin.getEnchantManager().removeSpecificEnchantByName(item.clone(), "redemption");
-                inventory.setItem(i, consumedItem); // Update the item in the inventory.
+        player.sendMessage(ColorUtils.color("&a&lYour Redemption enchant has saved your inventory!"));
 
-                // 4. We found the enchant and triggered the effect, so we can stop the loop.
-                return;
-            }
-        }
+        // 3. Consume the enchant (one-time use) by removing it from the item that triggered the effect.
+        ItemStack consumedItem = plugin.getEnchantManager().removeSpecificEnchantByName(item.clone(), "redemption");
+        inventory.setItem(slot, consumedItem); // Update the item in the inventory.
+        plugin.getRedemptionSlotIndex().removeSlot(player, slot);
     }
 }
\ No newline at end of file
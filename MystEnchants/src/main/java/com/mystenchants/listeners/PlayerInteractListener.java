@@ -2,7 +2,9 @@ package com.mystenchants.listeners;
 
 import com.mystenchants.MystEnchants;
 import com.mystenchants.enchants.CustomEnchant;
+import com.mystenchants.perf.PerkActivationEvent;
 import com.mystenchants.utils.ColorUtils;
+import com.mystenchants.utils.DebugLog;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
@@ -65,21 +67,26 @@ public class PlayerInteractListener implements Listener {
             String perkType = getPerkEffectType(item);
 
             if (perkType != null) {
-                // Handle grappling hook specifically
-                if (perkType.equals("grappling-hook")) {
-                    handleGrapplingHookCast(player, item, event);
+                PerkActivationEvent activation = PerkActivationEvent.start();
+                try {
+                    // Handle grappling hook specifically
+                    if (perkType.equals("grappling-hook")) {
+                        handleGrapplingHookCast(player, item, event);
+                        return;
+                    }
+
+                    // CRITICAL FIX: Only cancel non-throwable items
+                    boolean isThrowable = isThrowablePerk(perkType);
+
+                    if (!isThrowable) {
+                        event.setCancelled(true); // Only cancel right-click items
+                    }
+
+                    handlePerkEffectUsage(player, perkType, item, isThrowable);
                     return;
+                } finally {
+                    activation.complete(perkType, player.getName());
                 }
-
-                // CRITICAL FIX: Only cancel non-throwable items
-                boolean isThrowable = isThrowablePerk(perkType);
-
-                if (!isThrowable) {
-                    event.setCancelled(true); // Only cancel right-click items
-                }
-
-                handlePerkEffectUsage(player, perkType, item, isThrowable);
-                return;
             }
         }
 
@@ -142,7 +149,7 @@ public class PlayerInteractListener implements Listener {
     }
 
     private void handleGrapplingHook(Player shooter, Player target) {
-        plugin.getLogger().info("Grappling hook activated: " + shooter.getName() + " -> " + target.getName());
+        plugin.getDebugLog().log(DebugLog.Channel.PERKS, () -> "Grappling hook activated: " + shooter.getName() + " -> " + target.getName());
 
         double pullStrength = plugin.getConfigManager().getDouble("perks.yml", "perks.grappling-hook.pull-strength", 2.0);
 
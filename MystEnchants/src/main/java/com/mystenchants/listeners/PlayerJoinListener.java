@@ -2,8 +2,11 @@ package com.mystenchants.listeners;
 
 import com.mystenchants.MystEnchants;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
 
 /**
  * Handles player join events
@@ -16,9 +19,32 @@ public class PlayerJoinListener implements Listener {
         this.plugin = plugin;
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+
+        // Create and warm the profile off the main thread, after any pending save has landed
+        plugin.getPlayerDataManager().preloadProfile(event.getUniqueId(), event.getName());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLogin(PlayerLoginEvent event) {
+        // Denied after the preload ran (whitelist, full server, bans checked at login)
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            plugin.getPlayerDataManager().discardPreload(event.getPlayer().getUniqueId());
+        }
+    }
+
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
-        // Create player data if it doesn't exist
-        plugin.getPlayerDataManager().createPlayerData(event.getPlayer());
+        // Already started by the preload unless the plugin was enabled while they were connecting
+        plugin.getPlayerDataManager().beginSession(event.getPlayer().getUniqueId());
+
+        // Only needed if the pre-login preload failed or timed out
+        if (!plugin.getPlayerDataManager().consumePreload(event.getPlayer().getUniqueId())) {
+            plugin.getPlayerDataManager().createPlayerData(event.getPlayer());
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.mystenchants.listeners;
 
 import com.mystenchants.MystEnchants;
+import com.mystenchants.utils.DebugLog;
 
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -22,8 +23,8 @@ public class PlayerQuitListener implements Listener {
         // ADDED: Handle redemption fight disconnection
         plugin.getRedemptionManager().handlePlayerDisconnect(event.getPlayer());
 
-        // Update last seen
-        plugin.getPlayerDataManager().updateLastSeen(event.getPlayer().getUniqueId());
+        // Ordered profile flush; the next join waits on this save token
+        plugin.getPlayerDataManager().saveOnQuit(event.getPlayer().getUniqueId());
 
         // Clean up statistic tracking
         plugin.getStatisticManager().cleanupPlayer(event.getPlayer());
@@ -37,9 +38,13 @@ public class PlayerQuitListener implements Listener {
         // ADDED: Clean up backup golems
         plugin.getBackupEnchantListener().cleanupPlayer(event.getPlayer());
 
+        // Drop the redemption slot index
+        plugin.getRedemptionSlotIndex().cleanupPlayer(event.getPlayer());
+
         // Remove from redemption spectators if spectating
         plugin.getRedemptionManager().removeSpectator(event.getPlayer());
 
-        plugin.getLogger().info("Cleaned up data for player: " + event.getPlayer().getName());
+        String name = event.getPlayer().getName();
+        plugin.getDebugLog().log(DebugLog.Channel.PLAYERS, () -> "Cleaned up data for player: " + name);
     }
 }
\ No newline at end of file
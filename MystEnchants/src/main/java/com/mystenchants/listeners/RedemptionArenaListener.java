@@ -0,0 +1,75 @@
+package com.mystenchants.listeners;
+
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import com.mystenchants.MystEnchants;
+import com.mystenchants.managers.RedemptionFight;
+import com.mystenchants.utils.ColorUtils;
+import org.bukkit.Location;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+/**
+ * Keeps redemption fighters inside their arena and reports boss deaths and removals
+ */
+public class RedemptionArenaListener implements Listener {
+
+    private final MystEnchants plugin;
+
+    public RedemptionArenaListener(MystEnchants plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Runs last so other death listeners still see the entity as a redemption boss
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityDeath(EntityDeathEvent event) {
+        plugin.getRedemptionManager().handleBossDeath(event.getEntity());
+    }
+
+    /**
+     * A boss can also leave without dying: despawn, chunk unload or another plugin removing it
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemove(EntityRemoveFromWorldEvent event) {
+        if (plugin.getRedemptionManager().isRedemptionBoss(event.getEntity())) {
+            plugin.getRedemptionManager().handleBossRemoved(event.getEntity());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        Location from = event.getFrom();
+        Location to = event.getTo();
+
+        // Only block-crossing moves can cross the arena boundary
+        if (to == null || (from.getBlockX() == to.getBlockX()
+                && from.getBlockY() == to.getBlockY()
+                && from.getBlockZ() == to.getBlockZ())) {
+            return;
+        }
+
+        RedemptionFight fight = plugin.getRedemptionManager().getFight(event.getPlayer());
+        if (fight == null || fight.isResolved() || fight.isInside(to)) {
+            return;
+        }
+
+        event.setTo(fight.getArenaCenter());
+        event.getPlayer().sendMessage(ColorUtils.color("&cYou cannot leave the arena!"));
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        RedemptionFight fight = plugin.getRedemptionManager().getFight(event.getPlayer());
+        if (fight == null || fight.isResolved() || event.getTo() == null || fight.isInside(event.getTo())) {
+            return;
+        }
+
+        event.setCancelled(true);
+        event.getPlayer().sendMessage(ColorUtils.color("&cYou cannot leave the arena!"));
+    }
+}
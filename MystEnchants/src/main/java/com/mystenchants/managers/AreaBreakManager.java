@@ -0,0 +1,346 @@
+package com.mystenchants.managers;
+
+import com.mystenchants.MystEnchants;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldguard.LocalPlayer;
+import com.sk89q.worldguard.WorldGuard;
+import com.sk89q.worldguard.bukkit.WorldGuardPlugin;
+import com.sk89q.worldguard.protection.ApplicableRegionSet;
+import com.sk89q.worldguard.protection.flags.Flags;
+import com.sk89q.worldguard.protection.managers.RegionManager;
+import com.sk89q.worldguard.protection.regions.ProtectedCuboidRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import com.sk89q.worldguard.protection.regions.RegionQuery;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Area-mining engine used by the Detonate enchant.
+ *
+ * Target blocks are collected in one pass as packed coordinates, filtered against
+ * WorldGuard build permission (evaluated once per distinct set of overlapping regions),
+ * then broken by a tick-budgeted task. Drops are merged per chunk and spawned when the
+ * job finishes, and blocks_mined is credited with one aggregated increment.
+ */
+public class AreaBreakManager {
+
+    private final MystEnchants plugin;
+    private final ArrayDeque<BreakJob> queue = new ArrayDeque<>();
+    private final Set<Material> excludedBlocks = EnumSet.noneOf(Material.class);
+
+    private int blocksPerTick;
+    private long maxTickNanos;
+    private BukkitTask task;
+
+    public AreaBreakManager(MystEnchants plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * Reloads engine limits and the excluded block list
+     */
+    public void reload() {
+        blocksPerTick = Math.max(1, plugin.getConfigManager().getInt("config.yml", "area-mining.blocks-per-tick", 40));
+        maxTickNanos = Math.max(1L, plugin.getConfigManager().getLong("config.yml", "area-mining.max-tick-millis", 2)) * 1_000_000L;
+
+        excludedBlocks.clear();
+        excludedBlocks.add(Material.BEDROCK);
+        for (String name : plugin.getConfigManager().getEnchantsConfig().getStringList("enchants.detonate.effects.excluded-blocks")) {
+            Material material = Material.matchMaterial(name);
+            if (material != null) {
+                excludedBlocks.add(material);
+            } else {
+                plugin.getLogger().warning("Invalid excluded block for detonate: " + name);
+            }
+        }
+    }
+
+    /**
+     * Queues every breakable block in a cube around the center (excluding the center itself)
+     */
+    public void breakArea(Player player, Block center, int radius, ItemStack tool) {
+        if (radius <= 0) {
+            return;
+        }
+
+        World world = center.getWorld();
+        int cx = center.getX();
+        int cy = center.getY();
+        int cz = center.getZ();
+        int minY = Math.max(world.getMinHeight(), cy - radius);
+        int maxY = Math.min(world.getMaxHeight() - 1, cy + radius);
+
+        int side = radius * 2 + 1;
+        long[] targets = new long[side * side * side];
+        int count = 0;
+
+        for (int x = cx - radius; x <= cx + radius; x++) {
+            for (int z = cz - radius; z <= cz + radius; z++) {
+                for (int y = minY; y <= maxY; y++) {
+                    if (x == cx && y == cy && z == cz) continue;
+
+                    Material type = world.getBlockAt(x, y, z).getType();
+                    if (type.isAir() || excludedBlocks.contains(type) || type.getHardness() < 0) {
+                        continue;
+                    }
+                    targets[count++] = pack(x, y, z);
+                }
+            }
+        }
+
+        if (count == 0) {
+            return;
+        }
+
+        count = filterByBuildPermission(player, world, targets, count,
+                cx - radius, minY, cz - radius, cx + radius, maxY, cz + radius);
+        if (count == 0) {
+            return;
+        }
+
+        long[] trimmed = new long[count];
+        System.arraycopy(targets, 0, trimmed, 0, count);
+        queue.add(new BreakJob(player.getUniqueId(), world, trimmed, tool == null ? null : tool.clone()));
+
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Removes targets the player may not build at. Regions overlapping the area are fetched
+     * once; each block's membership among them forms a key, and each distinct key is
+     * tested against WorldGuard once.
+     */
+    private int filterByBuildPermission(Player player, World world, long[] targets, int count,
+                                        int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        try {
+            LocalPlayer localPlayer = WorldGuardPlugin.inst().wrapPlayer(player);
+            com.sk89q.worldedit.world.World weWorld = BukkitAdapter.adapt(world);
+
+            if (WorldGuard.getInstance().getPlatform().getSessionManager().hasBypass(localPlayer, weWorld)) {
+                return count;
+            }
+
+            RegionManager regionManager = WorldGuard.getInstance().getPlatform().getRegionContainer().get(weWorld);
+            if (regionManager == null) {
+                return count;
+            }
+
+            ProtectedCuboidRegion area = new ProtectedCuboidRegion("mystenchants_area_probe",
+                    BlockVector3.at(minX, minY, minZ), BlockVector3.at(maxX, maxY, maxZ));
+            List<ProtectedRegion> overlapping = new ArrayList<>(regionManager.getApplicableRegions(area).getRegions());
+            RegionQuery query = WorldGuard.getInstance().getPlatform().getRegionContainer().createQuery();
+
+            Map<String, Boolean> decisions = new HashMap<>();
+            int kept = 0;
+
+            for (int i = 0; i < count; i++) {
+                long packed = targets[i];
+                int x = unpackX(packed);
+                int y = unpackY(packed);
+                int z = unpackZ(packed);
+
+                StringBuilder key = new StringBuilder(overlapping.size());
+                for (ProtectedRegion region : overlapping) {
+                    key.append(region.contains(x, y, z) ? '1' : '0');
+                }
+
+                Boolean allowed = decisions.get(key.toString());
+                if (allowed == null) {
+                    ApplicableRegionSet regions = query.getApplicableRegions(BukkitAdapter.adapt(new Location(world, x, y, z)));
+                    allowed = regions.testState(localPlayer, Flags.BUILD);
+                    decisions.put(key.toString(), allowed);
+                }
+
+                if (allowed) {
+                    targets[kept++] = packed;
+                }
+            }
+
+            return kept;
+        } catch (Exception e) {
+            // Fail closed: without a working protection check, don't break anything extra
+            plugin.getLogger().warning("WorldGuard check failed for detonate: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private void tick() {
+        long deadline = System.nanoTime() + maxTickNanos;
+        int budget = blocksPerTick;
+
+        while (budget > 0 && !queue.isEmpty() && System.nanoTime() < deadline) {
+            BreakJob job = queue.peek();
+            budget -= job.process(budget);
+
+            if (job.isDone()) {
+                queue.poll();
+                job.finish();
+            }
+        }
+
+        if (queue.isEmpty() && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Finishes all queued jobs immediately (used on disable)
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+
+        while (!queue.isEmpty()) {
+            BreakJob job = queue.poll();
+            job.process(Integer.MAX_VALUE);
+            job.finish();
+        }
+    }
+
+    // ========================================
+    // PACKED COORDINATES
+    // ========================================
+
+    private static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private static int unpackX(long packed) {
+        return (int) (packed >> 38);
+    }
+
+    private static int unpackY(long packed) {
+        return (int) (packed << 52 >> 52);
+    }
+
+    private static int unpackZ(long packed) {
+        return (int) (packed << 26 >> 38);
+    }
+
+    private static long chunkKey(int x, int z) {
+        return ((long) (x >> 4) << 32) | ((z >> 4) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * One queued area break
+     */
+    private class BreakJob {
+        private final UUID playerUUID;
+        private final World world;
+        private final long[] targets;
+        private final ItemStack tool;
+        private int index;
+
+        private final Map<Long, List<ItemStack>> dropsByChunk = new HashMap<>();
+        private final Map<Long, Location> dropPoints = new HashMap<>();
+        private final Map<Material, Integer> brokenCounts = new EnumMap<>(Material.class);
+
+        BreakJob(UUID playerUUID, World world, long[] targets, ItemStack tool) {
+            this.playerUUID = playerUUID;
+            this.world = world;
+            this.targets = targets;
+            this.tool = tool;
+        }
+
+        /**
+         * Breaks up to {@code budget} blocks and returns how many targets were consumed
+         */
+        int process(int budget) {
+            int processed = 0;
+            Player player = Bukkit.getPlayer(playerUUID);
+
+            while (processed < budget && index < targets.length) {
+                long packed = targets[index++];
+                processed++;
+
+                int x = unpackX(packed);
+                int y = unpackY(packed);
+                int z = unpackZ(packed);
+
+                Block block = world.getBlockAt(x, y, z);
+                Material type = block.getType();
+                if (type.isAir() || excludedBlocks.contains(type)) {
+                    continue; // Changed since the job was queued
+                }
+
+                long chunk = chunkKey(x, z);
+                List<ItemStack> chunkDrops = dropsByChunk.computeIfAbsent(chunk, key -> new ArrayList<>());
+                dropPoints.putIfAbsent(chunk, block.getLocation().add(0.5, 0.5, 0.5));
+
+                for (ItemStack drop : player != null ? block.getDrops(tool, player) : block.getDrops(tool)) {
+                    merge(chunkDrops, drop);
+                }
+
+                block.setType(Material.AIR);
+                brokenCounts.merge(type, 1, Integer::sum);
+            }
+
+            return processed;
+        }
+
+        boolean isDone() {
+            return index >= targets.length;
+        }
+
+        void finish() {
+            for (Map.Entry<Long, List<ItemStack>> entry : dropsByChunk.entrySet()) {
+                Location point = dropPoints.get(entry.getKey());
+                for (ItemStack stack : entry.getValue()) {
+                    world.dropItemNaturally(point, stack);
+                }
+            }
+
+            Player player = Bukkit.getPlayer(playerUUID);
+            if (player != null && !brokenCounts.isEmpty()) {
+                plugin.getStatisticManager().trackBlocksMined(player, brokenCounts);
+            }
+        }
+
+        private void merge(List<ItemStack> stacks, ItemStack drop) {
+            int remaining = drop.getAmount();
+
+            for (ItemStack existing : stacks) {
+                if (remaining <= 0) break;
+                if (!existing.isSimilar(drop)) continue;
+
+                int space = existing.getMaxStackSize() - existing.getAmount();
+                if (space <= 0) continue;
+
+                int moved = Math.min(space, remaining);
+                existing.setAmount(existing.getAmount() + moved);
+                remaining -= moved;
+            }
+
+            while (remaining > 0) {
+                ItemStack stack = drop.clone();
+                int amount = Math.min(remaining, stack.getMaxStackSize());
+                stack.setAmount(amount);
+                stacks.add(stack);
+                remaining -= amount;
+            }
+        }
+    }
+}
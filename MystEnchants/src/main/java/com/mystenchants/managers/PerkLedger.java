@@ -0,0 +1,409 @@
+package com.mystenchants.managers;
+
+import com.mystenchants.MystEnchants;
+import org.bukkit.Bukkit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * In-memory ledger of per-player perk counts and last-use times.
+ *
+ * Each cached player's perks are loaded once and then changed in memory under the account's
+ * lock. A purchase debits the cached soul balance and credits the perk in one step, so rapid
+ * clicks can never spend the same souls twice. Every change is written as one transaction
+ * (souls, perk rows and the sync marker together) through the player's ordered write path
+ * (PlayerDataManager#writeInOrder), which soul writes share, so a player's writes land in the
+ * order they were made. A write that fails is undone in memory: the account is dropped and
+ * reloaded from the stored rows, and a purchase's debit is refunded. Players that aren't
+ * cached here (see PlayerDataManager#isCached) are read, changed and written inside the
+ * write path instead, so nothing is kept between changes.
+ */
+public class PerkLedger {
+
+    private static final String DEBIT_SOULS = "UPDATE player_data SET souls = souls - ? WHERE uuid = ?";
+    private static final String DELETE_PERK = "DELETE FROM player_perks WHERE uuid = ? AND perk_name = ?";
+    private static final String INSERT_PERK = "INSERT INTO player_perks (uuid, perk_name, amount, last_used) VALUES (?, ?, ?, ?)";
+
+    private final MystEnchants plugin;
+    private final Map<UUID, CompletableFuture<Account>> accounts = new ConcurrentHashMap<>();
+
+    public PerkLedger(MystEnchants plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Gets a player's account, loading it once (after any writes still in flight).
+     * The account is only kept if the player is cached here; a failed load is not kept.
+     */
+    public CompletableFuture<Account> load(UUID playerUUID) {
+        CompletableFuture<Account> loaded = accounts.get(playerUUID);
+        if (loaded != null) {
+            return loaded;
+        }
+
+        PlayerDataManager profiles = plugin.getPlayerDataManager();
+        long stamp = profiles.cacheStamp(playerUUID);
+        if (!profiles.mayCache(playerUUID, stamp)) {
+            return profiles.afterPendingWrites(playerUUID).thenCompose(v -> read(playerUUID));
+        }
+
+        CompletableFuture<Account> loading = accounts.computeIfAbsent(playerUUID,
+                uuid -> profiles.afterPendingWrites(uuid).thenCompose(v -> read(uuid)));
+        loading.whenComplete((account, throwable) -> {
+            // Failed, or invalidated or spooled while loading so what was read may already be stale
+            if (throwable != null || !profiles.mayCache(playerUUID, stamp)) {
+                accounts.remove(playerUUID, loading);
+            }
+        });
+        return loading;
+    }
+
+    private CompletableFuture<Account> read(UUID playerUUID) {
+        return plugin.getDatabaseManager().queryAsync(
+                "SELECT perk_name, amount, last_used FROM player_perks WHERE uuid = ? ORDER BY id",
+                resultSet -> {
+                    // Older rows could be duplicated per perk; the newest one wins
+                    Account account = new Account();
+                    while (resultSet.next()) {
+                        Entry entry = account.entry(resultSet.getString("perk_name"));
+                        entry.amount = resultSet.getInt("amount");
+                        entry.lastUsed = resultSet.getLong("last_used");
+                    }
+                    return account;
+                },
+                playerUUID.toString()
+        ).thenCompose(account -> account != null ? CompletableFuture.completedFuture(account)
+                // An empty account would overwrite the stored rows on the next change
+                : CompletableFuture.failedFuture(new IllegalStateException("Could not load perks for " + playerUUID)));
+    }
+
+    /**
+     * Drops a player's loaded account; already queued writes are unaffected
+     */
+    public void invalidate(UUID playerUUID) {
+        accounts.remove(playerUUID);
+    }
+
+    /**
+     * Drops all loaded accounts
+     */
+    public void invalidateAll() {
+        accounts.clear();
+    }
+
+    // ========================================
+    // READS
+    // ========================================
+
+    public CompletableFuture<Map<String, Integer>> getPerks(UUID playerUUID) {
+        return load(playerUUID).thenApply(account -> {
+            synchronized (account) {
+                Map<String, Integer> perks = new HashMap<>();
+                account.entries.forEach((perk, entry) -> {
+                    if (entry.amount > 0) perks.put(perk, entry.amount);
+                });
+                return perks;
+            }
+        });
+    }
+
+    public CompletableFuture<Integer> getAmount(UUID playerUUID, String perkName) {
+        return load(playerUUID).thenApply(account -> {
+            synchronized (account) {
+                Entry entry = account.entries.get(perkName);
+                return entry != null ? entry.amount : 0;
+            }
+        });
+    }
+
+    public CompletableFuture<Long> getLastUsed(UUID playerUUID, String perkName) {
+        return load(playerUUID).thenApply(account -> {
+            synchronized (account) {
+                Entry entry = account.entries.get(perkName);
+                return entry != null ? entry.lastUsed : 0L;
+            }
+        });
+    }
+
+    // ========================================
+    // TRANSACTIONS
+    // ========================================
+
+    /**
+     * Debits the cost from the player's souls and credits one perk as a single transaction.
+     * Completes on the main thread with false if the player can't afford it.
+     */
+    public CompletableFuture<Boolean> purchase(UUID playerUUID, String perkName, long cost) {
+        if (!plugin.getPlayerDataManager().isCached(playerUUID)) {
+            return onMainThread(purchaseUncached(playerUUID, perkName, cost), bought -> bought);
+        }
+
+        CompletableFuture<Account> loading = load(playerUUID);
+        CompletableFuture<Account> ready = loading
+                .thenCombine(plugin.getSoulManager().getSouls(playerUUID), (account, souls) -> account);
+
+        return onMainThread(ready, account -> {
+            Transaction transaction = new Transaction(playerUUID);
+
+            synchronized (account) {
+                long balance = plugin.getSoulManager().debitCached(playerUUID, cost);
+                if (balance == SoulManager.NOT_CACHED) {
+                    return null;
+                }
+                if (balance < 0) {
+                    return false;
+                }
+
+                Entry entry = account.entry(perkName);
+                entry.amount++;
+
+                transaction.debitSouls(cost);
+                transaction.perk(perkName, entry);
+            }
+
+            // Written behind; if it fails, the debit and the perk are undone in memory
+            transaction.commit().thenAccept(written -> {
+                if (!written) {
+                    plugin.getSoulManager().creditCached(playerUUID, cost);
+                    rollBack(playerUUID, loading, "purchase of " + perkName);
+                }
+            });
+            return true;
+        }).thenCompose(bought -> bought != null ? CompletableFuture.completedFuture(bought)
+                // The balance was invalidated before it could be debited
+                : onMainThread(purchaseUncached(playerUUID, perkName, cost), result -> result));
+    }
+
+    /**
+     * Spends the souls in the database first, then credits the perk, refunding the souls
+     * if the perk can't be written
+     */
+    private CompletableFuture<Boolean> purchaseUncached(UUID playerUUID, String perkName, long cost) {
+        return plugin.getSoulManager().spend(playerUUID, cost).thenCompose(balance -> balance < 0
+                ? CompletableFuture.completedFuture(false)
+                : credit(playerUUID, perkName, 1).thenApply(v -> true).exceptionallyCompose(throwable ->
+                        plugin.getSoulManager().addSouls(playerUUID, cost).thenCompose(v -> CompletableFuture.<Boolean>failedFuture(throwable))));
+    }
+
+    /**
+     * Adds perks to a player's balance
+     */
+    public CompletableFuture<Void> credit(UUID playerUUID, String perkName, int amount) {
+        return change(playerUUID, true, (account, transaction) -> {
+            Entry entry = account.entry(perkName);
+            entry.amount = Math.max(0, entry.amount + amount);
+            transaction.perk(perkName, entry);
+            return null;
+        });
+    }
+
+    /**
+     * Sets a player's perk balance
+     */
+    public CompletableFuture<Void> setAmount(UUID playerUUID, String perkName, int amount) {
+        return change(playerUUID, true, (account, transaction) -> {
+            Entry entry = account.entry(perkName);
+            entry.amount = Math.max(0, amount);
+            transaction.perk(perkName, entry);
+            return null;
+        });
+    }
+
+    /**
+     * Removes one perk and stamps its last use; false if the player has none
+     */
+    public CompletableFuture<Boolean> consume(UUID playerUUID, String perkName) {
+        return change(playerUUID, true, (account, transaction) -> {
+            Entry entry = account.entry(perkName);
+            if (entry.amount <= 0) {
+                return false;
+            }
+            entry.amount--;
+            entry.lastUsed = System.currentTimeMillis();
+            transaction.perk(perkName, entry);
+            return true;
+        });
+    }
+
+    /**
+     * Stamps a perk's last use time
+     */
+    public CompletableFuture<Void> markUsed(UUID playerUUID, String perkName) {
+        return change(playerUUID, true, (account, transaction) -> {
+            Entry entry = account.entry(perkName);
+            entry.lastUsed = System.currentTimeMillis();
+            transaction.perk(perkName, entry);
+            return null;
+        });
+    }
+
+    /**
+     * Uses a perk item if it is off cooldown. The physical item is the real token, so a
+     * missing balance is topped up to one. Returns the remaining cooldown in milliseconds,
+     * or 0 if the use was recorded.
+     */
+    public CompletableFuture<Long> tryUse(UUID playerUUID, String perkName, long cooldownMillis) {
+        // Written behind; the use itself doesn't wait for the database
+        return change(playerUUID, false, (account, transaction) -> {
+            long now = System.currentTimeMillis();
+            Entry entry = account.entry(perkName);
+            long remaining = cooldownMillis - (now - entry.lastUsed);
+            if (remaining > 0) {
+                return remaining;
+            }
+
+            if (entry.amount <= 0) {
+                entry.amount = 1;
+            }
+            entry.lastUsed = now;
+            transaction.perk(perkName, entry);
+            return 0L;
+        });
+    }
+
+    /**
+     * Applies a change to a player's account under its lock and writes the rows it touched.
+     * A cached account is changed in memory and written behind (the result waits for the
+     * write only if asked to); otherwise the read, change and write all run in the player's
+     * write path. A change that can't be written fails the result if it waits for the write.
+     */
+    private <T> CompletableFuture<T> change(UUID playerUUID, boolean awaitWrite, BiFunction<Account, Transaction, T> change) {
+        PlayerDataManager profiles = plugin.getPlayerDataManager();
+        if (!profiles.isCached(playerUUID) && !accounts.containsKey(playerUUID)) {
+            return profiles.writeInOrder(playerUUID, () -> read(playerUUID).thenCompose(account -> {
+                Transaction transaction = new Transaction(playerUUID);
+                T result = change.apply(account, transaction);
+                return transaction.write().thenCompose(written -> written(written, result, playerUUID));
+            }));
+        }
+
+        CompletableFuture<Account> loading = load(playerUUID);
+        return loading.thenCompose(account -> {
+            Transaction transaction = new Transaction(playerUUID);
+            T result;
+            synchronized (account) {
+                result = change.apply(account, transaction);
+            }
+
+            CompletableFuture<Boolean> written = transaction.commit().thenApply(ok -> {
+                if (!ok) {
+                    rollBack(playerUUID, loading, "perk change");
+                }
+                return ok;
+            });
+            return awaitWrite ? written.thenCompose(ok -> written(ok, result, playerUUID)) : CompletableFuture.completedFuture(result);
+        });
+    }
+
+    private static <T> CompletableFuture<T> written(boolean written, T result, UUID playerUUID) {
+        return written ? CompletableFuture.completedFuture(result)
+                : CompletableFuture.failedFuture(new IllegalStateException("Perk change for " + playerUUID + " could not be written"));
+    }
+
+    /**
+     * Undoes a change whose write was dropped by reloading the account from the stored rows
+     */
+    private void rollBack(UUID playerUUID, CompletableFuture<Account> loaded, String description) {
+        accounts.remove(playerUUID, loaded);
+        plugin.getPlayerDataManager().bumpStamp(playerUUID);
+        plugin.getLogger().warning("Could not save " + description + " for " + playerUUID + "; reloading their perks");
+    }
+
+    // ========================================
+    // WRITES
+    // ========================================
+
+    private <T, R> CompletableFuture<R> onMainThread(CompletableFuture<T> ready, Function<T, R> action) {
+        if (ready.isDone() && !ready.isCompletedExceptionally() && Bukkit.isPrimaryThread()) {
+            return CompletableFuture.completedFuture(action.apply(ready.join()));
+        }
+
+        CompletableFuture<R> result = new CompletableFuture<>();
+        ready.whenComplete((value, throwable) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+                return;
+            }
+            try {
+                result.complete(action.apply(value));
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        }));
+        return result;
+    }
+
+    /**
+     * Row snapshots taken under an account lock, written together
+     */
+    private class Transaction {
+        private final UUID playerUUID;
+        private final List<String> statements = new ArrayList<>();
+        private final List<Object[]> parameters = new ArrayList<>();
+
+        Transaction(UUID playerUUID) {
+            this.playerUUID = playerUUID;
+        }
+
+        void debitSouls(long amount) {
+            statements.add(DEBIT_SOULS);
+            parameters.add(new Object[]{amount, playerUUID.toString()});
+        }
+
+        void perk(String perkName, Entry entry) {
+            statements.add(DELETE_PERK);
+            parameters.add(new Object[]{playerUUID.toString(), perkName});
+
+            // Keep the row while it still carries a cooldown
+            if (entry.amount > 0 || entry.lastUsed > 0) {
+                statements.add(INSERT_PERK);
+                parameters.add(new Object[]{playerUUID.toString(), perkName, entry.amount, entry.lastUsed});
+            }
+        }
+
+        /**
+         * Queues the rows behind the player's earlier writes; completes with false if they were dropped
+         */
+        CompletableFuture<Boolean> commit() {
+            if (statements.isEmpty()) {
+                return CompletableFuture.completedFuture(true);
+            }
+            return plugin.getPlayerDataManager().writeInOrder(playerUUID, this::write);
+        }
+
+        /**
+         * Writes the rows straight away, for changes already running in the write path
+         */
+        CompletableFuture<Boolean> write() {
+            if (statements.isEmpty()) {
+                return CompletableFuture.completedFuture(true);
+            }
+            plugin.getProfileSyncService().addChange(playerUUID, statements, parameters);
+            return plugin.getDatabaseManager().tryTransactionAsync(statements, parameters);
+        }
+    }
+
+    /**
+     * A player's perk balances
+     */
+    public static class Account {
+        private final Map<String, Entry> entries = new HashMap<>();
+
+        Entry entry(String perkName) {
+            return entries.computeIfAbsent(perkName, name -> new Entry());
+        }
+    }
+
+    private static class Entry {
+        int amount;
+        long lastUsed;
+    }
+}
@@ -414,40 +414,36 @@ public class PerkManager {
     }
 
     /**
-     * Processes a perk purchase with configurable messaging
+     * Processes a perk purchase with configurable messaging.
+     * The souls debit and perk credit happen together in the PerkLedger.
      */
     public CompletableFuture<Boolean> purchasePerk(Player player, String perkName) {
         PerkData perk = perks.get(perkName);
         if (perk == null) return CompletableFuture.completedFuture(false);
 
-        return plugin.getSoulManager().hasSouls(player.getUniqueId(), perk.getCost())
-                .thenCompose(hasSouls -> {
-                    if (!hasSouls) {
+        return plugin.getPerkLedger().purchase(player.getUniqueId(), perkName, perk.getCost())
+                .thenApply(success -> {
+                    if (!success) {
                         String message = plugin.getConfigManager().getString("config.yml", "messages.insufficient-souls", "&cYou don't have enough souls!");
                         player.sendMessage(ColorUtils.color(message));
-                        return CompletableFuture.completedFuture(false);
+                        return false;
                     }
 
-                    return plugin.getSoulManager().removeSouls(player.getUniqueId(), perk.getCost())
-                            .thenCompose(success -> {
-                                if (success) {
-                                    return plugin.getPlayerDataManager().addPerk(player.getUniqueId(), perkName, 1)
-                                            .thenApply(v -> {
-                                                // Give perk item to player
-                                                ItemStack perkItem = createPerkItem(perkName);
-                                                if (perkItem != null) {
-                                                    player.getInventory().addItem(perkItem);
-                                                }
-
-                                                String message = plugin.getConfigManager().getString("config.yml", "messages.perk-received", "&aYou received &6{amount}x {perk}&a!");
-                                                message = message.replace("{amount}", "1").replace("{perk}", perk.getDisplayName());
-                                                player.sendMessage(ColorUtils.color(message));
-
-                                                return true;
-                                            });
-                                }
-                                return CompletableFuture.completedFuture(false);
-                            });
+                    // Give perk item to player
+                    ItemStack perkItem = createPerkItem(perkName);
+                    if (perkItem != null) {
+                        player.getInventory().addItem(perkItem);
+                    }
+
+                    String message = plugin.getConfigManager().getString("config.yml", "messages.perk-received", "&aYou received &6{amount}x {perk}&a!");
+                    message = message.replace("{amount}", "1").replace("{perk}", perk.getDisplayName());
+                    player.sendMessage(ColorUtils.color(message));
+
+                    return true;
+                })
+                .exceptionally(throwable -> {
+                    plugin.getLogger().warning("Error purchasing perk " + perkName + ": " + throwable.getMessage());
+                    return false;
                 });
     }
 
@@ -455,14 +451,17 @@ public class PerkManager {
      * Uses a perk (if player has it and not on cooldown)
      */
     public CompletableFuture<Boolean> usePerk(Player player, String perkName) {
-        return plugin.getPlayerDataManager().getPerkAmount(player.getUniqueId(), perkName)
-                .thenCompose(amount -> {
-                    if (amount <= 0) {
-                        return plugin.getPlayerDataManager().addPerk(player.getUniqueId(), perkName, 1)
-                                .thenCompose(v -> checkCooldownAndUse(player, perkName));
-                    } else {
-                        return checkCooldownAndUse(player, perkName);
+        long cooldownMs = getPerkCooldown(perkName) * 1000L;
+
+        return plugin.getPerkLedger().tryUse(player.getUniqueId(), perkName, cooldownMs)
+                .thenApply(remainingMs -> {
+                    if (remainingMs > 0) {
+                        String message = plugin.getConfigManager().getString("config.yml", "messages.perk-cooldown", "&cThis perk is on cooldown for &6{time}&c!");
+                        message = message.replace("{time}", ColorUtils.formatTime(remainingMs / 1000L));
+                        player.sendMessage(ColorUtils.color(message));
+                        return false;
                     }
+                    return true;
                 })
                 .exceptionally(throwable -> {
                     plugin.getLogger().warning("Error using perk " + perkName + ": " + throwable.getMessage());
@@ -470,25 +469,6 @@ public class PerkManager {
                 });
     }
 
-    private CompletableFuture<Boolean> checkCooldownAndUse(Player player, String perkName) {
-        return canUsePerk(player.getUniqueId(), perkName)
-                .thenCompose(canUse -> {
-                    if (!canUse) {
-                        return getRemainingCooldown(player.getUniqueId(), perkName)
-                                .thenApply(remaining -> {
-                                    String message = plugin.getConfigManager().getString("config.yml", "messages.perk-cooldown", "&cThis perk is on cooldown for &6{time}&c!");
-                                    message = message.replace("{time}", ColorUtils.formatTime(remaining));
-                                    player.sendMessage(ColorUtils.color(message));
-                                    return false;
-                                });
-                    }
-
-                    // Update last used time
-                    return plugin.getPlayerDataManager().updatePerkLastUsed(player.getUniqueId(), perkName)
-                            .thenApply(v -> true);
-                });
-    }
-
     /**
      * Reloads all perks
      */
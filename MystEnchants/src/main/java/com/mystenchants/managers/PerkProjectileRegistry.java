@@ -0,0 +1,92 @@
+package com.mystenchants.managers;
+
+import org.bukkit.entity.Projectile;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Live perk projectiles keyed by entity id (main thread only).
+ *
+ * Entries are added on launch and removed once the projectile's effect has resolved.
+ * Projectiles that never land (unloaded chunks, despawns) expire after a fixed lifetime
+ * and are swept lazily on the next launch.
+ */
+public class PerkProjectileRegistry {
+
+    private static final long LIFETIME_MILLIS = 30_000L;
+
+    private final Map<Integer, Entry> projectiles = new HashMap<>();
+    private long nextSweep;
+
+    /**
+     * Registers a launched perk projectile
+     */
+    public void track(Projectile projectile, String perkType) {
+        long now = System.currentTimeMillis();
+        if (now >= nextSweep) {
+            sweep(now);
+            nextSweep = now + LIFETIME_MILLIS;
+        }
+
+        projectiles.put(projectile.getEntityId(), new Entry(projectile.getUniqueId(), perkType, now + LIFETIME_MILLIS));
+    }
+
+    /**
+     * Gets the perk type of a tracked projectile, or null if it is not a live perk projectile
+     */
+    public String getPerkType(Projectile projectile) {
+        Entry entry = projectiles.get(projectile.getEntityId());
+        if (entry == null) {
+            return null;
+        }
+
+        // Entity ids are reused; the UUID confirms it's the same projectile
+        if (!entry.projectileUUID.equals(projectile.getUniqueId()) || System.currentTimeMillis() >= entry.expiresAt) {
+            projectiles.remove(projectile.getEntityId());
+            return null;
+        }
+        return entry.perkType;
+    }
+
+    /**
+     * Stops tracking a projectile and returns its perk type (null if it wasn't tracked)
+     */
+    public String remove(Projectile projectile) {
+        String perkType = getPerkType(projectile);
+        if (perkType != null) {
+            projectiles.remove(projectile.getEntityId());
+        }
+        return perkType;
+    }
+
+    private void sweep(long now) {
+        Iterator<Entry> iterator = projectiles.values().iterator();
+        while (iterator.hasNext()) {
+            if (now >= iterator.next().expiresAt) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Forgets every tracked projectile
+     */
+    public void clear() {
+        projectiles.clear();
+    }
+
+    private static class Entry {
+        final UUID projectileUUID;
+        final String perkType;
+        final long expiresAt;
+
+        Entry(UUID projectileUUID, String perkType, long expiresAt) {
+            this.projectileUUID = projectileUUID;
+            this.perkType = perkType;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
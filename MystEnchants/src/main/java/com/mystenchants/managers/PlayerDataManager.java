@@ -1,50 +1,203 @@
 package com.mystenchants.managers;
 
 import com.mystenchants.MystEnchants;
+import com.mystenchants.database.ProfileSyncService;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 public class PlayerDataManager {
 
+    // A preload that hasn't turned into a join within a minute never will
+    private static final long PRELOAD_EXPIRY_TICKS = 60 * 20L;
+
     private final MystEnchants plugin;
 
+    // Read-through caches; writes update them in place and notify other servers via ProfileSyncService.
+    // Only players with a session here are cached, and only while caching is safe (see ProfileSyncService).
+    private final Map<UUID, Map<String, Integer>> enchantCache = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> redemptionCooldownCache = new ConcurrentHashMap<>();
+    private final Set<UUID> sessions = ConcurrentHashMap.newKeySet();
+
+    // Cache stamps: a read may only fill a cache if the player's stamp hasn't moved since it started
+    private final AtomicLong stampSequence = new AtomicLong();
+    private final Map<UUID, Long> playerStamps = new ConcurrentHashMap<>();
+    private volatile long allStamp;
+
+    // Join/quit handoff state
+    private final Map<UUID, Set<CompletableFuture<?>>> pendingWrites = new ConcurrentHashMap<>();
+    // Tail of each player's write chain; removed once the chain is idle
+    private final Map<UUID, CompletableFuture<Void>> writeChains = new ConcurrentHashMap<>();
+    private final Map<UUID, CompletableFuture<Void>> saveTokens = new ConcurrentHashMap<>();
+    // Preloaded players -> when the preload finished; dropped if they never join
+    private final Map<UUID, Long> preloaded = new ConcurrentHashMap<>();
+
     public PlayerDataManager(MystEnchants plugin) {
         this.plugin = plugin;
     }
 
+    /**
+     * Drops cached profile state for a player so the next read goes to the database
+     */
+    public void invalidate(UUID playerUUID) {
+        bumpStamp(playerUUID);
+        enchantCache.remove(playerUUID);
+        redemptionCooldownCache.remove(playerUUID);
+        plugin.getSoulManager().invalidate(playerUUID);
+        plugin.getPerkLedger().invalidate(playerUUID);
+    }
+
+    /**
+     * Drops all cached profile state
+     */
+    public void invalidateAll() {
+        allStamp = stampSequence.incrementAndGet();
+        enchantCache.clear();
+        redemptionCooldownCache.clear();
+        plugin.getSoulManager().invalidateAll();
+        plugin.getPerkLedger().invalidateAll();
+    }
+
+    // ========================================
+    // CACHE ADMISSION
+    // ========================================
+
+    /**
+     * Checks whether a player's profile state is kept in memory here
+     */
+    public boolean isCached(UUID playerUUID) {
+        return sessions.contains(playerUUID) && plugin.getProfileSyncService().isCachingEnabled();
+    }
+
+    /**
+     * Gets the player's cache stamp; take it before starting a read that may fill a cache
+     */
+    public long cacheStamp(UUID playerUUID) {
+        Long stamp = playerStamps.get(playerUUID);
+        return stamp != null ? Math.max(stamp, allStamp) : allStamp;
+    }
+
+    /**
+     * Checks whether a read that started at the given stamp may fill a cache: the player
+     * must be cached here, nothing may have invalidated or bypassed the cache since, and
+     * no spooled writes may be waiting to be replayed
+     */
+    public boolean mayCache(UUID playerUUID, long stamp) {
+        return isCached(playerUUID) && cacheStamp(playerUUID) == stamp
+                && !plugin.getDatabaseManager().isReplaying();
+    }
+
+    /**
+     * Moves the player's stamp so reads already in flight don't fill a cache.
+     * Called by invalidation and by writes that couldn't update a cached entry.
+     */
+    public void bumpStamp(UUID playerUUID) {
+        if (sessions.contains(playerUUID)) {
+            playerStamps.put(playerUUID, stampSequence.incrementAndGet());
+        }
+    }
+
+    /**
+     * Completes once every write already in flight for the player has finished, so a
+     * read that fills a cache can't miss one of them
+     */
+    public CompletableFuture<Void> afterPendingWrites(UUID playerUUID) {
+        Set<CompletableFuture<?>> writes = pendingWrites.get(playerUUID);
+        if (writes == null || writes.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0])).exceptionally(throwable -> null);
+    }
+
+    /**
+     * Stores a value read from the database if the read may still fill the cache,
+     * withdrawing it again if an invalidation or a spooled write raced the store
+     */
+    public <V> void admit(Map<UUID, V> cache, UUID playerUUID, V value, long stamp) {
+        if (!mayCache(playerUUID, stamp)) {
+            return;
+        }
+        cache.putIfAbsent(playerUUID, value);
+        if (!mayCache(playerUUID, stamp)) {
+            cache.remove(playerUUID, value);
+        }
+    }
+
+    /**
+     * Starts caching a player's profile state (pre-login or join)
+     */
+    public void beginSession(UUID playerUUID) {
+        sessions.add(playerUUID);
+    }
+
+    /**
+     * Stops caching a player's profile state and drops what was cached
+     */
+    public void endSession(UUID playerUUID) {
+        invalidate(playerUUID);
+        sessions.remove(playerUUID);
+        playerStamps.remove(playerUUID);
+    }
+
     public CompletableFuture<Void> createPlayerData(Player player) {
-        UUID uuid = player.getUniqueId();
-        String username = player.getName();
+        return createPlayerData(player.getUniqueId(), player.getName());
+    }
+
+    public CompletableFuture<Void> createPlayerData(UUID uuid, String username) {
         long currentTime = System.currentTimeMillis();
 
         String sql;
         if (plugin.getDatabaseManager().isMySQL()) {
             sql = "INSERT INTO player_data (uuid, username, souls, last_seen, redemption_cooldown) " +
                     "VALUES (?, ?, 0, ?, 0) " +
-                    "ON DUPLICATE KEY UPDATE username = ?, last_seen = ?";
+                    "ON DUPLICATE KEY UPDATE username = VALUES(username), last_seen = VALUES(last_seen)";
         } else {
-            sql = "INSERT OR REPLACE INTO player_data (uuid, username, souls, last_seen, redemption_cooldown) " +
-                    "VALUES (?, ?, COALESCE((SELECT souls FROM player_data WHERE uuid = ?), 0), ?, " +
-                    "COALESCE((SELECT redemption_cooldown FROM player_data WHERE uuid = ?), 0))";
+            // Native upsert keeps souls and cooldown without re-reading the row
+            sql = "INSERT INTO player_data (uuid, username, souls, last_seen, redemption_cooldown) " +
+                    "VALUES (?, ?, 0, ?, 0) " +
+                    "ON CONFLICT(uuid) DO UPDATE SET username = excluded.username, last_seen = excluded.last_seen";
         }
 
-        return plugin.getDatabaseManager().executeAsync(sql,
-                plugin.getDatabaseManager().isMySQL() ?
-                        new Object[]{uuid.toString(), username, currentTime, username, currentTime} :
-                        new Object[]{uuid.toString(), username, uuid.toString(), currentTime, uuid.toString()}
-        ).thenCompose(v -> {
-            String statsSql;
-            if (plugin.getDatabaseManager().isMySQL()) {
-                statsSql = "INSERT IGNORE INTO player_statistics (uuid) VALUES (?)";
-            } else {
-                statsSql = "INSERT OR IGNORE INTO player_statistics (uuid) VALUES (?)";
+        String statsSql;
+        if (plugin.getDatabaseManager().isMySQL()) {
+            statsSql = "INSERT IGNORE INTO player_statistics (uuid) VALUES (?)";
+        } else {
+            statsSql = "INSERT OR IGNORE INTO player_statistics (uuid) VALUES (?)";
+        }
+
+        // One transaction that also reads back the balance and cooldown the preload needs
+        long stamp = cacheStamp(uuid);
+        return plugin.getDatabaseManager().inTransactionAsync(unit -> {
+            unit.execute(sql, uuid.toString(), username, currentTime);
+            unit.execute(statsSql, uuid.toString());
+            return unit.query(
+                    "SELECT souls, redemption_cooldown FROM player_data WHERE uuid = ?",
+                    resultSet -> resultSet.next()
+                            ? new long[]{resultSet.getLong("souls"), resultSet.getLong("redemption_cooldown")}
+                            : null,
+                    uuid.toString());
+        }).thenAccept(row -> {
+            if (row != null) {
+                plugin.getSoulManager().cacheSouls(uuid, row[0], stamp);
+                admit(redemptionCooldownCache, uuid, row[1], stamp);
             }
-            return plugin.getDatabaseManager().executeAsync(statsSql, uuid.toString());
-        });
+        }).exceptionallyCompose(throwable ->
+                // Unreachable or still replaying; queue the rows behind the spooled writes instead
+                plugin.getDatabaseManager().executeTransactionAsync(
+                        Arrays.asList(sql, statsSql),
+                        Arrays.asList(new Object[]{uuid.toString(), username, currentTime}, new Object[]{uuid.toString()})));
     }
 
     public CompletableFuture<Void> updateLastSeen(UUID playerUUID) {
@@ -54,8 +207,170 @@ public class PlayerDataManager {
         );
     }
 
+    // ========================================
+    // JOIN / QUIT HANDOFF
+    // ========================================
+
+    /**
+     * Registers an in-flight write for a player so a quit flush can wait for it
+     */
+    public <T> CompletableFuture<T> trackWrite(UUID playerUUID, CompletableFuture<T> write) {
+        Set<CompletableFuture<?>> writes = pendingWrites.computeIfAbsent(playerUUID, uuid -> ConcurrentHashMap.newKeySet());
+        writes.add(write);
+        write.whenComplete((result, throwable) -> writes.remove(write));
+        return write;
+    }
+
+    /**
+     * Runs a profile write once the player's previous ordered write has finished and
+     * tracks it for the quit flush. Soul balances, perks and the other profile rows all
+     * go through here, so a player's writes reach the database (or the spool) in the
+     * order they were made.
+     */
+    public <T> CompletableFuture<T> writeInOrder(UUID playerUUID, Supplier<CompletableFuture<T>> write) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture<Void> previous = writeChains.put(playerUUID, done);
+
+        CompletableFuture<T> result = (previous != null ? previous : CompletableFuture.<Void>completedFuture(null))
+                .thenCompose(v -> write.get());
+        result.whenComplete((value, throwable) -> {
+            done.complete(null);
+            writeChains.remove(playerUUID, done);
+        });
+        return trackWrite(playerUUID, result);
+    }
+
+    /**
+     * Flushes a quitting player's profile in order: in-flight writes, then last seen,
+     * then the cross-server version bump. Returns the save token other joins wait on.
+     */
+    public CompletableFuture<Void> saveOnQuit(UUID playerUUID) {
+        Set<CompletableFuture<?>> writes = pendingWrites.remove(playerUUID);
+        CompletableFuture<?>[] inFlight = writes == null ? new CompletableFuture<?>[0] : writes.toArray(new CompletableFuture<?>[0]);
+
+        ProfileSyncService sync = plugin.getProfileSyncService();
+        CompletableFuture<Void> token = sync.setSaving(playerUUID, true)
+                .thenCompose(v -> CompletableFuture.allOf(inFlight))
+                .exceptionally(throwable -> null)
+                .thenCompose(v -> updateLastSeen(playerUUID))
+                .thenCompose(v -> sync.markChanged(playerUUID))
+                .thenCompose(v -> sync.setSaving(playerUUID, false));
+
+        saveTokens.put(playerUUID, token);
+        token.whenComplete((v, throwable) -> saveTokens.remove(playerUUID, token));
+
+        // Cached state is reloaded by the next preload
+        endSession(playerUUID);
+        return token;
+    }
+
+    /**
+     * Saves every online player and waits (bounded) for those and any earlier quit saves.
+     * Called on disable before the database stops accepting work, since a save chain
+     * submits its stages one after another rather than all at once.
+     */
+    public void saveAll(long timeoutMillis) {
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            saveOnQuit(player.getUniqueId());
+        }
+
+        CompletableFuture<?>[] tokens = saveTokens.values().toArray(new CompletableFuture<?>[0]);
+        if (tokens.length == 0) return;
+
+        try {
+            CompletableFuture.allOf(tokens).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            plugin.getLogger().warning("Not all player saves finished before shutdown (" + saveTokens.size()
+                    + " still pending): " + e.getMessage());
+        }
+    }
+
+    /**
+     * Warms a joining player's profile from the async pre-login thread.
+     * Waits (bounded) for a pending save from this or another server before reading.
+     */
+    public void preloadProfile(UUID playerUUID, String username) {
+        long startedAt = System.currentTimeMillis();
+        beginSession(playerUUID);
+        Bukkit.getScheduler().runTaskLater(plugin, () -> expirePreload(playerUUID, startedAt), PRELOAD_EXPIRY_TICKS);
+
+        long timeout = plugin.getConfigManager().getLong("config.yml", "database.handoff-timeout", 2000);
+        long deadline = System.currentTimeMillis() + timeout;
+
+        CompletableFuture<Void> token = saveTokens.get(playerUUID);
+        if (token != null) {
+            try {
+                token.get(timeout, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                plugin.getLogger().warning("Timed out waiting for previous save of " + username + ", loading anyway");
+            }
+        }
+
+        ProfileSyncService sync = plugin.getProfileSyncService();
+        try {
+            while (sync.isEnabled() && System.currentTimeMillis() < deadline && sync.isSaving(playerUUID).get(timeout, TimeUnit.MILLISECONDS)) {
+                Thread.sleep(50L);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            plugin.getLogger().warning("Could not check remote save state for " + username + ": " + e.getMessage());
+        }
+
+        // Anything cached before the save landed is stale
+        invalidate(playerUUID);
+
+        try {
+            createPlayerData(playerUUID, username)
+                    .thenCompose(v -> CompletableFuture.allOf(
+                            getPlayerEnchants(playerUUID),
+                            getRedemptionCooldown(playerUUID),
+                            plugin.getSoulManager().getSouls(playerUUID),
+                            plugin.getPerkLedger().load(playerUUID)))
+                    .get(Math.max(timeout, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            preloaded.put(playerUUID, startedAt);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to preload profile for " + username + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Consumes the preload marker; false means join must create the profile itself
+     */
+    public boolean consumePreload(UUID playerUUID) {
+        return preloaded.remove(playerUUID) != null;
+    }
+
+    /**
+     * Drops a preloaded profile whose login was denied after pre-login
+     */
+    public void discardPreload(UUID playerUUID) {
+        preloaded.remove(playerUUID);
+        if (plugin.getServer().getPlayer(playerUUID) == null) {
+            endSession(playerUUID);
+        }
+    }
+
+    /**
+     * Drops a preload that never turned into a join (denied or disconnected while logging in)
+     */
+    private void expirePreload(UUID playerUUID, long startedAt) {
+        preloaded.remove(playerUUID, startedAt);
+        if (plugin.getServer().getPlayer(playerUUID) == null) {
+            endSession(playerUUID);
+        }
+    }
+
     public CompletableFuture<Map<String, Integer>> getPlayerEnchants(UUID playerUUID) {
-        return plugin.getDatabaseManager().queryAsync(
+        Map<String, Integer> cached = enchantCache.get(playerUUID);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(new HashMap<>(cached));
+        }
+
+        long stamp = cacheStamp(playerUUID);
+        return afterPendingWrites(playerUUID).thenCompose(v -> plugin.getDatabaseManager().queryAsync(
                 "SELECT enchant_name, level FROM player_enchants WHERE uuid = ?",
                 resultSet -> {
                     Map<String, Integer> enchants = new HashMap<>();
@@ -66,55 +381,84 @@ public class PlayerDataManager {
                     return enchants;
                 },
                 playerUUID.toString()
-        );
+        )).thenApply(enchants -> {
+            if (enchants == null) {
+                return new HashMap<>();
+            }
+            // Don't replace an entry a concurrent write already populated
+            admit(enchantCache, playerUUID, new ConcurrentHashMap<>(enchants), stamp);
+            return enchants;
+        });
     }
 
     public CompletableFuture<Integer> getEnchantLevel(UUID playerUUID, String enchantName) {
-        return plugin.getDatabaseManager().queryAsync(
-                "SELECT level FROM player_enchants WHERE uuid = ? AND enchant_name = ?",
-                resultSet -> {
-                    if (resultSet.next()) {
-                        return resultSet.getInt("level");
-                    }
-                    return 0;
-                },
-                playerUUID.toString(), enchantName
-        );
+        return getPlayerEnchants(playerUUID)
+                .thenApply(enchants -> enchants.getOrDefault(enchantName, 0));
     }
 
     public CompletableFuture<Void> setEnchantLevel(UUID playerUUID, String enchantName, int level) {
-        if (level <= 0) {
-            return removeEnchant(playerUUID, enchantName);
+        List<String> statements = new ArrayList<>();
+        List<Object[]> parameters = new ArrayList<>();
+        addEnchantLevel(playerUUID, enchantName, level, statements, parameters);
+        return writeProfile(playerUUID, statements, parameters);
+    }
+
+    /**
+     * Sets the enchant level and counts the unlock in one transaction
+     */
+    public CompletableFuture<Void> unlockEnchant(UUID playerUUID, String enchantName, int level) {
+        List<String> statements = new ArrayList<>();
+        List<Object[]> parameters = new ArrayList<>();
+        addEnchantLevel(playerUUID, enchantName, level, statements, parameters);
+        statements.add("UPDATE player_statistics SET enchants_unlocked = enchants_unlocked + ? WHERE uuid = ?");
+        parameters.add(new Object[]{1L, playerUUID.toString()});
+        return writeProfile(playerUUID, statements, parameters);
+    }
+
+    public CompletableFuture<Void> removeEnchant(UUID playerUUID, String enchantName) {
+        return setEnchantLevel(playerUUID, enchantName, 0);
+    }
+
+    /**
+     * Adds the row change for an enchant level (0 or less removes it) and updates the cache
+     */
+    private void addEnchantLevel(UUID playerUUID, String enchantName, int level, List<String> statements, List<Object[]> parameters) {
+        Map<String, Integer> cached = enchantCache.get(playerUUID);
+        if (cached == null) {
+            bumpStamp(playerUUID);
         }
 
-        String sql;
-        Object[] params;
+        if (level <= 0) {
+            if (cached != null) {
+                cached.remove(enchantName);
+            }
+            statements.add("DELETE FROM player_enchants WHERE uuid = ? AND enchant_name = ?");
+            parameters.add(new Object[]{playerUUID.toString(), enchantName});
+            return;
+        }
 
         if (plugin.getDatabaseManager().isMySQL()) {
-            sql = "INSERT INTO player_enchants (uuid, enchant_name, level, unlocked_at) " +
+            statements.add("INSERT INTO player_enchants (uuid, enchant_name, level, unlocked_at) " +
                     "VALUES (?, ?, ?, ?) " +
-                    "ON DUPLICATE KEY UPDATE level = ?";
-            params = new Object[]{playerUUID.toString(), enchantName, level, System.currentTimeMillis(), level};
+                    "ON DUPLICATE KEY UPDATE level = ?");
+            parameters.add(new Object[]{playerUUID.toString(), enchantName, level, System.currentTimeMillis(), level});
         } else {
-            sql = "INSERT OR REPLACE INTO player_enchants (uuid, enchant_name, level, unlocked_at) " +
-                    "VALUES (?, ?, ?, ?)";
-            params = new Object[]{playerUUID.toString(), enchantName, level, System.currentTimeMillis()};
+            statements.add("INSERT OR REPLACE INTO player_enchants (uuid, enchant_name, level, unlocked_at) " +
+                    "VALUES (?, ?, ?, ?)");
+            parameters.add(new Object[]{playerUUID.toString(), enchantName, level, System.currentTimeMillis()});
         }
 
-        return plugin.getDatabaseManager().executeAsync(sql, params);
+        if (cached != null) {
+            cached.put(enchantName, level);
+        }
     }
 
-    public CompletableFuture<Void> unlockEnchant(UUID playerUUID, String enchantName, int level) {
-        return setEnchantLevel(playerUUID, enchantName, level).thenCompose(v ->
-                incrementStatistic(playerUUID, "enchants_unlocked", 1)
-        );
-    }
-
-    public CompletableFuture<Void> removeEnchant(UUID playerUUID, String enchantName) {
-        return plugin.getDatabaseManager().executeAsync(
-                "DELETE FROM player_enchants WHERE uuid = ? AND enchant_name = ?",
-                playerUUID.toString(), enchantName
-        );
+    /**
+     * Writes profile rows and the cross-server sync marker as one transaction, tracked for the quit flush
+     */
+    private CompletableFuture<Void> writeProfile(UUID playerUUID, List<String> statements, List<Object[]> parameters) {
+        plugin.getProfileSyncService().addChange(playerUUID, statements, parameters);
+        return writeInOrder(playerUUID, () -> plugin.getDatabaseManager().executeTransactionAsync(statements, parameters));
     }
 
     public CompletableFuture<Boolean> hasEnchantUnlocked(UUID playerUUID, String enchantName) {
@@ -136,17 +480,17 @@ public class PlayerDataManager {
     }
 
     public CompletableFuture<Void> setStatistic(UUID playerUUID, String statisticName, long value) {
-        return plugin.getDatabaseManager().executeAsync(
+        return trackWrite(playerUUID, plugin.getDatabaseManager().executeAsync(
                 "UPDATE player_statistics SET " + statisticName + " = ? WHERE uuid = ?",
                 value, playerUUID.toString()
-        );
+        ));
     }
 
     public CompletableFuture<Void> incrementStatistic(UUID playerUUID, String statisticName, long amount) {
-        return plugin.getDatabaseManager().executeAsync(
+        return trackWrite(playerUUID, plugin.getDatabaseManager().executeAsync(
                 "UPDATE player_statistics SET " + statisticName + " = " + statisticName + " + ? WHERE uuid = ?",
                 amount, playerUUID.toString()
-        );
+        ));
     }
 
     public CompletableFuture<Map<String, Long>> getPlayerStatistics(UUID playerUUID) {
@@ -171,7 +515,13 @@ public class PlayerDataManager {
     }
 
     public CompletableFuture<Long> getRedemptionCooldown(UUID playerUUID) {
-        return plugin.getDatabaseManager().queryAsync(
+        Long cached = redemptionCooldownCache.get(playerUUID);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        long stamp = cacheStamp(playerUUID);
+        return afterPendingWrites(playerUUID).thenCompose(v -> plugin.getDatabaseManager().queryAsync(
                 "SELECT redemption_cooldown FROM player_data WHERE uuid = ?",
                 resultSet -> {
                     if (resultSet.next()) {
@@ -180,10 +530,25 @@ public class PlayerDataManager {
                     return 0L;
                 },
                 playerUUID.toString()
-        );
+        )).thenApply(cooldownEnd -> {
+            if (cooldownEnd == null) {
+                return 0L;
+            }
+            admit(redemptionCooldownCache, playerUUID, cooldownEnd, stamp);
+            return cooldownEnd;
+        });
+    }
+
+    /**
+     * Gets the cached redemption cooldown end, or null if it hasn't been loaded
+     */
+    public Long getCachedRedemptionCooldown(UUID playerUUID) {
+        return redemptionCooldownCache.get(playerUUID);
     }
 
     public CompletableFuture<Void> setRedemptionCooldown(UUID playerUUID, long cooldownEnd) {
+        List<String> statements = new ArrayList<>();
+        List<Object[]> parameters = new ArrayList<>();
         String sql;
         Object[] params;
 
@@ -201,7 +566,15 @@ public class PlayerDataManager {
             params = new Object[]{playerUUID.toString(), playerUUID.toString(), playerUUID.toString(), System.currentTimeMillis(), cooldownEnd};
         }
 
-        return plugin.getDatabaseManager().executeAsync(sql, params);
+        if (isCached(playerUUID)) {
+            redemptionCooldownCache.put(playerUUID, cooldownEnd);
+        } else {
+            bumpStamp(playerUUID);
+        }
+
+        statements.add(sql);
+        parameters.add(params);
+        return writeProfile(playerUUID, statements, parameters);
     }
 
     public CompletableFuture<Boolean> isOnRedemptionCooldown(UUID playerUUID) {
@@ -217,104 +590,33 @@ public class PlayerDataManager {
                 });
     }
 
+    // Perk balances live in the PerkLedger; these keep the old entry points working
+
     public CompletableFuture<Map<String, Integer>> getPlayerPerks(UUID playerUUID) {
-        return plugin.getDatabaseManager().queryAsync(
-                "SELECT perk_name, amount FROM player_perks WHERE uuid = ?",
-                resultSet -> {
-                    Map<String, Integer> perks = new HashMap<>();
-                    while (resultSet.next()) {
-                        perks.put(resultSet.getString("perk_name"),
-                                resultSet.getInt("amount"));
-                    }
-                    return perks;
-                },
-                playerUUID.toString()
-        );
+        return plugin.getPerkLedger().getPerks(playerUUID);
     }
 
     public CompletableFuture<Integer> getPerkAmount(UUID playerUUID, String perkName) {
-        return plugin.getDatabaseManager().queryAsync(
-                "SELECT amount FROM player_perks WHERE uuid = ? AND perk_name = ?",
-                resultSet -> {
-                    if (resultSet.next()) {
-                        return resultSet.getInt("amount");
-                    }
-                    return 0;
-                },
-                playerUUID.toString(), perkName
-        );
+        return plugin.getPerkLedger().getAmount(playerUUID, perkName);
     }
 
     public CompletableFuture<Void> setPerkAmount(UUID playerUUID, String perkName, int amount) {
-        if (amount <= 0) {
-            return plugin.getDatabaseManager().executeAsync(
-                    "DELETE FROM player_perks WHERE uuid = ? AND perk_name = ?",
-                    playerUUID.toString(), perkName
-            );
-        }
-
-        String sql;
-        Object[] params;
-
-        if (plugin.getDatabaseManager().isMySQL()) {
-            sql = "INSERT INTO player_perks (uuid, perk_name, amount, last_used) " +
-                    "VALUES (?, ?, ?, 0) " +
-                    "ON DUPLICATE KEY UPDATE amount = ?";
-            params = new Object[]{playerUUID.toString(), perkName, amount, amount};
-        } else {
-            sql = "INSERT OR REPLACE INTO player_perks (uuid, perk_name, amount, last_used) " +
-                    "VALUES (?, ?, ?, COALESCE((SELECT last_used FROM player_perks WHERE uuid = ? AND perk_name = ?), 0))";
-            params = new Object[]{playerUUID.toString(), perkName, amount, playerUUID.toString(), perkName};
-        }
-
-        return plugin.getDatabaseManager().executeAsync(sql, params);
+        return plugin.getPerkLedger().setAmount(playerUUID, perkName, amount);
     }
 
     public CompletableFuture<Void> addPerk(UUID playerUUID, String perkName, int amount) {
-        return getPerkAmount(playerUUID, perkName)
-                .thenCompose(currentAmount ->
-                        setPerkAmount(playerUUID, perkName, currentAmount + amount)
-                );
+        return plugin.getPerkLedger().credit(playerUUID, perkName, amount);
     }
 
     public CompletableFuture<Boolean> usePerk(UUID playerUUID, String perkName) {
-        return getPerkAmount(playerUUID, perkName)
-                .thenCompose(currentAmount -> {
-                    if (currentAmount > 0) {
-                        return setPerkAmount(playerUUID, perkName, currentAmount - 1)
-                                .thenCompose(v -> updatePerkLastUsed(playerUUID, perkName))
-                                .thenApply(v -> true);
-                    }
-                    return CompletableFuture.completedFuture(false);
-                });
+        return plugin.getPerkLedger().consume(playerUUID, perkName);
     }
 
     public CompletableFuture<Void> updatePerkLastUsed(UUID playerUUID, String perkName) {
-        String sql;
-        Object[] params;
-
-        if (plugin.getDatabaseManager().isMySQL()) {
-            sql = "UPDATE player_perks SET last_used = ? WHERE uuid = ? AND perk_name = ?";
-            params = new Object[]{System.currentTimeMillis(), playerUUID.toString(), perkName};
-        } else {
-            sql = "INSERT OR REPLACE INTO player_perks (uuid, perk_name, amount, last_used) " +
-                    "VALUES (?, ?, COALESCE((SELECT amount FROM player_perks WHERE uuid = ? AND perk_name = ?), 1), ?)";
-            params = new Object[]{playerUUID.toString(), perkName, playerUUID.toString(), perkName, System.currentTimeMillis()};
-        }
-
-        return plugin.getDatabaseManager().executeAsync(sql, params);
+        return plugin.getPerkLedger().markUsed(playerUUID, perkName);
     }
 
     public CompletableFuture<Long> getPerkLastUsed(UUID playerUUID, String perkName) {
-        return plugin.getDatabaseManager().queryAsync(
-                "SELECT last_used FROM player_perks WHERE uuid = ? AND perk_name = ?",
-                resultSet -> {
-                    if (resultSet.next()) {
-                        return resultSet.getLong("last_used");
-                    }
-                    return 0L;
-                },
-                playerUUID.toString(), perkName
-        );
+        return plugin.getPerkLedger().getLastUsed(playerUUID, perkName);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,99 @@
+package com.mystenchants.managers;
+
+import org.bukkit.Location;
+
+/**
+ * One redemption arena from the configured pool.
+ *
+ * An arena moves IDLE -> RESERVED while a queued player is asked to confirm, IDLE or
+ * RESERVED -> FIGHTING when a fighter is assigned, FIGHTING -> CELEBRATING after a
+ * victory, and back to IDLE once its fight is cleaned up or the offer lapses. Only an
+ * IDLE arena with both spawn points set can be offered to the next player in the queue.
+ */
+public class RedemptionArena {
+
+    public enum State {
+        IDLE,
+        RESERVED,
+        FIGHTING,
+        CELEBRATING
+    }
+
+    private final String name;
+    private Location bossSpawnPoint;
+    private Location playerSpawnPoint;
+    private State state = State.IDLE;
+    private RedemptionFight fight;
+
+    RedemptionArena(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Checks if both spawn points are set
+     */
+    public boolean isReady() {
+        return bossSpawnPoint != null && playerSpawnPoint != null;
+    }
+
+    /**
+     * Checks if the arena can take a new fighter
+     */
+    public boolean isAvailable() {
+        return state == State.IDLE && isReady();
+    }
+
+    void reserve() {
+        if (state != State.IDLE) {
+            throw new IllegalStateException("Arena " + name + " is " + state);
+        }
+        this.state = State.RESERVED;
+    }
+
+    void begin(RedemptionFight fight) {
+        if (state != State.IDLE && state != State.RESERVED) {
+            throw new IllegalStateException("Arena " + name + " is " + state);
+        }
+        this.fight = fight;
+        this.state = State.FIGHTING;
+    }
+
+    void celebrate() {
+        if (state == State.FIGHTING) {
+            state = State.CELEBRATING;
+        }
+    }
+
+    void release() {
+        this.fight = null;
+        this.state = State.IDLE;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public RedemptionFight getFight() {
+        return fight;
+    }
+
+    public Location getBossSpawnPoint() {
+        return bossSpawnPoint;
+    }
+
+    void setBossSpawnPoint(Location bossSpawnPoint) {
+        this.bossSpawnPoint = bossSpawnPoint;
+    }
+
+    public Location getPlayerSpawnPoint() {
+        return playerSpawnPoint;
+    }
+
+    void setPlayerSpawnPoint(Location playerSpawnPoint) {
+        this.playerSpawnPoint = playerSpawnPoint;
+    }
+}
@@ -0,0 +1,130 @@
+package com.mystenchants.managers;
+
+import com.mystenchants.perf.BossFightEvent;
+import org.bukkit.Location;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * State of one running redemption boss fight.
+ *
+ * The arena center and squared radius are fixed when the fight starts, so boundary
+ * checks on movement are a single distanceSquared comparison. A fight is resolved
+ * exactly once (victory, death, quit, timeout or admin end); later events are ignored.
+ */
+public class RedemptionFight {
+
+    private final RedemptionArena arena;
+    private final Player fighter;
+    private final Location origin;
+    private final Location arenaCenter;
+    private final Location bossSpawn;
+    private final double radiusSquared;
+    private final long startTime;
+    private final Set<Player> spectators = new HashSet<>();
+    private final BossFightEvent flightRecord = BossFightEvent.start();
+
+    private LivingEntity boss;
+    private BukkitTask timeoutTask;
+    private BukkitTask celebrationTask;
+    private boolean resolved;
+
+    RedemptionFight(RedemptionArena arena, Player fighter, Location origin, double radius) {
+        this.arena = arena;
+        this.fighter = fighter;
+        this.origin = origin;
+        this.arenaCenter = arena.getPlayerSpawnPoint().clone();
+        this.bossSpawn = arena.getBossSpawnPoint().clone();
+        this.radiusSquared = radius * radius;
+        this.startTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Checks whether a location lies inside the arena
+     */
+    public boolean isInside(Location location) {
+        return location.getWorld() != null
+                && location.getWorld().equals(arenaCenter.getWorld())
+                && location.distanceSquared(arenaCenter) <= radiusSquared;
+    }
+
+    public RedemptionArena getArena() {
+        return arena;
+    }
+
+    public Player getFighter() {
+        return fighter;
+    }
+
+    public UUID getFighterUUID() {
+        return fighter.getUniqueId();
+    }
+
+    public Location getOrigin() {
+        return origin;
+    }
+
+    public Location getArenaCenter() {
+        return arenaCenter;
+    }
+
+    public Location getBossSpawn() {
+        return bossSpawn;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public LivingEntity getBoss() {
+        return boss;
+    }
+
+    void setBoss(LivingEntity boss) {
+        this.boss = boss;
+    }
+
+    public Set<Player> getSpectators() {
+        return spectators;
+    }
+
+    public boolean isResolved() {
+        return resolved;
+    }
+
+    void resolve(boolean success, String reason) {
+        if (!resolved) {
+            flightRecord.complete(arena.getName(), fighter.getName(), success, reason);
+        }
+        this.resolved = true;
+        cancelTimeout();
+    }
+
+    void setTimeoutTask(BukkitTask timeoutTask) {
+        this.timeoutTask = timeoutTask;
+    }
+
+    void setCelebrationTask(BukkitTask celebrationTask) {
+        this.celebrationTask = celebrationTask;
+    }
+
+    void cancelTimeout() {
+        if (timeoutTask != null) {
+            timeoutTask.cancel();
+            timeoutTask = null;
+        }
+    }
+
+    void cancelTasks() {
+        cancelTimeout();
+        if (celebrationTask != null) {
+            celebrationTask.cancel();
+            celebrationTask = null;
+        }
+    }
+}
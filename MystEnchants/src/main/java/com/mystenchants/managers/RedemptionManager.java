@@ -11,38 +11,124 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 /**
  * ENHANCED: Manages redemption boss fights with position saving and victory celebration
+ *
+ * Fights are event-driven: {@link com.mystenchants.listeners.RedemptionArenaListener}
+ * reports boss deaths, arena exits and teleports, the death and quit listeners report
+ * fighter losses, and each fight's timeout is a single delayed task.
+ *
+ * Arenas come from {@code boss-fight.arenas} and keep their spawn points in
+ * redemption_data, one row per arena. Players who confirm while every arena is busy
+ * wait in a FIFO queue. When an arena frees up it is reserved for the next player, who
+ * must accept a ready check before their inventory is cleared and they are teleported;
+ * an unanswered check lapses and the arena goes to the player after them.
  */
 public class RedemptionManager {
 
+    public static final String DEFAULT_ARENA = "default";
+
     private final MystEnchants plugin;
-    private Location bossSpawnPoint;
-    private Location playerSpawnPoint;
-    private Location fighterOriginalLocation; // ADDED: Store original location
-    private Player currentFighter;
-    private LivingEntity boss;
-    private final Set<Player> spectators = new HashSet<>();
-    private BukkitTask fightTask;
-    private BukkitTask celebrationTask; // ADDED: For victory celebration
-    private long fightStartTime;
+    private final Map<String, RedemptionArena> arenas = new LinkedHashMap<>();
+    private final Map<UUID, RedemptionFight> fightsByFighter = new HashMap<>();
+    private final Map<UUID, RedemptionFight> fightsByBoss = new HashMap<>();
+    // Queued player -> the world they queued from
+    private final Map<UUID, UUID> queue = new LinkedHashMap<>();
+    private final Map<UUID, ReadyCheck> readyChecks = new HashMap<>();
+    private boolean assigning;
 
     public RedemptionManager(MystEnchants plugin) {
         this.plugin = plugin;
-        // Load spawn points after a short delay to ensure database is ready
-        Bukkit.getScheduler().runTaskLater(plugin, this::loadSpawnPoints, 20L);
+        loadArenas();
+        // Spawn points are restored as soon as their worlds are loaded
+        loadSpawnPoints();
     }
 
     /**
      * ADDED: Check if an entity is the redemption boss
      */
     public boolean isRedemptionBoss(Entity entity) {
-        return boss != null && entity.equals(boss);
+        return fightsByBoss.containsKey(entity.getUniqueId());
+    }
+
+    /**
+     * Gets the fight a player is the fighter of, or null
+     */
+    public RedemptionFight getFight(Player player) {
+        return fightsByFighter.get(player.getUniqueId());
+    }
+
+    /**
+     * Gets the fight whose boss is this entity, or null
+     */
+    public RedemptionFight getFightByBoss(Entity entity) {
+        return fightsByBoss.get(entity.getUniqueId());
+    }
+
+    /**
+     * Checks if a player is fighting a redemption boss
+     */
+    public boolean isFighting(Player player) {
+        RedemptionFight fight = getFight(player);
+        return fight != null && !fight.isResolved();
+    }
+
+    // ========================================
+    // ARENAS
+    // ========================================
+
+    /**
+     * Builds the arena pool from config
+     */
+    private void loadArenas() {
+        List<String> names = plugin.getConfigManager().getConfig("config.yml").getStringList("boss-fight.arenas");
+        if (names.isEmpty()) {
+            names = Collections.singletonList(DEFAULT_ARENA);
+        }
+
+        for (String name : names) {
+            arenas.put(name.toLowerCase(), new RedemptionArena(name.toLowerCase()));
+        }
+        plugin.getLogger().info("Loaded " + arenas.size() + " redemption arena(s): " + arenas.keySet());
+    }
+
+    /**
+     * Gets an arena by name, or null if it isn't in the pool
+     */
+    public RedemptionArena getArena(String name) {
+        return name != null ? arenas.get(name.toLowerCase()) : null;
+    }
+
+    /**
+     * Gets every arena in config order
+     */
+    public Collection<RedemptionArena> getArenas() {
+        return Collections.unmodifiableCollection(arenas.values());
+    }
+
+    /**
+     * Finds the first arena that can take a fighter, or null if all are busy
+     */
+    private RedemptionArena findFreeArena() {
+        for (RedemptionArena arena : arenas.values()) {
+            if (arena.isAvailable()) {
+                return arena;
+            }
+        }
+        return null;
     }
 
     /**
@@ -50,33 +136,52 @@ public class RedemptionManager {
      */
     private void loadSpawnPoints() {
         plugin.getDatabaseManager().queryAsync(
-                "SELECT * FROM redemption_data ORDER BY id LIMIT 1",
+                "SELECT * FROM redemption_data WHERE arena IS NOT NULL",
                 resultSet -> {
-                    if (resultSet.next()) {
+                    int rows = 0;
+                    while (resultSet.next()) {
+                        rows++;
                         try {
-                            double bossX = resultSet.getDouble("boss_spawn_x");
-                            double bossY = resultSet.getDouble("boss_spawn_y");
-                            double bossZ = resultSet.getDouble("boss_spawn_z");
-                            String bossWorld = resultSet.getString("boss_spawn_world");
-
-                            double playerX = resultSet.getDouble("player_spawn_x");
-                            double playerY = resultSet.getDouble("player_spawn_y");
-                            double playerZ = resultSet.getDouble("player_spawn_z");
-                            String playerWorld = resultSet.getString("player_spawn_world");
+                            RedemptionArena arena = getArena(resultSet.getString("arena"));
+                            if (arena == null) {
+                                plugin.getLogger().info("Ignoring redemption arena not in config: " + resultSet.getString("arena"));
+                                continue;
+                            }
 
-                            if (bossWorld != null && Bukkit.getWorld(bossWorld) != null) {
-                                bossSpawnPoint = new Location(Bukkit.getWorld(bossWorld), bossX, bossY, bossZ);
-                                plugin.getLogger().info("Loaded boss spawn point: " + bossSpawnPoint);
+                            String bossWorld = resultSet.getString("boss_spawn_world");
+                            if (bossWorld != null) {
+                                double bossX = resultSet.getDouble("boss_spawn_x");
+                                double bossY = resultSet.getDouble("boss_spawn_y");
+                                double bossZ = resultSet.getDouble("boss_spawn_z");
+
+                                // Don't overwrite a point an admin set while the world was still loading
+                                plugin.getStateStore().restoreLocation(bossWorld, bossX, bossY, bossZ, location -> {
+                                    if (arena.getBossSpawnPoint() == null) {
+                                        arena.setBossSpawnPoint(location);
+                                        plugin.getLogger().info("Loaded boss spawn point for arena " + arena.getName() + ": " + location);
+                                    }
+                                });
                             }
 
-                            if (playerWorld != null && Bukkit.getWorld(playerWorld) != null) {
-                                playerSpawnPoint = new Location(Bukkit.getWorld(playerWorld), playerX, playerY, playerZ);
-                                plugin.getLogger().info("Loaded player spawn point: " + playerSpawnPoint);
+                            String playerWorld = resultSet.getString("player_spawn_world");
+                            if (playerWorld != null) {
+                                double playerX = resultSet.getDouble("player_spawn_x");
+                                double playerY = resultSet.getDouble("player_spawn_y");
+                                double playerZ = resultSet.getDouble("player_spawn_z");
+
+                                plugin.getStateStore().restoreLocation(playerWorld, playerX, playerY, playerZ, location -> {
+                                    if (arena.getPlayerSpawnPoint() == null) {
+                                        arena.setPlayerSpawnPoint(location);
+                                        plugin.getLogger().info("Loaded player spawn point for arena " + arena.getName() + ": " + location);
+                                    }
+                                });
                             }
                         } catch (Exception e) {
                             plugin.getLogger().warning("Error loading spawn points: " + e.getMessage());
                         }
-                    } else {
+                    }
+
+                    if (rows == 0) {
                         plugin.getLogger().info("No redemption spawn points found in database");
                     }
                     return null;
@@ -88,95 +193,320 @@ public class RedemptionManager {
     }
 
     /**
-     * Sets the boss spawn point
+     * Sets an arena's boss spawn point
+     */
+    public CompletableFuture<Void> setBossSpawnPoint(RedemptionArena arena, Location location) {
+        arena.setBossSpawnPoint(location);
+        return saveSpawnPoint(arena, "boss_spawn", location);
+    }
+
+    /**
+     * Sets an arena's player spawn point
      */
-    public CompletableFuture<Void> setBossSpawnPoint(Location location) {
-        this.bossSpawnPoint = location;
+    public CompletableFuture<Void> setPlayerSpawnPoint(RedemptionArena arena, Location location) {
+        arena.setPlayerSpawnPoint(location);
+        return saveSpawnPoint(arena, "player_spawn", location);
+    }
 
-        String sql;
-        Object[] params;
+    /**
+     * Writes one spawn point, creating the arena's row first if needed
+     */
+    private CompletableFuture<Void> saveSpawnPoint(RedemptionArena arena, String prefix, Location location) {
+        String insert = (plugin.getDatabaseManager().isMySQL() ? "INSERT IGNORE" : "INSERT OR IGNORE") +
+                " INTO redemption_data (arena, fight_start_time) VALUES (?, 0)";
+        String update = "UPDATE redemption_data SET " + prefix + "_x = ?, " + prefix + "_y = ?, " +
+                prefix + "_z = ?, " + prefix + "_world = ? WHERE arena = ?";
+
+        return plugin.getDatabaseManager().executeTransactionAsync(
+                Arrays.asList(insert, update),
+                Arrays.asList(
+                        new Object[]{arena.getName()},
+                        new Object[]{location.getX(), location.getY(), location.getZ(), location.getWorld().getName(), arena.getName()}
+                ));
+    }
 
-        if (plugin.getDatabaseManager().isMySQL()) {
-            sql = "INSERT INTO redemption_data (id, boss_spawn_x, boss_spawn_y, boss_spawn_z, boss_spawn_world) " +
-                    "VALUES (1, ?, ?, ?, ?) " +
-                    "ON DUPLICATE KEY UPDATE boss_spawn_x = ?, boss_spawn_y = ?, boss_spawn_z = ?, boss_spawn_world = ?";
-            params = new Object[]{
-                    location.getX(), location.getY(), location.getZ(), location.getWorld().getName(),
-                    location.getX(), location.getY(), location.getZ(), location.getWorld().getName()
-            };
-        } else {
-            // For SQLite, we need to handle the UPSERT differently
-            sql = "INSERT OR REPLACE INTO redemption_data (id, boss_spawn_x, boss_spawn_y, boss_spawn_z, boss_spawn_world, " +
-                    "player_spawn_x, player_spawn_y, player_spawn_z, player_spawn_world, current_fighter, fight_start_time) " +
-                    "VALUES (1, ?, ?, ?, ?, " +
-                    "COALESCE((SELECT player_spawn_x FROM redemption_data WHERE id = 1), 0), " +
-                    "COALESCE((SELECT player_spawn_y FROM redemption_data WHERE id = 1), 0), " +
-                    "COALESCE((SELECT player_spawn_z FROM redemption_data WHERE id = 1), 0), " +
-                    "COALESCE((SELECT player_spawn_world FROM redemption_data WHERE id = 1), 'world'), " +
-                    "NULL, 0)";
-            params = new Object[]{location.getX(), location.getY(), location.getZ(), location.getWorld().getName()};
+    /**
+     * Checks if at least one arena has both spawn points set
+     */
+    public boolean areSpawnPointsSet() {
+        for (RedemptionArena arena : arenas.values()) {
+            if (arena.isReady()) {
+                return true;
+            }
         }
+        plugin.getLogger().info("Spawn points check - no redemption arena has both spawn points set");
+        return false;
+    }
 
-        return plugin.getDatabaseManager().executeAsync(sql, params);
+    /**
+     * Checks if a redemption fight is active
+     */
+    public boolean isRedemptionActive() {
+        for (RedemptionFight fight : fightsByFighter.values()) {
+            if (!fight.isResolved()) {
+                return true;
+            }
+        }
+        return false;
     }
 
+    // ========================================
+    // QUEUE
+    // ========================================
+
     /**
-     * Sets the player spawn point
+     * Checks if a player is waiting for an arena
      */
-    public CompletableFuture<Void> setPlayerSpawnPoint(Location location) {
-        this.playerSpawnPoint = location;
+    public boolean isQueued(Player player) {
+        return queue.containsKey(player.getUniqueId());
+    }
 
-        String sql;
-        Object[] params;
+    /**
+     * Checks if an arena is being held for a player until they accept
+     */
+    public boolean hasReadyCheck(Player player) {
+        return readyChecks.containsKey(player.getUniqueId());
+    }
 
-        if (plugin.getDatabaseManager().isMySQL()) {
-            sql = "INSERT INTO redemption_data (id, player_spawn_x, player_spawn_y, player_spawn_z, player_spawn_world) " +
-                    "VALUES (1, ?, ?, ?, ?) " +
-                    "ON DUPLICATE KEY UPDATE player_spawn_x = ?, player_spawn_y = ?, player_spawn_z = ?, player_spawn_world = ?";
-            params = new Object[]{
-                    location.getX(), location.getY(), location.getZ(), location.getWorld().getName(),
-                    location.getX(), location.getY(), location.getZ(), location.getWorld().getName()
-            };
-        } else {
-            // For SQLite, we need to handle the UPSERT differently
-            sql = "INSERT OR REPLACE INTO redemption_data (id, boss_spawn_x, boss_spawn_y, boss_spawn_z, boss_spawn_world, " +
-                    "player_spawn_x, player_spawn_y, player_spawn_z, player_spawn_world, current_fighter, fight_start_time) " +
-                    "VALUES (1, " +
-                    "COALESCE((SELECT boss_spawn_x FROM redemption_data WHERE id = 1), 0), " +
-                    "COALESCE((SELECT boss_spawn_y FROM redemption_data WHERE id = 1), 0), " +
-                    "COALESCE((SELECT boss_spawn_z FROM redemption_data WHERE id = 1), 0), " +
-                    "COALESCE((SELECT boss_spawn_world FROM redemption_data WHERE id = 1), 'world'), " +
-                    "?, ?, ?, ?, NULL, 0)";
-            params = new Object[]{location.getX(), location.getY(), location.getZ(), location.getWorld().getName()};
+    /**
+     * Gets a player's 1-based queue position, or 0 if they aren't queued
+     */
+    public int getQueuePosition(Player player) {
+        int position = 1;
+        for (UUID uuid : queue.keySet()) {
+            if (uuid.equals(player.getUniqueId())) {
+                return position;
+            }
+            position++;
+        }
+        return 0;
+    }
+
+    /**
+     * Removes a player from the queue, giving up any arena held for them; false if they
+     * weren't queued
+     */
+    public boolean leaveQueue(Player player) {
+        ReadyCheck check = readyChecks.remove(player.getUniqueId());
+        if (check != null) {
+            releaseReadyCheck(check);
+            return true;
+        }
+        if (queue.remove(player.getUniqueId()) == null) {
+            return false;
         }
+        notifyQueuePositions();
+        return true;
+    }
+
+    private void sendQueuePosition(Player player, String path, String defaultMessage) {
+        String message = plugin.getConfigManager().getString("config.yml", path, defaultMessage);
+        message = message.replace("{position}", String.valueOf(getQueuePosition(player)))
+                .replace("{size}", String.valueOf(queue.size()));
+        player.sendMessage(ColorUtils.color(message));
+    }
 
-        return plugin.getDatabaseManager().executeAsync(sql, params);
+    private void notifyQueuePositions() {
+        for (UUID uuid : queue.keySet()) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null) {
+                sendQueuePosition(player, "messages.redemption-queue-position", "&7You are now &6#{position} &7in the redemption queue.");
+            }
+        }
     }
 
     /**
-     * Checks if spawn points are set
+     * Offers free arenas to waiting players in queue order
      */
-    public boolean areSpawnPointsSet() {
-        boolean isSet = bossSpawnPoint != null && playerSpawnPoint != null;
-        if (!isSet) {
-            plugin.getLogger().info("Spawn points check - Boss: " + (bossSpawnPoint != null) + ", Player: " + (playerSpawnPoint != null));
+    private void assignQueued() {
+        if (assigning || queue.isEmpty()) return;
+
+        assigning = true;
+        boolean changed = false;
+        try {
+            Iterator<Map.Entry<UUID, UUID>> iterator = queue.entrySet().iterator();
+            while (iterator.hasNext()) {
+                RedemptionArena arena = findFreeArena();
+                if (arena == null) break;
+
+                Map.Entry<UUID, UUID> entry = iterator.next();
+                UUID uuid = entry.getKey();
+                iterator.remove();
+                changed = true;
+
+                Player player = Bukkit.getPlayer(uuid);
+                if (player == null) continue;
+
+                // Re-check what may have changed while they waited
+                Long cooldownEnd = plugin.getPlayerDataManager().getCachedRedemptionCooldown(uuid);
+                if (cooldownEnd != null && System.currentTimeMillis() < cooldownEnd) {
+                    sendCooldownMessage(player, cooldownEnd);
+                    continue;
+                }
+                if (!hasInventorySpaceForRewards(player)) {
+                    sendInventoryFullMessage(player);
+                    player.sendMessage(ColorUtils.color("&cYou have been removed from the redemption queue."));
+                    continue;
+                }
+
+                offerArena(arena, player, entry.getValue());
+            }
+        } finally {
+            assigning = false;
         }
-        return isSet;
+
+        if (changed) {
+            notifyQueuePositions();
+        }
+    }
+
+    private void clearQueue() {
+        queue.clear();
+        for (ReadyCheck check : readyChecks.values()) {
+            check.timeout.cancel();
+            check.arena.release();
+        }
+        readyChecks.clear();
     }
 
+    // ========================================
+    // READY CHECKS
+    // ========================================
+
     /**
-     * Checks if a redemption fight is active
+     * Holds an arena for a queued player until they accept or the check lapses
      */
-    public boolean isRedemptionActive() {
-        return currentFighter != null && boss != null && !boss.isDead();
+    private void offerArena(RedemptionArena arena, Player player, UUID queuedWorld) {
+        int seconds = plugin.getConfigManager().getInt("config.yml", "boss-fight.ready-check-seconds", 30);
+        arena.reserve();
+
+        UUID uuid = player.getUniqueId();
+        BukkitTask timeout = Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            ReadyCheck check = readyChecks.remove(uuid);
+            if (check == null) return;
+
+            Player waiting = Bukkit.getPlayer(uuid);
+            if (waiting != null) {
+                waiting.sendMessage(ColorUtils.color(plugin.getConfigManager().getString("config.yml", "messages.redemption-ready-expired",
+                        "&cYou didn't accept in time and have been removed from the redemption queue.")));
+            }
+            releaseReadyCheck(check);
+        }, seconds * 20L);
+        readyChecks.put(uuid, new ReadyCheck(arena, queuedWorld, timeout));
+
+        String message = plugin.getConfigManager().getString("config.yml", "messages.redemption-ready-check",
+                "&aA redemption arena is ready! Use &6/redemption accept &awithin &6{time} &ato start. &cYour inventory will be cleared when the fight begins.");
+        player.sendMessage(ColorUtils.color(message.replace("{time}", ColorUtils.formatTime(seconds))));
+    }
+
+    /**
+     * Starts the fight held for a player once their state is re-checked; false if no
+     * arena is being held for them
+     */
+    public boolean acceptReadyCheck(Player player) {
+        ReadyCheck check = readyChecks.get(player.getUniqueId());
+        if (check == null) {
+            return false;
+        }
+
+        // Anything may have changed since they queued; a failed check can be retried until it lapses
+        String problem = checkReady(player, check);
+        if (problem != null) {
+            player.sendMessage(ColorUtils.color(problem));
+            return true;
+        }
+
+        readyChecks.remove(player.getUniqueId());
+        check.timeout.cancel();
+        beginFight(check.arena, player);
+        return true;
+    }
+
+    /**
+     * Describes why a player can't start their fight right now, or null if they can
+     */
+    private String checkReady(Player player, ReadyCheck check) {
+        if (player.isDead()) {
+            return "&cYou can't start a redemption fight while dead.";
+        }
+
+        // Inventories may be per world; only clear the one the player queued with
+        if (!player.getWorld().getUID().equals(check.queuedWorld)) {
+            return "&cReturn to the world you queued from to start your redemption fight.";
+        }
+
+        int combatSeconds = plugin.getConfigManager().getInt("config.yml", "boss-fight.ready-check-combat-seconds", 10);
+        if (plugin.getPerkCombatListener() != null
+                && plugin.getPerkCombatListener().wasHitWithin(player, combatSeconds * 1000L)) {
+            return "&cYou can't start a redemption fight while in combat.";
+        }
+
+        Long cooldownEnd = plugin.getPlayerDataManager().getCachedRedemptionCooldown(player.getUniqueId());
+        if (cooldownEnd != null && System.currentTimeMillis() < cooldownEnd) {
+            return "&cYou are on redemption cooldown for &6" + ColorUtils.formatTime(Math.max(0, (cooldownEnd - System.currentTimeMillis()) / 1000)) + "&c!";
+        }
+
+        if (!hasInventorySpaceForRewards(player)) {
+            int requiredSlots = plugin.getConfigManager().getInt("config.yml", "boss-fight.required-inventory-slots", 2);
+            return "&cYour inventory is full! You need at least " + requiredSlots + " empty slots for redemption rewards!";
+        }
+        return null;
+    }
+
+    /**
+     * Frees a held arena and offers it to the next player
+     */
+    private void releaseReadyCheck(ReadyCheck check) {
+        check.timeout.cancel();
+        check.arena.release();
+        assignQueued();
+        notifyQueuePositions();
+    }
+
+    private static final class ReadyCheck {
+        final RedemptionArena arena;
+        final UUID queuedWorld;
+        final BukkitTask timeout;
+
+        ReadyCheck(RedemptionArena arena, UUID queuedWorld, BukkitTask timeout) {
+            this.arena = arena;
+            this.queuedWorld = queuedWorld;
+            this.timeout = timeout;
+        }
     }
 
+    // ========================================
+    // FIGHTS
+    // ========================================
+
     /**
-     * ENHANCED: Starts redemption with inventory space checking
+     * ENHANCED: Starts redemption with inventory space checking, or queues the player
+     * if every arena is busy
      */
     public void startRedemption(Player player) {
-        if (isRedemptionActive()) {
-            player.sendMessage(ColorUtils.color("&cA redemption is already active!"));
+        // The cooldown is enforced from the profile cache; only a cold cache waits for the database
+        Long cooldownEnd = plugin.getPlayerDataManager().getCachedRedemptionCooldown(player.getUniqueId());
+        if (cooldownEnd != null) {
+            requestRedemption(player, cooldownEnd);
+            return;
+        }
+
+        plugin.getPlayerDataManager().getRedemptionCooldown(player.getUniqueId())
+                .thenAccept(end -> Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (player.isOnline()) {
+                        requestRedemption(player, end);
+                    }
+                }));
+    }
+
+    private void requestRedemption(Player player, long cooldownEnd) {
+        if (fightsByFighter.containsKey(player.getUniqueId())) {
+            player.sendMessage(ColorUtils.color(plugin.getConfigManager().getString("config.yml", "messages.redemption-active", "&cA redemption is already active!")));
+            return;
+        }
+
+        if (queue.containsKey(player.getUniqueId())) {
+            sendQueuePosition(player, "messages.redemption-queue-position", "&7You are now &6#{position} &7in the redemption queue.");
             return;
         }
 
@@ -185,13 +515,14 @@ public class RedemptionManager {
             return;
         }
 
+        if (System.currentTimeMillis() < cooldownEnd) {
+            sendCooldownMessage(player, cooldownEnd);
+            return;
+        }
+
         // ADDED: Check inventory space for rewards
         if (!hasInventorySpaceForRewards(player)) {
-            String message = plugin.getConfigManager().getString("config.yml", "messages.redemption-inventory-full",
-                    "&cYour inventory is full! You need at least {slots} empty slots for redemption rewards!");
-            int requiredSlots = plugin.getConfigManager().getInt("config.yml", "boss-fight.required-inventory-slots", 2);
-            message = message.replace("{slots}", String.valueOf(requiredSlots));
-            player.sendMessage(ColorUtils.color(message));
+            sendInventoryFullMessage(player);
 
             player.sendMessage(ColorUtils.color("&7Redemption rewards include:"));
             player.sendMessage(ColorUtils.color("&7• &dRedemption Enchant"));
@@ -199,23 +530,65 @@ public class RedemptionManager {
             return;
         }
 
-        currentFighter = player;
-        fightStartTime = System.currentTimeMillis();
+        // Confirming again while an arena is held for them accepts the ready check
+        if (readyChecks.containsKey(player.getUniqueId())) {
+            acceptReadyCheck(player);
+            return;
+        }
 
-        // ADDED: Save player's original location
-        fighterOriginalLocation = player.getLocation().clone();
+        // Nobody may skip the queue, even if an arena frees up at this moment
+        RedemptionArena arena = queue.isEmpty() ? findFreeArena() : null;
+        if (arena != null) {
+            beginFight(arena, player);
+            return;
+        }
+
+        queue.put(player.getUniqueId(), player.getWorld().getUID());
+        sendQueuePosition(player, "messages.redemption-queued", "&aAll redemption arenas are busy. You are &6#{position} &ain the queue.");
+    }
+
+    private void sendCooldownMessage(Player player, long cooldownEnd) {
+        String message = plugin.getConfigManager().getString("config.yml", "messages.redemption-cooldown", "&cYou are on redemption cooldown for &6{time}&c!");
+        message = message.replace("{time}", ColorUtils.formatTime(Math.max(0, (cooldownEnd - System.currentTimeMillis()) / 1000)));
+        player.sendMessage(ColorUtils.color(message));
+    }
+
+    private void sendInventoryFullMessage(Player player) {
+        String message = plugin.getConfigManager().getString("config.yml", "messages.redemption-inventory-full",
+                "&cYour inventory is full! You need at least {slots} empty slots for redemption rewards!");
+        int requiredSlots = plugin.getConfigManager().getInt("config.yml", "boss-fight.required-inventory-slots", 2);
+        message = message.replace("{slots}", String.valueOf(requiredSlots));
+        player.sendMessage(ColorUtils.color(message));
+    }
+
+    /**
+     * Starts a fight for a player in a free arena
+     */
+    private void beginFight(RedemptionArena arena, Player player) {
+        // Arena bounds are read once per fight; movement checks only compare squared distances
+        int arenaRadius = plugin.getConfigManager().getInt("config.yml", "boss-fight.arena-radius", 20);
+        RedemptionFight fight = new RedemptionFight(arena, player, player.getLocation().clone(), arenaRadius);
+        arena.begin(fight);
+        fightsByFighter.put(player.getUniqueId(), fight);
+
+        // Spawn boss
+        if (!spawnBoss(fight)) {
+            player.sendMessage(ColorUtils.color("&cThe redemption boss could not be spawned!"));
+            cleanup(fight);
+            return;
+        }
 
         // Clear player inventory (they lose items if they die)
         player.getInventory().clear();
+        plugin.getRedemptionSlotIndex().markDirty(player);
 
         // Teleport player to spawn point
-        player.teleport(playerSpawnPoint);
-
-        // Spawn boss
-        spawnBoss();
+        player.teleport(fight.getArenaCenter());
 
-        // Start fight monitoring task
-        startFightTask();
+        // A single delayed task ends the fight when time runs out
+        int maxDuration = plugin.getConfigManager().getInt("config.yml", "boss-fight.max-fight-duration", 600);
+        fight.setTimeoutTask(Bukkit.getScheduler().runTaskLater(plugin,
+                () -> endRedemption(player, false, "Timeout"), maxDuration * 20L));
 
         // Broadcast start message
         String startMessage = plugin.getConfigManager().getString("config.yml", "messages.redemption-started", "&6{player} &ahas started a redemption boss fight!");
@@ -224,13 +597,11 @@ public class RedemptionManager {
 
         // Save fight data
         plugin.getDatabaseManager().executeAsync(
-                "UPDATE redemption_data SET current_fighter = ?, fight_start_time = ? WHERE id = 1",
-                player.getUniqueId().toString(), fightStartTime
+                "UPDATE redemption_data SET current_fighter = ?, fight_start_time = ? WHERE arena = ?",
+                player.getUniqueId().toString(), fight.getStartTime(), arena.getName()
         );
     }
 
-
-
     /**
      * ADDED: Checks if player has enough inventory space for redemption rewards
      */
@@ -249,17 +620,30 @@ public class RedemptionManager {
     }
 
     /**
-     * Spawns the redemption boss (now supports MythicMobs)
+     * Spawns the redemption boss for a fight (now supports MythicMobs)
      */
-    private void spawnBoss() {
+    private boolean spawnBoss(RedemptionFight fight) {
+        LivingEntity boss;
+
         // Check if MythicMobs integration is available and enabled
         if (plugin.getMythicBossFightManager() != null) {
-            boss = plugin.getMythicBossFightManager().startBossFight(bossSpawnPoint, currentFighter);
+            boss = plugin.getMythicBossFightManager().startBossFight(fight.getBossSpawn(), fight.getFighter());
         } else {
-            boss = spawnVanillaBoss(bossSpawnPoint);
+            boss = spawnVanillaBoss(fight.getBossSpawn());
+        }
+
+        if (boss == null) {
+            return false;
         }
+
+        // Not saved with its chunk; an unloaded boss ends the fight instead of coming back later
+        boss.setPersistent(false);
+        fight.setBoss(boss);
+        fightsByBoss.put(boss.getUniqueId(), fight);
+        return true;
     }
 
+
     /**
      * Spawns a vanilla boss (for fallback or when MythicMobs is disabled)
      */
@@ -329,57 +713,50 @@ public class RedemptionManager {
     }
 
     /**
-     * Starts the fight monitoring task
+     * Handles the death of a tracked boss entity
      */
-    private void startFightTask() {
-        int maxDuration = plugin.getConfigManager().getInt("config.yml", "boss-fight.max-fight-duration", 600);
+    public void handleBossDeath(LivingEntity entity) {
+        RedemptionFight fight = fightsByBoss.get(entity.getUniqueId());
+        if (fight == null || fight.isResolved()) return;
 
-        fightTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            // Check if fight should end
-            if (!isRedemptionActive()) {
-                endFightTask();
-                return;
-            }
-
-            // Check timeout
-            long elapsed = (System.currentTimeMillis() - fightStartTime) / 1000;
-            if (elapsed >= maxDuration) {
-                endRedemption(false, "Timeout");
-                return;
-            }
-
-            // Check if player is too far away
-            if (currentFighter != null && playerSpawnPoint != null) {
-                double distance = currentFighter.getLocation().distance(playerSpawnPoint);
-                int arenaRadius = plugin.getConfigManager().getInt("config.yml", "boss-fight.arena-radius", 20);
+        if (plugin.getMythicBossFightManager() != null) {
+            plugin.getMythicBossFightManager().handleBossDefeat(fight.getFighter(), false);
+        } else {
+            endRedemption(fight.getFighter(), true, "Boss defeated");
+        }
+    }
 
-                if (distance > arenaRadius) {
-                    // Teleport player back or end fight
-                    currentFighter.teleport(playerSpawnPoint);
-                    currentFighter.sendMessage(ColorUtils.color("&cYou cannot leave the arena!"));
-                }
-            }
+    /**
+     * Calls off a fight whose boss left the world without dying (despawned, unloaded with
+     * its chunk or removed by another plugin). The fighter did nothing wrong, so no
+     * cooldown is set. A boss that died has already resolved its fight by now.
+     */
+    public void handleBossRemoved(Entity entity) {
+        RedemptionFight fight = fightsByBoss.get(entity.getUniqueId());
+        if (fight == null || fight.isResolved()) return;
 
-            // Check if boss is dead
-            if (boss != null && boss.isDead()) {
-                // Check if this was a MythicMobs boss
-                if (plugin.getMythicBossFightManager() != null) {
-                    plugin.getMythicBossFightManager().handleBossDefeat(currentFighter, false);
-                } else {
-                    endRedemption(true, "Boss defeated");
-                }
-            }
+        // Not from inside the removal itself; the fighter is teleported on the way out
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            if (fight.isResolved() || fight.getBoss() == null || fight.getBoss().isValid()) return;
 
-        }, 0L, 20L); // Run every second
+            fight.getFighter().sendMessage(ColorUtils.color("&cThe redemption boss disappeared, so the fight has been called off."));
+            endRedemption(fight.getFighter(), false, "Boss removed", false);
+        });
     }
 
     /**
-     * ENHANCED: Ends the redemption fight with victory celebration and dye reward
+     * ENHANCED: Ends a player's redemption fight with victory celebration and dye reward
      */
-    public void endRedemption(boolean success, String reason) {
-        if (currentFighter == null) return;
+    public void endRedemption(Player fighter, boolean success, String reason) {
+        endRedemption(fighter, success, reason, true);
+    }
+
+    private void endRedemption(Player fighter, boolean success, String reason, boolean applyCooldown) {
+        RedemptionFight fight = fightsByFighter.get(fighter.getUniqueId());
+        if (fight == null || fight.isResolved()) return;
 
-        Player fighter = currentFighter;
+        // Resolve first so the arena listener lets the teleports below through
+        fight.resolve(success, reason);
 
         if (success) {
             // Player won - give redemption enchant dye
@@ -420,8 +797,9 @@ public class RedemptionManager {
             fighter.sendMessage(ColorUtils.color("&6+50 bonus souls for defeating the redemption boss!"));
             fighter.sendMessage(ColorUtils.color("&a+100 bonus EXP for defeating the redemption boss!"));
 
-            // ADDED: Start victory celebration
-            startVictoryCelebration(fighter);
+            // ADDED: Start victory celebration; the arena stays taken until it ends
+            fight.getArena().celebrate();
+            startVictoryCelebration(fight);
 
         } else {
             // Player failed - teleport back immediately
@@ -429,34 +807,38 @@ public class RedemptionManager {
             failMessage = failMessage.replace("{player}", fighter.getName());
             Bukkit.broadcastMessage(ColorUtils.color(failMessage));
 
-            // Teleport back to original location
-            if (fighterOriginalLocation != null) {
-                fighter.teleport(fighterOriginalLocation);
+            // Teleport back to original location (dead fighters are moved after they respawn)
+            if (fighter.isOnline() && !fighter.isDead()) {
+                fighter.teleport(fight.getOrigin());
                 fighter.sendMessage(ColorUtils.color("&7You have been teleported back to your original location."));
             }
         }
 
         // Set cooldown
-        long cooldownDuration = plugin.getConfigManager().getInt("config.yml", "cooldowns.redemption", 604800) * 1000L;
-        long cooldownEnd = System.currentTimeMillis() + cooldownDuration;
-        plugin.getPlayerDataManager().setRedemptionCooldown(fighter.getUniqueId(), cooldownEnd);
+        if (applyCooldown) {
+            long cooldownDuration = plugin.getConfigManager().getInt("config.yml", "cooldowns.redemption", 604800) * 1000L;
+            long cooldownEnd = System.currentTimeMillis() + cooldownDuration;
+            plugin.getPlayerDataManager().setRedemptionCooldown(fighter.getUniqueId(), cooldownEnd);
+        }
 
         // Clean up (but don't teleport if victory celebration is running)
         if (!success) {
-            cleanup();
+            cleanup(fight);
         }
     }
 
     /**
      * ADDED: Victory celebration with countdown and fireworks
      */
-    private void startVictoryCelebration(Player fighter) {
+    private void startVictoryCelebration(RedemptionFight fight) {
+        Player fighter = fight.getFighter();
         final int[] countdown = {10}; // 10 seconds countdown
+        final BukkitTask[] task = new BukkitTask[1];
 
-        celebrationTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+        task[0] = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
             if (!fighter.isOnline()) {
-                celebrationTask.cancel();
-                cleanup();
+                task[0].cancel();
+                cleanup(fight);
                 return;
             }
 
@@ -477,7 +859,7 @@ public class RedemptionManager {
                 countdown[0]--;
             } else {
                 // Countdown finished - teleport back
-                celebrationTask.cancel();
+                task[0].cancel();
 
                 fighter.sendTitle(
                         ColorUtils.color("&6&lCongratulations!"),
@@ -491,17 +873,19 @@ public class RedemptionManager {
                 }
 
                 // Teleport back to original location after final fireworks
-                Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                    if (fighterOriginalLocation != null && fighter.isOnline()) {
-                        fighter.teleport(fighterOriginalLocation);
+                fight.setCelebrationTask(Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                    if (fighter.isOnline()) {
+                        fighter.teleport(fight.getOrigin());
                         fighter.sendMessage(ColorUtils.color("&7You have been teleported back to your original location."));
                     }
-                    cleanup();
-                }, 20L);
+                    cleanup(fight);
+                }, 20L));
             }
         }, 0L, 20L); // Run every second
+        fight.setCelebrationTask(task[0]);
     }
 
+
     /**
      * ADDED: Spawn firework at location
      */
@@ -530,54 +914,78 @@ public class RedemptionManager {
      * ENHANCED: Handles player death/disconnect during fight
      */
     public void handlePlayerDeath(Player player) {
-        if (currentFighter != null && currentFighter.equals(player)) {
-            // Player died - teleport back to original location after respawn
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                if (fighterOriginalLocation != null && player.isOnline()) {
-                    player.teleport(fighterOriginalLocation);
-                    player.sendMessage(ColorUtils.color("&7You have been teleported back to your original location."));
-                }
-            }, 40L); // 2 seconds after respawn
+        RedemptionFight fight = getFight(player);
+        if (fight == null || fight.isResolved()) return;
+
+        // Player died - teleport back to original location after respawn
+        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            if (player.isOnline()) {
+                player.teleport(fight.getOrigin());
+                player.sendMessage(ColorUtils.color("&7You have been teleported back to your original location."));
+            }
+        }, 40L); // 2 seconds after respawn
 
-            endRedemption(false, "Player died");
-        }
+        endRedemption(player, false, "Player died");
     }
 
     /**
      * ENHANCED: Handles player disconnect during fight
      */
     public void handlePlayerDisconnect(Player player) {
-        if (currentFighter != null && currentFighter.equals(player)) {
-            // Store the original location for when they reconnect
-            if (fighterOriginalLocation != null) {
-                // We could save this to database for when they reconnect, but for now just end the fight
-                plugin.getLogger().info("Player " + player.getName() + " disconnected during redemption fight");
-            }
-            endRedemption(false, "Player disconnected");
+        leaveQueue(player);
+
+        RedemptionFight fight = getFight(player);
+        if (fight == null) return;
+
+        if (!fight.isResolved()) {
+            plugin.getLogger().info("Player " + player.getName() + " disconnected during redemption fight");
+            endRedemption(player, false, "Player disconnected");
+            return;
         }
+
+        // Quit during the victory celebration; don't leave them in the arena
+        player.teleport(fight.getOrigin());
+        cleanup(fight);
     }
 
     /**
      * Handles MythicMobs boss defeat
      */
     public void handleMythicBossDefeat(Player fighter) {
-        if (currentFighter != null && currentFighter.equals(fighter)) {
+        if (isFighting(fighter)) {
             plugin.getMythicBossFightManager().handleBossDefeat(fighter, true);
         }
     }
 
     /**
-     * Adds a spectator to the fight
+     * Adds a spectator to an arena's fight, or to the first active fight if no arena is given
      */
-    public void addSpectator(Player player) {
-        if (!isRedemptionActive()) {
+    public void addSpectator(Player player, String arenaName) {
+        RedemptionFight target = null;
+        if (arenaName != null) {
+            RedemptionArena arena = getArena(arenaName);
+            if (arena == null) {
+                player.sendMessage(ColorUtils.color("&cUnknown redemption arena: " + arenaName));
+                return;
+            }
+            target = arena.getFight();
+        } else {
+            for (RedemptionFight fight : fightsByFighter.values()) {
+                if (!fight.isResolved()) {
+                    target = fight;
+                    break;
+                }
+            }
+        }
+
+        if (target == null || target.isResolved()) {
             player.sendMessage(ColorUtils.color("&cNo redemption fight is currently active!"));
             return;
         }
 
-        spectators.add(player);
+        target.getSpectators().add(player);
         player.setGameMode(GameMode.SPECTATOR);
-        player.teleport(bossSpawnPoint.clone().add(0, 10, 0));
+        player.teleport(target.getBossSpawn().clone().add(0, 10, 0));
 
         String message = plugin.getConfigManager().getString("config.yml", "messages.redemption-spectate-join", "&aYou are now spectating the redemption fight!");
         player.sendMessage(ColorUtils.color(message));
@@ -587,98 +995,91 @@ public class RedemptionManager {
      * Removes a spectator from the fight
      */
     public void removeSpectator(Player player) {
-        if (spectators.remove(player)) {
-            player.setGameMode(GameMode.SURVIVAL);
+        for (RedemptionFight fight : fightsByFighter.values()) {
+            if (fight.getSpectators().remove(player)) {
+                player.setGameMode(GameMode.SURVIVAL);
 
-            String message = plugin.getConfigManager().getString("config.yml", "messages.redemption-spectate-leave", "&aYou are no longer spectating the redemption fight!");
-            player.sendMessage(ColorUtils.color(message));
+                String message = plugin.getConfigManager().getString("config.yml", "messages.redemption-spectate-leave", "&aYou are no longer spectating the redemption fight!");
+                player.sendMessage(ColorUtils.color(message));
+                return;
+            }
         }
     }
 
     /**
-     * Force ends the redemption fight (admin command)
+     * Force ends every active redemption fight and empties the queue (admin command)
      */
     public void forceEndRedemption() {
-        if (isRedemptionActive()) {
-            // Teleport fighter back to original location
-            if (currentFighter != null && fighterOriginalLocation != null && currentFighter.isOnline()) {
-                currentFighter.teleport(fighterOriginalLocation);
-                currentFighter.sendMessage(ColorUtils.color("&7You have been teleported back to your original location."));
+        Set<UUID> waiting = new HashSet<>(queue.keySet());
+        waiting.addAll(readyChecks.keySet());
+        for (UUID uuid : waiting) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null) {
+                player.sendMessage(ColorUtils.color("&cThe redemption queue has been cleared by an admin."));
+            }
+        }
+        clearQueue();
+
+        for (RedemptionFight fight : new ArrayList<>(fightsByFighter.values())) {
+            if (!fight.isResolved()) {
+                endRedemption(fight.getFighter(), false, "Force ended by admin");
             }
-            endRedemption(false, "Force ended by admin");
         }
     }
 
     /**
-     * Cleans up the fight
+     * Cleans up every fight
      */
     public void cleanup() {
-        // Cancel celebration task if running
-        if (celebrationTask != null) {
-            celebrationTask.cancel();
-            celebrationTask = null;
+        clearQueue();
+        for (RedemptionFight fight : new ArrayList<>(fightsByFighter.values())) {
+            cleanup(fight);
         }
+    }
+
+    /**
+     * Cleans up one fight
+     */
+    private void cleanup(RedemptionFight fight) {
+        fight.resolve(false, "Cleaned up");
+        fight.cancelTasks();
 
         // Remove boss
-        if (boss != null && !boss.isDead()) {
-            boss.remove();
+        LivingEntity boss = fight.getBoss();
+        if (boss != null) {
+            fightsByBoss.remove(boss.getUniqueId());
+            if (!boss.isDead()) {
+                boss.remove();
+            }
         }
-        boss = null;
 
         // Reset spectators
-        for (Player spectator : spectators) {
+        for (Player spectator : new ArrayList<>(fight.getSpectators())) {
             removeSpectator(spectator);
         }
-        spectators.clear();
+        fight.getSpectators().clear();
 
-        // End task
-        endFightTask();
-
-        // Clear fighter and original location
-        currentFighter = null;
-        fighterOriginalLocation = null;
+        fightsByFighter.remove(fight.getFighterUUID());
+        fight.getArena().release();
 
         // Clear database
         plugin.getDatabaseManager().executeAsync(
-                "UPDATE redemption_data SET current_fighter = NULL, fight_start_time = 0 WHERE id = 1"
+                "UPDATE redemption_data SET current_fighter = NULL, fight_start_time = 0 WHERE arena = ?",
+                fight.getArena().getName()
         );
-    }
-
-    /**
-     * Ends the fight monitoring task
-     */
-    private void endFightTask() {
-        if (fightTask != null) {
-            fightTask.cancel();
-            fightTask = null;
-        }
-    }
 
-    /**
-     * Gets the current fighter
-     */
-    public Player getCurrentFighter() {
-        return currentFighter;
+        // The arena is free again; hand it to whoever is next in line
+        assignQueued();
     }
 
     /**
-     * Gets spectators
+     * Gets all spectators
      */
     public Set<Player> getSpectators() {
-        return new HashSet<>(spectators);
-    }
-
-    /**
-     * Gets the boss spawn point
-     */
-    public Location getBossSpawnPoint() {
-        return bossSpawnPoint;
-    }
-
-    /**
-     * Gets the player spawn point
-     */
-    public Location getPlayerSpawnPoint() {
-        return playerSpawnPoint;
+        Set<Player> spectators = new HashSet<>();
+        for (RedemptionFight fight : fightsByFighter.values()) {
+            spectators.addAll(fight.getSpectators());
+        }
+        return spectators;
     }
-}
\ No newline at end of file
+}
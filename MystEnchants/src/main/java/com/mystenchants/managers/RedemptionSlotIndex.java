@@ -0,0 +1,235 @@
+package com.mystenchants.managers;
+
+import com.destroystokyo.paper.event.player.PlayerArmorChangeEvent;
+import com.mystenchants.MystEnchants;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockDispenseArmorEvent;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryCreativeEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerItemBreakEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Tracks which player inventory slots hold redemption-enchanted items so the
+ * death handler can look them up directly instead of scanning every slot.
+ *
+ * A clean index is trusted, including an empty one: every path that can put the
+ * enchant into a player inventory marks the player dirty, and a dirty player is
+ * rescanned before the index is read. Those paths are pickups, clicks and drags that
+ * bring items in from another inventory or a crafting result, creative placement,
+ * armor equips, the apply command and dye drag-drop. Clicks inside the player's
+ * own inventory only check slot numbers against the index and never read item data.
+ * Items given by other plugins' code aren't seen until the player's next rebuild.
+ */
+public class RedemptionSlotIndex implements Listener {
+
+    private static final String REDEMPTION = "redemption";
+
+    private final MystEnchants plugin;
+    private final Map<UUID, Set<Integer>> redemptionSlots = new HashMap<>();
+    private final Set<UUID> dirtyPlayers = new HashSet<>();
+    private final Set<UUID> pendingRebuilds = new HashSet<>();
+
+    public RedemptionSlotIndex(MystEnchants plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Returns the slot of a redemption-enchanted item, or -1 if none is held.
+     * Only a dirty or not yet indexed player is rescanned.
+     */
+    public int findRedemptionSlot(Player player) {
+        UUID uuid = player.getUniqueId();
+        if (dirtyPlayers.contains(uuid) || !redemptionSlots.containsKey(uuid)) {
+            rebuild(player);
+        }
+
+        PlayerInventory inventory = player.getInventory();
+        for (int slot : redemptionSlots.get(uuid)) {
+            if (hasRedemption(inventory.getItem(slot))) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes a slot from the player's index after its enchant has been consumed
+     */
+    public void removeSlot(Player player, int slot) {
+        Set<Integer> slots = redemptionSlots.get(player.getUniqueId());
+        if (slots != null) {
+            slots.remove(slot);
+        }
+    }
+
+    /**
+     * Marks the player's index as stale and schedules a rebuild on the next tick
+     */
+    public void markDirty(Player player) {
+        UUID uuid = player.getUniqueId();
+        dirtyPlayers.add(uuid);
+
+        if (!pendingRebuilds.add(uuid)) {
+            return;
+        }
+
+        plugin.getServer().getScheduler().runTask(plugin, () -> {
+            pendingRebuilds.remove(uuid);
+            if (player.isOnline() && dirtyPlayers.contains(uuid)) {
+                rebuild(player);
+            }
+        });
+    }
+
+    /**
+     * Rescans the player's whole inventory and replaces their index entry
+     */
+    public void rebuild(Player player) {
+        PlayerInventory inventory = player.getInventory();
+        Set<Integer> slots = new HashSet<>();
+
+        for (int i = 0; i < inventory.getSize(); i++) {
+            if (hasRedemption(inventory.getItem(i))) {
+                slots.add(i);
+            }
+        }
+
+        redemptionSlots.put(player.getUniqueId(), slots);
+        dirtyPlayers.remove(player.getUniqueId());
+    }
+
+    /**
+     * Cleans up index data for a player
+     */
+    public void cleanupPlayer(Player player) {
+        UUID uuid = player.getUniqueId();
+        redemptionSlots.remove(uuid);
+        dirtyPlayers.remove(uuid);
+        pendingRebuilds.remove(uuid);
+    }
+
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemPickup(EntityPickupItemEvent event) {
+        if (event.getEntity() instanceof Player && hasRedemption(event.getItem().getItemStack())) {
+            markDirty((Player) event.getEntity());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+        if (!(event.getWhoClicked() instanceof Player)) {
+            return;
+        }
+
+        Player player = (Player) event.getWhoClicked();
+        if (bringsItemsIn(event) && (hasRedemption(event.getCurrentItem()) || hasRedemption(event.getCursor()))) {
+            markDirty(player);
+            return;
+        }
+
+        Set<Integer> slots = redemptionSlots.get(player.getUniqueId());
+        if (slots == null || slots.isEmpty()) {
+            return;
+        }
+
+        boolean movedIndexed = event.getClickedInventory() == player.getInventory() && slots.contains(event.getSlot());
+        // Hotbar swaps can move an indexed item without it being the clicked slot
+        if (event.getAction() == InventoryAction.HOTBAR_SWAP || event.getAction() == InventoryAction.HOTBAR_MOVE_AND_READD) {
+            movedIndexed |= slots.contains(event.getHotbarButton());
+        }
+
+        if (movedIndexed) {
+            markDirty(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryDrag(InventoryDragEvent event) {
+        if (event.getWhoClicked() instanceof Player && hasRedemption(event.getOldCursor())) {
+            markDirty((Player) event.getWhoClicked());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryClose(InventoryCloseEvent event) {
+        // A held cursor item is put back into the inventory when the view closes
+        if (event.getPlayer() instanceof Player && hasRedemption(event.getPlayer().getItemOnCursor())) {
+            markDirty((Player) event.getPlayer());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onArmorChange(PlayerArmorChangeEvent event) {
+        // Right-click equips move the item out of its hand slot without a click event
+        if (hasRedemption(event.getNewItem()) || hasRedemption(event.getOldItem())) {
+            markDirty(event.getPlayer());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDispenseArmor(BlockDispenseArmorEvent event) {
+        if (event.getTargetEntity() instanceof Player && hasRedemption(event.getItem())) {
+            markDirty((Player) event.getTargetEntity());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemDrop(PlayerDropItemEvent event) {
+        if (hasRedemption(event.getItemDrop().getItemStack())) {
+            markDirty(event.getPlayer());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSwapHands(PlayerSwapHandItemsEvent event) {
+        if (hasRedemption(event.getMainHandItem()) || hasRedemption(event.getOffHandItem())) {
+            markDirty(event.getPlayer());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onItemBreak(PlayerItemBreakEvent event) {
+        if (hasRedemption(event.getBrokenItem())) {
+            markDirty(event.getPlayer());
+        }
+    }
+
+    /**
+     * Whether a click can put an item into the player's inventory that wasn't there before:
+     * anything with another inventory open, a crafting result, or creative placement
+     */
+    private boolean bringsItemsIn(InventoryClickEvent event) {
+        return event instanceof InventoryCreativeEvent
+                || event.getSlotType() == InventoryType.SlotType.RESULT
+                || event.getView().getTopInventory().getType() != InventoryType.CRAFTING;
+    }
+
+    private boolean hasRedemption(ItemStack item) {
+        return item != null && item.hasItemMeta()
+                && plugin.getEnchantManager().getSpecificCustomEnchantLevel(item, REDEMPTION) > 0;
+    }
+}
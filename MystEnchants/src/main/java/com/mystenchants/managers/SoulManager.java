@@ -4,8 +4,12 @@ import com.mystenchants.MystEnchants;
 import com.mystenchants.utils.ColorUtils;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Enhanced SoulManager with configurable soul rewards
@@ -13,7 +17,11 @@ import java.util.concurrent.CompletableFuture;
  */
 public class SoulManager {
 
+    /** Returned by {@link #debitCached} when the balance isn't cached */
+    public static final long NOT_CACHED = -2;
+
     private final MystEnchants plugin;
+    private final Map<UUID, Long> soulCache = new ConcurrentHashMap<>();
 
     public SoulManager(MystEnchants plugin) {
         this.plugin = plugin;
@@ -23,7 +31,14 @@ public class SoulManager {
      * Gets a player's soul count
      */
     public CompletableFuture<Long> getSouls(UUID playerUUID) {
-        return plugin.getDatabaseManager().queryAsync(
+        Long cached = soulCache.get(playerUUID);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        PlayerDataManager profiles = plugin.getPlayerDataManager();
+        long stamp = profiles.cacheStamp(playerUUID);
+        return profiles.afterPendingWrites(playerUUID).thenCompose(v -> plugin.getDatabaseManager().queryAsync(
                 "SELECT souls FROM player_data WHERE uuid = ?",
                 resultSet -> {
                     if (resultSet.next()) {
@@ -32,7 +47,13 @@ public class SoulManager {
                     return 0L;
                 },
                 playerUUID.toString()
-        );
+        )).thenApply(souls -> {
+            if (souls == null) {
+                return 0L;
+            }
+            profiles.admit(soulCache, playerUUID, souls, stamp);
+            return souls;
+        });
     }
 
     /**
@@ -41,21 +62,152 @@ public class SoulManager {
     public CompletableFuture<Void> setSouls(UUID playerUUID, long souls) {
         if (souls < 0) souls = 0;
 
-        return plugin.getDatabaseManager().executeAsync(
-                "UPDATE player_data SET souls = ? WHERE uuid = ?",
-                souls, playerUUID.toString()
-        );
+        if (plugin.getPlayerDataManager().isCached(playerUUID)) {
+            soulCache.put(playerUUID, souls);
+        } else {
+            plugin.getPlayerDataManager().bumpStamp(playerUUID);
+        }
+        return writeBalance(playerUUID, souls);
+    }
+
+    /**
+     * Seeds the cached balance from a row read elsewhere (e.g. the join transaction),
+     * given the cache stamp taken before that read
+     */
+    public void cacheSouls(UUID playerUUID, long souls, long stamp) {
+        plugin.getPlayerDataManager().admit(soulCache, playerUUID, souls, stamp);
+    }
+
+    /**
+     * Takes souls if the player can afford them. A cached balance is debited atomically,
+     * so concurrent purchases can't spend the same souls twice, and the debit is written
+     * as a relative update with the sync marker in one transaction; if that write is
+     * dropped the souls go back into the cached balance. Without a cached balance the
+     * database checks and debits in one conditional update. Returns the new balance, or
+     * -1 if the player can't afford it or the debit wasn't saved.
+     */
+    public CompletableFuture<Long> spend(UUID playerUUID, long amount) {
+        long balance = debitCached(playerUUID, amount);
+        if (balance == NOT_CACHED) {
+            return spendUncached(playerUUID, amount);
+        }
+        if (balance < 0) {
+            return CompletableFuture.completedFuture(-1L);
+        }
+        return writeDelta(playerUUID, -amount).exceptionally(throwable -> false).thenApply(written -> {
+            if (written) {
+                return balance;
+            }
+            creditCached(playerUUID, amount);
+            plugin.getLogger().warning("Could not save a debit of " + amount + " souls for " + playerUUID + "; refunded");
+            return -1L;
+        });
+    }
+
+    private CompletableFuture<Long> spendUncached(UUID playerUUID, long amount) {
+        List<String> sync = new ArrayList<>(2);
+        List<Object[]> syncParameters = new ArrayList<>(2);
+        plugin.getProfileSyncService().addChange(playerUUID, sync, syncParameters);
+        plugin.getPlayerDataManager().bumpStamp(playerUUID);
+
+        return plugin.getPlayerDataManager().writeInOrder(playerUUID, () -> plugin.getDatabaseManager().inTransactionAsync(unit -> {
+            int updated = unit.execute("UPDATE player_data SET souls = souls - ? WHERE uuid = ? AND souls >= ?",
+                    amount, playerUUID.toString(), amount);
+            if (updated == 0) {
+                return -1L;
+            }
+            unit.executeAll(sync, syncParameters);
+            return unit.query("SELECT souls FROM player_data WHERE uuid = ?",
+                    resultSet -> resultSet.next() ? resultSet.getLong("souls") : 0L, playerUUID.toString());
+        }).exceptionally(throwable -> -1L));
+    }
+
+    /**
+     * Writes an absolute balance; only for explicit sets, never for a balance derived from a read
+     */
+    private CompletableFuture<Void> writeBalance(UUID playerUUID, long souls) {
+        List<String> statements = new ArrayList<>(3);
+        List<Object[]> parameters = new ArrayList<>(3);
+        statements.add("UPDATE player_data SET souls = ? WHERE uuid = ?");
+        parameters.add(new Object[]{souls, playerUUID.toString()});
+        plugin.getProfileSyncService().addChange(playerUUID, statements, parameters);
+
+        return plugin.getPlayerDataManager().writeInOrder(playerUUID,
+                () -> plugin.getDatabaseManager().executeTransactionAsync(statements, parameters));
+    }
+
+    /**
+     * Writes a change to the balance relative to whatever the database holds, so it stays
+     * correct if it is spooled during an outage and replayed after other writes
+     */
+    private CompletableFuture<Boolean> writeDelta(UUID playerUUID, long delta) {
+        List<String> statements = new ArrayList<>(3);
+        List<Object[]> parameters = new ArrayList<>(3);
+        statements.add("UPDATE player_data SET souls = souls + ? WHERE uuid = ?");
+        parameters.add(new Object[]{delta, playerUUID.toString()});
+        plugin.getProfileSyncService().addChange(playerUUID, statements, parameters);
+
+        return plugin.getPlayerDataManager().writeInOrder(playerUUID,
+                () -> plugin.getDatabaseManager().tryTransactionAsync(statements, parameters));
+    }
+
+    /**
+     * Atomically takes souls from a cached balance without writing it.
+     * Returns the new balance, -1 if it is too low, or NOT_CACHED.
+     */
+    public long debitCached(UUID playerUUID, long amount) {
+        long[] balance = {NOT_CACHED};
+        soulCache.computeIfPresent(playerUUID, (uuid, souls) -> {
+            if (souls < amount) {
+                balance[0] = -1;
+                return souls;
+            }
+            balance[0] = souls - amount;
+            return balance[0];
+        });
+        return balance[0];
+    }
+
+    /**
+     * Atomically adds souls to a cached balance without writing it; does nothing if it isn't cached
+     */
+    public void creditCached(UUID playerUUID, long amount) {
+        soulCache.computeIfPresent(playerUUID, (uuid, souls) -> souls + amount);
+    }
+
+    /**
+     * Drops a player's cached soul count
+     */
+    public void invalidate(UUID playerUUID) {
+        soulCache.remove(playerUUID);
+    }
+
+    /**
+     * Drops all cached soul counts
+     */
+    public void invalidateAll() {
+        soulCache.clear();
     }
 
     /**
-     * Adds souls to a player
+     * Adds souls to a player. The credit is applied to the cached balance and written as
+     * a relative update, so no balance read from a failed or stale query is ever written.
+     * If the write is dropped the credit is taken back out of the cache and the future
+     * completes exceptionally.
      */
     public CompletableFuture<Void> addSouls(UUID playerUUID, long amount) {
         if (amount <= 0) return CompletableFuture.completedFuture(null);
 
-        return getSouls(playerUUID).thenCompose(currentSouls ->
-                setSouls(playerUUID, currentSouls + amount)
-        );
+        // A read already in flight would miss this credit, so it must not fill the cache
+        creditCached(playerUUID, amount);
+        plugin.getPlayerDataManager().bumpStamp(playerUUID);
+        return writeDelta(playerUUID, amount).exceptionally(throwable -> false).thenCompose(written -> {
+            if (written) {
+                return CompletableFuture.<Void>completedFuture(null);
+            }
+            soulCache.computeIfPresent(playerUUID, (uuid, souls) -> souls - amount);
+            return CompletableFuture.<Void>failedFuture(new IllegalStateException("Could not save " + amount + " souls for " + playerUUID));
+        });
     }
 
     /**
@@ -64,14 +216,7 @@ public class SoulManager {
     public CompletableFuture<Boolean> removeSouls(UUID playerUUID, long amount) {
         if (amount <= 0) return CompletableFuture.completedFuture(true);
 
-        return getSouls(playerUUID).thenCompose(currentSouls -> {
-            if (currentSouls >= amount) {
-                return setSouls(playerUUID, currentSouls - amount)
-                        .thenApply(v -> true);
-            } else {
-                return CompletableFuture.completedFuture(false);
-            }
-        });
+        return spend(playerUUID, amount).thenApply(balance -> balance >= 0);
     }
 
     /**
@@ -147,7 +292,9 @@ public class SoulManager {
     public CompletableFuture<Boolean> transferSouls(UUID fromPlayer, UUID toPlayer, long amount) {
         return removeSouls(fromPlayer, amount).thenCompose(success -> {
             if (success) {
-                return addSouls(toPlayer, amount).thenApply(v -> true);
+                // Give the sender their souls back if the receiver's credit isn't saved
+                return addSouls(toPlayer, amount).thenApply(v -> true)
+                        .exceptionallyCompose(throwable -> addSouls(fromPlayer, amount).thenApply(v -> false));
             } else {
                 return CompletableFuture.completedFuture(false);
             }
@@ -216,7 +363,7 @@ public class SoulManager {
         return plugin.getDatabaseManager().executeBatchAsync(
                 "UPDATE player_data SET souls = souls + ? WHERE uuid = ?",
                 parameterSets
-        );
+        ).thenCompose(v -> afterBulkUpdate());
     }
 
     /**
@@ -225,7 +372,7 @@ public class SoulManager {
     public CompletableFuture<Void> resetAllSouls() {
         return plugin.getDatabaseManager().executeAsync(
                 "UPDATE player_data SET souls = 0"
-        );
+        ).thenCompose(v -> afterBulkUpdate());
     }
 
     /**
@@ -235,6 +382,14 @@ public class SoulManager {
         return plugin.getDatabaseManager().executeAsync(
                 "UPDATE player_data SET souls = ? WHERE souls < ?",
                 minimumAmount, minimumAmount
-        );
+        ).thenCompose(v -> afterBulkUpdate());
+    }
+
+    /**
+     * Cached balances are stale after a bulk update, here and on other servers
+     */
+    private CompletableFuture<Void> afterBulkUpdate() {
+        plugin.getPlayerDataManager().invalidateAll();
+        return plugin.getProfileSyncService().markAllChanged();
     }
 }
\ No newline at end of file
@@ -68,6 +68,39 @@ public class StatisticManager {
         checkMilestones(player, "blocks_mined");
     }
 
+    /**
+     * Credits a batch of mined blocks (area mining) with a single statistic increment
+     */
+    public void trackBlocksMined(Player player, Map<Material, Integer> minedCounts) {
+        if (!plugin.getConfigManager().getBoolean("statistics.yml", "tracking.track-blocks-mined", true)) {
+            return;
+        }
+
+        if (shouldExcludePlayer(player)) {
+            return;
+        }
+
+        List<String> trackedBlocks = plugin.getConfigManager().getStatisticsConfig().getStringList("unlock-requirements.BLOCKS_MINED.track-blocks");
+        boolean requireTool = plugin.getConfigManager().getBoolean("statistics.yml", "tracking.blocks.require-proper-tool", true);
+
+        long total = 0;
+        for (Map.Entry<Material, Integer> entry : minedCounts.entrySet()) {
+            Material material = entry.getKey();
+            if (!trackedBlocks.contains(material.name())) continue;
+            if (isBlockRecentlyPlaced(player, material)) continue;
+            if (requireTool && !hasProperTool(player, material)) continue;
+
+            total += entry.getValue();
+        }
+
+        if (total <= 0) {
+            return;
+        }
+
+        plugin.getPlayerDataManager().incrementStatistic(player.getUniqueId(), "blocks_mined", total);
+        checkMilestones(player, "blocks_mined");
+    }
+
     /**
      * Enhanced player movement tracking with configurable settings
      */
@@ -27,11 +27,16 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public class ZetsuboSacrificeManager {
 
+    private static final String SACRIFICE_FLAG = "zetsubo_sacrifice";
+
     private final MystEnchants plugin;
     private final Map<UUID, Location> playerLastLocations = new ConcurrentHashMap<>();
     private final Map<UUID, BukkitTask> activeRituals = new ConcurrentHashMap<>();
     private final Map<UUID, BukkitTask> lockTasks = new ConcurrentHashMap<>();
-    private final Set<UUID> completedSacrifices = new HashSet<>();
+    private final Set<UUID> completedSacrifices = ConcurrentHashMap.newKeySet();
+    // Players changed locally before the stored completions arrived; their local state wins (main thread only)
+    private final Set<UUID> changedBeforeLoad = new HashSet<>();
+    private boolean completionsLoaded;
     private final Map<UUID, Float> playerOriginalYaw = new ConcurrentHashMap<>();
     private final Map<UUID, Float> playerOriginalPitch = new ConcurrentHashMap<>();
 
@@ -332,7 +337,7 @@ public class ZetsuboSacrificeManager {
 
                         // Mark as completed
                         completedSacrifices.add(playerId);
-                        saveCompletedSacrifices();
+                        saveCompletedSacrifice(playerId, true);
 
                         plugin.getLogger().info("Sacrifice completed for " + player.getName());
                     }, 5L); // 5 tick delay
@@ -440,17 +445,57 @@ public class ZetsuboSacrificeManager {
         return completedSacrifices.contains(playerId);
     }
 
+    /**
+     * Loads completions from the database, importing any left in the old config list
+     */
     private void loadCompletedSacrifices() {
-        // Load from config if exists
+        List<String> legacyPlayers = plugin.getConfigManager().getMainConfig().getStringList("zetsubo-sacrifice.completed-players");
+        if (!legacyPlayers.isEmpty()) {
+            for (String entry : legacyPlayers) {
+                try {
+                    UUID playerId = UUID.fromString(entry);
+                    completedSacrifices.add(playerId);
+                    saveCompletedSacrifice(playerId, true);
+                } catch (IllegalArgumentException e) {
+                    plugin.getLogger().warning("Invalid UUID in zetsubo-sacrifice.completed-players: " + entry);
+                }
+            }
+
+            // Only drop the old list once the flags are actually in the database
+            plugin.getStateStore().flush().thenAccept(written -> Bukkit.getScheduler().runTask(plugin, () -> {
+                if (!written) {
+                    plugin.getLogger().warning("Could not migrate Zetsubo sacrifice completions yet; keeping them in config.yml");
+                    return;
+                }
+                plugin.getConfigManager().setValue("config.yml", "zetsubo-sacrifice.completed-players", new ArrayList<String>());
+                plugin.getConfigManager().saveConfig("config.yml");
+                plugin.getLogger().info("Migrated " + legacyPlayers.size() + " Zetsubo sacrifice completions from config to database");
+            }));
+        }
+
+        plugin.getStateStore().loadFlag(SACRIFICE_FLAG).thenAccept(players -> Bukkit.getScheduler().runTask(plugin, () -> {
+            // A reset or completion made while the load was in flight is newer than what was read
+            players.removeAll(changedBeforeLoad);
+            completedSacrifices.addAll(players);
+            changedBeforeLoad.clear();
+            completionsLoaded = true;
+            plugin.getLogger().info("Loaded " + players.size() + " completed Zetsubo sacrifices");
+        }));
     }
 
-    private void saveCompletedSacrifices() {
-        // Save to config
+    /**
+     * Queues a completion change for the write-behind flush
+     */
+    private void saveCompletedSacrifice(UUID playerId, boolean completed) {
+        if (!completionsLoaded) {
+            changedBeforeLoad.add(playerId);
+        }
+        plugin.getStateStore().setFlag(playerId, SACRIFICE_FLAG, completed);
     }
 
     public void resetPlayerSacrifice(UUID playerId) {
         completedSacrifices.remove(playerId);
-        saveCompletedSacrifices();
+        saveCompletedSacrifice(playerId, false);
     }
 
     public void shutdown() {
@@ -0,0 +1,56 @@
+package com.mystenchants.perf;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event spanning a redemption boss fight, from start to resolution
+ */
+@Name("mystenchants.BossFight")
+@Label("Boss Fight")
+@Category({"MystEnchants", "Redemption"})
+@Description("A redemption boss fight from the fighter entering the arena until it is resolved")
+@Threshold("0 ms")
+@StackTrace(false)
+public class BossFightEvent extends Event {
+
+    @Label("Arena")
+    String arena;
+
+    @Label("Player")
+    String player;
+
+    @Label("Success")
+    boolean success;
+
+    @Label("Reason")
+    String reason;
+
+    /**
+     * Creates an event and starts its clock
+     */
+    public static BossFightEvent start() {
+        BossFightEvent event = new BossFightEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stops the clock and commits if the event is enabled and over its threshold
+     */
+    public void complete(String arena, String player, boolean success, String reason) {
+        end();
+        if (shouldCommit()) {
+            this.arena = arena;
+            this.player = player;
+            this.success = success;
+            this.reason = reason;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.mystenchants.perf;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for one DatabaseManager operation (statement, batch or transaction)
+ */
+@Name("mystenchants.DatabaseOperation")
+@Label("Database Operation")
+@Category({"MystEnchants", "Database"})
+@Description("A statement, batch or transaction run on the database pool")
+@Threshold("5 ms")
+@StackTrace(false)
+public class DatabaseOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Rows")
+    @Description("Rows affected, or -1 for queries")
+    int rows;
+
+    /**
+     * Creates an event and starts its clock
+     */
+    public static DatabaseOperationEvent start() {
+        DatabaseOperationEvent event = new DatabaseOperationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stops the clock and commits if the event is enabled and over its threshold
+     */
+    public void complete(String operation, String sql, int rows) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.sql = sql;
+            this.rows = rows;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.mystenchants.perf;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for one enchant effect run by the effect registry
+ */
+@Name("mystenchants.EnchantEffect")
+@Label("Enchant Effect")
+@Category({"MystEnchants", "Enchants"})
+@Description("One enchant effect handler invoked for a trigger")
+@Threshold("1 ms")
+@StackTrace(false)
+public class EnchantEffectEvent extends Event {
+
+    @Label("Trigger")
+    String trigger;
+
+    @Label("Enchant")
+    String enchant;
+
+    @Label("Level")
+    int level;
+
+    @Label("Player")
+    String player;
+
+    /**
+     * Creates an event and starts its clock
+     */
+    public static EnchantEffectEvent start() {
+        EnchantEffectEvent event = new EnchantEffectEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stops the clock and commits if the event is enabled and over its threshold
+     */
+    public void complete(String trigger, String enchant, int level, String player) {
+        end();
+        if (shouldCommit()) {
+            this.trigger = trigger;
+            this.enchant = enchant;
+            this.level = level;
+            this.player = player;
+            commit();
+        }
+    }
+}
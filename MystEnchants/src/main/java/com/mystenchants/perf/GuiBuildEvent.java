@@ -0,0 +1,48 @@
+package com.mystenchants.perf;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for building one GUI inventory
+ */
+@Name("mystenchants.GuiBuild")
+@Label("GUI Build")
+@Category({"MystEnchants", "GUI"})
+@Description("Building a GUI inventory on the main thread")
+@Threshold("1 ms")
+@StackTrace(false)
+public class GuiBuildEvent extends Event {
+
+    @Label("GUI")
+    String gui;
+
+    @Label("Player")
+    String player;
+
+    /**
+     * Creates an event and starts its clock
+     */
+    public static GuiBuildEvent start() {
+        GuiBuildEvent event = new GuiBuildEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stops the clock and commits if the event is enabled and over its threshold
+     */
+    public void complete(String gui, String player) {
+        end();
+        if (shouldCommit()) {
+            this.gui = gui;
+            this.player = player;
+            commit();
+        }
+    }
+}
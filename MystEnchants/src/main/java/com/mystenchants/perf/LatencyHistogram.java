@@ -0,0 +1,171 @@
+package com.mystenchants.perf;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Rolling latency histogram with log-linear microsecond buckets.
+ *
+ * Each power of two is split into four buckets, so any reported percentile is within
+ * 25% of the true value. The window is divided into slices that are recycled lazily
+ * as time moves on; recording is lock-free except for the occasional slice turnover.
+ */
+public class LatencyHistogram {
+
+    static final int BUCKETS = 128;
+    private static final int SLICES = 6;
+
+    private final long sliceMillis;
+    private final Slice[] slices = new Slice[SLICES];
+
+    public LatencyHistogram(long windowMillis) {
+        this.sliceMillis = Math.max(1L, windowMillis / SLICES);
+        for (int i = 0; i < SLICES; i++) {
+            slices[i] = new Slice();
+        }
+    }
+
+    /**
+     * Records one sample
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0L, nanos / 1000L);
+        long sliceId = System.currentTimeMillis() / sliceMillis;
+        Slice slice = slices[(int) (sliceId % SLICES)];
+
+        if (slice.id != sliceId) {
+            synchronized (slice) {
+                if (slice.id != sliceId) {
+                    slice.clear();
+                    slice.id = sliceId;
+                }
+            }
+        }
+
+        slice.buckets.incrementAndGet(bucketOf(micros));
+        slice.count.incrementAndGet();
+        slice.sumMicros.addAndGet(micros);
+        slice.maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * Merges the slices still inside the window
+     */
+    public Snapshot snapshot() {
+        long currentSlice = System.currentTimeMillis() / sliceMillis;
+        long[] buckets = new long[BUCKETS];
+        long count = 0;
+        long sum = 0;
+        long max = 0;
+
+        for (Slice slice : slices) {
+            if (slice.id <= currentSlice - SLICES || slice.id > currentSlice) {
+                continue;
+            }
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] += slice.buckets.get(i);
+            }
+            count += slice.count.get();
+            sum += slice.sumMicros.get();
+            max = Math.max(max, slice.maxMicros.get());
+        }
+
+        return new Snapshot(buckets, count, sum, max);
+    }
+
+    /**
+     * Drops every recorded sample
+     */
+    public void reset() {
+        for (Slice slice : slices) {
+            synchronized (slice) {
+                slice.clear();
+                slice.id = -1;
+            }
+        }
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < 4) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) ((micros >>> (exponent - 2)) & 3);
+        return Math.min(BUCKETS - 1, (exponent - 1) * 4 + sub);
+    }
+
+    static long lowerBoundOf(int bucket) {
+        if (bucket < 4) {
+            return bucket;
+        }
+        int exponent = bucket / 4 + 1;
+        return (4L + bucket % 4) << (exponent - 2);
+    }
+
+    private static class Slice {
+        volatile long id = -1;
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong sumMicros = new AtomicLong();
+        final AtomicLong maxMicros = new AtomicLong();
+
+        void clear() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets.set(i, 0);
+            }
+            count.set(0);
+            sumMicros.set(0);
+            maxMicros.set(0);
+        }
+    }
+
+    /**
+     * Merged view of a histogram's window (all values in microseconds)
+     */
+    public static class Snapshot {
+        private final long[] buckets;
+        private final long count;
+        private final long sumMicros;
+        private final long maxMicros;
+
+        Snapshot(long[] buckets, long count, long sumMicros, long maxMicros) {
+            this.buckets = buckets;
+            this.count = count;
+            this.sumMicros = sumMicros;
+            this.maxMicros = maxMicros;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMeanMicros() {
+            return count > 0 ? sumMicros / count : 0;
+        }
+
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+
+        /**
+         * Gets the value at a percentile (0-100), reported as the midpoint of its bucket
+         */
+        public long getPercentileMicros(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+
+            long rank = Math.max(1L, (long) Math.ceil(count * percentile / 100.0));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    long lower = lowerBoundOf(i);
+                    long upper = i + 1 < BUCKETS ? lowerBoundOf(i + 1) : lower;
+                    return Math.min(maxMicros, (lower + upper) / 2);
+                }
+            }
+            return maxMicros;
+        }
+    }
+}
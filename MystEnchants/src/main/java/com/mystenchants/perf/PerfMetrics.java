@@ -0,0 +1,185 @@
+package com.mystenchants.perf;
+
+import com.mystenchants.MystEnchants;
+import org.bukkit.event.HandlerList;
+import org.bukkit.plugin.RegisteredListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Registry of the plugin's own performance measurements.
+ *
+ * Timers are rolling latency histograms (listener handling, database operations, GUI
+ * builds), counters are monotonic, and gauges are sampled when the report is built.
+ * Everything is controlled by {@code debug.monitor-performance} in statistics.yml, which
+ * is off by default; when it is off, recording is a single boolean check.
+ */
+public class PerfMetrics {
+
+    private final MystEnchants plugin;
+    private final boolean enabled;
+    private final boolean logSlowOperations;
+    private final long slowThresholdNanos;
+    private final long windowMillis;
+
+    private final Map<String, LatencyHistogram> timers = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private volatile long windowStart = System.currentTimeMillis();
+
+    public PerfMetrics(MystEnchants plugin) {
+        this.plugin = plugin;
+        this.enabled = plugin.getConfigManager().getBoolean("statistics.yml", "debug.monitor-performance", false);
+        this.logSlowOperations = plugin.getConfigManager().getBoolean("statistics.yml", "debug.log-slow-operations", true);
+        this.slowThresholdNanos = plugin.getConfigManager().getLong("statistics.yml", "debug.slow-operation-threshold", 1000) * 1_000_000L;
+        this.windowMillis = plugin.getConfigManager().getLong("statistics.yml", "debug.metrics-window", 300) * 1000L;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ========================================
+    // RECORDING
+    // ========================================
+
+    /**
+     * Records a duration for a timer
+     */
+    public void record(String name, long nanos) {
+        if (!enabled) return;
+
+        timers.computeIfAbsent(name, key -> new LatencyHistogram(windowMillis)).record(nanos);
+
+        if (logSlowOperations && nanos >= slowThresholdNanos) {
+            plugin.getLogger().warning("Slow operation: " + name + " took " + (nanos / 1_000_000L) + "ms");
+        }
+    }
+
+    /**
+     * Records the time elapsed since a System.nanoTime() start
+     */
+    public void recordSince(String name, long startNanos) {
+        if (!enabled) return;
+        record(name, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Adds one to a counter
+     */
+    public void increment(String name) {
+        if (!enabled) return;
+        counters.computeIfAbsent(name, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Registers a value that is sampled when the report is built
+     */
+    public void gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * Wraps every listener this plugin has registered so its handling time is recorded
+     * under {@code listener.<ClassName>}. Call once, after all listeners are registered.
+     *
+     * HandlerList only appends, so each affected list is rebuilt in its original order,
+     * other plugins' listeners included; handlers keep firing in the same order as before.
+     */
+    public void instrumentListeners() {
+        if (!enabled) return;
+
+        int wrapped = 0;
+        for (HandlerList handlers : HandlerList.getHandlerLists()) {
+            RegisteredListener[] registered = handlers.getRegisteredListeners();
+            List<RegisteredListener> rebuilt = new ArrayList<>(registered.length);
+            boolean changed = false;
+
+            for (RegisteredListener listener : registered) {
+                if (listener.getPlugin() == plugin && !(listener instanceof TimedListener)) {
+                    String name = "listener." + listener.getListener().getClass().getSimpleName();
+                    rebuilt.add(new TimedListener(listener, this, name));
+                    changed = true;
+                    wrapped++;
+                } else {
+                    rebuilt.add(listener);
+                }
+            }
+            if (!changed) continue;
+
+            for (RegisteredListener listener : registered) {
+                handlers.unregister(listener);
+            }
+            for (RegisteredListener listener : rebuilt) {
+                handlers.register(listener);
+            }
+        }
+        plugin.getLogger().info("Performance monitoring enabled for " + wrapped + " event handlers");
+    }
+
+    // ========================================
+    // REPORTING
+    // ========================================
+
+    /**
+     * Gets how many samples a timer holds in the current window
+     */
+    public long getCount(String name) {
+        LatencyHistogram histogram = timers.get(name);
+        return histogram != null ? histogram.snapshot().getCount() : 0;
+    }
+
+    /**
+     * Builds the report lines, sorted by metric name
+     */
+    public List<String> report() {
+        List<String> lines = new ArrayList<>();
+        long windowSeconds = Math.min(windowMillis, System.currentTimeMillis() - windowStart) / 1000L;
+        lines.add("&6Performance (last " + windowSeconds + "s, times in ms: p50 / p95 / p99 / max)");
+
+        if (!enabled) {
+            lines.add("&cdebug.monitor-performance is off in statistics.yml");
+            return lines;
+        }
+
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(timers).entrySet()) {
+            LatencyHistogram.Snapshot snapshot = entry.getValue().snapshot();
+            if (snapshot.getCount() == 0) continue;
+
+            lines.add("&e" + entry.getKey() + " &7x" + snapshot.getCount() + ": &f"
+                    + millis(snapshot.getPercentileMicros(50)) + " / "
+                    + millis(snapshot.getPercentileMicros(95)) + " / "
+                    + millis(snapshot.getPercentileMicros(99)) + " / "
+                    + millis(snapshot.getMaxMicros()));
+        }
+
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(counters).entrySet()) {
+            lines.add("&e" + entry.getKey() + "&7: &f" + entry.getValue().sum());
+        }
+
+        for (Map.Entry<String, LongSupplier> entry : new TreeMap<>(gauges).entrySet()) {
+            lines.add("&b" + entry.getKey() + "&7: &f" + entry.getValue().getAsLong());
+        }
+
+        return lines;
+    }
+
+    /**
+     * Clears all timers and counters and starts a new window
+     */
+    public void reset() {
+        timers.values().forEach(LatencyHistogram::reset);
+        counters.clear();
+        windowStart = System.currentTimeMillis();
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.2f", micros / 1000.0);
+    }
+}
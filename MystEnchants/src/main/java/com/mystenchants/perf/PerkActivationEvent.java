@@ -0,0 +1,48 @@
+package com.mystenchants.perf;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for a player activating a perk item
+ */
+@Name("mystenchants.PerkActivation")
+@Label("Perk Activation")
+@Category({"MystEnchants", "Perks"})
+@Description("Handling a right-click on a perk item")
+@Threshold("0 ms")
+@StackTrace(false)
+public class PerkActivationEvent extends Event {
+
+    @Label("Perk")
+    String perk;
+
+    @Label("Player")
+    String player;
+
+    /**
+     * Creates an event and starts its clock
+     */
+    public static PerkActivationEvent start() {
+        PerkActivationEvent event = new PerkActivationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stops the clock and commits if the event is enabled and over its threshold
+     */
+    public void complete(String perk, String player) {
+        end();
+        if (shouldCommit()) {
+            this.perk = perk;
+            this.player = player;
+            commit();
+        }
+    }
+}
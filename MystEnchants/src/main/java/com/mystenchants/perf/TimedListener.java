@@ -0,0 +1,33 @@
+package com.mystenchants.perf;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.plugin.RegisteredListener;
+
+/**
+ * Registered listener that times its delegate's handling of each event
+ */
+class TimedListener extends RegisteredListener {
+
+    private final RegisteredListener delegate;
+    private final PerfMetrics metrics;
+    private final String name;
+
+    TimedListener(RegisteredListener delegate, PerfMetrics metrics, String name) {
+        super(delegate.getListener(), (listener, event) -> delegate.callEvent(event),
+                delegate.getPriority(), delegate.getPlugin(), delegate.isIgnoringCancelled());
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.name = name;
+    }
+
+    @Override
+    public void callEvent(Event event) throws EventException {
+        long start = System.nanoTime();
+        try {
+            delegate.callEvent(event);
+        } finally {
+            metrics.recordSince(name, start);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.mystenchants.utils;
+
+import com.mystenchants.MystEnchants;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Per-subsystem diagnostic logging for hot paths.
+ *
+ * Channels are off unless {@code settings.debug} is true (optionally narrowed by
+ * {@code settings.debug-channels}), so a disabled call is one set lookup and the message
+ * supplier never runs. Enabled channels are rate limited to
+ * {@code settings.debug-rate-limit} messages per second; accepted messages go into a
+ * fixed-size ring buffer that an async task drains to the console, so the main thread
+ * never waits on console I/O.
+ */
+public class DebugLog {
+
+    private static final int BUFFER_SIZE = 1024;
+    private static final long DRAIN_INTERVAL_TICKS = 10L;
+
+    public enum Channel {
+        ENCHANTS,
+        COMBAT,
+        GUI,
+        PERKS,
+        REDEMPTION,
+        PLAYERS
+    }
+
+    private final MystEnchants plugin;
+    private final Set<Channel> enabled = EnumSet.noneOf(Channel.class);
+    private final Map<Channel, RateLimit> limits = new EnumMap<>(Channel.class);
+
+    private final String[] buffer = new String[BUFFER_SIZE];
+    private int head;
+    private int size;
+    private long overwritten;
+    private BukkitTask drainTask;
+
+    public DebugLog(MystEnchants plugin) {
+        this.plugin = plugin;
+
+        if (!plugin.getConfigManager().getBoolean("config.yml", "settings.debug", false)) {
+            return;
+        }
+
+        List<String> channels = plugin.getConfigManager().getConfig("config.yml").getStringList("settings.debug-channels");
+        if (channels.isEmpty()) {
+            enabled.addAll(EnumSet.allOf(Channel.class));
+        } else {
+            for (String name : channels) {
+                try {
+                    enabled.add(Channel.valueOf(name.toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    plugin.getLogger().warning("Unknown debug channel in settings.debug-channels: " + name);
+                }
+            }
+        }
+
+        int perSecond = plugin.getConfigManager().getInt("config.yml", "settings.debug-rate-limit", 20);
+        for (Channel channel : enabled) {
+            limits.put(channel, new RateLimit(perSecond));
+        }
+    }
+
+    /**
+     * Starts draining the buffer to the console
+     */
+    public void start() {
+        if (enabled.isEmpty()) return;
+
+        drainTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::drain,
+                DRAIN_INTERVAL_TICKS, DRAIN_INTERVAL_TICKS);
+        plugin.getLogger().info("Debug logging enabled for " + enabled);
+    }
+
+    /**
+     * Stops the drain task and writes whatever is still buffered
+     */
+    public void shutdown() {
+        if (drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+        drain();
+    }
+
+    /**
+     * Checks if a channel is on, for callers that want to skip building context entirely
+     */
+    public boolean isEnabled(Channel channel) {
+        return enabled.contains(channel);
+    }
+
+    /**
+     * Logs a message on a channel; the supplier only runs if the channel is on and under its rate limit
+     */
+    public void log(Channel channel, Supplier<String> message) {
+        if (!enabled.contains(channel) || !limits.get(channel).tryAcquire()) {
+            return;
+        }
+        append("[" + channel.name().toLowerCase(Locale.ROOT) + "] " + message.get());
+    }
+
+    private synchronized void append(String line) {
+        int tail = (head + size) % BUFFER_SIZE;
+        buffer[tail] = line;
+        if (size < BUFFER_SIZE) {
+            size++;
+        } else {
+            head = (head + 1) % BUFFER_SIZE;
+            overwritten++;
+        }
+    }
+
+    private void drain() {
+        String[] lines;
+        long lost;
+        synchronized (this) {
+            lines = new String[size];
+            for (int i = 0; i < size; i++) {
+                int index = (head + i) % BUFFER_SIZE;
+                lines[i] = buffer[index];
+                buffer[index] = null;
+            }
+            head = 0;
+            size = 0;
+            lost = overwritten;
+            overwritten = 0;
+        }
+
+        for (String line : lines) {
+            plugin.getLogger().info(line);
+        }
+        if (lost > 0) {
+            plugin.getLogger().info("[debug] " + lost + " messages overwritten before they could be written");
+        }
+
+        for (Map.Entry<Channel, RateLimit> entry : limits.entrySet()) {
+            long dropped = entry.getValue().takeDropped();
+            if (dropped > 0) {
+                plugin.getLogger().info("[" + entry.getKey().name().toLowerCase(Locale.ROOT) + "] "
+                        + dropped + " messages dropped by settings.debug-rate-limit");
+            }
+        }
+    }
+
+    /**
+     * Fixed one-second window limit; messages over the limit are only counted
+     */
+    private static class RateLimit {
+        private final int perSecond;
+        private long windowStart;
+        private int used;
+        private long dropped;
+
+        private RateLimit(int perSecond) {
+            this.perSecond = perSecond;
+        }
+
+        synchronized boolean tryAcquire() {
+            long now = System.currentTimeMillis();
+            if (now - windowStart >= 1000L) {
+                windowStart = now;
+                used = 0;
+            }
+            if (perSecond > 0 && used >= perSecond) {
+                dropped++;
+                return false;
+            }
+            used++;
+            return true;
+        }
+
+        synchronized long takeDropped() {
+            long value = dropped;
+            dropped = 0;
+            return value;
+        }
+    }
+}